@@ -2,9 +2,12 @@ package com.alivro.spring.crud;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 
-@SpringBootApplication
+// Con un ConnectionFactory de R2DBC en el contexto Spring Boot deja de configurar el DataSource
+// de JPA; el pool de R2DBC de la API reactiva se crea en R2dbcConfig
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @ComponentScan({"com.alivro.spring.crud"})
 public class SpringBootCrudApplication {
     public static void main(String[] args) {
@@ -0,0 +1,143 @@
+package com.alivro.spring.crud.config;
+
+import com.alivro.spring.crud.deadline.RequestDeadlineTaskDecorator;
+import com.alivro.spring.crud.executor.BoundedServiceExecutor;
+import com.alivro.spring.crud.executor.Bulkheads;
+import com.alivro.spring.crud.executor.OpenEntityManagerTaskDecorator;
+import com.alivro.spring.crud.executor.WorkloadClass;
+import com.alivro.spring.crud.executor.WorkloadRoutingDataSource;
+import com.alivro.spring.crud.statistics.RequestStatsTaskDecorator;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuración de los bulkheads: cada clase de carga (WorkloadClass) tiene su propio ejecutor
+ * acotado y su propio pool de Hikari, configurados en bulkhead.&lt;clase&gt;. Los endpoints de
+ * /api/v1/book y /api/v1/author devuelven un CompletableFuture y su servicio se ejecuta en el
+ * ejecutor de su clase, con las conexiones del pool de esa clase; el hilo del contenedor queda
+ * libre mientras tanto. Con async.enabled=false el servicio se ejecuta en el hilo del contenedor,
+ * pero sigue usando el pool de su clase. Con hilos virtuales (spring.threads.virtual.enabled y
+ * JDK 21) cada tarea se ejecuta en su propio hilo virtual y bulkhead.&lt;clase&gt;.threads sólo
+ * acota cuántas se ejecutan a la vez.
+ */
+@Configuration
+public class BulkheadConfig {
+    private static final String PREFIX = "bulkhead.";
+    private static final int DEFAULT_THREADS = 4;
+    private static final int DEFAULT_QUEUE_CAPACITY = 100;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final int DEFAULT_POOL_SIZE = 4;
+    // Espera mínima por una conexión que acepta Hikari
+    private static final long MIN_CONNECTION_TIMEOUT_MILLIS = 250;
+
+    private final Environment environment;
+
+    /**
+     * Constructor
+     *
+     * @param environment Propiedades de la aplicación
+     */
+    @Autowired
+    public BulkheadConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Origen de datos con un pool por clase de carga y el pool por defecto de
+     * spring.datasource.hikari para el resto (arranque, administración, estadísticas). Reemplaza
+     * al DataSource de Spring Boot.
+     *
+     * @param properties    Propiedades de spring.datasource
+     * @param meterRegistry Registro de métricas (hikaricp.connections.*, etiqueta pool)
+     * @return Origen de datos
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource defaultPool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(defaultPool));
+        defaultPool.setPoolName(defaultPool.getPoolName() != null ? defaultPool.getPoolName() : "default");
+        defaultPool.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        Map<WorkloadClass, HikariDataSource> classPools = new EnumMap<>(WorkloadClass.class);
+
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            HikariConfig config = new HikariConfig();
+            defaultPool.copyStateTo(config);
+
+            // Esperar una conexión más que el tiempo máximo de la tarea no sirve de nada
+            long timeoutMillis = timeout(workload).toMillis();
+
+            config.setPoolName(workload.getName());
+            config.setMaximumPoolSize(property(workload, "pool-size", Integer.class, DEFAULT_POOL_SIZE));
+            config.setConnectionTimeout(Math.max(MIN_CONNECTION_TIMEOUT_MILLIS,
+                    Math.min(config.getConnectionTimeout(), timeoutMillis)));
+            config.setMetricsTrackerFactory(metricsTrackerFactory);
+
+            classPools.put(workload, new HikariDataSource(config));
+        }
+
+        return new WorkloadRoutingDataSource(defaultPool, classPools);
+    }
+
+    /**
+     * Ejecutores de los endpoints por clase de carga
+     *
+     * @param enabled       Indica si el servicio se ejecuta fuera del hilo del contenedor
+     * @param requestStats  Decorador que lleva las mediciones de la solicitud al hilo del ejecutor
+     * @param deadline      Decorador que lleva el plazo de la solicitud al hilo del ejecutor
+     * @param entityManager Decorador que abre un EntityManager durante cada tarea
+     * @param meterRegistry Registro de métricas (executor.*, app.executor.*, etiqueta name)
+     * @return Ejecutor de cada clase de carga
+     */
+    @Bean(destroyMethod = "shutdown")
+    public Bulkheads bulkheads(
+            @Value("${async.enabled:true}") boolean enabled,
+            RequestStatsTaskDecorator requestStats,
+            RequestDeadlineTaskDecorator deadline,
+            OpenEntityManagerTaskDecorator entityManager,
+            MeterRegistry meterRegistry) {
+        Map<WorkloadClass, BoundedServiceExecutor> executors = new EnumMap<>(WorkloadClass.class);
+        boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            executors.put(workload, new BoundedServiceExecutor(
+                    workload.getName(),
+                    enabled ? property(workload, "threads", Integer.class, DEFAULT_THREADS) : 0,
+                    property(workload, "queue-capacity", Integer.class, DEFAULT_QUEUE_CAPACITY),
+                    timeout(workload),
+                    workload.isRetrySafe(),
+                    runnable -> requestStats.decorate(deadline.decorate(entityManager.decorate(runnable))),
+                    virtualThreads ? new VirtualThreadTaskExecutor(workload.getName() + "-") : null,
+                    meterRegistry));
+        }
+
+        return new Bulkheads(executors);
+    }
+
+    private Duration timeout(WorkloadClass workload) {
+        return property(workload, "timeout", Duration.class, DEFAULT_TIMEOUT);
+    }
+
+    private <T> T property(WorkloadClass workload, String name, Class<T> type, T defaultValue) {
+        return Binder.get(environment).bind(PREFIX + workload.getName() + "." + name, type).orElse(defaultValue);
+    }
+}
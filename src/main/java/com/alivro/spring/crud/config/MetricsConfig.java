@@ -0,0 +1,26 @@
+package com.alivro.spring.crud.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de métricas. Las solicitudes HTTP (http.server.requests), los métodos de los
+ * repositorios (spring.data.repository.invocations), el pool de conexiones y la JVM se miden
+ * con la configuración automática de Actuator; los servicios anotados con @Timed se miden con
+ * TimedAspect.
+ */
+@Configuration
+public class MetricsConfig {
+    /**
+     * Aspecto que registra un timer por cada método de las clases anotadas con @Timed
+     *
+     * @param meterRegistry Registro de métricas
+     * @return Aspecto de @Timed
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
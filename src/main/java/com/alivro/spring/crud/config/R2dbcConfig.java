@@ -0,0 +1,74 @@
+package com.alivro.spring.crud.config;
+
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Configuración de R2DBC para la API reactiva (/api/v2): un pool de conexiones no bloqueantes
+ * sobre la misma base de datos H2 en memoria que usa JPA, de modo que ambas APIs leen los mismos
+ * datos. El pool no se registra como bean porque, si existe un ConnectionFactory, Spring Boot deja
+ * de configurar el DataSource de JDBC.
+ */
+@Configuration
+public class R2dbcConfig {
+    private static final String H2_MEMORY_PREFIX = "jdbc:h2:mem:";
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private ConnectionFactory connectionFactory;
+
+    /**
+     * Cliente para ejecutar sentencias SQL con un pool de R2DBC a la base de datos de
+     * spring.datasource.url
+     *
+     * @param dataSourceProperties Propiedades del origen de datos JDBC
+     * @param maxSize              Número máximo de conexiones del pool
+     * @return Cliente de base de datos reactivo
+     */
+    @Bean
+    public DatabaseClient databaseClient(DataSourceProperties dataSourceProperties,
+                                         @Value("${r2dbc.pool.max-size:10}") int maxSize) {
+        String url = dataSourceProperties.determineUrl();
+
+        if (url == null || !url.startsWith(H2_MEMORY_PREFIX)) {
+            throw new IllegalStateException("R2DBC requires an in-memory H2 database. Found: " + url);
+        }
+
+        // jdbc:h2:mem:nombre;OPCION=valor -> r2dbc:pool:h2:mem:///nombre?options=OPCION=valor
+        String database = url.substring(H2_MEMORY_PREFIX.length());
+        int optionsStart = database.indexOf(';');
+        String r2dbcUrl = "r2dbc:pool:h2:mem:///"
+                + (optionsStart < 0 ? database : database.substring(0, optionsStart))
+                + "?maxSize=" + maxSize
+                + (optionsStart < 0 ? "" : "&options=" + database.substring(optionsStart + 1));
+
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword())
+                .build();
+        connectionFactory = ConnectionFactories.get(options);
+
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Método para cerrar el pool al detener la aplicación; una conexión abierta mantiene viva la
+     * base de datos en memoria
+     */
+    @PreDestroy
+    public void close() {
+        if (connectionFactory instanceof Closeable pool) {
+            Mono.from(pool.close()).block(CLOSE_TIMEOUT);
+        }
+    }
+}
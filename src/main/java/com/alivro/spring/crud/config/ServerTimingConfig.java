@@ -0,0 +1,24 @@
+package com.alivro.spring.crud.config;
+
+import com.alivro.spring.crud.statistics.ServerTimingJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Configuración del encabezado Server-Timing
+ */
+@Configuration
+public class ServerTimingConfig {
+    /**
+     * Convertidor JSON que mide el tiempo de serialización; reemplaza al de Spring Boot
+     *
+     * @param objectMapper Object mapper configurado por Spring Boot
+     * @return Convertidor JSON
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ServerTimingJacksonHttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,31 @@
+package com.alivro.spring.crud.config;
+
+import com.alivro.spring.crud.statistics.AllocationInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de Spring MVC
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final AllocationInterceptor allocationInterceptor;
+
+    /**
+     * Constructor
+     *
+     * @param allocationInterceptor Interceptor de bytes asignados por solicitud
+     */
+    @Autowired
+    public WebConfig(AllocationInterceptor allocationInterceptor) {
+        this.allocationInterceptor = allocationInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(allocationInterceptor)
+                .addPathPatterns("/api/v1/book/**", "/api/v1/author/**");
+    }
+}
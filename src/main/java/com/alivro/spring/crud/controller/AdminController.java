@@ -0,0 +1,185 @@
+package com.alivro.spring.crud.controller;
+
+import com.alivro.spring.crud.handler.ResponseHandler;
+import com.alivro.spring.crud.model.admin.response.EndpointAllocationResponseDto;
+import com.alivro.spring.crud.model.admin.response.EndpointTimingResponseDto;
+import com.alivro.spring.crud.model.admin.response.HotKeyResponseDto;
+import com.alivro.spring.crud.model.admin.response.RecordingResponseDto;
+import com.alivro.spring.crud.model.admin.response.SlowQueryResponseDto;
+import com.alivro.spring.crud.profiling.FlightRecorderSession;
+import com.alivro.spring.crud.service.IAdminService;
+import com.alivro.spring.crud.util.CustomResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@CrossOrigin(origins = "http://localhost:8080")
+public class AdminController {
+    private final IAdminService adminService;
+    private final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    /**
+     * Constructor
+     *
+     * @param adminService Admin service
+     */
+    @Autowired
+    public AdminController(IAdminService adminService) {
+        this.adminService = adminService;
+    }
+
+    /**
+     * Endpoint para obtener el desglose de tiempos (base de datos, mapeo, respuesta y
+     * serialización) por endpoint del último minuto
+     *
+     * @return Tiempos promedio por fase de cada endpoint
+     */
+    @GetMapping("/timings")
+    public ResponseEntity<CustomResponse<EndpointTimingResponseDto, Void>> findTimings() {
+        List<EndpointTimingResponseDto> timings = adminService.findTimings();
+
+        logger.info("Desglose de tiempos calculado.");
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found timings!", timings, null
+        );
+    }
+
+    /**
+     * Endpoint para obtener la distribución de bytes asignados por solicitud de cada endpoint
+     * y tamaño de página
+     *
+     * @return Distribución de bytes asignados, de mayor a menor promedio
+     */
+    @GetMapping("/allocations")
+    public ResponseEntity<CustomResponse<EndpointAllocationResponseDto, Void>> findAllocations() {
+        List<EndpointAllocationResponseDto> allocations = adminService.findAllocations();
+
+        logger.info("Bytes asignados por endpoint calculados.");
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found allocations!", allocations, null
+        );
+    }
+
+    /**
+     * Endpoint para obtener las sentencias SQL que superaron slow-query.threshold, agrupadas
+     * por forma, con los parámetros de la ejecución más lenta y el plan de EXPLAIN ANALYZE
+     *
+     * @param limit Número máximo de sentencias
+     * @return Sentencias lentas, de mayor a menor tiempo acumulado
+     */
+    @GetMapping("/slowQueries")
+    public ResponseEntity<CustomResponse<SlowQueryResponseDto, Void>> findSlowQueries(
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SlowQueryResponseDto> slowQueries = adminService.findSlowQueries(limit);
+
+        logger.info("Consultas lentas encontradas. Número: {}", slowQueries.size());
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found slow queries!", slowQueries, null
+        );
+    }
+
+    /**
+     * Endpoint para obtener los IDs de libros y autores y las páginas de findAll más solicitados
+     * en los últimos minutos, para dimensionar y precargar cachés
+     *
+     * @param minutes Minutos a considerar (entre 1 y 10)
+     * @param limit   Número máximo de llaves por tipo
+     * @return Llaves más solicitadas de cada tipo
+     */
+    @GetMapping("/hotKeys")
+    public ResponseEntity<CustomResponse<HotKeyResponseDto, Void>> findHotKeys(
+            @RequestParam(defaultValue = "5") int minutes,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<HotKeyResponseDto> hotKeys = adminService.findHotKeys(minutes, limit);
+
+        logger.info("Llaves más solicitadas encontradas. Número: {}", hotKeys.size());
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found hot keys!", hotKeys, null
+        );
+    }
+
+    /**
+     * Endpoint para iniciar una grabación de Java Flight Recorder con un perfil ajustado para
+     * métodos calientes, contención de locks y sitios de asignación
+     *
+     * @param duration Duración máxima de la grabación en segundos (entre 1 y 600)
+     * @return Información de la grabación iniciada
+     */
+    @PostMapping("/jfr/start")
+    public ResponseEntity<CustomResponse<RecordingResponseDto, Void>> startRecording(
+            @RequestParam(defaultValue = "60") long duration) {
+        RecordingResponseDto recording = adminService.startRecording(duration);
+
+        logger.info("Grabación de JFR iniciada. ID: {}", recording.getId());
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.CREATED, "Recording started!", recording
+        );
+    }
+
+    /**
+     * Endpoint para detener la grabación de Java Flight Recorder en curso
+     *
+     * @return Información de la grabación detenida
+     */
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<CustomResponse<RecordingResponseDto, Void>> stopRecording() {
+        RecordingResponseDto recording = adminService.stopRecording();
+
+        logger.info("Grabación de JFR detenida. ID: {}", recording.getId());
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Recording stopped!", recording
+        );
+    }
+
+    /**
+     * Endpoint para descargar el archivo .jfr de la última grabación detenida
+     *
+     * @return Archivo de la grabación
+     */
+    @GetMapping("/jfr/recording")
+    public ResponseEntity<Resource> findRecording() {
+        Path recording = adminService.findRecording();
+
+        logger.info("Grabación de JFR enviada. Archivo: {}", recording.getFileName());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(recording.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(recording));
+    }
+
+    /**
+     * Endpoint para obtener el resumen en texto de la última grabación detenida, restringido
+     * a los marcos del paquete com.alivro.spring.crud
+     *
+     * @return Métodos calientes, contención de locks y sitios de asignación
+     */
+    @GetMapping(value = "/jfr/report", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> findRecordingReport() {
+        String report = adminService.findRecordingReport();
+
+        logger.info("Resumen de la grabación de JFR generado.");
+
+        return ResponseEntity.ok(report);
+    }
+}
@@ -1,13 +1,19 @@
 package com.alivro.spring.crud.controller;
 
+import com.alivro.spring.crud.executor.Bulkheads;
+import com.alivro.spring.crud.executor.WorkloadClass;
 import com.alivro.spring.crud.handler.ResponseHandler;
+import com.alivro.spring.crud.idempotency.IdempotencyStore;
+import com.alivro.spring.crud.limiter.RateLimitFilter;
 import com.alivro.spring.crud.model.author.request.AuthorSaveRequestDto;
 import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
 import com.alivro.spring.crud.model.author.response.AuthorSaveResponseDto;
+import com.alivro.spring.crud.model.author.response.CoauthorResponseDto;
 import com.alivro.spring.crud.service.IAuthorService;
 import com.alivro.spring.crud.util.CustomData;
 import com.alivro.spring.crud.util.CustomPageMetadata;
 import com.alivro.spring.crud.util.CustomResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,21 +25,30 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/author")
 @CrossOrigin(origins = "http://localhost:8080")
 public class AuthorController {
     private final IAuthorService authorService;
+    private final Bulkheads bulkheads;
+    private final IdempotencyStore idempotencyStore;
     private final Logger logger = LoggerFactory.getLogger(AuthorController.class);
 
     /**
      * Constructor
      *
-     * @param authorService Author service
+     * @param authorService    Author service
+     * @param bulkheads        Ejecutores por clase de carga
+     * @param idempotencyStore Respuestas guardadas por llave de idempotencia
      */
     @Autowired
-    public AuthorController(IAuthorService authorService) {
+    public AuthorController(IAuthorService authorService, Bulkheads bulkheads, IdempotencyStore idempotencyStore) {
         this.authorService = authorService;
+        this.bulkheads = bulkheads;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
@@ -42,16 +57,19 @@ public class AuthorController {
      * @return Información de todos los autores
      */
     @GetMapping("/findAll")
-    public ResponseEntity<CustomResponse<AuthorFindResponseDto, CustomPageMetadata>> findAllAuthors(
+    public CompletableFuture<ResponseEntity<CustomResponse<AuthorFindResponseDto, CustomPageMetadata>>>
+    findAllAuthors(
             @PageableDefault(page = 0, size = 5, sort = "id", direction = Sort.Direction.ASC)
             Pageable pageable) {
-        CustomData<AuthorFindResponseDto, CustomPageMetadata> authorsData = authorService.findAll(pageable);
+        return bulkheads.submit(WorkloadClass.LISTING, () -> {
+            CustomData<AuthorFindResponseDto, CustomPageMetadata> authorsData = authorService.findAll(pageable);
 
-        logger.info("Autores encontrados.");
+            logger.info("Autores encontrados.");
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.OK, "Found authors!", authorsData.getData(), authorsData.getMetadata()
-        );
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found authors!", authorsData.getData(), authorsData.getMetadata()
+            );
+        });
     }
 
     /**
@@ -61,32 +79,83 @@ public class AuthorController {
      * @return Información del autor buscado
      */
     @GetMapping("/find/{id}")
-    public ResponseEntity<CustomResponse<AuthorFindResponseDto, Void>> findAuthor(@PathVariable("id") long id) {
-        AuthorFindResponseDto foundAuthor = authorService.findById(id);
+    public CompletableFuture<ResponseEntity<CustomResponse<AuthorFindResponseDto, Void>>> findAuthor(
+            @PathVariable("id") long id) {
+        return bulkheads.submit(WorkloadClass.POINT_READ, () -> {
+            AuthorFindResponseDto foundAuthor = authorService.findById(id);
 
-        logger.info("Autor encontrado. ID: {}", id);
+            logger.atInfo().addKeyValue("id", id).log("Autor encontrado.");
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.OK, "Found author!", foundAuthor
-        );
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found author!", foundAuthor
+            );
+        });
+    }
+
+    /**
+     * Endpoint para buscar autores por nombre, segundo nombre, apellido o pseudónimo
+     *
+     * @param name Nombre a buscar (sin distinguir acentos, puntuación ni variantes fonéticas)
+     * @return Información de los autores encontrados
+     */
+    @GetMapping("/findByName")
+    public CompletableFuture<ResponseEntity<CustomResponse<AuthorFindResponseDto, Void>>> findAuthorsByName(
+            @RequestParam("name") String name) {
+        return bulkheads.submit(WorkloadClass.POINT_READ, () -> {
+            List<AuthorFindResponseDto> foundAuthors = authorService.findByName(name);
+
+            logger.atInfo().addKeyValue("name", name).log("Autores encontrados.");
+
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found authors!", foundAuthors, null
+            );
+        });
+    }
+
+    /**
+     * Endpoint para buscar los coautores de un autor
+     *
+     * @param id Identificador único del autor
+     * @return Coautores, primero los que comparten más libros
+     */
+    @GetMapping("/{id}/coauthors")
+    public CompletableFuture<ResponseEntity<CustomResponse<CoauthorResponseDto, Void>>> findCoauthors(
+            @PathVariable("id") long id) {
+        return bulkheads.submit(WorkloadClass.POINT_READ, () -> {
+            List<CoauthorResponseDto> coauthors = authorService.findCoauthors(id);
+
+            logger.atInfo().addKeyValue("id", id).log("Coautores encontrados.");
+
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found coauthors!", coauthors, null
+            );
+        });
     }
 
     /**
      * Endpoint para guardar un nuevo autor
      *
-     * @param author Información del autor a guardar
+     * @param author         Información del autor a guardar
+     * @param idempotencyKey Llave para que un reintento reciba la misma respuesta sin guardar de nuevo
+     * @param request        Solicitud, para saber a qué cliente pertenece la llave
      * @return Información del autor guardado
      */
     @PostMapping("/save")
-    public ResponseEntity<CustomResponse<AuthorSaveResponseDto, Void>> saveAuthor(
-            @Valid @RequestBody AuthorSaveRequestDto author) {
-        AuthorSaveResponseDto savedAuthor = authorService.save(author);
+    public CompletableFuture<ResponseEntity<CustomResponse<AuthorSaveResponseDto, Void>>> saveAuthor(
+            @Valid @RequestBody AuthorSaveRequestDto author,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            HttpServletRequest request) {
+        String client = RateLimitFilter.client(request);
+
+        return idempotencyStore.execute("author/save", client, idempotencyKey, author, () -> bulkheads.submit(WorkloadClass.WRITE, () -> {
+            AuthorSaveResponseDto savedAuthor = authorService.save(author);
 
-        logger.info("Autor guardado. ID: {}", savedAuthor.getId());
+            logger.atInfo().addKeyValue("id", savedAuthor.getId()).log("Autor guardado.");
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.CREATED, "Saved author!", savedAuthor
-        );
+            return ResponseHandler.sendResponse(
+                    HttpStatus.CREATED, "Saved author!", savedAuthor
+            );
+        }));
     }
 
     /**
@@ -97,15 +166,17 @@ public class AuthorController {
      * @return Información del autor actualizado
      */
     @PutMapping("/update/{id}")
-    public ResponseEntity<CustomResponse<AuthorSaveResponseDto, Void>> updateAuthor(
+    public CompletableFuture<ResponseEntity<CustomResponse<AuthorSaveResponseDto, Void>>> updateAuthor(
             @PathVariable("id") long id, @Valid @RequestBody AuthorSaveRequestDto author) {
-        AuthorSaveResponseDto updatedAuthor = authorService.update(id, author);
+        return bulkheads.submit(WorkloadClass.WRITE, () -> {
+            AuthorSaveResponseDto updatedAuthor = authorService.update(id, author);
 
-        logger.info("Autor actualizado. ID: {}", id);
+            logger.atInfo().addKeyValue("id", id).log("Autor actualizado.");
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.OK, "Updated author!", updatedAuthor
-        );
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Updated author!", updatedAuthor
+            );
+        });
     }
 
     /**
@@ -115,13 +186,16 @@ public class AuthorController {
      * @return Estatus 200
      */
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<CustomResponse<AuthorSaveResponseDto, Void>> deleteAuthor(@PathVariable("id") long id) {
-        authorService.deleteById(id);
+    public CompletableFuture<ResponseEntity<CustomResponse<AuthorSaveResponseDto, Void>>> deleteAuthor(
+            @PathVariable("id") long id) {
+        return bulkheads.submit(WorkloadClass.WRITE, () -> {
+            authorService.deleteById(id);
 
-        logger.info("Autor eliminado. ID: {}", id);
+            logger.atInfo().addKeyValue("id", id).log("Autor eliminado.");
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.OK, "Deleted author!"
-        );
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Deleted author!"
+            );
+        });
     }
 }
@@ -1,12 +1,22 @@
 package com.alivro.spring.crud.controller;
 
+import com.alivro.spring.crud.executor.Bulkheads;
+import com.alivro.spring.crud.executor.WorkloadClass;
 import com.alivro.spring.crud.handler.ResponseHandler;
+import com.alivro.spring.crud.idempotency.IdempotencyStore;
+import com.alivro.spring.crud.limiter.RateLimitFilter;
+import com.alivro.spring.crud.model.book.request.BookFacetRequestDto;
 import com.alivro.spring.crud.model.book.request.BookSaveRequestDto;
 import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.model.book.response.DuplicateGroupResponseDto;
+import com.alivro.spring.crud.model.book.response.NearDuplicateResponseDto;
+import com.alivro.spring.crud.model.book.response.RelatedBookResponseDto;
 import com.alivro.spring.crud.service.IBookService;
 import com.alivro.spring.crud.util.CustomData;
+import com.alivro.spring.crud.util.CustomFacetPageMetadata;
 import com.alivro.spring.crud.util.CustomPageMetadata;
 import com.alivro.spring.crud.util.CustomResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,21 +28,30 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/book")
 @CrossOrigin(origins = "http://localhost:8080")
 public class BookController {
     private final IBookService bookService;
+    private final Bulkheads bulkheads;
+    private final IdempotencyStore idempotencyStore;
     private final Logger logger = LoggerFactory.getLogger(BookController.class);
 
     /**
      * Constructor
      *
-     * @param bookService Book service
+     * @param bookService      Book service
+     * @param bulkheads        Ejecutores por clase de carga
+     * @param idempotencyStore Respuestas guardadas por llave de idempotencia
      */
     @Autowired
-    public BookController(IBookService bookService) {
+    public BookController(IBookService bookService, Bulkheads bulkheads, IdempotencyStore idempotencyStore) {
         this.bookService = bookService;
+        this.bulkheads = bulkheads;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
@@ -41,16 +60,42 @@ public class BookController {
      * @return Información de todos los libros
      */
     @GetMapping("/findAll")
-    public ResponseEntity<CustomResponse<BookResponseDto, CustomPageMetadata>> findAllBooks(
+    public CompletableFuture<ResponseEntity<CustomResponse<BookResponseDto, CustomPageMetadata>>> findAllBooks(
             @PageableDefault(page = 0, size = 5, sort = "id", direction = Sort.Direction.ASC)
             Pageable pageable) {
-        CustomData<BookResponseDto, CustomPageMetadata> booksData = bookService.findAll(pageable);
+        return bulkheads.submit(WorkloadClass.LISTING, () -> {
+            CustomData<BookResponseDto, CustomPageMetadata> booksData = bookService.findAll(pageable);
 
-        logger.info("Libros encontrados.");
+            logger.info("Libros encontrados.");
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.OK, "Found books!", booksData.getData(), booksData.getMetadata()
-        );
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found books!", booksData.getData(), booksData.getMetadata()
+            );
+        });
+    }
+
+    /**
+     * Endpoint para buscar libros por facetas (editorial, año de publicación y rango de páginas)
+     *
+     * @param filter   Filtros por faceta; los valores de una misma faceta se combinan con OR
+     * @param pageable Página solicitada (los libros se ordenan por ID)
+     * @return Información de los libros y conteos por faceta en los metadatos
+     */
+    @GetMapping("/findAllByFacets")
+    public CompletableFuture<ResponseEntity<CustomResponse<BookResponseDto, CustomFacetPageMetadata>>>
+    findAllBooksByFacets(
+            BookFacetRequestDto filter,
+            @PageableDefault(page = 0, size = 5) Pageable pageable) {
+        return bulkheads.submit(WorkloadClass.LISTING, () -> {
+            CustomData<BookResponseDto, CustomFacetPageMetadata> booksData =
+                    bookService.findAllByFacets(filter, pageable);
+
+            logger.info("Libros encontrados por facetas.");
+
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found books!", booksData.getData(), booksData.getMetadata()
+            );
+        });
     }
 
     /**
@@ -60,32 +105,101 @@ public class BookController {
      * @return Información del libro buscado
      */
     @GetMapping("/find/{id}")
-    public ResponseEntity<CustomResponse<BookResponseDto, Void>> findBook(@PathVariable("id") long id) {
-        BookResponseDto foundBook = bookService.findById(id);
+    public CompletableFuture<ResponseEntity<CustomResponse<BookResponseDto, Void>>> findBook(
+            @PathVariable("id") long id) {
+        return bulkheads.submit(WorkloadClass.POINT_READ, () -> {
+            BookResponseDto foundBook = bookService.findById(id);
+
+            logger.atInfo().addKeyValue("id", id).log("Libro encontrado.");
+
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found book!", foundBook
+            );
+        });
+    }
+
+    /**
+     * Endpoint para buscar los otros libros de los autores de un libro
+     *
+     * @param id Identificador único del libro
+     * @return Libros relacionados, primero los que comparten más autores
+     */
+    @GetMapping("/{id}/related")
+    public CompletableFuture<ResponseEntity<CustomResponse<RelatedBookResponseDto, Void>>> findRelatedBooks(
+            @PathVariable("id") long id) {
+        return bulkheads.submit(WorkloadClass.POINT_READ, () -> {
+            List<RelatedBookResponseDto> relatedBooks = bookService.findRelated(id);
+
+            logger.atInfo().addKeyValue("id", id).log("Libros relacionados encontrados.");
+
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found related books!", relatedBooks, null
+            );
+        });
+    }
 
-        logger.info("Libro encontrado. ID: {}", id);
+    /**
+     * Endpoint para buscar los libros casi duplicados de un libro
+     *
+     * @param id Identificador único del libro
+     * @return Libros casi duplicados, el más parecido primero
+     */
+    @GetMapping("/{id}/near-duplicates")
+    public CompletableFuture<ResponseEntity<CustomResponse<NearDuplicateResponseDto, Void>>> findNearDuplicateBooks(
+            @PathVariable("id") long id) {
+        return bulkheads.submit(WorkloadClass.POINT_READ, () -> {
+            List<NearDuplicateResponseDto> nearDuplicates = bookService.findNearDuplicates(id);
+
+            logger.atInfo().addKeyValue("id", id).log("Libros casi duplicados encontrados.");
+
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found near-duplicate books!", nearDuplicates, null
+            );
+        });
+    }
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.OK, "Found book!", foundBook
-        );
+    /**
+     * Endpoint para obtener el reporte de grupos de libros casi duplicados
+     *
+     * @return Grupos de libros casi duplicados
+     */
+    @GetMapping("/duplicates")
+    public CompletableFuture<ResponseEntity<CustomResponse<DuplicateGroupResponseDto, Void>>> findDuplicateBooks() {
+        return bulkheads.submit(WorkloadClass.BULK, () -> {
+            List<DuplicateGroupResponseDto> duplicates = bookService.findDuplicates();
+
+            logger.info("Grupos de libros casi duplicados encontrados.");
+
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Found duplicate books!", duplicates, null
+            );
+        });
     }
 
     /**
      * Endpoint para guardar un nuevo libro
      *
-     * @param book Información del libro a guardar
+     * @param book           Información del libro a guardar
+     * @param idempotencyKey Llave para que un reintento reciba la misma respuesta sin guardar de nuevo
+     * @param request        Solicitud, para saber a qué cliente pertenece la llave
      * @return Información del libro guardado
      */
     @PostMapping("/save")
-    public ResponseEntity<CustomResponse<BookResponseDto, Void>> saveBook(
-            @Valid @RequestBody BookSaveRequestDto book) {
-        BookResponseDto savedBook = bookService.save(book);
+    public CompletableFuture<ResponseEntity<CustomResponse<BookResponseDto, Void>>> saveBook(
+            @Valid @RequestBody BookSaveRequestDto book,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            HttpServletRequest request) {
+        String client = RateLimitFilter.client(request);
+
+        return idempotencyStore.execute("book/save", client, idempotencyKey, book, () -> bulkheads.submit(WorkloadClass.WRITE, () -> {
+            BookResponseDto savedBook = bookService.save(book);
 
-        logger.info("Libro guardado. ID: {}", savedBook.getId());
+            logger.atInfo().addKeyValue("id", savedBook.getId()).log("Libro guardado.");
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.CREATED, "Saved book!", savedBook
-        );
+            return ResponseHandler.sendResponse(
+                    HttpStatus.CREATED, "Saved book!", savedBook
+            );
+        }));
     }
 
     /**
@@ -96,15 +210,17 @@ public class BookController {
      * @return Información del libro actualizado
      */
     @PutMapping("/update/{id}")
-    public ResponseEntity<CustomResponse<BookResponseDto, Void>> updateBook(
+    public CompletableFuture<ResponseEntity<CustomResponse<BookResponseDto, Void>>> updateBook(
             @PathVariable("id") long id, @Valid @RequestBody BookSaveRequestDto book) {
-        BookResponseDto updatedBook = bookService.update(id, book);
+        return bulkheads.submit(WorkloadClass.WRITE, () -> {
+            BookResponseDto updatedBook = bookService.update(id, book);
 
-        logger.info("Libro actualizado. ID: {}", id);
+            logger.atInfo().addKeyValue("id", id).log("Libro actualizado.");
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.OK, "Updated book!", updatedBook
-        );
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Updated book!", updatedBook
+            );
+        });
     }
 
     /**
@@ -114,13 +230,16 @@ public class BookController {
      * @return Estatus 200
      */
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<CustomResponse<BookResponseDto, Void>> deleteBook(@PathVariable("id") long id) {
-        bookService.deleteById(id);
+    public CompletableFuture<ResponseEntity<CustomResponse<BookResponseDto, Void>>> deleteBook(
+            @PathVariable("id") long id) {
+        return bulkheads.submit(WorkloadClass.WRITE, () -> {
+            bookService.deleteById(id);
 
-        logger.info("Libro eliminado. ID: {}", id);
+            logger.atInfo().addKeyValue("id", id).log("Libro eliminado.");
 
-        return ResponseHandler.sendResponse(
-                HttpStatus.OK, "Deleted book!"
-        );
+            return ResponseHandler.sendResponse(
+                    HttpStatus.OK, "Deleted book!"
+            );
+        });
     }
 }
@@ -0,0 +1,81 @@
+package com.alivro.spring.crud.controller;
+
+import com.alivro.spring.crud.handler.ResponseHandler;
+import com.alivro.spring.crud.model.leaderboard.response.AuthorRankingResponseDto;
+import com.alivro.spring.crud.model.leaderboard.response.BookRankingResponseDto;
+import com.alivro.spring.crud.service.ILeaderboardService;
+import com.alivro.spring.crud.util.CustomResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/leaderboard")
+@CrossOrigin(origins = "http://localhost:8080")
+public class LeaderboardController {
+    private final ILeaderboardService leaderboardService;
+    private final Logger logger = LoggerFactory.getLogger(LeaderboardController.class);
+
+    /**
+     * Constructor
+     *
+     * @param leaderboardService Leaderboard service
+     */
+    @Autowired
+    public LeaderboardController(ILeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Endpoint para obtener el ranking de los libros con más páginas
+     *
+     * @return Libros con más páginas
+     */
+    @GetMapping("/longestBooks")
+    public ResponseEntity<CustomResponse<BookRankingResponseDto, Void>> findLongestBooks() {
+        List<BookRankingResponseDto> books = leaderboardService.findLongestBooks();
+
+        logger.info("Ranking de libros con más páginas encontrado.");
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found leaderboard!", books, null
+        );
+    }
+
+    /**
+     * Endpoint para obtener el ranking de los libros publicados más recientemente
+     *
+     * @return Libros publicados más recientemente
+     */
+    @GetMapping("/newestBooks")
+    public ResponseEntity<CustomResponse<BookRankingResponseDto, Void>> findNewestBooks() {
+        List<BookRankingResponseDto> books = leaderboardService.findNewestBooks();
+
+        logger.info("Ranking de libros más recientes encontrado.");
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found leaderboard!", books, null
+        );
+    }
+
+    /**
+     * Endpoint para obtener el ranking de los autores con más libros
+     *
+     * @return Autores con más libros
+     */
+    @GetMapping("/prolificAuthors")
+    public ResponseEntity<CustomResponse<AuthorRankingResponseDto, Void>> findProlificAuthors() {
+        List<AuthorRankingResponseDto> authors = leaderboardService.findProlificAuthors();
+
+        logger.info("Ranking de autores con más libros encontrado.");
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found leaderboard!", authors, null
+        );
+    }
+}
@@ -0,0 +1,90 @@
+package com.alivro.spring.crud.controller;
+
+import com.alivro.spring.crud.handler.ResponseHandler;
+import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
+import com.alivro.spring.crud.service.IReactiveAuthorService;
+import com.alivro.spring.crud.util.CustomPageMetadata;
+import com.alivro.spring.crud.util.CustomResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de las consultas de autores sobre R2DBC. Las respuestas se escriben cuando la
+ * base de datos responde, sin ocupar un hilo del contenedor mientras tanto.
+ */
+@RestController
+@RequestMapping("/api/v2/author")
+@CrossOrigin(origins = "http://localhost:8080")
+public class ReactiveAuthorController {
+    private final IReactiveAuthorService authorService;
+    private final Logger logger = LoggerFactory.getLogger(ReactiveAuthorController.class);
+
+    /**
+     * Constructor
+     *
+     * @param authorService Reactive author service
+     */
+    @Autowired
+    public ReactiveAuthorController(IReactiveAuthorService authorService) {
+        this.authorService = authorService;
+    }
+
+    /**
+     * Endpoint para buscar todos los autores
+     *
+     * @return Información de todos los autores
+     */
+    @GetMapping("/findAll")
+    public Mono<ResponseEntity<CustomResponse<AuthorFindResponseDto, CustomPageMetadata>>> findAllAuthors(
+            @PageableDefault(page = 0, size = 5, sort = "id", direction = Sort.Direction.ASC)
+            Pageable pageable) {
+        return authorService.findAll(pageable)
+                .map(authorsData -> {
+                    logger.info("Autores encontrados.");
+
+                    return ResponseHandler.sendResponse(
+                            HttpStatus.OK, "Found authors!", authorsData.getData(), authorsData.getMetadata()
+                    );
+                });
+    }
+
+    /**
+     * Endpoint para transmitir todos los autores como JSON delimitado por saltos de línea. Cada
+     * autor se escribe en cuanto se lee y los siguientes se leen sólo cuando el cliente los recibe.
+     *
+     * @return Información de todos los autores, uno por línea
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AuthorFindResponseDto> streamAllAuthors() {
+        return authorService.streamAll()
+                .doOnComplete(() -> logger.info("Autores transmitidos."));
+    }
+
+    /**
+     * Endpoint para buscar un autor por su ID
+     *
+     * @param id Identificador único del autor
+     * @return Información del autor buscado
+     */
+    @GetMapping("/find/{id}")
+    public Mono<ResponseEntity<CustomResponse<AuthorFindResponseDto, Void>>> findAuthor(@PathVariable("id") long id) {
+        return authorService.findById(id)
+                .map(foundAuthor -> {
+                    logger.atInfo().addKeyValue("id", id).log("Autor encontrado.");
+
+                    return ResponseHandler.sendResponse(
+                            HttpStatus.OK, "Found author!", foundAuthor
+                    );
+                });
+    }
+}
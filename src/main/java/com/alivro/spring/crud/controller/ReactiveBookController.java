@@ -0,0 +1,90 @@
+package com.alivro.spring.crud.controller;
+
+import com.alivro.spring.crud.handler.ResponseHandler;
+import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.service.IReactiveBookService;
+import com.alivro.spring.crud.util.CustomPageMetadata;
+import com.alivro.spring.crud.util.CustomResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de las consultas de libros sobre R2DBC. Las respuestas se escriben cuando la
+ * base de datos responde, sin ocupar un hilo del contenedor mientras tanto.
+ */
+@RestController
+@RequestMapping("/api/v2/book")
+@CrossOrigin(origins = "http://localhost:8080")
+public class ReactiveBookController {
+    private final IReactiveBookService bookService;
+    private final Logger logger = LoggerFactory.getLogger(ReactiveBookController.class);
+
+    /**
+     * Constructor
+     *
+     * @param bookService Reactive book service
+     */
+    @Autowired
+    public ReactiveBookController(IReactiveBookService bookService) {
+        this.bookService = bookService;
+    }
+
+    /**
+     * Endpoint para buscar todos los libros
+     *
+     * @return Información de todos los libros
+     */
+    @GetMapping("/findAll")
+    public Mono<ResponseEntity<CustomResponse<BookResponseDto, CustomPageMetadata>>> findAllBooks(
+            @PageableDefault(page = 0, size = 5, sort = "id", direction = Sort.Direction.ASC)
+            Pageable pageable) {
+        return bookService.findAll(pageable)
+                .map(booksData -> {
+                    logger.info("Libros encontrados.");
+
+                    return ResponseHandler.sendResponse(
+                            HttpStatus.OK, "Found books!", booksData.getData(), booksData.getMetadata()
+                    );
+                });
+    }
+
+    /**
+     * Endpoint para transmitir todos los libros como JSON delimitado por saltos de línea. Cada
+     * libro se escribe en cuanto se lee y los siguientes se leen sólo cuando el cliente los recibe.
+     *
+     * @return Información de todos los libros, uno por línea
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookResponseDto> streamAllBooks() {
+        return bookService.streamAll()
+                .doOnComplete(() -> logger.info("Libros transmitidos."));
+    }
+
+    /**
+     * Endpoint para buscar un libro por su ID
+     *
+     * @param id Identificador único del libro
+     * @return Información del libro buscado
+     */
+    @GetMapping("/find/{id}")
+    public Mono<ResponseEntity<CustomResponse<BookResponseDto, Void>>> findBook(@PathVariable("id") long id) {
+        return bookService.findById(id)
+                .map(foundBook -> {
+                    logger.atInfo().addKeyValue("id", id).log("Libro encontrado.");
+
+                    return ResponseHandler.sendResponse(
+                            HttpStatus.OK, "Found book!", foundBook
+                    );
+                });
+    }
+}
@@ -0,0 +1,80 @@
+package com.alivro.spring.crud.controller;
+
+import com.alivro.spring.crud.handler.ResponseHandler;
+import com.alivro.spring.crud.model.stats.response.PageStatsResponseDto;
+import com.alivro.spring.crud.service.IStatsService;
+import com.alivro.spring.crud.util.CustomResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/stats")
+@CrossOrigin(origins = "http://localhost:8080")
+public class StatsController {
+    private final IStatsService statsService;
+    private final Logger logger = LoggerFactory.getLogger(StatsController.class);
+
+    /**
+     * Constructor
+     *
+     * @param statsService Stats service
+     */
+    @Autowired
+    public StatsController(IStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    /**
+     * Endpoint para obtener las estadísticas del número de páginas por editorial
+     *
+     * @return Estadísticas por editorial
+     */
+    @GetMapping("/pagesByPublisher")
+    public ResponseEntity<CustomResponse<PageStatsResponseDto, Void>> findPagesByPublisher() {
+        List<PageStatsResponseDto> stats = statsService.findPagesByPublisher();
+
+        logger.info("Estadísticas por editorial calculadas.");
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found stats!", stats, null
+        );
+    }
+
+    /**
+     * Endpoint para obtener las estadísticas del número de páginas por editorial y década
+     *
+     * @return Estadísticas por editorial y década de publicación
+     */
+    @GetMapping("/pagesByPublisherAndDecade")
+    public ResponseEntity<CustomResponse<PageStatsResponseDto, Void>> findPagesByPublisherAndDecade() {
+        List<PageStatsResponseDto> stats = statsService.findPagesByPublisherAndDecade();
+
+        logger.info("Estadísticas por editorial y década calculadas.");
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found stats!", stats, null
+        );
+    }
+
+    /**
+     * Endpoint para obtener las estadísticas del número de páginas por año de publicación
+     *
+     * @return Estadísticas por año de publicación
+     */
+    @GetMapping("/pagesByYear")
+    public ResponseEntity<CustomResponse<PageStatsResponseDto, Void>> findPagesByYear() {
+        List<PageStatsResponseDto> stats = statsService.findPagesByYear();
+
+        logger.info("Estadísticas por año calculadas.");
+
+        return ResponseHandler.sendResponse(
+                HttpStatus.OK, "Found stats!", stats, null
+        );
+    }
+}
@@ -0,0 +1,122 @@
+package com.alivro.spring.crud.deadline;
+
+import com.alivro.spring.crud.exception.DeadlineExceededException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Origen de datos que aplica el tiempo restante de la solicitud en curso (RequestDeadline) como
+ * query timeout de cada sentencia SQL, de modo que la base de datos cancela una consulta cuyo
+ * cliente ya se rindió. Si el plazo se agotó la sentencia no se crea. Las conexiones se envuelven
+ * con un proxy dinámico; las sentencias no.
+ */
+public class DeadlineDataSource extends DelegatingDataSource implements Closeable {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Constructor
+     *
+     * @param targetDataSource Origen de datos envuelto
+     */
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(super.getConnection(username, password));
+    }
+
+    /**
+     * Método para cerrar el origen de datos envuelto (p. ej. sus pools) al detener la aplicación
+     */
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable target) {
+            target.close();
+        }
+    }
+
+    private static Connection proxy(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Método para aplicar el plazo del hilo actual a una sentencia
+     *
+     * @param statement Sentencia recién creada
+     * @throws SQLException Si el controlador JDBC rechaza el timeout
+     */
+    static void applyDeadline(Statement statement) throws SQLException {
+        RequestDeadline deadline = RequestDeadline.current();
+
+        // Sin plazo se pone 0 (sin límite): algunos controladores, como H2, guardan el timeout en
+        // la conexión y ésta vuelve al pool con el de la solicitud anterior
+        if (deadline == null) {
+            statement.setQueryTimeout(0);
+            return;
+        }
+
+        long remaining = deadline.remainingNanos();
+
+        if (remaining <= 0) {
+            statement.close();
+            throw new DeadlineExceededException("Request deadline exceeded!");
+        }
+
+        // JDBC sólo acepta segundos; se redondea hacia arriba para no cancelar antes de tiempo
+        long seconds = (remaining + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+        statement.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, seconds));
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    Object result;
+
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+
+                    if (result instanceof Statement statement) {
+                        applyDeadline(statement);
+                    }
+
+                    return result;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.alivro.spring.crud.deadline;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve cada DataSource en un DeadlineDataSource para aplicar el plazo de la solicitud a las
+ * sentencias SQL. Se desactiva con request-deadline.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "request-deadline.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineDataSourcePostProcessor implements BeanPostProcessor {
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineDataSource)) {
+            return new DeadlineDataSource(dataSource);
+        }
+
+        return bean;
+    }
+}
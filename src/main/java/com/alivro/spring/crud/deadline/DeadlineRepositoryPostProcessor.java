@@ -0,0 +1,29 @@
+package com.alivro.spring.crud.deadline;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Agrega a cada repositorio de Spring Data un interceptor que aborta la llamada, antes de abrir
+ * la transacción, si el plazo de la solicitud en curso ya se agotó. El tiempo restante se aplica
+ * a las sentencias SQL en DeadlineDataSource.
+ */
+@Component
+public class DeadlineRepositoryPostProcessor implements BeanPostProcessor {
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                    repositoryFactory.addRepositoryProxyPostProcessor((factory, repositoryInformation) ->
+                            factory.addAdvice(0, (MethodInterceptor) invocation -> {
+                                RequestDeadline.check();
+
+                                return invocation.proceed();
+                            })));
+        }
+
+        return bean;
+    }
+}
@@ -0,0 +1,97 @@
+package com.alivro.spring.crud.deadline;
+
+import com.alivro.spring.crud.exception.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * Plazo de la solicitud en curso, indicado por el cliente con X-Request-Timeout. El plazo se
+ * asocia al hilo que atiende la solicitud; los endpoints asíncronos lo continúan en el hilo del
+ * ejecutor con resume(). Fuera de una solicitud, o sin encabezado, no hay plazo.
+ */
+public class RequestDeadline {
+    // Atributo de la solicitud que indica que terminó por agotar el plazo del cliente (504)
+    public static final String EXCEEDED_ATTRIBUTE = RequestDeadline.class.getName() + ".EXCEEDED";
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Método para fijar el plazo en el hilo actual
+     *
+     * @param budget Tiempo disponible a partir de ahora
+     * @return Plazo de la solicitud
+     */
+    public static RequestDeadline begin(Duration budget) {
+        RequestDeadline deadline = new RequestDeadline(System.nanoTime() + budget.toNanos());
+        CURRENT.set(deadline);
+
+        return deadline;
+    }
+
+    /**
+     * Método para quitar el plazo del hilo actual
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Método para obtener el plazo del hilo actual
+     *
+     * @return Plazo de la solicitud, o null si no tiene
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Método para seguir con el plazo de la misma solicitud en otro hilo, p. ej. en el hilo del
+     * ejecutor que atiende un endpoint asíncrono; se termina con end()
+     *
+     * @param deadline Plazo obtenido con current(), o null para no tener plazo
+     */
+    public static void resume(RequestDeadline deadline) {
+        if (deadline != null) {
+            CURRENT.set(deadline);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Método para abortar el trabajo de la solicitud si su plazo ya se agotó
+     *
+     * @throws DeadlineExceededException Si el plazo del hilo actual se agotó
+     */
+    public static void check() {
+        RequestDeadline deadline = CURRENT.get();
+
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded!");
+        }
+    }
+
+    /**
+     * Método para obtener el tiempo que le queda a la solicitud
+     *
+     * @return Nanosegundos restantes; 0 o menos si el plazo se agotó
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Método para saber si el plazo se agotó
+     *
+     * @return true si ya no queda tiempo
+     */
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.alivro.spring.crud.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Filtro que fija el plazo de la solicitud (RequestDeadline) con el encabezado X-Request-Timeout,
+ * en milisegundos (2000) o como duración (2s, 500ms), limitado a request-deadline.max-timeout.
+ * Un valor no válido se ignora. Se desactiva con request-deadline.enabled=false.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+@ConditionalOnProperty(name = "request-deadline.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Duration maxTimeout;
+
+    /**
+     * Constructor
+     *
+     * @param maxTimeout Plazo máximo que puede pedir un cliente
+     */
+    @Autowired
+    public RequestDeadlineFilter(@Value("${request-deadline.max-timeout:60s}") Duration maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration budget = budget(request.getHeader(TIMEOUT_HEADER));
+
+        if (budget == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Si la solicitud es asíncrona, el decorador de tareas ya llevó el plazo al hilo del ejecutor
+        RequestDeadline.begin(budget);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.end();
+        }
+    }
+
+    private Duration budget(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+
+        try {
+            Duration budget = DurationStyle.detectAndParse(header.trim(), ChronoUnit.MILLIS);
+
+            return budget.isNegative() ? Duration.ZERO : budget.compareTo(maxTimeout) > 0 ? maxTimeout : budget;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
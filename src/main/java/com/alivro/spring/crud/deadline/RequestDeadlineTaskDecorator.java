@@ -0,0 +1,27 @@
+package com.alivro.spring.crud.deadline;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decorador de tareas que lleva al hilo de un ejecutor el plazo de la solicitud que envía la
+ * tarea. Se llama en el hilo de la solicitud; el tiempo en la cola del ejecutor cuenta para el
+ * plazo.
+ */
+@Component
+public class RequestDeadlineTaskDecorator implements TaskDecorator {
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        RequestDeadline deadline = RequestDeadline.current();
+
+        return () -> {
+            RequestDeadline.resume(deadline);
+
+            try {
+                runnable.run();
+            } finally {
+                RequestDeadline.end();
+            }
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.alivro.spring.crud.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AuthorDeletedEvent {
+    // Identificador único del autor eliminado
+    private long id;
+}
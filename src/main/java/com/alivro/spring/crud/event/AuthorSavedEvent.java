@@ -0,0 +1,12 @@
+package com.alivro.spring.crud.event;
+
+import com.alivro.spring.crud.model.Author;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AuthorSavedEvent {
+    // Autor guardado o actualizado
+    private Author author;
+}
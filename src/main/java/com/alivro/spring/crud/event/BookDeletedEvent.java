@@ -0,0 +1,11 @@
+package com.alivro.spring.crud.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookDeletedEvent {
+    // Identificador único del libro eliminado
+    private long id;
+}
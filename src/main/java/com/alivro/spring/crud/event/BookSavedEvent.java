@@ -0,0 +1,12 @@
+package com.alivro.spring.crud.event;
+
+import com.alivro.spring.crud.model.Book;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookSavedEvent {
+    // Libro guardado o actualizado
+    private Book book;
+}
@@ -0,0 +1,7 @@
+package com.alivro.spring.crud.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message){
+        super(message);
+    }
+}
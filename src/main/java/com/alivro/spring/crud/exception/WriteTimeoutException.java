@@ -0,0 +1,20 @@
+package com.alivro.spring.crud.exception;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Una escritura agotó su tiempo máximo mientras se ejecutaba; puede seguir en curso y aplicarse,
+ * por lo que reintentarla no es seguro. La tarea indica cuándo termina realmente.
+ */
+public class WriteTimeoutException extends RuntimeException {
+    private final transient CompletableFuture<?> task;
+
+    public WriteTimeoutException(String message, CompletableFuture<?> task){
+        super(message);
+        this.task = task;
+    }
+
+    public CompletableFuture<?> getTask() {
+        return task;
+    }
+}
@@ -0,0 +1,270 @@
+package com.alivro.spring.crud.executor;
+
+import com.alivro.spring.crud.exception.ServiceUnavailableException;
+import com.alivro.spring.crud.exception.WriteTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.core.task.TaskDecorator;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecutor acotado para el trabajo de servicio de los endpoints asíncronos: un número fijo de
+ * hilos y una cola de capacidad limitada, de modo que los listados y reportes nunca ocupan más
+ * que esos hilos (ni más conexiones a la base de datos) y los hilos del contenedor quedan libres
+ * para las búsquedas por ID. Si la cola está llena la tarea se rechaza con
+ * ServiceUnavailableException. Si una tarea no termina dentro del tiempo máximo, contando su
+ * espera en la cola, el resultado se completa con TimeoutException; si la tarea aún no había
+ * empezado, ya no se ejecuta. Si ya se estaba ejecutando y reintentarla no es seguro (escrituras),
+ * el resultado se completa con WriteTimeoutException, que permite esperar el final real de la
+ * tarea. Sin hilos (threads=0) las tareas se ejecutan en el hilo que las envía, como antes de
+ * existir el ejecutor. Con un ejecutor de un hilo por tarea (hilos virtuales) no hay pool: cada
+ * tarea tiene su propio hilo y un semáforo de threads permisos acota las que se ejecutan a la vez;
+ * las demás esperan un permiso, hasta queueCapacity.
+ */
+public class BoundedServiceExecutor {
+    private final String name;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Executor threadPerTask;
+    private final Semaphore permits;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final int capacity;
+    private final Duration timeout;
+    private final boolean retrySafe;
+    private final TaskDecorator taskDecorator;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    /**
+     * Constructor
+     *
+     * @param name          Nombre del ejecutor en sus hilos y métricas
+     * @param threads       Número de hilos, o 0 para ejecutar en el hilo que envía la tarea
+     * @param queueCapacity Tareas que pueden esperar un hilo
+     * @param timeout       Tiempo máximo de una tarea, incluida su espera en la cola
+     * @param retrySafe     false si una tarea que agota su tiempo mientras se ejecuta puede seguir
+     *                      aplicando cambios
+     * @param taskDecorator Decorador que lleva el contexto de la solicitud al hilo del ejecutor
+     * @param meterRegistry Registro de métricas
+     */
+    public BoundedServiceExecutor(String name, int threads, int queueCapacity, Duration timeout, boolean retrySafe,
+                                  TaskDecorator taskDecorator, MeterRegistry meterRegistry) {
+        this(name, threads, queueCapacity, timeout, retrySafe, taskDecorator, null, meterRegistry);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param name          Nombre del ejecutor en sus hilos y métricas
+     * @param threads       Tareas que se ejecutan a la vez, o 0 para ejecutar en el hilo que envía la tarea
+     * @param queueCapacity Tareas que pueden esperar su turno
+     * @param timeout       Tiempo máximo de una tarea, incluida su espera en la cola
+     * @param retrySafe     false si una tarea que agota su tiempo mientras se ejecuta puede seguir
+     *                      aplicando cambios
+     * @param taskDecorator Decorador que lleva el contexto de la solicitud al hilo del ejecutor
+     * @param threadPerTask Ejecutor que crea un hilo por tarea (p. ej. hilos virtuales), o null para
+     *                      un pool de threads hilos de plataforma
+     * @param meterRegistry Registro de métricas
+     */
+    public BoundedServiceExecutor(String name, int threads, int queueCapacity, Duration timeout, boolean retrySafe,
+                                  TaskDecorator taskDecorator, Executor threadPerTask, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeout = timeout;
+        this.retrySafe = retrySafe;
+        this.taskDecorator = taskDecorator;
+        this.rejected = Counter.builder("app.executor.rejected")
+                .description("Tasks rejected because the executor queue was full")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("app.executor.timeouts")
+                .description("Tasks that did not finish within the executor timeout")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        this.capacity = threads + queueCapacity;
+
+        if (threads <= 0) {
+            this.pool = null;
+            this.executor = null;
+            this.threadPerTask = null;
+            this.permits = null;
+
+            return;
+        }
+
+        if (threadPerTask != null) {
+            this.pool = null;
+            this.executor = null;
+            Semaphore semaphore = new Semaphore(threads, true);
+            this.threadPerTask = threadPerTask;
+            this.permits = semaphore;
+
+            // Los mismos indicadores que ExecutorServiceMetrics publica para el pool
+            Gauge.builder("executor.active", semaphore, running -> threads - running.availablePermits())
+                    .description("Tasks running")
+                    .tag("name", name)
+                    .register(meterRegistry);
+            Gauge.builder("executor.queued", pending,
+                            count -> Math.max(0, count.get() - (threads - semaphore.availablePermits())))
+                    .description("Tasks waiting for a permit")
+                    .tag("name", name)
+                    .register(meterRegistry);
+
+            return;
+        }
+
+        this.threadPerTask = null;
+        this.permits = null;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.active, executor.queued, executor.completed, ... y los tiempos de espera en la cola
+        // (executor.idle) y de ejecución (executor) de cada tarea
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, name, Tags.empty());
+    }
+
+    /**
+     * Método para ejecutar una tarea en el ejecutor
+     *
+     * @param task Tarea a ejecutar
+     * @return Resultado de la tarea; se completa con TimeoutException o WriteTimeoutException si se agota el
+     * tiempo máximo
+     * @throws ServiceUnavailableException Si la cola del ejecutor está llena
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        if (executor == null && threadPerTask == null) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        // completion es el final real de la tarea; result, lo que ve quien la envía, que además
+        // se completa al agotarse el tiempo máximo
+        CompletableFuture<T> completion = new CompletableFuture<>();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        Runnable runnable = taskDecorator.decorate(() -> {
+            // Agotó su tiempo en la cola: nadie espera ya el resultado
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                completion.complete(task.get());
+            } catch (Throwable e) {
+                completion.completeExceptionally(e);
+            }
+        });
+
+        try {
+            if (threadPerTask != null) {
+                startThread(runnable);
+            } else {
+                executor.execute(runnable);
+            }
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+
+            throw new ServiceUnavailableException("Server is busy, try again later!");
+        }
+
+        completion.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+
+        CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> timeOut(started, completion, result));
+
+        return result;
+    }
+
+    private void startThread(Runnable runnable) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+
+            throw new RejectedExecutionException();
+        }
+
+        try {
+            threadPerTask.execute(() -> {
+                try {
+                    // Pasado el tiempo máximo la tarea ya no se ejecutará: no tiene caso seguir esperando
+                    if (permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        try {
+                            runnable.run();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+
+            throw e;
+        }
+    }
+
+    private <T> void timeOut(AtomicBoolean started, CompletableFuture<T> completion, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        // La tarea no había empezado y ya no se ejecutará, o nada cambia si se repite
+        boolean skipped = started.compareAndSet(false, true);
+        Throwable error = skipped || retrySafe
+                ? new TimeoutException()
+                : new WriteTimeoutException("Request timed out, the write may still be applied!", completion);
+
+        if (result.completeExceptionally(error)) {
+            timedOut.increment();
+        }
+    }
+
+    /**
+     * Método para detener los hilos del ejecutor al cerrar la aplicación
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,48 @@
+package com.alivro.spring.crud.executor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Ejecutores de los endpoints por clase de carga. Cada tarea se ejecuta en el ejecutor de su
+ * clase y obtiene sus conexiones del pool de esa misma clase.
+ */
+public class Bulkheads {
+    private final Map<WorkloadClass, BoundedServiceExecutor> executors;
+
+    /**
+     * Constructor
+     *
+     * @param executors Ejecutor de cada clase de carga
+     */
+    public Bulkheads(Map<WorkloadClass, BoundedServiceExecutor> executors) {
+        this.executors = new EnumMap<>(executors);
+
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            if (!this.executors.containsKey(workload)) {
+                throw new IllegalArgumentException("Missing executor for workload class " + workload.getName());
+            }
+        }
+    }
+
+    /**
+     * Método para ejecutar una tarea en el ejecutor de su clase de carga
+     *
+     * @param workload Clase de carga
+     * @param task     Tarea a ejecutar
+     * @return Resultado de la tarea
+     * @see BoundedServiceExecutor#submit(Supplier)
+     */
+    public <T> CompletableFuture<T> submit(WorkloadClass workload, Supplier<T> task) {
+        return executors.get(workload).submit(() -> WorkloadRoutingDataSource.callAs(workload, task));
+    }
+
+    /**
+     * Método para detener los hilos de todos los ejecutores al cerrar la aplicación
+     */
+    public void shutdown() {
+        executors.values().forEach(BoundedServiceExecutor::shutdown);
+    }
+}
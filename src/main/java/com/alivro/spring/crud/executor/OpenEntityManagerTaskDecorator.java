@@ -0,0 +1,52 @@
+package com.alivro.spring.crud.executor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Decorador de tareas que abre un EntityManager durante la tarea, como hace open-in-view con el
+ * hilo de la solicitud. Los servicios mapean las entidades a DTOs fuera de una transacción y
+ * cargan las colecciones perezosas en ese momento, por lo que sin él fallarían en el hilo del
+ * ejecutor.
+ */
+@Component
+public class OpenEntityManagerTaskDecorator implements TaskDecorator {
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructor
+     *
+     * @param entityManagerFactory Fábrica de EntityManager de JPA
+     */
+    @Autowired
+    public OpenEntityManagerTaskDecorator(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return () -> {
+            if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+                runnable.run();
+
+                return;
+            }
+
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+
+            try {
+                runnable.run();
+            } finally {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                EntityManagerFactoryUtils.closeEntityManager(entityManager);
+            }
+        };
+    }
+}
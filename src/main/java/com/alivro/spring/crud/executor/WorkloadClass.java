@@ -0,0 +1,44 @@
+package com.alivro.spring.crud.executor;
+
+/**
+ * Clases de carga de la API. Cada una tiene su propio ejecutor y su propio pool de conexiones
+ * (bulkhead), configurados en bulkhead.&lt;nombre&gt;, de modo que una clase saturada no deja sin
+ * hilos ni conexiones a las demás.
+ */
+public enum WorkloadClass {
+    // Búsquedas de un elemento o de sus vecinos: find/{id}, related, coauthors, findByName
+    POINT_READ("point-read", true),
+    // Listados paginados: findAll, findAllByFacets
+    LISTING("listing", true),
+    // Altas, cambios y bajas; una que agota su tiempo puede seguir en curso y aplicarse
+    WRITE("write", false),
+    // Reportes sobre todo el catálogo y cargas masivas
+    BULK("bulk", true);
+
+    private final String name;
+    private final boolean retrySafe;
+
+    WorkloadClass(String name, boolean retrySafe) {
+        this.name = name;
+        this.retrySafe = retrySafe;
+    }
+
+    /**
+     * Método para obtener el nombre de la clase en la configuración y en las métricas
+     *
+     * @return Nombre de la clase, p. ej. point-read
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Método para saber si es seguro reintentar una tarea de la clase que agotó su tiempo mientras
+     * se ejecutaba
+     *
+     * @return false si la tarea modifica datos y puede terminar de aplicarse después del timeout
+     */
+    public boolean isRetrySafe() {
+        return retrySafe;
+    }
+}
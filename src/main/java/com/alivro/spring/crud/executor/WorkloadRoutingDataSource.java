@@ -0,0 +1,72 @@
+package com.alivro.spring.crud.executor;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que entrega las conexiones del pool de la clase de carga asociada al hilo actual.
+ * Fuera de una clase de carga (arranque, administración, estadísticas) usa el pool por defecto
+ * de spring.datasource.hikari.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param defaultPool Pool fuera de una clase de carga
+     * @param classPools  Pool de cada clase de carga
+     */
+    public WorkloadRoutingDataSource(HikariDataSource defaultPool, Map<WorkloadClass, HikariDataSource> classPools) {
+        pools.add(defaultPool);
+        pools.addAll(classPools.values());
+
+        setDefaultTargetDataSource(defaultPool);
+        setTargetDataSources(new HashMap<>(classPools));
+        afterPropertiesSet();
+    }
+
+    /**
+     * Método para ejecutar una tarea con las conexiones de una clase de carga
+     *
+     * @param workload Clase de carga
+     * @param task     Tarea a ejecutar
+     * @return Resultado de la tarea
+     */
+    public static <T> T callAs(WorkloadClass workload, Supplier<T> task) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Método para cerrar todos los pools al detener la aplicación
+     */
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
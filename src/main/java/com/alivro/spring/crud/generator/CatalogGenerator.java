@@ -0,0 +1,359 @@
+package com.alivro.spring.crud.generator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de un catálogo sintético de autores y libros para pruebas de escala.
+ * Inserta directamente en las tablas de schema.sql con lotes de JDBC y reinicia las
+ * secuencias al terminar, por lo que debe ejecutarse antes de construir los índices en memoria.
+ * Las distribuciones imitan un catálogo real: la mayoría de los libros tiene un autor,
+ * pocos autores escriben muchos libros y pocas editoriales publican la mayor parte del catálogo.
+ */
+@Component
+public class CatalogGenerator {
+    private static final String INSERT_AUTHOR =
+            "INSERT INTO author (author_id, first_name, middle_name, last_name, pseudonym) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_BOOK =
+            "INSERT INTO book (book_id, title, subtitle, total_pages, publisher, published_date, isbn_13, isbn_10) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BOOK_AUTHOR =
+            "INSERT INTO book_author (book_id, author_id) VALUES (?, ?)";
+
+    // Probabilidad acumulada de que un libro tenga 1, 2, 3, 4, 5 o 6 autores
+    private static final double[] AUTHORS_PER_BOOK = {0.74, 0.92, 0.97, 0.985, 0.995, 1.0};
+    // Exponente de la distribución de libros por autor: rango = autores * u^AUTHOR_SKEW
+    private static final int AUTHOR_SKEW = 2;
+    private static final double SUBTITLE_PROBABILITY = 0.3;
+    private static final double MIDDLE_NAME_PROBABILITY = 0.4;
+    // Número de páginas log-normal con mediana de 280 páginas
+    private static final double PAGES_MEDIAN = 280;
+    private static final double PAGES_SIGMA = 0.45;
+    private static final int MIN_PAGES = 32;
+    private static final int MAX_PAGES = 1500;
+    private static final LocalDate FIRST_PUBLISHED_DATE = LocalDate.of(1950, 1, 1);
+    private static final LocalDate LAST_PUBLISHED_DATE = LocalDate.of(2024, 12, 31);
+    // Prefijo ISBN-13 de los libros generados; los ISBN con prefijo 979 no tienen ISBN-10
+    private static final String ISBN_PREFIX = "979";
+    // El ISBN se forma con el ID del libro, que debe tener a lo más nueve dígitos
+    private static final long MAX_BOOK_ID = 1_000_000_000L;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Margaret", "Anthony", "Sandra", "Mark", "Ashley",
+            "José", "María", "Juan", "Guadalupe", "Luis", "Carmen", "Carlos", "Rosa", "Jorge", "Ana",
+            "Hans", "Greta", "Pierre", "Amélie", "Giovanni", "Chiara", "Haruki", "Yuki", "Olga", "Ivan"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Müller", "Schmidt", "Dubois", "Rossi", "Tanaka", "Suzuki", "Ivanov", "Kowalski", "Silva", "Andersson"
+    };
+    private static final String[] ADJECTIVES = {
+            "Silent", "Hidden", "Last", "Broken", "Golden", "Lost", "Dark", "Secret", "Forgotten", "Burning",
+            "Invisible", "Quiet", "Endless", "Crimson", "Distant", "Wild", "Frozen", "Hollow", "Little", "Second",
+            "Practical", "Modern", "Essential", "Complete", "Applied", "Concurrent", "Distributed", "Effective",
+            "Functional", "Reactive"
+    };
+    private static final String[] NOUNS = {
+            "River", "Garden", "Kingdom", "Machine", "Island", "Empire", "Letter", "Mountain", "Shadow", "Voyage",
+            "Winter", "Library", "Daughter", "Storm", "Harbor", "Mirror", "Forest", "City", "Promise", "Night",
+            "Algorithms", "Databases", "Compilers", "Networks", "Systems", "Programming", "Statistics", "Design",
+            "Patterns", "Architecture"
+    };
+    private static final String[] SUBTITLES = {
+            "A Novel", "A Memoir", "Stories", "A Practical Guide", "Second Edition", "Third Edition",
+            "An Introduction", "The Complete Reference", "A Hands-On Approach", "Collected Essays",
+            "Anniversary Edition", "Principles and Practice"
+    };
+    // Editoriales ordenadas de mayor a menor participación en el catálogo
+    private static final String[] PUBLISHERS = {
+            "Penguin", "Harper", "Vintage", "Berkley", "Signet", "Penguin Classics", "O'Reilly Media", "Pearson",
+            "Wiley", "Addison-Wesley", "Melville House", "Scribner", "Knopf", "Simon & Schuster", "Macmillan",
+            "Bloomsbury", "Tor Books", "Del Rey", "No Starch Press", "Manning", "Anagrama", "Alfaguara",
+            "Tusquets", "Siruela"
+    };
+    // Probabilidad acumulada de cada editorial (Zipf con exponente 1)
+    private static final double[] PUBLISHER_CDF = zipfCdf(PUBLISHERS.length);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Logger logger = LoggerFactory.getLogger(CatalogGenerator.class);
+
+    /**
+     * Constructor
+     *
+     * @param jdbcTemplate JDBC template
+     */
+    @Autowired
+    public CatalogGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Método para generar un catálogo sintético a continuación de los datos existentes
+     *
+     * @param authors   Número de autores a generar
+     * @param books     Número de libros a generar
+     * @param seed      Semilla de los números aleatorios
+     * @param batchSize Número de filas por lote de JDBC
+     * @return Resumen de las filas generadas
+     */
+    public Result generate(int authors, long books, long seed, int batchSize) {
+        if (authors < 0 || books < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Invalid catalog size!");
+        }
+
+        if (books > 0 && authors == 0) {
+            throw new IllegalArgumentException("Books require at least one author!");
+        }
+
+        logger.info("Genera catálogo sintético. Autores: {}, Libros: {}", authors, books);
+
+        long start = System.nanoTime();
+        long firstAuthorId = nextId("author", "author_id", "author_seq");
+        long firstBookId = nextId("book", "book_id", "book_seq");
+
+        if (firstBookId + books > MAX_BOOK_ID) {
+            throw new IllegalArgumentException("Too many books!");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+
+        long links = Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try {
+                insertAuthors(connection, firstAuthorId, authors, random, batchSize);
+                long inserted = insertBooks(connection, firstBookId, books, firstAuthorId, authors, random, batchSize);
+                connection.commit();
+
+                return inserted;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }));
+
+        restartSequence("author_seq", firstAuthorId + authors);
+        restartSequence("book_seq", firstBookId + books);
+
+        Result result = new Result(authors, books, links, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Catálogo sintético generado. Autores: {}, Libros: {}, Relaciones: {}, Filas/s: {}",
+                result.authors(), result.books(), result.links(), result.rowsPerSecond());
+
+        return result;
+    }
+
+    private void insertAuthors(Connection connection, long firstId, int count, SplittableRandom random,
+                               int batchSize) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_AUTHOR)) {
+            for (int i = 0; i < count; i++) {
+                long id = firstId + i;
+                String firstName = pick(FIRST_NAMES, random);
+                String middleName = random.nextDouble() < MIDDLE_NAME_PROBABILITY ? pick(FIRST_NAMES, random) : null;
+                String lastName = pick(LAST_NAMES, random);
+
+                statement.setLong(1, id);
+                statement.setString(2, firstName);
+                statement.setString(3, middleName);
+                statement.setString(4, lastName);
+                // El ID hace único al pseudónimo sin tener que recordar los ya generados
+                statement.setString(5, middleName == null
+                        ? firstName + " " + lastName + " " + id
+                        : firstName + " " + middleName.charAt(0) + ". " + lastName + " " + id);
+                statement.addBatch();
+
+                if ((i + 1) % batchSize == 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+
+            statement.executeBatch();
+        }
+    }
+
+    private long insertBooks(Connection connection, long firstId, long count, long firstAuthorId, int authors,
+                             SplittableRandom random, int batchSize) throws SQLException {
+        long links = 0;
+        long[] bookAuthors = new long[AUTHORS_PER_BOOK.length];
+        int firstDay = (int) FIRST_PUBLISHED_DATE.toEpochDay();
+        int days = (int) (LAST_PUBLISHED_DATE.toEpochDay() - firstDay);
+
+        try (PreparedStatement bookStatement = connection.prepareStatement(INSERT_BOOK);
+             PreparedStatement linkStatement = connection.prepareStatement(INSERT_BOOK_AUTHOR)) {
+            for (long i = 0; i < count; i++) {
+                long id = firstId + i;
+
+                bookStatement.setLong(1, id);
+                bookStatement.setString(2, title(random));
+                bookStatement.setString(3, random.nextDouble() < SUBTITLE_PROBABILITY ? pick(SUBTITLES, random) : null);
+                bookStatement.setInt(4, pages(random));
+                bookStatement.setString(5, PUBLISHERS[sample(PUBLISHER_CDF, random)]);
+                // Las fechas recientes son más frecuentes: el día crece con la raíz de u
+                bookStatement.setDate(6, Date.valueOf(LocalDate.ofEpochDay(
+                        firstDay + (long) (days * Math.sqrt(random.nextDouble())))));
+                bookStatement.setString(7, isbn13(id));
+                bookStatement.setNull(8, Types.VARCHAR);
+                bookStatement.addBatch();
+
+                int authorCount = Math.min(authors, sample(AUTHORS_PER_BOOK, random) + 1);
+
+                for (int a = 0; a < authorCount; a++) {
+                    long authorId = firstAuthorId + authorRank(authors, random);
+
+                    // Evita repetir un autor en el mismo libro
+                    while (contains(bookAuthors, a, authorId)) {
+                        authorId = firstAuthorId + random.nextInt(authors);
+                    }
+
+                    bookAuthors[a] = authorId;
+                    linkStatement.setLong(1, id);
+                    linkStatement.setLong(2, authorId);
+                    linkStatement.addBatch();
+                }
+
+                links += authorCount;
+
+                if ((i + 1) % batchSize == 0) {
+                    // Los libros se insertan antes que sus relaciones por la llave foránea
+                    bookStatement.executeBatch();
+                    linkStatement.executeBatch();
+                    connection.commit();
+                }
+            }
+
+            bookStatement.executeBatch();
+            linkStatement.executeBatch();
+        }
+
+        return links;
+    }
+
+    /**
+     * Método para obtener el primer ID libre de una tabla, respetando tanto los datos
+     * existentes como el siguiente valor de la secuencia
+     */
+    private long nextId(String table, String idColumn, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+        Long nextValue = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+
+        return Math.max(Objects.requireNonNull(maxId) + 1, Objects.requireNonNull(nextValue));
+    }
+
+    private void restartSequence(String sequence, long value) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+    }
+
+    /**
+     * Método para elegir un autor: el rango sigue una ley de potencia, por lo que los
+     * primeros autores escriben muchos libros y la mayoría escribe pocos
+     */
+    private static int authorRank(int authors, SplittableRandom random) {
+        return (int) Math.min(authors - 1, (long) (authors * Math.pow(random.nextDouble(), AUTHOR_SKEW)));
+    }
+
+    private static String title(SplittableRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> "The " + pick(ADJECTIVES, random) + " " + pick(NOUNS, random);
+            case 1 -> "The " + pick(NOUNS, random) + " of the " + pick(NOUNS, random);
+            case 2 -> pick(ADJECTIVES, random) + " " + pick(NOUNS, random);
+            default -> pick(NOUNS, random) + " and " + pick(NOUNS, random);
+        };
+    }
+
+    private static int pages(SplittableRandom random) {
+        // Box-Muller: normal estándar a partir de dos uniformes
+        double normal = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        long pages = Math.round(PAGES_MEDIAN * Math.exp(PAGES_SIGMA * normal));
+
+        return (int) Math.max(MIN_PAGES, Math.min(MAX_PAGES, pages));
+    }
+
+    /**
+     * Método para construir un ISBN-13 único a partir del ID del libro
+     *
+     * @param number ID del libro (menor a MAX_BOOK_ID)
+     * @return ISBN-13 con dígito de control
+     */
+    static String isbn13(long number) {
+        String digits = ISBN_PREFIX + String.format("%09d", number);
+        int sum = 0;
+
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+
+        return Math.min(cdf.length - 1, index >= 0 ? index + 1 : -index - 1);
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static double[] zipfCdf(int size) {
+        double[] cdf = new double[size];
+        double total = 0;
+
+        for (int i = 0; i < size; i++) {
+            total += 1.0 / (i + 1);
+            cdf[i] = total;
+        }
+
+        for (int i = 0; i < size; i++) {
+            cdf[i] /= total;
+        }
+
+        return cdf;
+    }
+
+    /**
+     * Resumen de una generación
+     *
+     * @param authors Autores insertados
+     * @param books   Libros insertados
+     * @param links   Relaciones libro-autor insertadas
+     * @param millis  Duración en milisegundos
+     */
+    public record Result(int authors, long books, long links, long millis) {
+        public long rowsPerSecond() {
+            return millis == 0 ? 0 : (authors + books + links) * 1000 / millis;
+        }
+    }
+}
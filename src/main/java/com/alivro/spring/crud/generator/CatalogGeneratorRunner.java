@@ -0,0 +1,54 @@
+package com.alivro.spring.crud.generator;
+
+import com.alivro.spring.crud.executor.WorkloadClass;
+import com.alivro.spring.crud.executor.WorkloadRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Genera el catálogo sintético al iniciar la aplicación cuando catalog.generator.enabled=true.
+ * Los CommandLineRunner se ejecutan antes de ApplicationReadyEvent, por lo que los índices
+ * en memoria se construyen ya con el catálogo generado. La carga usa las conexiones del pool
+ * de la clase bulk.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.generator.enabled", havingValue = "true")
+public class CatalogGeneratorRunner implements CommandLineRunner {
+    private final CatalogGenerator catalogGenerator;
+    private final int authors;
+    private final long books;
+    private final long seed;
+    private final int batchSize;
+
+    /**
+     * Constructor
+     *
+     * @param catalogGenerator Generador del catálogo
+     * @param authors          Número de autores a generar
+     * @param books            Número de libros a generar
+     * @param seed             Semilla de los números aleatorios
+     * @param batchSize        Número de filas por lote de JDBC
+     */
+    @Autowired
+    public CatalogGeneratorRunner(
+            CatalogGenerator catalogGenerator,
+            @Value("${catalog.generator.authors:100000}") int authors,
+            @Value("${catalog.generator.books:1000000}") long books,
+            @Value("${catalog.generator.seed:42}") long seed,
+            @Value("${catalog.generator.batch-size:1000}") int batchSize) {
+        this.catalogGenerator = catalogGenerator;
+        this.authors = authors;
+        this.books = books;
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        WorkloadRoutingDataSource.callAs(WorkloadClass.BULK,
+                () -> catalogGenerator.generate(authors, books, seed, batchSize));
+    }
+}
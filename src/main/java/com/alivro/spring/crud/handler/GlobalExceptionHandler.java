@@ -1,16 +1,29 @@
 package com.alivro.spring.crud.handler;
 
+import com.alivro.spring.crud.deadline.RequestDeadline;
 import com.alivro.spring.crud.exception.DataAlreadyExistsException;
 import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.exception.DeadlineExceededException;
+import com.alivro.spring.crud.exception.IdempotencyKeyReusedException;
+import com.alivro.spring.crud.exception.ServiceUnavailableException;
+import com.alivro.spring.crud.exception.WriteTimeoutException;
 import com.alivro.spring.crud.util.CustomErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+
+import java.util.concurrent.TimeoutException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    // Segundos que el cliente debe esperar antes de reintentar cuando el servidor está saturado
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     @ExceptionHandler(DataNotFoundException.class)
     public ResponseEntity<CustomErrorResponse<Void>> handleDataNotFoundException(
             DataNotFoundException ex, HttpServletRequest request) {
@@ -27,6 +40,51 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<CustomErrorResponse<Void>> handleIdempotencyKeyReusedException(
+            IdempotencyKeyReusedException ex, HttpServletRequest request) {
+        return ResponseHandler.sendErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), request.getRequestURI()
+        );
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<CustomErrorResponse<Void>> handleServiceUnavailableException(
+            ServiceUnavailableException ex, HttpServletRequest request) {
+        return retryLater(ResponseHandler.sendErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI()
+        ));
+    }
+
+    @ExceptionHandler({TimeoutException.class, AsyncRequestTimeoutException.class})
+    public ResponseEntity<CustomErrorResponse<Void>> handleTimeoutException(
+            Exception ex, HttpServletRequest request) {
+        return retryLater(ResponseHandler.sendErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE, "Request timed out!", request.getRequestURI()
+        ));
+    }
+
+    @ExceptionHandler(WriteTimeoutException.class)
+    public ResponseEntity<CustomErrorResponse<Void>> handleWriteTimeoutException(
+            WriteTimeoutException ex, HttpServletRequest request) {
+        // Sin Retry-After: la escritura sigue en curso y puede aplicarse, reintentarla no es seguro
+        return ResponseHandler.sendErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), request.getRequestURI()
+        );
+    }
+
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<CustomErrorResponse<Void>> handleDeadlineExceededException(
+            RuntimeException ex, HttpServletRequest request) {
+        // Las consultas sólo tienen timeout cuando el cliente fija un plazo con X-Request-Timeout.
+        // El 504 lo provocó el cliente, no la carga: el límite de concurrencia no debe bajar
+        request.setAttribute(RequestDeadline.EXCEEDED_ATTRIBUTE, Boolean.TRUE);
+
+        return ResponseHandler.sendErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded!", request.getRequestURI()
+        );
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<CustomErrorResponse<Void>> handleRuntimeException(
             RuntimeException ex, HttpServletRequest request) {
@@ -34,4 +92,10 @@ public class GlobalExceptionHandler {
                 HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), request.getRequestURI()
         );
     }
+
+    private static <T> ResponseEntity<T> retryLater(ResponseEntity<T> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(response.getBody());
+    }
 }
@@ -1,5 +1,6 @@
 package com.alivro.spring.crud.handler;
 
+import com.alivro.spring.crud.statistics.ServerTimings;
 import com.alivro.spring.crud.util.CustomErrorResponse;
 import com.alivro.spring.crud.util.CustomResponse;
 import org.springframework.http.HttpStatus;
@@ -24,14 +25,17 @@ public class ResponseHandler {
      */
     public static <T, S> ResponseEntity<CustomResponse<T, S>> sendResponse(
             HttpStatus status, String message, List<T> data, S metadata) {
+        long start = ServerTimings.start();
         CustomResponse<T, S> response = CustomResponse.<T, S>builder()
                 .status(status.value())
                 .message(message)
                 .data(data)
                 .metadata(metadata)
                 .build();
+        ResponseEntity<CustomResponse<T, S>> entity = new ResponseEntity<>(response, status);
+        ServerTimings.addResponse(start);
 
-        return new ResponseEntity<>(response, status);
+        return entity;
     }
 
     /**
@@ -70,6 +74,7 @@ public class ResponseHandler {
      */
     public static <S> ResponseEntity<CustomErrorResponse<S>> sendErrorResponse(
             HttpStatus status, String error, String path, S metadata) {
+        long start = ServerTimings.start();
         CustomErrorResponse<S> response = CustomErrorResponse.<S>builder()
                 .status(status.value())
                 .error(error)
@@ -77,8 +82,10 @@ public class ResponseHandler {
                 .timestamp(new Timestamp(System.currentTimeMillis()))
                 .metadata(metadata)
                 .build();
+        ResponseEntity<CustomErrorResponse<S>> entity = new ResponseEntity<>(response, status);
+        ServerTimings.addResponse(start);
 
-        return new ResponseEntity<>(response, status);
+        return entity;
     }
 
     /**
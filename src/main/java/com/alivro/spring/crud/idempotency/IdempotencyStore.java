@@ -0,0 +1,209 @@
+package com.alivro.spring.crud.idempotency;
+
+import com.alivro.spring.crud.exception.DataAlreadyExistsException;
+import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.exception.IdempotencyKeyReusedException;
+import com.alivro.spring.crud.exception.ServiceUnavailableException;
+import com.alivro.spring.crud.exception.WriteTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas de las solicitudes con encabezado Idempotency-Key. Cada cliente tiene sus propias
+ * llaves: la misma llave enviada por otro cliente es otra solicitud. La primera solicitud con una
+ * llave se ejecuta y su respuesta se guarda durante idempotency.ttl; los reintentos con la misma llave
+ * reciben esa respuesta sin volver a ejecutar el servicio, y los que llegan mientras la primera
+ * sigue en curso esperan su resultado. Sólo se guardan las respuestas exitosas y los errores del
+ * cliente (409, 404); tras un error del servidor (503, 504, 500) la llave se libera para que el
+ * reintento se ejecute. Si la escritura agota su tiempo pero sigue en curso (WriteTimeoutException),
+ * la llave queda pendiente hasta que termina y se guarda su resultado real. Se guardan a lo más
+ * idempotency.max-keys llaves.
+ */
+@Component
+public class IdempotencyStore {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final long ttlNanos;
+    private final int maxKeys;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter replays;
+
+    /**
+     * Constructor
+     *
+     * @param ttl           Tiempo que se conserva una respuesta desde que termina la solicitud
+     * @param maxKeys       Número máximo de llaves guardadas
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public IdempotencyStore(
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.max-keys:10000}") int maxKeys,
+            MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxKeys = maxKeys;
+        this.replays = Counter.builder("app.idempotency.replays")
+                .description("Responses replayed for retried Idempotency-Key requests")
+                .register(meterRegistry);
+
+        Gauge.builder("app.idempotency.keys", entries, Map::size)
+                .description("Idempotency keys stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Método para ejecutar una solicitud una sola vez por llave
+     *
+     * @param scope   Endpoint de la solicitud, p. ej. book/save; la misma llave en otro endpoint es otra solicitud
+     * @param client  Cliente que envía la solicitud (RateLimitFilter.client); nunca recibe la respuesta de otro
+     * @param key     Valor del encabezado Idempotency-Key, o null para ejecutar sin guardar la respuesta
+     * @param request Cuerpo de la solicitud; un reintento debe enviar uno igual (equals)
+     * @param action  Solicitud a ejecutar
+     * @return Respuesta de la primera solicitud con la llave
+     * @throws IdempotencyKeyReusedException Si la llave ya se usó con otro cuerpo
+     * @throws ServiceUnavailableException   Si no caben más llaves
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> execute(
+            String scope, String client, String key, Object request,
+            Supplier<CompletableFuture<ResponseEntity<T>>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        // Se guarda el hash del cliente y la llave para que una llave muy larga no ocupe más memoria
+        String id = scope + ":" + DigestUtils.sha256Hex(client + "\n" + key);
+        Entry created = new Entry(request);
+
+        while (true) {
+            Entry entry = entries.get(id);
+
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                entries.remove(id, entry);
+                continue;
+            }
+
+            if (entry != null) {
+                return replay(entry, request);
+            }
+
+            reserve();
+
+            if (entries.putIfAbsent(id, created) == null) {
+                return run(id, created, action);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<ResponseEntity<T>> replay(Entry entry, Object request) {
+        if (!Objects.equals(entry.request, request)) {
+            throw new IdempotencyKeyReusedException("Idempotency key was already used with a different request!");
+        }
+
+        replays.increment();
+        logger.info("Reintento con llave de idempotencia; se devuelve la respuesta guardada.");
+
+        // Cada solicitud recibe su propia copia para que cancelar una no afecte a las demás
+        return entry.response.thenApply(response -> (ResponseEntity<T>) ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody()));
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> run(
+            String id, Entry entry, Supplier<CompletableFuture<ResponseEntity<T>>> action) {
+        CompletableFuture<ResponseEntity<T>> result;
+
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            entries.remove(id, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+
+        result.whenComplete((response, error) -> settle(id, entry, response, error));
+
+        return result;
+    }
+
+    private void settle(String id, Entry entry, Object response, Throwable error) {
+        // La escritura agotó su tiempo pero sigue en curso: la llave queda pendiente hasta que
+        // termine, para que un reintento reciba su resultado en vez de guardar de nuevo
+        if (unwrap(error) instanceof WriteTimeoutException timeout) {
+            timeout.getTask().whenComplete((taskResponse, taskError) -> settle(id, entry, taskResponse, taskError));
+            return;
+        }
+
+        entry.expiresAt = System.nanoTime() + ttlNanos;
+
+        if (error != null && !isClientError(error)) {
+            entries.remove(id, entry);
+        }
+
+        if (error != null) {
+            entry.response.completeExceptionally(error);
+        } else {
+            entry.response.complete((ResponseEntity<?>) response);
+        }
+    }
+
+    private void reserve() {
+        if (entries.size() < maxKeys) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        if (entries.size() >= maxKeys) {
+            throw new ServiceUnavailableException("Too many pending idempotency keys, try again later!");
+        }
+    }
+
+    private static boolean isClientError(Throwable error) {
+        Throwable cause = unwrap(error);
+
+        return cause instanceof DataAlreadyExistsException || cause instanceof DataNotFoundException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Solicitud guardada: su cuerpo y su respuesta, que se completa al terminar la primera ejecución
+     */
+    private static class Entry {
+        private final Object request;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(Object request) {
+            this.request = request;
+        }
+
+        boolean isExpired(long now) {
+            return response.isDone() && now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.AuthorDeletedEvent;
+import com.alivro.spring.crud.event.AuthorSavedEvent;
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.repository.AuthorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice hash en memoria de los nombres de los autores.
+ * Cada nombre se indexa con dos tipos de clave: su forma normalizada (sin acentos,
+ * signos de puntuación ni espacios) y los códigos Double Metaphone de cada palabra.
+ */
+@Component
+public class AuthorNameIndex {
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final AuthorRepository authorRepository;
+    private final Logger logger = LoggerFactory.getLogger(AuthorNameIndex.class);
+
+    // Forma normalizada -> IDs de autores
+    private final Map<String, Set<Long>> normalizedKeys = new ConcurrentHashMap<>();
+    // Código fonético -> IDs de autores
+    private final Map<String, Set<Long>> phoneticKeys = new ConcurrentHashMap<>();
+    // ID del autor -> claves indexadas (para eliminarlas al actualizar o eliminar)
+    private final Map<Long, IndexedKeys> keysByAuthor = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param authorRepository Author repository
+     */
+    @Autowired
+    public AuthorNameIndex(AuthorRepository authorRepository) {
+        this.authorRepository = authorRepository;
+    }
+
+    /**
+     * Método para construir el índice con los autores existentes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        logger.info("Construye índice de nombres de autores.");
+
+        Page<Author> page = authorRepository.findAll(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        page.forEach(this::index);
+
+        while (page.hasNext()) {
+            page = authorRepository.findAll(page.nextPageable());
+            page.forEach(this::index);
+        }
+
+        logger.info("Índice de nombres de autores construido. Autores: {}", size());
+    }
+
+    /**
+     * Método para indexar un autor guardado o actualizado
+     *
+     * @param event Evento con la información del autor
+     */
+    @EventListener
+    public void onAuthorSaved(AuthorSavedEvent event) {
+        index(event.getAuthor());
+    }
+
+    /**
+     * Método para eliminar un autor del índice
+     *
+     * @param event Evento con el ID del autor eliminado
+     */
+    @EventListener
+    public void onAuthorDeleted(AuthorDeletedEvent event) {
+        remove(event.getId());
+    }
+
+    /**
+     * Método para buscar autores por nombre.
+     * Primero devuelve las coincidencias exactas de la forma normalizada y después las
+     * coincidencias fonéticas, en las que cada palabra del nombre buscado debe coincidir.
+     *
+     * @param name Nombre, segundo nombre, apellido o pseudónimo a buscar
+     * @return IDs de los autores encontrados
+     */
+    public List<Long> search(String name) {
+        Set<Long> found = new LinkedHashSet<>(
+                sorted(normalizedKeys.getOrDefault(NameKeyEncoder.normalize(name), Set.of()))
+        );
+
+        Set<Long> phoneticMatches = null;
+
+        for (String token : NameKeyEncoder.tokenize(name)) {
+            Set<String> codes = NameKeyEncoder.phoneticKeys(token);
+
+            if (codes.isEmpty()) {
+                continue;
+            }
+
+            Set<Long> tokenMatches = new HashSet<>();
+            codes.forEach(code -> tokenMatches.addAll(phoneticKeys.getOrDefault(code, Set.of())));
+
+            if (phoneticMatches == null) {
+                phoneticMatches = tokenMatches;
+            } else {
+                phoneticMatches.retainAll(tokenMatches);
+            }
+        }
+
+        if (phoneticMatches != null) {
+            found.addAll(sorted(phoneticMatches));
+        }
+
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Método para obtener el número de autores indexados
+     *
+     * @return Número de autores indexados
+     */
+    public synchronized int size() {
+        return keysByAuthor.size();
+    }
+
+    private synchronized void index(Author author) {
+        long id = author.getId();
+
+        remove(id);
+
+        IndexedKeys keys = keysOf(author);
+        keys.normalized().forEach(key -> add(normalizedKeys, key, id));
+        keys.phonetic().forEach(key -> add(phoneticKeys, key, id));
+
+        keysByAuthor.put(id, keys);
+    }
+
+    private synchronized void remove(long id) {
+        IndexedKeys keys = keysByAuthor.remove(id);
+
+        if (keys == null) {
+            return;
+        }
+
+        keys.normalized().forEach(key -> discard(normalizedKeys, key, id));
+        keys.phonetic().forEach(key -> discard(phoneticKeys, key, id));
+    }
+
+    private static IndexedKeys keysOf(Author author) {
+        String firstName = Objects.toString(author.getFirstName(), "");
+        String middleName = Objects.toString(author.getMiddleName(), "");
+        String lastName = Objects.toString(author.getLastName(), "");
+        String pseudonym = Objects.toString(author.getPseudonym(), "");
+
+        Set<String> normalized = new HashSet<>();
+        normalized.add(NameKeyEncoder.normalize(firstName));
+        normalized.add(NameKeyEncoder.normalize(middleName));
+        normalized.add(NameKeyEncoder.normalize(lastName));
+        normalized.add(NameKeyEncoder.normalize(pseudonym));
+        normalized.add(NameKeyEncoder.normalize(firstName + lastName));
+        normalized.add(NameKeyEncoder.normalize(firstName + middleName + lastName));
+        normalized.add(initials(firstName) + initials(middleName) + NameKeyEncoder.normalize(lastName));
+        normalized.remove("");
+
+        Set<String> phonetic = new HashSet<>();
+        for (String field : List.of(firstName, middleName, lastName, pseudonym)) {
+            NameKeyEncoder.tokenize(field)
+                    .forEach(token -> phonetic.addAll(NameKeyEncoder.phoneticKeys(token)));
+        }
+
+        return new IndexedKeys(normalized, phonetic);
+    }
+
+    private static String initials(String name) {
+        String normalized = NameKeyEncoder.normalize(name);
+
+        return normalized.isEmpty() ? "" : normalized.substring(0, 1);
+    }
+
+    private static void add(Map<String, Set<Long>> index, String key, long id) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static void discard(Map<String, Set<Long>> index, String key, long id) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static List<Long> sorted(Set<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        Collections.sort(list);
+        return list;
+    }
+
+    private record IndexedKeys(Set<String> normalized, Set<String> phonetic) {
+    }
+}
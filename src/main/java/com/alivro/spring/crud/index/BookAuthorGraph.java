@@ -0,0 +1,534 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.AuthorDeletedEvent;
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.BookRepository;
+import com.alivro.spring.crud.repository.projection.BookAuthorLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria del grafo bipartito libro-autor (tabla book_author).
+ * Cada dirección (libro -> autores y autor -> libros) se guarda en formato CSR: IDs de los
+ * vértices ordenados, desplazamientos y vecinos ordenados en arreglos de primitivos.
+ * Las escrituras se acumulan en una capa de cambios acotada, también en arreglos de primitivos
+ * ordenados por ID, que se mezcla con los arreglos CSR en unos nuevos cuando crece demasiado.
+ * Las lecturas internas recorren los vecinos sin copiarlos; solo los métodos públicos que
+ * devuelven un arreglo hacen una copia.
+ */
+@Component
+public class BookAuthorGraph {
+    private static final int LOAD_PAGE_SIZE = 1000;
+    // Tamaño mínimo de la capa de cambios antes de compactar
+    private static final int MIN_DELTA_SIZE = 256;
+    private static final long[] NO_IDS = new long[0];
+    private static final Neighbours NO_NEIGHBOURS = new Neighbours(NO_IDS, 0, 0);
+
+    private final BookRepository bookRepository;
+    private final Logger logger = LoggerFactory.getLogger(BookAuthorGraph.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Csr authorsByBook = Csr.EMPTY;
+    private Csr booksByAuthor = Csr.EMPTY;
+
+    // Vecinos actuales de los vértices modificados desde la última compactación
+    private final Delta authorsByBookDelta = new Delta();
+    private final Delta booksByAuthorDelta = new Delta();
+
+    /**
+     * Constructor
+     *
+     * @param bookRepository Book repository
+     */
+    @Autowired
+    public BookAuthorGraph(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Método para construir el grafo con las relaciones existentes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        logger.info("Construye grafo de libros y autores.");
+
+        EdgeList edges = new EdgeList();
+        Slice<BookAuthorLink> links = bookRepository.findAllBookAuthorLinks(PageRequest.of(0, LOAD_PAGE_SIZE));
+        links.forEach(link -> edges.add(link.getBookId(), link.getAuthorId()));
+
+        while (links.hasNext()) {
+            links = bookRepository.findAllBookAuthorLinks(links.nextPageable());
+            links.forEach(link -> edges.add(link.getBookId(), link.getAuthorId()));
+        }
+
+        lock.writeLock().lock();
+        try {
+            authorsByBook = Csr.build(edges.sources, edges.targets, edges.size);
+            booksByAuthor = Csr.build(edges.targets, edges.sources, edges.size);
+            authorsByBookDelta.clear();
+            booksByAuthorDelta.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Grafo de libros y autores construido. Relaciones: {}", edges.size);
+    }
+
+    /**
+     * Método para actualizar los autores de un libro guardado o actualizado
+     *
+     * @param event Evento con la información del libro
+     */
+    @EventListener
+    public void onBookSaved(BookSavedEvent event) {
+        Book book = event.getBook();
+        long[] authorIds = book.getAuthors() == null ? NO_IDS : book.getAuthors().stream()
+                .mapToLong(Author::getId)
+                .sorted()
+                .distinct()
+                .toArray();
+
+        lock.writeLock().lock();
+        try {
+            replaceAuthorsOfBook(book.getId(), authorIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método para eliminar un libro del grafo
+     *
+     * @param event Evento con el ID del libro eliminado
+     */
+    @EventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            replaceAuthorsOfBook(event.getId(), NO_IDS);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método para eliminar un autor del grafo
+     *
+     * @param event Evento con el ID del autor eliminado
+     */
+    @EventListener
+    public void onAuthorDeleted(AuthorDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            long authorId = event.getId();
+            Neighbours bookIds = booksOf(authorId);
+
+            for (int i = 0; i < bookIds.length(); i++) {
+                long bookId = bookIds.get(i);
+                authorsByBookDelta.put(bookId, without(authorsOf(bookId), authorId));
+            }
+
+            booksByAuthorDelta.put(authorId, NO_IDS);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método para obtener los autores de un libro
+     *
+     * @param bookId ID del libro
+     * @return IDs de los autores, ordenados
+     */
+    public long[] authorsOfBook(long bookId) {
+        lock.readLock().lock();
+        try {
+            return authorsOf(bookId).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para obtener los libros de un autor
+     *
+     * @param authorId ID del autor
+     * @return IDs de los libros, ordenados
+     */
+    public long[] booksOfAuthor(long authorId) {
+        lock.readLock().lock();
+        try {
+            return booksOf(authorId).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para obtener los otros libros de los autores de un libro
+     *
+     * @param bookId ID del libro
+     * @return Libros relacionados, primero los que comparten más autores
+     */
+    public List<Neighbour> relatedBooks(long bookId) {
+        lock.readLock().lock();
+        try {
+            Neighbours authorIds = authorsOf(bookId);
+            Neighbours[] bookIds = new Neighbours[authorIds.length()];
+
+            for (int i = 0; i < bookIds.length; i++) {
+                bookIds[i] = booksOf(authorIds.get(i));
+            }
+
+            return countShared(bookIds, bookId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para obtener los coautores de un autor
+     *
+     * @param authorId ID del autor
+     * @return Coautores, primero los que comparten más libros
+     */
+    public List<Neighbour> coauthors(long authorId) {
+        lock.readLock().lock();
+        try {
+            Neighbours bookIds = booksOf(authorId);
+            Neighbours[] authorIds = new Neighbours[bookIds.length()];
+
+            for (int i = 0; i < authorIds.length; i++) {
+                authorIds[i] = authorsOf(bookIds.get(i));
+            }
+
+            return countShared(authorIds, authorId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replaceAuthorsOfBook(long bookId, long[] authorIds) {
+        Neighbours previous = authorsOf(bookId);
+
+        for (int i = 0; i < previous.length(); i++) {
+            long authorId = previous.get(i);
+
+            if (Arrays.binarySearch(authorIds, authorId) < 0) {
+                booksByAuthorDelta.put(authorId, without(booksOf(authorId), bookId));
+            }
+        }
+
+        for (long authorId : authorIds) {
+            if (!previous.contains(authorId)) {
+                booksByAuthorDelta.put(authorId, with(booksOf(authorId), bookId));
+            }
+        }
+
+        authorsByBookDelta.put(bookId, authorIds);
+        compactIfNeeded();
+    }
+
+    private Neighbours authorsOf(long bookId) {
+        long[] delta = authorsByBookDelta.get(bookId);
+
+        return delta != null ? new Neighbours(delta, 0, delta.length) : authorsByBook.neighbours(bookId);
+    }
+
+    private Neighbours booksOf(long authorId) {
+        long[] delta = booksByAuthorDelta.get(authorId);
+
+        return delta != null ? new Neighbours(delta, 0, delta.length) : booksByAuthor.neighbours(authorId);
+    }
+
+    private void compactIfNeeded() {
+        int deltaSize = authorsByBookDelta.size + booksByAuthorDelta.size;
+        int vertices = authorsByBook.vertices.length + booksByAuthor.vertices.length;
+
+        if (deltaSize <= Math.max(MIN_DELTA_SIZE, vertices / 8)) {
+            return;
+        }
+
+        // Mezcla los IDs de libros del CSR y de la capa de cambios, ambos ordenados
+        EdgeList edges = new EdgeList();
+        long[] csrBooks = authorsByBook.vertices;
+        long[] deltaBooks = authorsByBookDelta.keys;
+        int csrIndex = 0;
+        int deltaIndex = 0;
+
+        while (csrIndex < csrBooks.length || deltaIndex < authorsByBookDelta.size) {
+            long bookId;
+            Neighbours authorIds;
+
+            if (deltaIndex == authorsByBookDelta.size
+                    || (csrIndex < csrBooks.length && csrBooks[csrIndex] < deltaBooks[deltaIndex])) {
+                bookId = csrBooks[csrIndex];
+                authorIds = authorsByBook.neighboursAt(csrIndex++);
+            } else {
+                bookId = deltaBooks[deltaIndex];
+                long[] delta = authorsByBookDelta.values[deltaIndex++];
+                authorIds = new Neighbours(delta, 0, delta.length);
+
+                // El libro también estaba en el CSR: su versión de la capa de cambios lo reemplaza
+                if (csrIndex < csrBooks.length && csrBooks[csrIndex] == bookId) {
+                    csrIndex++;
+                }
+            }
+
+            for (int i = 0; i < authorIds.length(); i++) {
+                edges.add(bookId, authorIds.get(i));
+            }
+        }
+
+        authorsByBook = Csr.build(edges.sources, edges.targets, edges.size);
+        booksByAuthor = Csr.build(edges.targets, edges.sources, edges.size);
+        authorsByBookDelta.clear();
+        booksByAuthorDelta.clear();
+
+        logger.info("Compacta grafo de libros y autores. Relaciones: {}", edges.size);
+    }
+
+    /**
+     * Cuenta cuántas listas contienen a cada vértice (excepto el vértice de origen),
+     * concatenando las listas y ordenándolas en lugar de usar un mapa
+     */
+    private static List<Neighbour> countShared(Neighbours[] lists, long origin) {
+        int total = 0;
+
+        for (Neighbours list : lists) {
+            total += list.length();
+        }
+
+        long[] all = new long[total];
+        int length = 0;
+
+        for (Neighbours list : lists) {
+            System.arraycopy(list.ids(), list.from(), all, length, list.length());
+            length += list.length();
+        }
+
+        Arrays.sort(all);
+
+        List<Neighbour> neighbours = new ArrayList<>();
+
+        for (int from = 0; from < length; ) {
+            int to = from;
+
+            while (to < length && all[to] == all[from]) {
+                to++;
+            }
+
+            if (all[from] != origin) {
+                neighbours.add(new Neighbour(all[from], to - from));
+            }
+
+            from = to;
+        }
+
+        neighbours.sort(Comparator.comparingInt(Neighbour::shared).reversed().thenComparingLong(Neighbour::id));
+
+        return neighbours;
+    }
+
+    private static long[] with(Neighbours sorted, long value) {
+        int index = Arrays.binarySearch(sorted.ids(), sorted.from(), sorted.to(), value);
+
+        if (index >= 0) {
+            return sorted.toArray();
+        }
+
+        int insertion = -index - 1;
+        long[] result = new long[sorted.length() + 1];
+        System.arraycopy(sorted.ids(), sorted.from(), result, 0, insertion - sorted.from());
+        result[insertion - sorted.from()] = value;
+        System.arraycopy(sorted.ids(), insertion, result, insertion - sorted.from() + 1, sorted.to() - insertion);
+
+        return result;
+    }
+
+    private static long[] without(Neighbours sorted, long value) {
+        int index = Arrays.binarySearch(sorted.ids(), sorted.from(), sorted.to(), value);
+
+        if (index < 0) {
+            return sorted.toArray();
+        }
+
+        long[] result = new long[sorted.length() - 1];
+        System.arraycopy(sorted.ids(), sorted.from(), result, 0, index - sorted.from());
+        System.arraycopy(sorted.ids(), index + 1, result, index - sorted.from(), sorted.to() - index - 1);
+
+        return result;
+    }
+
+    /**
+     * Vértice vecino y número de vértices compartidos con el vértice de origen
+     */
+    public record Neighbour(long id, int shared) {
+    }
+
+    /**
+     * Vecinos ordenados de un vértice: ids[from..to) de un arreglo que nunca se modifica
+     * (del CSR o de la capa de cambios), sin copiarlos
+     */
+    private record Neighbours(long[] ids, int from, int to) {
+        private int length() {
+            return to - from;
+        }
+
+        private long get(int index) {
+            return ids[from + index];
+        }
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, from, to, id) >= 0;
+        }
+
+        private long[] toArray() {
+            return from == to ? NO_IDS : Arrays.copyOfRange(ids, from, to);
+        }
+    }
+
+    /**
+     * Capa de cambios: vecinos actuales de los vértices modificados desde la última compactación,
+     * en arreglos paralelos ordenados por ID del vértice
+     */
+    private static final class Delta {
+        private long[] keys = new long[MIN_DELTA_SIZE];
+        private long[][] values = new long[MIN_DELTA_SIZE][];
+        private int size = 0;
+
+        private long[] get(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+
+            return index >= 0 ? values[index] : null;
+        }
+
+        private void put(long key, long[] value) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            int insertion = -index - 1;
+            System.arraycopy(keys, insertion, keys, insertion + 1, size - insertion);
+            System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+            keys[insertion] = key;
+            values[insertion] = value;
+            size++;
+        }
+
+        private void clear() {
+            Arrays.fill(values, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Lista de aristas en arreglos paralelos que crecen según se necesita
+     */
+    private static final class EdgeList {
+        private long[] sources = new long[LOAD_PAGE_SIZE];
+        private long[] targets = new long[LOAD_PAGE_SIZE];
+        private int size = 0;
+
+        private void add(long source, long target) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+
+            sources[size] = source;
+            targets[size] = target;
+            size++;
+        }
+    }
+
+    /**
+     * Lista de adyacencia en formato CSR (compressed sparse row)
+     */
+    private static final class Csr {
+        private static final Csr EMPTY = new Csr(new long[0], new int[]{0}, new long[0]);
+
+        // IDs de los vértices con al menos un vecino, ordenados
+        private final long[] vertices;
+        // Los vecinos del vértice i ocupan neighbours[offsets[i]..offsets[i + 1])
+        private final int[] offsets;
+        private final long[] neighbours;
+
+        private Csr(long[] vertices, int[] offsets, long[] neighbours) {
+            this.vertices = vertices;
+            this.offsets = offsets;
+            this.neighbours = neighbours;
+        }
+
+        private Neighbours neighbours(long vertex) {
+            int index = Arrays.binarySearch(vertices, vertex);
+
+            return index >= 0 ? neighboursAt(index) : NO_NEIGHBOURS;
+        }
+
+        private Neighbours neighboursAt(int index) {
+            return new Neighbours(neighbours, offsets[index], offsets[index + 1]);
+        }
+
+        private static Csr build(long[] sources, long[] targets, int edges) {
+            // Vértices distintos, ordenados
+            long[] sorted = Arrays.copyOf(sources, edges);
+            Arrays.sort(sorted);
+            int vertexCount = 0;
+
+            for (int i = 0; i < edges; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[vertexCount++] = sorted[i];
+                }
+            }
+
+            long[] vertices = Arrays.copyOf(sorted, vertexCount);
+
+            // Desplazamientos a partir del grado de cada vértice
+            int[] offsets = new int[vertexCount + 1];
+
+            for (int i = 0; i < edges; i++) {
+                offsets[Arrays.binarySearch(vertices, sources[i]) + 1]++;
+            }
+
+            for (int i = 0; i < vertexCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, vertexCount);
+            long[] neighbours = new long[edges];
+
+            for (int i = 0; i < edges; i++) {
+                neighbours[cursor[Arrays.binarySearch(vertices, sources[i])]++] = targets[i];
+            }
+
+            for (int i = 0; i < vertexCount; i++) {
+                Arrays.sort(neighbours, offsets[i], offsets[i + 1]);
+            }
+
+            return new Csr(vertices, offsets, neighbours);
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * Copia columnar en memoria de la tabla book para consultas de agregación.
+ * Cada columna es un arreglo de primitivos (páginas, fecha de publicación en días desde
+ * la época y código de editorial codificado con diccionario); las agregaciones se dividen
+ * por rangos de filas y se ejecutan en paralelo con fork-join.
+ */
+@Component
+public class BookColumnStore {
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Número de filas a partir del cual una tarea de agregación se divide
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int NO_GROUP = -1;
+
+    private final BookRepository bookRepository;
+    private final Logger logger = LoggerFactory.getLogger(BookColumnStore.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Columnas
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] totalPages = new int[INITIAL_CAPACITY];
+    private int[] publishedDays = new int[INITIAL_CAPACITY];
+    private int[] publisherCodes = new int[INITIAL_CAPACITY];
+    private final BitSet deleted = new BitSet();
+    private int rows = 0;
+    // Rango de fechas de publicación (no se reduce al eliminar; los grupos vacíos se omiten)
+    private int minPublishedDay = Integer.MAX_VALUE;
+    private int maxPublishedDay = Integer.MIN_VALUE;
+
+    // Diccionario de editoriales
+    private final List<String> publishers = new ArrayList<>();
+    private final Map<String, Integer> publisherCodeByName = new HashMap<>();
+
+    // ID del libro -> fila
+    private final Map<Long, Integer> rowById = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param bookRepository Book repository
+     */
+    @Autowired
+    public BookColumnStore(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Método para cargar los libros existentes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        logger.info("Construye copia columnar de libros.");
+
+        Page<Book> page = bookRepository.findAll(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        page.forEach(this::upsert);
+
+        while (page.hasNext()) {
+            page = bookRepository.findAll(page.nextPageable());
+            page.forEach(this::upsert);
+        }
+
+        logger.info("Copia columnar de libros construida. Libros: {}", size());
+    }
+
+    /**
+     * Método para agregar o actualizar un libro guardado
+     *
+     * @param event Evento con la información del libro
+     */
+    @EventListener
+    public void onBookSaved(BookSavedEvent event) {
+        upsert(event.getBook());
+    }
+
+    /**
+     * Método para eliminar un libro
+     *
+     * @param event Evento con el ID del libro eliminado
+     */
+    @EventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(event.getId());
+
+            if (row != null) {
+                deleted.set(row);
+            }
+
+            // Compacta las columnas cuando la mitad de las filas está eliminada
+            if (rows > INITIAL_CAPACITY && deleted.cardinality() > rows / 2) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método para obtener el número de libros
+     *
+     * @return Número de libros
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para agregar el número de páginas por editorial
+     *
+     * @return Estadísticas por editorial
+     */
+    public List<GroupStats> pagesByPublisher() {
+        lock.readLock().lock();
+        try {
+            int[] codes = publisherCodes;
+            Aggregate aggregate = aggregate(row -> codes[row], publishers.size());
+
+            return aggregate.toGroups(group -> new GroupKey(publishers.get(group), null, null));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para agregar el número de páginas por editorial y década de publicación
+     *
+     * @return Estadísticas por editorial y década
+     */
+    public List<GroupStats> pagesByPublisherAndDecade() {
+        lock.readLock().lock();
+        try {
+            int[] codes = publisherCodes;
+            int[] days = publishedDays;
+            int[] range = yearRange();
+            int firstDecade = Math.floorDiv(range[0], 10);
+            int decades = Math.floorDiv(range[1], 10) - firstDecade + 1;
+
+            Aggregate aggregate = aggregate(
+                    row -> codes[row] * decades + Math.floorDiv(yearOf(days[row]), 10) - firstDecade,
+                    publishers.size() * decades
+            );
+
+            return aggregate.toGroups(group -> new GroupKey(
+                    publishers.get(group / decades), (firstDecade + group % decades) * 10, null
+            ));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para agregar el número de páginas por año de publicación
+     *
+     * @return Estadísticas por año
+     */
+    public List<GroupStats> pagesByYear() {
+        lock.readLock().lock();
+        try {
+            int[] days = publishedDays;
+            int[] range = yearRange();
+
+            Aggregate aggregate = aggregate(row -> yearOf(days[row]) - range[0], range[1] - range[0] + 1);
+
+            return aggregate.toGroups(group -> new GroupKey(null, null, range[0] + group));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(Book book) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.get(book.getId());
+
+            if (row == null) {
+                row = rows++;
+                ensureCapacity(rows);
+                rowById.put(book.getId(), row);
+            }
+
+            ids[row] = book.getId();
+            totalPages[row] = book.getTotalPages();
+            publishedDays[row] = (int) book.getPublishedDate().toEpochDay();
+            minPublishedDay = Math.min(minPublishedDay, publishedDays[row]);
+            maxPublishedDay = Math.max(maxPublishedDay, publishedDays[row]);
+            publisherCodes[row] = publisherCodeByName.computeIfAbsent(book.getPublisher(), publisher -> {
+                publishers.add(publisher);
+                return publishers.size() - 1;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Aggregate aggregate(RowGrouper grouper, int groups) {
+        if (rows == 0 || groups <= 0) {
+            return new Aggregate(0);
+        }
+
+        RowGrouper liveRows = row -> deleted.get(row) ? NO_GROUP : grouper.group(row);
+
+        return ForkJoinPool.commonPool().invoke(new AggregateTask(liveRows, groups, totalPages, 0, rows));
+    }
+
+    private int[] yearRange() {
+        if (minPublishedDay > maxPublishedDay) {
+            return new int[]{0, -1};
+        }
+
+        return new int[]{yearOf(minPublishedDay), yearOf(maxPublishedDay)};
+    }
+
+    private void compact() {
+        int live = 0;
+
+        for (int row = 0; row < rows; row++) {
+            if (deleted.get(row)) {
+                continue;
+            }
+
+            ids[live] = ids[row];
+            totalPages[live] = totalPages[row];
+            publishedDays[live] = publishedDays[row];
+            publisherCodes[live] = publisherCodes[row];
+            rowById.put(ids[live], live);
+            live++;
+        }
+
+        logger.info("Compacta copia columnar de libros. Filas: {} -> {}", rows, live);
+
+        deleted.clear();
+        rows = live;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(ids.length * 2, capacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        totalPages = Arrays.copyOf(totalPages, newCapacity);
+        publishedDays = Arrays.copyOf(publishedDays, newCapacity);
+        publisherCodes = Arrays.copyOf(publisherCodes, newCapacity);
+    }
+
+    /**
+     * Método para obtener el año de una fecha expresada en días desde 1970-01-01,
+     * sin crear objetos (algoritmo "civil from days" de H. Hinnant)
+     *
+     * @param epochDay Días desde 1970-01-01
+     * @return Año de la fecha
+     */
+    static int yearOf(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int month = (5 * dayOfYear + 2) / 153;
+
+        return yearOfEra + era * 400 + (month >= 10 ? 1 : 0);
+    }
+
+    @FunctionalInterface
+    private interface RowGrouper {
+        int group(int row);
+    }
+
+    /**
+     * Llave de un grupo: editorial, década y/o año (null si no aplica)
+     */
+    public record GroupKey(String publisher, Integer decade, Integer year) {
+    }
+
+    /**
+     * Estadísticas del número de páginas de un grupo de libros
+     */
+    public record GroupStats(GroupKey key, long books, long totalPages, int minPages, int maxPages) {
+    }
+
+    private static final class Aggregate {
+        private final long[] count;
+        private final long[] sum;
+        private final int[] min;
+        private final int[] max;
+
+        private Aggregate(int groups) {
+            count = new long[groups];
+            sum = new long[groups];
+            min = new int[groups];
+            max = new int[groups];
+            Arrays.fill(min, Integer.MAX_VALUE);
+            Arrays.fill(max, Integer.MIN_VALUE);
+        }
+
+        private Aggregate merge(Aggregate other) {
+            for (int group = 0; group < count.length; group++) {
+                count[group] += other.count[group];
+                sum[group] += other.sum[group];
+                min[group] = Math.min(min[group], other.min[group]);
+                max[group] = Math.max(max[group], other.max[group]);
+            }
+
+            return this;
+        }
+
+        private List<GroupStats> toGroups(IntFunction<GroupKey> keyOf) {
+            List<GroupStats> groups = new ArrayList<>();
+
+            for (int group = 0; group < count.length; group++) {
+                if (count[group] > 0) {
+                    groups.add(new GroupStats(keyOf.apply(group), count[group], sum[group], min[group], max[group]));
+                }
+            }
+
+            return groups;
+        }
+    }
+
+    private static final class AggregateTask extends RecursiveTask<Aggregate> {
+        private final RowGrouper grouper;
+        private final int groups;
+        private final int[] pages;
+        private final int from;
+        private final int to;
+
+        private AggregateTask(RowGrouper grouper, int groups, int[] pages, int from, int to) {
+            this.grouper = grouper;
+            this.groups = groups;
+            this.pages = pages;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Aggregate compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                Aggregate aggregate = new Aggregate(groups);
+
+                for (int row = from; row < to; row++) {
+                    int group = grouper.group(row);
+
+                    if (group == NO_GROUP) {
+                        continue;
+                    }
+
+                    int value = pages[row];
+                    aggregate.count[group]++;
+                    aggregate.sum[group] += value;
+                    aggregate.min[group] = Math.min(aggregate.min[group], value);
+                    aggregate.max[group] = Math.max(aggregate.max[group], value);
+                }
+
+                return aggregate;
+            }
+
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(grouper, groups, pages, from, middle);
+            AggregateTask right = new AggregateTask(grouper, groups, pages, middle, to);
+            left.fork();
+
+            return right.compute().merge(left.join());
+        }
+    }
+}
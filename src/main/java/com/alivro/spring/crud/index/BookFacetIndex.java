@@ -0,0 +1,390 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.model.book.request.BookFacetRequestDto;
+import com.alivro.spring.crud.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de mapas de bits en memoria sobre la editorial, el año de publicación y el
+ * rango de número de páginas de los libros.
+ * Cada libro ocupa una posición (ordinal) en los mapas de bits; los filtros de una misma
+ * faceta se combinan con OR y los de facetas distintas con AND. Los conteos por faceta son la
+ * cardinalidad del AND del resultado con el mapa de bits de cada valor. Los ordinales de los
+ * libros eliminados no se reutilizan; cuando son más de la mitad, el índice se compacta.
+ */
+@Component
+public class BookFacetIndex {
+    public static final String PUBLISHER_FACET = "publisher";
+    public static final String YEAR_FACET = "year";
+    public static final String PAGES_FACET = "pages";
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int[] PAGE_BUCKET_LIMITS = {100, 200, 300, 500, 1000};
+    private static final String[] PAGE_BUCKET_LABELS = {"1-99", "100-199", "200-299", "300-499", "500-999", "1000+"};
+
+    private final BookRepository bookRepository;
+    private final Logger logger = LoggerFactory.getLogger(BookFacetIndex.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ordinales ocupados por libros existentes
+    private final BitSet alive = new BitSet();
+    // Mapas de bits por valor de cada faceta
+    private final Map<String, BitSet> byPublisher = new HashMap<>();
+    private final Map<Integer, BitSet> byYear = new HashMap<>();
+    private final BitSet[] byPages = new BitSet[PAGE_BUCKET_LABELS.length];
+
+    // ID del libro -> ordinal
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    // Valores por ordinal, necesarios para limpiar los bits al actualizar o eliminar
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] publishers = new String[INITIAL_CAPACITY];
+    private int[] years = new int[INITIAL_CAPACITY];
+    private int[] pageBuckets = new int[INITIAL_CAPACITY];
+
+    private int nextOrdinal = 0;
+    private long maxId = Long.MIN_VALUE;
+    // Indica si el orden de los ordinales coincide con el orden de los IDs
+    private boolean orderedById = true;
+
+    /**
+     * Constructor
+     *
+     * @param bookRepository Book repository
+     */
+    @Autowired
+    public BookFacetIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+
+        for (int i = 0; i < byPages.length; i++) {
+            byPages[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Método para construir el índice con los libros existentes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        logger.info("Construye índice de facetas de libros.");
+
+        Page<Book> page = bookRepository.findAll(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        page.forEach(this::index);
+
+        while (page.hasNext()) {
+            page = bookRepository.findAll(page.nextPageable());
+            page.forEach(this::index);
+        }
+
+        logger.info("Índice de facetas de libros construido. Libros: {}", size());
+    }
+
+    /**
+     * Método para indexar un libro guardado o actualizado
+     *
+     * @param event Evento con la información del libro
+     */
+    @EventListener
+    public void onBookSaved(BookSavedEvent event) {
+        index(event.getBook());
+    }
+
+    /**
+     * Método para eliminar un libro del índice
+     *
+     * @param event Evento con el ID del libro eliminado
+     */
+    @EventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(event.getId());
+
+            if (ordinal != null) {
+                clear(ordinal);
+            }
+
+            // Compacta los ordinales cuando la mitad corresponde a libros eliminados
+            if (nextOrdinal > INITIAL_CAPACITY && nextOrdinal - ordinalById.size() > nextOrdinal / 2) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método para buscar los libros que cumplen los filtros y contar sus valores por faceta
+     *
+     * @param filter Filtros por editorial, año y rango de páginas
+     * @param offset Número de libros a omitir
+     * @param limit  Número máximo de libros a devolver
+     * @return IDs de la página solicitada, total de libros y conteos por faceta
+     */
+    public FacetQueryResult query(BookFacetRequestDto filter, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) alive.clone();
+
+            if (isPresent(filter.getPublisher())) {
+                result.and(union(filter.getPublisher().stream().map(byPublisher::get).toList()));
+            }
+
+            if (isPresent(filter.getYear())) {
+                result.and(union(filter.getYear().stream().map(byYear::get).toList()));
+            }
+
+            if (isPresent(filter.getPages())) {
+                result.and(union(filter.getPages().stream().map(BookFacetIndex::pageBucketOf)
+                        .map(bucket -> bucket < 0 ? null : byPages[bucket]).toList()));
+            }
+
+            return new FacetQueryResult(result.cardinality(), page(result, offset, limit), count(result));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para obtener el número de libros indexados
+     *
+     * @return Número de libros indexados
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para obtener el número de ordinales usados, incluidos los de libros eliminados
+     *
+     * @return Número de ordinales usados
+     */
+    int ordinals() {
+        lock.readLock().lock();
+        try {
+            return nextOrdinal;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.get(book.getId());
+
+            if (ordinal == null) {
+                ordinal = nextOrdinal++;
+                ensureCapacity(ordinal);
+                ordinalById.put(book.getId(), ordinal);
+
+                orderedById &= book.getId() > maxId;
+                maxId = Math.max(maxId, book.getId());
+            } else {
+                clear(ordinal);
+            }
+
+            BitSet publisherBits = byPublisher.computeIfAbsent(book.getPublisher(), k -> new BitSet());
+            int year = book.getPublishedDate().getYear();
+            int bucket = pageBucket(book.getTotalPages());
+
+            ids[ordinal] = book.getId();
+            publishers[ordinal] = book.getPublisher();
+            years[ordinal] = year;
+            pageBuckets[ordinal] = bucket;
+
+            alive.set(ordinal);
+            publisherBits.set(ordinal);
+            byYear.computeIfAbsent(year, k -> new BitSet()).set(ordinal);
+            byPages[bucket].set(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clear(int ordinal) {
+        alive.clear(ordinal);
+        byPages[pageBuckets[ordinal]].clear(ordinal);
+
+        BitSet publisherBits = byPublisher.get(publishers[ordinal]);
+        publisherBits.clear(ordinal);
+        if (publisherBits.isEmpty()) {
+            byPublisher.remove(publishers[ordinal]);
+        }
+
+        BitSet yearBits = byYear.get(years[ordinal]);
+        yearBits.clear(ordinal);
+        if (yearBits.isEmpty()) {
+            byYear.remove(years[ordinal]);
+        }
+
+        publishers[ordinal] = null;
+    }
+
+    private List<Long> page(BitSet result, long offset, int limit) {
+        List<Long> pageIds = new ArrayList<>(limit);
+
+        if (orderedById) {
+            // Los ordinales siguen el orden de los IDs: basta con recorrer los bits
+            int ordinal = result.nextSetBit(0);
+
+            for (long skipped = 0; ordinal >= 0 && skipped < offset; skipped++) {
+                ordinal = result.nextSetBit(ordinal + 1);
+            }
+
+            for (; ordinal >= 0 && pageIds.size() < limit; ordinal = result.nextSetBit(ordinal + 1)) {
+                pageIds.add(ids[ordinal]);
+            }
+
+            return pageIds;
+        }
+
+        long[] sortedIds = result.stream().mapToLong(ordinal -> ids[ordinal]).sorted().toArray();
+
+        for (long i = offset; i < sortedIds.length && pageIds.size() < limit; i++) {
+            pageIds.add(sortedIds[(int) i]);
+        }
+
+        return pageIds;
+    }
+
+    private Map<String, Map<String, Integer>> count(BitSet result) {
+        // Se reutiliza en cada valor para no crear un mapa de bits por intersección
+        BitSet scratch = new BitSet(result.length());
+
+        Map<String, Integer> publisherFacet = new TreeMap<>();
+        byPublisher.forEach((publisher, bits) -> {
+            if (bits.intersects(result)) {
+                publisherFacet.put(publisher, intersectionSize(result, bits, scratch));
+            }
+        });
+
+        Map<Integer, Integer> yearCounts = new TreeMap<>();
+        byYear.forEach((year, bits) -> {
+            if (bits.intersects(result)) {
+                yearCounts.put(year, intersectionSize(result, bits, scratch));
+            }
+        });
+
+        Map<String, Integer> yearFacet = new LinkedHashMap<>();
+        yearCounts.forEach((year, count) -> yearFacet.put(String.valueOf(year), count));
+
+        Map<String, Integer> pagesFacet = new LinkedHashMap<>();
+        for (int i = 0; i < PAGE_BUCKET_LABELS.length; i++) {
+            pagesFacet.put(PAGE_BUCKET_LABELS[i], intersectionSize(result, byPages[i], scratch));
+        }
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put(PUBLISHER_FACET, publisherFacet);
+        facets.put(YEAR_FACET, yearFacet);
+        facets.put(PAGES_FACET, pagesFacet);
+
+        return facets;
+    }
+
+    private static int intersectionSize(BitSet result, BitSet bits, BitSet scratch) {
+        scratch.clear();
+        scratch.or(result);
+        scratch.and(bits);
+
+        return scratch.cardinality();
+    }
+
+    private void compact() {
+        int live = 0;
+
+        byPublisher.clear();
+        byYear.clear();
+        for (BitSet bits : byPages) {
+            bits.clear();
+        }
+
+        orderedById = true;
+        maxId = Long.MIN_VALUE;
+
+        for (int ordinal = alive.nextSetBit(0); ordinal >= 0; ordinal = alive.nextSetBit(ordinal + 1)) {
+            ids[live] = ids[ordinal];
+            publishers[live] = publishers[ordinal];
+            years[live] = years[ordinal];
+            pageBuckets[live] = pageBuckets[ordinal];
+            ordinalById.put(ids[live], live);
+
+            byPublisher.computeIfAbsent(publishers[live], k -> new BitSet()).set(live);
+            byYear.computeIfAbsent(years[live], k -> new BitSet()).set(live);
+            byPages[pageBuckets[live]].set(live);
+
+            orderedById &= ids[live] > maxId;
+            maxId = Math.max(maxId, ids[live]);
+            live++;
+        }
+
+        logger.info("Compacta índice de facetas de libros. Ordinales: {} -> {}", nextOrdinal, live);
+
+        Arrays.fill(publishers, live, nextOrdinal, null);
+        alive.clear();
+        alive.set(0, live);
+        nextOrdinal = live;
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal < ids.length) {
+            return;
+        }
+
+        int capacity = Math.max(ids.length * 2, ordinal + 1);
+        ids = Arrays.copyOf(ids, capacity);
+        publishers = Arrays.copyOf(publishers, capacity);
+        years = Arrays.copyOf(years, capacity);
+        pageBuckets = Arrays.copyOf(pageBuckets, capacity);
+    }
+
+    private static BitSet union(List<BitSet> bitSets) {
+        BitSet union = new BitSet();
+
+        for (BitSet bits : bitSets) {
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+
+        return union;
+    }
+
+    private static boolean isPresent(List<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private static int pageBucket(int totalPages) {
+        int bucket = 0;
+
+        while (bucket < PAGE_BUCKET_LIMITS.length && totalPages >= PAGE_BUCKET_LIMITS[bucket]) {
+            bucket++;
+        }
+
+        return bucket;
+    }
+
+    private static int pageBucketOf(String label) {
+        return Arrays.asList(PAGE_BUCKET_LABELS).indexOf(label);
+    }
+}
@@ -0,0 +1,459 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.AuthorDeletedEvent;
+import com.alivro.spring.crud.event.AuthorSavedEvent;
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.AuthorRepository;
+import com.alivro.spring.crud.repository.BookRepository;
+import com.alivro.spring.crud.repository.projection.BookAuthorLink;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de libros casi duplicados. Cada libro tiene una firma MinHash del texto formado
+ * por su título, subtítulo y pseudónimos de sus autores; las firmas se dividen en bandas
+ * y los libros que coinciden en alguna banda (LSH) son candidatos a duplicado.
+ * Las firmas se calculan en un hilo propio a partir de los eventos de escritura, por lo que
+ * un libro recién guardado aparece en el índice con un pequeño retraso.
+ */
+@Component
+public class BookSimilarityIndex {
+    // Similitud estimada mínima para considerar dos libros casi duplicados
+    public static final double THRESHOLD = 0.5;
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+    // En las cubetas más grandes no se comparan los pares, para mantener el tiempo casi lineal
+    private static final int MAX_BUCKET_SIZE = 100;
+    private static final long[] NO_AUTHORS = new long[0];
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final Logger logger = LoggerFactory.getLogger(BookSimilarityIndex.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-similarity-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Estado usado solo por el hilo del índice para reconstruir el texto de cada libro
+    private final Map<Long, String> titleByBook = new HashMap<>();
+    private final Map<Long, long[]> authorsByBook = new HashMap<>();
+    private final Map<Long, String> pseudonymByAuthor = new HashMap<>();
+
+    // Firmas y cubetas LSH, protegidas por el candado
+    private final Map<Long, int[]> signatureByBook = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param bookRepository   Book repository
+     * @param authorRepository Author repository
+     */
+    @Autowired
+    public BookSimilarityIndex(BookRepository bookRepository, AuthorRepository authorRepository) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+    }
+
+    /**
+     * Método para construir el índice con los libros existentes, en segundo plano
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        submit(this::loadAll);
+    }
+
+    /**
+     * Método para actualizar la firma de un libro guardado o actualizado. Del libro solo se
+     * toman los IDs de sus autores; los pseudónimos vienen de la carga inicial y de los eventos
+     * de autores, no de los datos que el cliente envía con el libro.
+     *
+     * @param event Evento con la información del libro
+     */
+    @EventListener
+    public void onBookSaved(BookSavedEvent event) {
+        Book book = event.getBook();
+        String title = titleOf(book);
+        long[] authorIds = authorIdsOf(book);
+
+        submit(() -> {
+            titleByBook.put(book.getId(), title);
+            authorsByBook.put(book.getId(), authorIds);
+            index(book.getId());
+        });
+    }
+
+    /**
+     * Método para eliminar un libro del índice
+     *
+     * @param event Evento con el ID del libro eliminado
+     */
+    @EventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        submit(() -> {
+            titleByBook.remove(event.getId());
+            authorsByBook.remove(event.getId());
+            unindex(event.getId());
+        });
+    }
+
+    /**
+     * Método para actualizar las firmas de los libros de un autor guardado o actualizado
+     *
+     * @param event Evento con la información del autor
+     */
+    @EventListener
+    public void onAuthorSaved(AuthorSavedEvent event) {
+        long authorId = event.getAuthor().getId();
+        String pseudonym = event.getAuthor().getPseudonym();
+
+        submit(() -> {
+            if (Objects.equals(pseudonymByAuthor.put(authorId, pseudonym), pseudonym)) {
+                return;
+            }
+
+            booksOf(authorId).forEach(this::index);
+        });
+    }
+
+    /**
+     * Método para actualizar las firmas de los libros de un autor eliminado
+     *
+     * @param event Evento con el ID del autor eliminado
+     */
+    @EventListener
+    public void onAuthorDeleted(AuthorDeletedEvent event) {
+        long authorId = event.getId();
+
+        submit(() -> {
+            pseudonymByAuthor.remove(authorId);
+
+            for (long bookId : booksOf(authorId)) {
+                authorsByBook.put(bookId, Arrays.stream(authorsByBook.get(bookId))
+                        .filter(id -> id != authorId)
+                        .toArray());
+                index(bookId);
+            }
+        });
+    }
+
+    /**
+     * Método para buscar los libros casi duplicados de un libro
+     *
+     * @param bookId ID del libro
+     * @return Libros con similitud estimada de al menos THRESHOLD, el más parecido primero;
+     * vacío si el libro aún no está en el índice
+     */
+    public List<Similar> nearDuplicates(long bookId) {
+        lock.readLock().lock();
+        try {
+            int[] signature = signatureByBook.get(bookId);
+
+            if (signature == null) {
+                return List.of();
+            }
+
+            Set<Long> candidates = new HashSet<>();
+
+            for (int band = 0; band < MinHashSignature.BANDS; band++) {
+                candidates.addAll(buckets.getOrDefault(MinHashSignature.bandKey(signature, band), Set.of()));
+            }
+
+            candidates.remove(bookId);
+
+            List<Similar> similar = new ArrayList<>();
+
+            for (long candidate : candidates) {
+                double similarity = MinHashSignature.similarity(signature, signatureByBook.get(candidate));
+
+                if (similarity >= THRESHOLD) {
+                    similar.add(new Similar(candidate, similarity));
+                }
+            }
+
+            similar.sort(Comparator.comparingDouble(Similar::similarity).reversed().thenComparingLong(Similar::id));
+
+            return similar;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para agrupar todos los libros casi duplicados. Solo se comparan los pares que
+     * comparten alguna cubeta, por lo que el costo es casi lineal en el número de libros. Los
+     * pares de una cubeta con más de MAX_BUCKET_SIZE libros no se comparan: todos sus libros se
+     * agrupan sin verificar su similitud y el grupo se marca como truncado.
+     *
+     * @return Grupos de libros casi duplicados, cada uno con sus IDs ordenados
+     */
+    public List<Group> duplicateGroups() {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> parent = new HashMap<>();
+            Set<Long> unverified = new HashSet<>();
+
+            for (Set<Long> bucket : buckets.values()) {
+                if (bucket.size() < 2) {
+                    continue;
+                }
+
+                Long[] ids = bucket.toArray(new Long[0]);
+
+                if (ids.length > MAX_BUCKET_SIZE) {
+                    for (int i = 1; i < ids.length; i++) {
+                        union(parent, ids[0], ids[i]);
+                    }
+
+                    unverified.addAll(bucket);
+                    continue;
+                }
+
+                for (int i = 0; i < ids.length; i++) {
+                    for (int j = i + 1; j < ids.length; j++) {
+                        // Los pares ya agrupados no se vuelven a comparar
+                        if (find(parent, ids[i]) == find(parent, ids[j])) {
+                            continue;
+                        }
+
+                        double similarity = MinHashSignature.similarity(
+                                signatureByBook.get(ids[i]), signatureByBook.get(ids[j]));
+
+                        if (similarity >= THRESHOLD) {
+                            union(parent, ids[i], ids[j]);
+                        }
+                    }
+                }
+            }
+
+            Map<Long, List<Long>> groups = new HashMap<>();
+
+            for (Long id : parent.keySet()) {
+                groups.computeIfAbsent(find(parent, id), k -> new ArrayList<>()).add(id);
+            }
+
+            return groups.values().stream()
+                    .filter(group -> group.size() > 1)
+                    .map(group -> new Group(group.stream().sorted().toList(),
+                            group.stream().anyMatch(unverified::contains)))
+                    .sorted(Comparator.comparing(group -> group.bookIds().get(0)))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para saber si un libro ya está en el índice
+     *
+     * @param bookId ID del libro
+     * @return true si el libro tiene firma
+     */
+    public boolean contains(long bookId) {
+        lock.readLock().lock();
+        try {
+            return signatureByBook.containsKey(bookId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para esperar a que se procesen las escrituras pendientes
+     */
+    void awaitPending() throws InterruptedException, ExecutionException {
+        executor.submit(() -> {
+        }).get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                logger.error("Error al actualizar el índice de libros casi duplicados.", ex);
+            }
+        });
+    }
+
+    private void loadAll() {
+        logger.info("Construye índice de libros casi duplicados.");
+
+        Page<Author> authors = authorRepository.findAll(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        authors.forEach(author -> pseudonymByAuthor.put(author.getId(), author.getPseudonym()));
+
+        while (authors.hasNext()) {
+            authors = authorRepository.findAll(authors.nextPageable());
+            authors.forEach(author -> pseudonymByAuthor.put(author.getId(), author.getPseudonym()));
+        }
+
+        Map<Long, List<Long>> linksByBook = new HashMap<>();
+        Slice<BookAuthorLink> links = bookRepository.findAllBookAuthorLinks(PageRequest.of(0, LOAD_PAGE_SIZE));
+        links.forEach(link -> linksByBook.computeIfAbsent(link.getBookId(), k -> new ArrayList<>()).add(link.getAuthorId()));
+
+        while (links.hasNext()) {
+            links = bookRepository.findAllBookAuthorLinks(links.nextPageable());
+            links.forEach(link -> linksByBook.computeIfAbsent(link.getBookId(), k -> new ArrayList<>()).add(link.getAuthorId()));
+        }
+
+        linksByBook.forEach((bookId, authorIds) ->
+                authorsByBook.put(bookId, authorIds.stream().mapToLong(Long::longValue).toArray()));
+
+        Page<Book> books = bookRepository.findAll(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        books.forEach(book -> titleByBook.put(book.getId(), titleOf(book)));
+
+        while (books.hasNext()) {
+            books = bookRepository.findAll(books.nextPageable());
+            books.forEach(book -> titleByBook.put(book.getId(), titleOf(book)));
+        }
+
+        titleByBook.keySet().forEach(this::index);
+
+        logger.info("Índice de libros casi duplicados construido. Libros: {}", titleByBook.size());
+    }
+
+    private void index(long bookId) {
+        StringBuilder text = new StringBuilder(titleByBook.getOrDefault(bookId, ""));
+
+        for (long authorId : authorsByBook.getOrDefault(bookId, NO_AUTHORS)) {
+            text.append(' ').append(pseudonymByAuthor.getOrDefault(authorId, ""));
+        }
+
+        int[] signature = MinHashSignature.of(text.toString());
+
+        lock.writeLock().lock();
+        try {
+            removeFromBuckets(bookId);
+            signatureByBook.put(bookId, signature);
+
+            for (int band = 0; band < MinHashSignature.BANDS; band++) {
+                buckets.computeIfAbsent(MinHashSignature.bandKey(signature, band), k -> new HashSet<>()).add(bookId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeFromBuckets(bookId);
+            signatureByBook.remove(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFromBuckets(long bookId) {
+        int[] previous = signatureByBook.get(bookId);
+
+        if (previous == null) {
+            return;
+        }
+
+        for (int band = 0; band < MinHashSignature.BANDS; band++) {
+            long key = MinHashSignature.bandKey(previous, band);
+            Set<Long> bucket = buckets.get(key);
+
+            if (bucket != null && bucket.remove(bookId) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private List<Long> booksOf(long authorId) {
+        List<Long> bookIds = new ArrayList<>();
+
+        authorsByBook.forEach((bookId, authorIds) -> {
+            if (Arrays.stream(authorIds).anyMatch(id -> id == authorId)) {
+                bookIds.add(bookId);
+            }
+        });
+
+        return bookIds;
+    }
+
+    private static String titleOf(Book book) {
+        return book.getSubtitle() == null ? book.getTitle() : book.getTitle() + " " + book.getSubtitle();
+    }
+
+    private static long[] authorIdsOf(Book book) {
+        if (book.getAuthors() == null) {
+            return NO_AUTHORS;
+        }
+
+        return book.getAuthors().stream()
+                .mapToLong(Author::getId)
+                .distinct()
+                .toArray();
+    }
+
+    private static void union(Map<Long, Long> parent, long first, long second) {
+        long firstRoot = find(parent, first);
+        long secondRoot = find(parent, second);
+
+        if (firstRoot != secondRoot) {
+            parent.put(Math.max(firstRoot, secondRoot), Math.min(firstRoot, secondRoot));
+        }
+    }
+
+    private static long find(Map<Long, Long> parent, long id) {
+        long root = id;
+
+        while (parent.containsKey(root) && parent.get(root) != root) {
+            root = parent.get(root);
+        }
+
+        // Compresión de caminos
+        long current = id;
+
+        while (current != root) {
+            long next = parent.get(current);
+            parent.put(current, root);
+            current = next;
+        }
+
+        parent.putIfAbsent(root, root);
+
+        return root;
+    }
+
+    /**
+     * Libro casi duplicado y su similitud estimada
+     */
+    public record Similar(long id, double similarity) {
+    }
+
+    /**
+     * Grupo de libros casi duplicados; truncated indica que incluye libros de una cubeta
+     * demasiado grande, agrupados sin verificar su similitud
+     */
+    public record Group(List<Long> bookIds, boolean truncated) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.alivro.spring.crud.index;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * Ranking top-K acotado: conserva como máximo K + holgura elementos ordenados.
+ * Mientras no se haya descartado ningún elemento, el ranking contiene todo el universo.
+ * Una vez truncado, solo acepta elementos mejores que el peor conservado, y cuando las
+ * eliminaciones lo dejan con menos de K elementos indica que debe recargarse desde su fuente.
+ * La lectura del top-K no toma bloqueos: devuelve la última copia publicada.
+ *
+ * @param <E> Tipo de los elementos del ranking
+ */
+public class BoundedRanking<E> {
+    private final int size;
+    private final int capacity;
+    private final ToLongFunction<E> idOf;
+    private final TreeSet<E> entries;
+    private final Map<Long, E> entriesById = new HashMap<>();
+
+    // Indica si se descartó algún elemento (el ranking ya no contiene todo el universo)
+    private boolean truncated = false;
+    // Copia inmutable del top-K para los lectores
+    private volatile List<E> top = List.of();
+
+    /**
+     * Constructor
+     *
+     * @param size  Número de elementos del top (K)
+     * @param slack Elementos adicionales conservados para absorber eliminaciones
+     * @param order Orden del ranking (el mejor primero); debe desempatar por ID
+     * @param idOf  Función para obtener el ID de un elemento
+     */
+    public BoundedRanking(int size, int slack, Comparator<E> order, ToLongFunction<E> idOf) {
+        this.size = size;
+        this.capacity = size + slack;
+        this.idOf = idOf;
+        this.entries = new TreeSet<>(order);
+    }
+
+    /**
+     * Método para agregar o actualizar un elemento
+     *
+     * @param entry Elemento con su valor actual
+     */
+    public synchronized void offer(E entry) {
+        discard(idOf.applyAsLong(entry));
+
+        // Truncado: un elemento peor que el último conservado podría no ser el siguiente real
+        if (truncated && (entries.isEmpty() || entries.comparator().compare(entry, entries.last()) > 0)) {
+            publish();
+            return;
+        }
+
+        entries.add(entry);
+        entriesById.put(idOf.applyAsLong(entry), entry);
+
+        while (entries.size() > capacity) {
+            entriesById.remove(idOf.applyAsLong(entries.pollLast()));
+            truncated = true;
+        }
+
+        publish();
+    }
+
+    /**
+     * Método para eliminar un elemento
+     *
+     * @param id ID del elemento
+     */
+    public synchronized void remove(long id) {
+        discard(id);
+        publish();
+    }
+
+    /**
+     * Método para reemplazar el contenido del ranking
+     *
+     * @param best      Mejores elementos de la fuente, hasta la capacidad del ranking
+     * @param truncated true si la fuente tiene más elementos que los recibidos
+     */
+    public synchronized void reset(Collection<E> best, boolean truncated) {
+        entries.clear();
+        entriesById.clear();
+        this.truncated = truncated;
+
+        for (E entry : best) {
+            entries.add(entry);
+            entriesById.put(idOf.applyAsLong(entry), entry);
+        }
+
+        while (entries.size() > capacity) {
+            entriesById.remove(idOf.applyAsLong(entries.pollLast()));
+            this.truncated = true;
+        }
+
+        publish();
+    }
+
+    /**
+     * Método para saber si el ranking debe recargarse desde su fuente
+     *
+     * @return true si está truncado y tiene menos de K elementos
+     */
+    public synchronized boolean needsRefill() {
+        return truncated && entries.size() < size;
+    }
+
+    /**
+     * Método para obtener la capacidad del ranking (K + holgura)
+     *
+     * @return Capacidad del ranking
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Método para obtener el top-K actual
+     *
+     * @return Hasta K elementos, el mejor primero
+     */
+    public List<E> top() {
+        return top;
+    }
+
+    private void discard(long id) {
+        E previous = entriesById.remove(id);
+
+        if (previous != null) {
+            entries.remove(previous);
+        }
+    }
+
+    private void publish() {
+        List<E> copy = new ArrayList<>(Math.min(size, entries.size()));
+        Iterator<E> iterator = entries.iterator();
+
+        while (iterator.hasNext() && copy.size() < size) {
+            copy.add(iterator.next());
+        }
+
+        top = Collections.unmodifiableList(copy);
+    }
+}
@@ -0,0 +1,18 @@
+package com.alivro.spring.crud.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class FacetQueryResult {
+    // Número total de libros que cumplen los filtros
+    private long totalElements;
+    // IDs de los libros de la página solicitada, ordenados por ID
+    private List<Long> pageIds;
+    // Conteos por faceta de los libros que cumplen los filtros
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -0,0 +1,304 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.AuthorDeletedEvent;
+import com.alivro.spring.crud.event.AuthorSavedEvent;
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.AuthorRepository;
+import com.alivro.spring.crud.repository.BookRepository;
+import com.alivro.spring.crud.repository.projection.BookAuthorLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Rankings de libros más largos, libros más recientes y autores más prolíficos,
+ * actualizados en cada escritura. La lectura de un ranking no consulta la base de datos.
+ */
+@Component
+public class Leaderboards {
+    public static final int SIZE = 10;
+
+    private static final int SLACK = 10;
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final Sort LONGEST_ORDER = Sort.by(Sort.Order.desc("totalPages"), Sort.Order.asc("id"));
+    private static final Sort NEWEST_ORDER = Sort.by(Sort.Order.desc("publishedDate"), Sort.Order.asc("id"));
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final Logger logger = LoggerFactory.getLogger(Leaderboards.class);
+
+    private final BoundedRanking<RankedBook> longestBooks = new BoundedRanking<>(SIZE, SLACK,
+            Comparator.comparingInt(RankedBook::totalPages).reversed().thenComparingLong(RankedBook::id),
+            RankedBook::id);
+
+    private final BoundedRanking<RankedBook> newestBooks = new BoundedRanking<>(SIZE, SLACK,
+            Comparator.comparing(RankedBook::publishedDate).reversed().thenComparingLong(RankedBook::id),
+            RankedBook::id);
+
+    private final BoundedRanking<RankedAuthor> prolificAuthors = new BoundedRanking<>(SIZE, SLACK,
+            Comparator.comparingInt(RankedAuthor::books).reversed().thenComparingLong(RankedAuthor::id),
+            RankedAuthor::id);
+
+    // Estado necesario para mantener el conteo de libros por autor
+    private final Map<Long, Integer> bookCountByAuthor = new HashMap<>();
+    private final Map<Long, String> pseudonymByAuthor = new HashMap<>();
+    private final Map<Long, long[]> authorsByBook = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param bookRepository   Book repository
+     * @param authorRepository Author repository
+     */
+    @Autowired
+    public Leaderboards(BookRepository bookRepository, AuthorRepository authorRepository) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+    }
+
+    /**
+     * Método para construir los rankings con los datos existentes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        logger.info("Construye rankings.");
+
+        refillBooks(longestBooks, LONGEST_ORDER);
+        refillBooks(newestBooks, NEWEST_ORDER);
+
+        Page<Author> authors = authorRepository.findAll(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        authors.forEach(author -> pseudonymByAuthor.put(author.getId(), author.getPseudonym()));
+
+        while (authors.hasNext()) {
+            authors = authorRepository.findAll(authors.nextPageable());
+            authors.forEach(author -> pseudonymByAuthor.put(author.getId(), author.getPseudonym()));
+        }
+
+        Slice<BookAuthorLink> links = bookRepository.findAllBookAuthorLinks(PageRequest.of(0, LOAD_PAGE_SIZE));
+        Map<Long, List<Long>> linksByBook = new HashMap<>();
+        links.forEach(link -> linksByBook.computeIfAbsent(link.getBookId(), k -> new ArrayList<>()).add(link.getAuthorId()));
+
+        while (links.hasNext()) {
+            links = bookRepository.findAllBookAuthorLinks(links.nextPageable());
+            links.forEach(link -> linksByBook.computeIfAbsent(link.getBookId(), k -> new ArrayList<>()).add(link.getAuthorId()));
+        }
+
+        linksByBook.forEach((bookId, authorIds) -> {
+            long[] ids = authorIds.stream().mapToLong(Long::longValue).toArray();
+            authorsByBook.put(bookId, ids);
+
+            for (long authorId : ids) {
+                bookCountByAuthor.merge(authorId, 1, Integer::sum);
+            }
+        });
+
+        refillAuthors();
+
+        logger.info("Rankings construidos. Autores con libros: {}", bookCountByAuthor.size());
+    }
+
+    /**
+     * Método para actualizar los rankings con un libro guardado o actualizado
+     *
+     * @param event Evento con la información del libro
+     */
+    @EventListener
+    public synchronized void onBookSaved(BookSavedEvent event) {
+        Book book = event.getBook();
+        RankedBook rankedBook = new RankedBook(book.getId(), book.getTitle(), book.getTotalPages(),
+                book.getPublishedDate());
+
+        longestBooks.offer(rankedBook);
+        newestBooks.offer(rankedBook);
+        refillBooksIfNeeded();
+
+        long[] authorIds = book.getAuthors() == null ? new long[0] : book.getAuthors().stream()
+                .mapToLong(Author::getId)
+                .distinct()
+                .toArray();
+
+        updateAuthorsOfBook(book.getId(), authorIds);
+    }
+
+    /**
+     * Método para eliminar un libro de los rankings
+     *
+     * @param event Evento con el ID del libro eliminado
+     */
+    @EventListener
+    public synchronized void onBookDeleted(BookDeletedEvent event) {
+        longestBooks.remove(event.getId());
+        newestBooks.remove(event.getId());
+        refillBooksIfNeeded();
+
+        updateAuthorsOfBook(event.getId(), new long[0]);
+    }
+
+    /**
+     * Método para actualizar el pseudónimo de un autor guardado o actualizado
+     *
+     * @param event Evento con la información del autor
+     */
+    @EventListener
+    public synchronized void onAuthorSaved(AuthorSavedEvent event) {
+        Author author = event.getAuthor();
+        pseudonymByAuthor.put(author.getId(), author.getPseudonym());
+
+        Integer books = bookCountByAuthor.get(author.getId());
+
+        if (books != null) {
+            prolificAuthors.offer(new RankedAuthor(author.getId(), author.getPseudonym(), books));
+        }
+    }
+
+    /**
+     * Método para eliminar un autor del ranking
+     *
+     * @param event Evento con el ID del autor eliminado
+     */
+    @EventListener
+    public synchronized void onAuthorDeleted(AuthorDeletedEvent event) {
+        pseudonymByAuthor.remove(event.getId());
+        bookCountByAuthor.remove(event.getId());
+        prolificAuthors.remove(event.getId());
+
+        if (prolificAuthors.needsRefill()) {
+            refillAuthors();
+        }
+    }
+
+    /**
+     * Método para obtener los libros con más páginas
+     *
+     * @return Hasta SIZE libros, el más largo primero
+     */
+    public List<RankedBook> longestBooks() {
+        return longestBooks.top();
+    }
+
+    /**
+     * Método para obtener los libros publicados más recientemente
+     *
+     * @return Hasta SIZE libros, el más reciente primero
+     */
+    public List<RankedBook> newestBooks() {
+        return newestBooks.top();
+    }
+
+    /**
+     * Método para obtener los autores con más libros
+     *
+     * @return Hasta SIZE autores, el más prolífico primero
+     */
+    public List<RankedAuthor> prolificAuthors() {
+        return prolificAuthors.top();
+    }
+
+    private void updateAuthorsOfBook(long bookId, long[] authorIds) {
+        long[] previous = authorsByBook.getOrDefault(bookId, new long[0]);
+
+        if (authorIds.length == 0) {
+            authorsByBook.remove(bookId);
+        } else {
+            authorsByBook.put(bookId, authorIds);
+        }
+
+        for (long authorId : previous) {
+            if (!contains(authorIds, authorId)) {
+                changeBookCount(authorId, -1);
+            }
+        }
+
+        for (long authorId : authorIds) {
+            if (!contains(previous, authorId)) {
+                changeBookCount(authorId, 1);
+            }
+        }
+
+        if (prolificAuthors.needsRefill()) {
+            refillAuthors();
+        }
+    }
+
+    private void changeBookCount(long authorId, int delta) {
+        Integer books = bookCountByAuthor.merge(authorId, delta, Integer::sum);
+
+        if (books == null || books <= 0) {
+            bookCountByAuthor.remove(authorId);
+            prolificAuthors.remove(authorId);
+        } else {
+            prolificAuthors.offer(new RankedAuthor(authorId, pseudonymByAuthor.get(authorId), books));
+        }
+    }
+
+    private void refillBooksIfNeeded() {
+        if (longestBooks.needsRefill()) {
+            refillBooks(longestBooks, LONGEST_ORDER);
+        }
+
+        if (newestBooks.needsRefill()) {
+            refillBooks(newestBooks, NEWEST_ORDER);
+        }
+    }
+
+    private void refillBooks(BoundedRanking<RankedBook> ranking, Sort order) {
+        Page<Book> best = bookRepository.findAll(PageRequest.of(0, ranking.capacity(), order));
+
+        ranking.reset(
+                best.map(book -> new RankedBook(book.getId(), book.getTitle(), book.getTotalPages(),
+                        book.getPublishedDate())).getContent(),
+                best.hasNext()
+        );
+    }
+
+    private void refillAuthors() {
+        PriorityQueue<RankedAuthor> best = new PriorityQueue<>(
+                Comparator.comparingInt(RankedAuthor::books).thenComparing(RankedAuthor::id, Comparator.reverseOrder())
+        );
+
+        bookCountByAuthor.forEach((authorId, books) -> {
+            best.offer(new RankedAuthor(authorId, pseudonymByAuthor.get(authorId), books));
+
+            if (best.size() > prolificAuthors.capacity()) {
+                best.poll();
+            }
+        });
+
+        prolificAuthors.reset(best, bookCountByAuthor.size() > best.size());
+    }
+
+    private static boolean contains(long[] values, long value) {
+        for (long candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Libro de un ranking
+     */
+    public record RankedBook(long id, String title, int totalPages, LocalDate publishedDate) {
+    }
+
+    /**
+     * Autor de un ranking
+     */
+    public record RankedAuthor(long id, String pseudonym, int books) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.alivro.spring.crud.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class MinHashSignature {
+    // Número de funciones hash de la firma; BANDS * ROWS debe ser igual a SIZE
+    public static final int SIZE = 128;
+    public static final int BANDS = 32;
+    public static final int ROWS = 4;
+    // Longitud de los fragmentos (shingles) de caracteres
+    private static final int SHINGLE_LENGTH = 3;
+    private static final long[] SEEDS = new long[SIZE];
+
+    static {
+        long seed = 0x5DEECE66DL;
+
+        for (int i = 0; i < SIZE; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private MinHashSignature() {
+    }
+
+    /**
+     * Método para calcular la firma MinHash de un texto a partir de sus fragmentos de
+     * tres caracteres, sin distinguir acentos, mayúsculas ni signos de puntuación
+     *
+     * @param text Texto a firmar
+     * @return Firma de SIZE valores
+     */
+    public static int[] of(String text) {
+        List<String> tokens = NameKeyEncoder.tokenize(text);
+        String normalized = String.join(" ", tokens);
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        if (normalized.isEmpty()) {
+            return signature;
+        }
+
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+
+        for (int start = 0; start < shingles; start++) {
+            long shingle = shingleHash(normalized, start, Math.min(normalized.length(), start + SHINGLE_LENGTH));
+
+            for (int i = 0; i < SIZE; i++) {
+                int value = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+
+        return signature;
+    }
+
+    /**
+     * Método para estimar la similitud de Jaccard entre dos textos a partir de sus firmas
+     *
+     * @param a Firma del primer texto
+     * @param b Firma del segundo texto
+     * @return Fracción de valores iguales (entre 0 y 1)
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+
+        return (double) equal / SIZE;
+    }
+
+    /**
+     * Método para obtener la llave de una banda de la firma (LSH): dos firmas comparten
+     * cubeta en una banda si sus ROWS valores de esa banda son iguales
+     *
+     * @param signature Firma
+     * @param band      Índice de la banda
+     * @return Llave de la cubeta
+     */
+    public static long bandKey(int[] signature, int band) {
+        long key = band;
+
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+
+        return key;
+    }
+
+    private static long shingleHash(String text, int from, int to) {
+        long hash = 0;
+
+        for (int i = from; i < to; i++) {
+            hash = hash * 1_000_003 + text.charAt(i);
+        }
+
+        return mix(hash);
+    }
+
+    /**
+     * Función de mezcla de SplitMix64
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+        return z ^ (z >>> 31);
+    }
+}
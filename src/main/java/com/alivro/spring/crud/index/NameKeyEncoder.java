@@ -0,0 +1,96 @@
+package com.alivro.spring.crud.index;
+
+import org.apache.commons.codec.language.DaitchMokotoffSoundex;
+import org.apache.commons.codec.language.DoubleMetaphone;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class NameKeyEncoder {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final DoubleMetaphone DOUBLE_METAPHONE = new DoubleMetaphone();
+    private static final DaitchMokotoffSoundex DAITCH_MOKOTOFF = new DaitchMokotoffSoundex();
+    // Las iniciales ("H.", "G.") no aportan información fonética
+    private static final int MIN_PHONETIC_LENGTH = 2;
+
+    private NameKeyEncoder() {
+    }
+
+    /**
+     * Método para normalizar un nombre: elimina acentos, signos de puntuación y espacios
+     *
+     * @param name Nombre a normalizar
+     * @return Nombre normalizado ("H. G. Wells" -> "hgwells")
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+
+        return NON_ALPHANUMERIC.matcher(fold(name)).replaceAll("");
+    }
+
+    /**
+     * Método para dividir un nombre en palabras normalizadas
+     *
+     * @param name Nombre a dividir
+     * @return Palabras normalizadas del nombre
+     */
+    public static List<String> tokenize(String name) {
+        if (name == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(NON_ALPHANUMERIC.split(fold(name)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Método para obtener las claves fonéticas de una palabra.
+     * Combina Double Metaphone (códigos primario y alternativo) con Daitch-Mokotoff,
+     * que agrupa variantes como "Dodgson" y "Dodgeson" que Double Metaphone separa.
+     *
+     * @param token Palabra normalizada
+     * @return Códigos fonéticos, sin duplicados ni vacíos
+     */
+    public static Set<String> phoneticKeys(String token) {
+        Set<String> keys = new LinkedHashSet<>(4);
+
+        if (token == null || token.length() < MIN_PHONETIC_LENGTH) {
+            return keys;
+        }
+
+        String primary = DOUBLE_METAPHONE.doubleMetaphone(token, false);
+        String alternate = DOUBLE_METAPHONE.doubleMetaphone(token, true);
+
+        if (primary != null && !primary.isEmpty()) {
+            keys.add(primary);
+        }
+
+        if (alternate != null && !alternate.isEmpty()) {
+            keys.add(alternate);
+        }
+
+        // Daitch-Mokotoff puede devolver varios códigos separados por '|'
+        for (String code : DAITCH_MOKOTOFF.soundex(token).split("\\|")) {
+            if (!code.isEmpty()) {
+                keys.add(code);
+            }
+        }
+
+        return keys;
+    }
+
+    private static String fold(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,204 @@
+package com.alivro.spring.crud.limiter;
+
+import com.alivro.spring.crud.deadline.RequestDeadline;
+import com.alivro.spring.crud.handler.ResponseHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filtro que limita las solicitudes concurrentes de /api/v1 con GradientConcurrencyLimit. Si la
+ * solicitud no cabe en la fracción del límite de su prioridad (RequestPriority) se rechaza con
+ * 503 y Retry-After antes de llegar al controlador, en lugar de esperar en las colas de Tomcat,
+ * Hikari y los bulkheads. Los endpoints de administración no se limitan. Las respuestas 503 y 504
+ * del servidor bajan el límite; un 504 por el plazo que fijó el cliente (X-Request-Timeout) no
+ * lo cambia. Se desactiva con concurrency-limit.enabled=false.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String API_PATH = "/api/v1/";
+    private static final String ADMIN_PATH = "/api/v1/admin/";
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".PERMIT";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final GradientConcurrencyLimit limit;
+    private final ObjectMapper objectMapper;
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    /**
+     * Constructor
+     *
+     * @param initialLimit  Límite inicial de solicitudes concurrentes
+     * @param minLimit      Límite mínimo
+     * @param maxLimit      Límite máximo
+     * @param smoothing     Fracción del nuevo límite que se aplica en cada muestra
+     * @param longWindow    Muestras de la latencia de largo plazo
+     * @param objectMapper  Serializador de la respuesta de rechazo
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public ConcurrencyLimitFilter(
+            @Value("${concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${concurrency-limit.long-window:600}") int longWindow,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.limit = new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, smoothing, longWindow);
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("app.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit of /api/v1")
+                .register(meterRegistry);
+        Gauge.builder("app.concurrency.inflight", limit, GradientConcurrencyLimit::getInflight)
+                .description("Requests of /api/v1 in flight")
+                .register(meterRegistry);
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, Counter.builder("app.concurrency.rejected")
+                    .description("Requests rejected by the adaptive concurrency limit")
+                    .tag("priority", priority.getName())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+
+        return !path.startsWith(API_PATH) || path.startsWith(ADMIN_PATH);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // El lugar de una solicitud asíncrona se libera al terminar su segundo despacho
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Permit permit;
+
+        if (isAsyncDispatch(request)) {
+            permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        } else {
+            RequestPriority priority = RequestPriority.of(path(request));
+
+            if (!limit.tryAcquire(priority.getShare())) {
+                rejected.get(priority).increment();
+                reject(request, response);
+                return;
+            }
+
+            permit = new Permit(System.nanoTime());
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (isAsyncStarted(request)) {
+                // Si el contenedor termina la solicitud sin el segundo despacho (tiempo agotado,
+                // cliente desconectado), el lugar se libera al completarse
+                request.setAttribute(PERMIT_ATTRIBUTE, permit);
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release(request, response);
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ResponseHandler.sendErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded, try again later!", request.getRequestURI()
+        ).getBody());
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Lugar ocupado por una solicitud; se libera una sola vez aunque la solicitud asíncrona termine
+     * tanto por el segundo despacho como por el AsyncListener
+     */
+    private class Permit implements AsyncListener {
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(long start) {
+            this.start = start;
+        }
+
+        void release(HttpServletRequest request, HttpServletResponse response) {
+            // El cliente pidió un plazo que se agotó: un 504 a voluntad no debe bajar el límite de todos
+            if (request.getAttribute(RequestDeadline.EXCEEDED_ATTRIBUTE) != null) {
+                if (released.compareAndSet(false, true)) {
+                    limit.ignore();
+                }
+
+                return;
+            }
+
+            int status = response.getStatus();
+
+            release(status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value());
+        }
+
+        void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start, dropped);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release((HttpServletRequest) event.getSuppliedRequest(), (HttpServletResponse) event.getSuppliedResponse());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release((HttpServletRequest) event.getSuppliedRequest(), (HttpServletResponse) event.getSuppliedResponse());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // El filtro vuelve a registrar el lugar si el segundo despacho inicia otra fase asíncrona
+        }
+    }
+}
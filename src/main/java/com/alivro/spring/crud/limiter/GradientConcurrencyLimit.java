@@ -0,0 +1,138 @@
+package com.alivro.spring.crud.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite adaptativo de solicitudes concurrentes basado en el gradiente de la latencia (al estilo
+ * de TCP Vegas). Compara la latencia reciente con la latencia de largo plazo: mientras son
+ * parecidas el límite crece poco a poco; cuando la reciente sube, hay solicitudes haciendo cola y
+ * el límite baja en la misma proporción. Una solicitud descartada por el servidor (503, 504)
+ * reduce el límite de inmediato.
+ */
+public class GradientConcurrencyLimit {
+    // Tamaño de las ventanas de las medias móviles, en muestras
+    private static final double SHORT_WINDOW = 10;
+    // Factor del límite tras una solicitud descartada
+    private static final double BACKOFF_RATIO = 0.9;
+    // Gradiente mínimo: el límite baja a lo más a la mitad por muestra
+    private static final double MIN_GRADIENT = 0.5;
+    // Factor con el que la latencia de largo plazo alcanza a la reciente tras un periodo de carga
+    private static final double LONG_RTT_DECAY = 0.95;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double longWindow;
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * Constructor
+     *
+     * @param initialLimit Límite inicial
+     * @param minLimit     Límite mínimo
+     * @param maxLimit     Límite máximo
+     * @param smoothing    Fracción del nuevo límite que se aplica en cada muestra (0, 1]
+     * @param longWindow   Muestras de la media móvil de largo plazo
+     */
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, int longWindow) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limit bounds: " + minLimit + ".." + maxLimit);
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.longWindow = longWindow;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Método para ocupar un lugar si las solicitudes en curso no llegan a la fracción indicada del
+     * límite
+     *
+     * @param share Fracción del límite que puede ocupar la solicitud (0, 1]
+     * @return true si la solicitud puede continuar; en ese caso se debe llamar a release
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+
+        while (true) {
+            int current = inflight.get();
+
+            if (current >= allowed) {
+                return false;
+            }
+
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Método para liberar un lugar y ajustar el límite con la latencia de la solicitud
+     *
+     * @param rttNanos Duración de la solicitud en nanosegundos
+     * @param dropped  Indica si el servidor descartó la solicitud por sobrecarga
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = inflight.getAndDecrement();
+
+        synchronized (this) {
+            if (dropped) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                return;
+            }
+
+            shortRtt = shortRtt == 0 ? rttNanos : shortRtt + (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) / longWindow;
+
+            // Tras un periodo de carga la media de largo plazo quedó alta; se acerca a la reciente
+            // para no tomar la latencia con cola como la latencia sin carga
+            if (longRtt > 2 * shortRtt) {
+                longRtt *= LONG_RTT_DECAY;
+            }
+
+            // Con menos de la mitad del límite en uso la latencia no dice nada del límite
+            if (current < limit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longRtt / shortRtt));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+
+            newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+            limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        }
+    }
+
+    /**
+     * Método para liberar un lugar sin ajustar el límite, p. ej. cuando la solicitud terminó por
+     * el plazo que fijó el cliente: su duración no dice nada de la carga del servidor
+     */
+    public void ignore() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * Método para obtener el límite actual
+     *
+     * @return Solicitudes concurrentes permitidas
+     */
+    public double getLimit() {
+        return limit;
+    }
+
+    /**
+     * Método para obtener las solicitudes en curso
+     *
+     * @return Solicitudes en curso
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+}
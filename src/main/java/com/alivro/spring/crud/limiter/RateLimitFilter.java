@@ -0,0 +1,167 @@
+package com.alivro.spring.crud.limiter;
+
+import com.alivro.spring.crud.handler.ResponseHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filtro que limita la tasa de solicitudes de /api/v1 por cliente con TokenBucketRateLimiter. El
+ * cliente es la llave del encabezado X-API-Key o, sin ella, la IP. Cada solicitud cuesta fichas
+ * según su endpoint: una búsqueda por ID cuesta 1 y una página de 100 libros 11, de modo que un
+ * cliente que pide páginas grandes agota antes su presupuesto. Las respuestas llevan los
+ * encabezados RateLimit-Limit, RateLimit-Remaining y RateLimit-Reset; si no quedan fichas la
+ * respuesta es 429 con Retry-After. Los endpoints de administración no se limitan. Se desactiva
+ * con rate-limit.enabled=false.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final String API_PATH = "/api/v1/";
+    private static final String ADMIN_PATH = "/api/v1/admin/";
+    private static final String PAGE_SIZE_PARAMETER = "size";
+    // Tamaño de página de los listados sin parámetro size (@PageableDefault)
+    private static final int DEFAULT_PAGE_SIZE = 5;
+    // Libros o autores de una página que cuestan una ficha adicional
+    private static final int ROWS_PER_TOKEN = 10;
+    private static final long WRITE_COST = 2;
+    private static final long REPORT_COST = 20;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    /**
+     * Constructor
+     *
+     * @param capacity        Fichas de una cubeta llena (ráfaga máxima por cliente)
+     * @param refillPerSecond Fichas que recupera un cliente por segundo
+     * @param stripes         Número de cubetas entre las que se reparten los clientes
+     * @param objectMapper    Serializador de la respuesta de rechazo
+     * @param meterRegistry   Registro de métricas
+     */
+    @Autowired
+    public RateLimitFilter(
+            @Value("${rate-limit.capacity:200}") long capacity,
+            @Value("${rate-limit.refill-per-second:100}") long refillPerSecond,
+            @Value("${rate-limit.stripes:65536}") int stripes,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.rateLimiter = new TokenBucketRateLimiter(capacity, refillPerSecond, stripes);
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder("app.ratelimit.rejected")
+                .description("Requests rejected by the per-client rate limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+
+        return !path.startsWith(API_PATH) || path.startsWith(ADMIN_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        TokenBucketRateLimiter.Decision decision = rateLimiter.tryAcquire(client(request), cost(request));
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(rateLimiter.getCapacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(seconds(decision.resetNanos())));
+
+        if (!decision.allowed()) {
+            rejected.increment();
+            reject(request, response, decision);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Método para obtener las fichas que cuesta una solicitud
+     *
+     * @param request Solicitud
+     * @return Fichas que cuesta la solicitud
+     */
+    static long cost(HttpServletRequest request) {
+        RequestPriority priority = RequestPriority.of(path(request));
+
+        if (priority == RequestPriority.SHEDDABLE) {
+            // Los listados cuestan según el tamaño de página; los reportes, una cantidad fija
+            return path(request).contains("/findAll") ? 1 + pageSize(request) / ROWS_PER_TOKEN : REPORT_COST;
+        }
+
+        return HttpMethod.GET.matches(request.getMethod()) ? 1 : WRITE_COST;
+    }
+
+    private void reject(
+            HttpServletRequest request, HttpServletResponse response, TokenBucketRateLimiter.Decision decision)
+            throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds(decision.waitNanos())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ResponseHandler.sendErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS, "Too many requests, try again later!", request.getRequestURI()
+        ).getBody());
+    }
+
+    /**
+     * Método para obtener el cliente de una solicitud: la llave del encabezado X-API-Key o, sin
+     * ella, la IP. Lo usan también las llaves de idempotencia, para que cada cliente tenga las suyas.
+     *
+     * @param request Solicitud
+     * @return Identificador del cliente, p. ej. key:abc o ip:10.0.0.1
+     */
+    public static String client(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+
+        return apiKey != null && !apiKey.isBlank() ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private static int pageSize(HttpServletRequest request) {
+        try {
+            String size = request.getParameter(PAGE_SIZE_PARAMETER);
+
+            return size != null ? Math.max(1, Integer.parseInt(size)) : DEFAULT_PAGE_SIZE;
+        } catch (NumberFormatException e) {
+            return DEFAULT_PAGE_SIZE;
+        }
+    }
+
+    private static long seconds(long nanos) {
+        // Se redondea hacia arriba para no invitar a reintentar antes de tiempo
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
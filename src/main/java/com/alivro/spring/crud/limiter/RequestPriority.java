@@ -0,0 +1,69 @@
+package com.alivro.spring.crud.limiter;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.List;
+
+/**
+ * Prioridad de una solicitud frente al límite de concurrencia. Cada prioridad puede ocupar sólo
+ * una fracción del límite, de modo que al crecer la carga se rechazan primero los listados y
+ * reportes y al final las búsquedas por ID.
+ */
+public enum RequestPriority {
+    // Búsquedas por ID: se rechazan al último
+    CRITICAL("critical", 1.0, List.of("/api/v1/book/find/*", "/api/v1/author/find/*")),
+    // Escrituras, vecinos y clasificaciones
+    NORMAL("normal", 0.8, List.of()),
+    // Listados paginados y reportes sobre todo el catálogo: se rechazan primero
+    SHEDDABLE("sheddable", 0.5, List.of(
+            "/api/v1/*/findAll", "/api/v1/book/findAllByFacets", "/api/v1/book/duplicates", "/api/v1/stats/**"));
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String name;
+    private final double share;
+    private final List<String> patterns;
+
+    RequestPriority(String name, double share, List<String> patterns) {
+        this.name = name;
+        this.share = share;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Método para obtener la prioridad de una solicitud
+     *
+     * @param path Ruta de la solicitud, sin el contexto de la aplicación
+     * @return Prioridad de la solicitud; NORMAL si la ruta no es de otra prioridad
+     */
+    public static RequestPriority of(String path) {
+        for (RequestPriority priority : values()) {
+            for (String pattern : priority.patterns) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return priority;
+                }
+            }
+        }
+
+        return NORMAL;
+    }
+
+    /**
+     * Método para obtener el nombre de la prioridad en las métricas
+     *
+     * @return Nombre de la prioridad, p. ej. critical
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Método para obtener la fracción del límite que pueden ocupar las solicitudes de la prioridad
+     *
+     * @return Fracción del límite (0, 1]
+     */
+    public double getShare() {
+        return share;
+    }
+}
@@ -0,0 +1,108 @@
+package com.alivro.spring.crud.limiter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cubetas de fichas por cliente sin bloqueos. Cada cubeta se guarda como un solo long, el instante
+ * en que volvería a estar llena (algoritmo GCRA), y se actualiza con compareAndSet, por lo que
+ * consumir fichas cuesta unos cuantos nanosegundos aun con muchos hilos. Los clientes se reparten
+ * por hash en un arreglo fijo de cubetas: la memoria no crece con el número de clientes y dos
+ * clientes que caen en la misma cubeta comparten su presupuesto.
+ */
+public class TokenBucketRateLimiter {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // Instante, relativo a origin, en que cada cubeta vuelve a estar llena
+    private final AtomicLongArray fullAt;
+    private final int mask;
+    private final long capacity;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final long origin = System.nanoTime();
+
+    /**
+     * Constructor
+     *
+     * @param capacity        Fichas de una cubeta llena (ráfaga máxima)
+     * @param refillPerSecond Fichas que recupera una cubeta por segundo
+     * @param stripes         Número de cubetas; se redondea a la siguiente potencia de 2
+     */
+    public TokenBucketRateLimiter(long capacity, long refillPerSecond, int stripes) {
+        if (capacity < 1 || refillPerSecond < 1 || stripes < 1) {
+            throw new IllegalArgumentException("Invalid rate limit: " + capacity + " tokens, "
+                    + refillPerSecond + " tokens/s, " + stripes + " stripes");
+        }
+
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+
+        this.fullAt = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, NANOS_PER_SECOND / refillPerSecond);
+        this.burstNanos = capacity * nanosPerToken;
+    }
+
+    /**
+     * Método para consumir fichas de la cubeta de un cliente
+     *
+     * @param client Identificador del cliente (llave de API o IP)
+     * @param cost   Fichas que cuesta la solicitud; se limita a la capacidad
+     * @return Decisión, con las fichas restantes y los tiempos de espera
+     */
+    public Decision tryAcquire(String client, long cost) {
+        int stripe = stripe(client);
+        long increment = Math.min(Math.max(1, cost), capacity) * nanosPerToken;
+
+        while (true) {
+            long now = System.nanoTime() - origin;
+            long observed = fullAt.get(stripe);
+            long current = Math.max(observed, now);
+            long next = current + increment;
+            long waitNanos = next - now - burstNanos;
+
+            if (waitNanos > 0) {
+                return new Decision(false, remaining(current - now), current - now, waitNanos);
+            }
+
+            if (fullAt.compareAndSet(stripe, observed, next)) {
+                return new Decision(true, remaining(next - now), next - now, 0);
+            }
+        }
+    }
+
+    /**
+     * Método para obtener las fichas de una cubeta llena
+     *
+     * @return Capacidad de las cubetas
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    private long remaining(long emptyNanos) {
+        return Math.max(0, (burstNanos - emptyNanos) / nanosPerToken);
+    }
+
+    private int stripe(String client) {
+        // Mezcla los bits del hash (finalizador de MurmurHash3) para repartir IPs parecidas
+        int h = client.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+
+        return h & mask;
+    }
+
+    /**
+     * Resultado de consumir fichas
+     *
+     * @param allowed    Indica si la solicitud puede continuar
+     * @param remaining  Fichas que quedan en la cubeta
+     * @param resetNanos Tiempo hasta que la cubeta vuelva a estar llena
+     * @param waitNanos  Tiempo hasta que haya fichas suficientes; 0 si la solicitud continúa
+     */
+    public record Decision(boolean allowed, long remaining, long resetNanos, long waitNanos) {
+    }
+}
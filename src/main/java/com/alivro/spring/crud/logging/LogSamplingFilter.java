@@ -0,0 +1,96 @@
+package com.alivro.spring.crud.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Logback que registra sólo una fracción de los eventos INFO o menores de cada logger.
+ * Las tasas se configuran por prefijo de logger con elementos {@code <rate>logger=0.1</rate>};
+ * aplica el prefijo más largo y los loggers sin tasa registran todo. Los eventos WARN y ERROR
+ * nunca se descartan. Como el filtro decide antes de crear el evento, los descartados no
+ * formatean su mensaje. Un logger.isInfoEnabled() seguido de logger.info() se muestrea dos veces.
+ */
+public class LogSamplingFilter extends TurboFilter {
+    private static final double ALL = 1.0;
+
+    private final Map<String, Double> rates = new TreeMap<>();
+    private final Map<String, Double> ratesByLogger = new ConcurrentHashMap<>();
+    private final LongAdder sampledOut = new LongAdder();
+
+    /**
+     * Método para agregar la tasa de muestreo de un prefijo de logger
+     *
+     * @param rate Prefijo y tasa entre 0 y 1, p. ej. com.alivro.spring.crud.controller=0.1
+     */
+    public void addRate(String rate) {
+        int separator = rate.lastIndexOf('=');
+
+        try {
+            double value = Double.parseDouble(rate.substring(separator + 1).trim());
+
+            if (separator < 1 || value < 0 || value > 1) {
+                throw new NumberFormatException();
+            }
+
+            rates.put(rate.substring(0, separator).trim(), value);
+            ratesByLogger.clear();
+        } catch (NumberFormatException e) {
+            addError("Invalid sampling rate \"" + rate + "\". Expected logger=rate with 0 <= rate <= 1");
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        // logger.atInfo() sólo consulta el filtro al preguntar si el nivel está activo (sin formato),
+        // por lo que esa consulta también se muestrea; así se evita además construir el evento
+        if (!isStarted() || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        double rate = ratesByLogger.computeIfAbsent(logger.getName(), this::rateOf);
+
+        if (rate >= ALL || ThreadLocalRandom.current().nextDouble() < rate) {
+            return FilterReply.NEUTRAL;
+        }
+
+        sampledOut.increment();
+
+        return FilterReply.DENY;
+    }
+
+    private double rateOf(String loggerName) {
+        double rate = ALL;
+        int longestPrefix = -1;
+
+        for (Map.Entry<String, Double> entry : rates.entrySet()) {
+            String prefix = entry.getKey();
+            boolean matches = loggerName.equals(prefix) || loggerName.startsWith(prefix + ".");
+
+            if (matches && prefix.length() > longestPrefix) {
+                longestPrefix = prefix.length();
+                rate = entry.getValue();
+            }
+        }
+
+        return rate;
+    }
+
+    /**
+     * Método para obtener el número de eventos descartados por muestreo
+     *
+     * @return Eventos descartados desde el inicio
+     */
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+}
@@ -0,0 +1,54 @@
+package com.alivro.spring.crud.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Publica como métricas los eventos descartados por los RingBufferAppender del logger raíz
+ * (logging.async.dropped), su ocupación (logging.async.queue.size) y los eventos descartados
+ * por LogSamplingFilter (logging.sampled.out)
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        Iterator<Appender<ILoggingEvent>> appenders =
+                context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof RingBufferAppender appender) {
+                FunctionCounter.builder("logging.async.dropped", appender, RingBufferAppender::getDroppedCount)
+                        .description("Log events dropped because the ring buffer was full")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                Gauge.builder("logging.async.queue.size", appender, RingBufferAppender::getQueueSize)
+                        .description("Log events waiting in the ring buffer")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+            }
+        }
+
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof LogSamplingFilter samplingFilter) {
+                FunctionCounter.builder("logging.sampled.out", samplingFilter, LogSamplingFilter::getSampledOutCount)
+                        .description("Log events skipped by per-logger sampling")
+                        .register(registry);
+            }
+        }
+    }
+}
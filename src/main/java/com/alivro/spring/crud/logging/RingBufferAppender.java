@@ -0,0 +1,213 @@
+package com.alivro.spring.crud.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appender asíncrono de Logback: el hilo de la solicitud sólo deja el evento en un buffer circular
+ * acotado y un hilo aparte le da formato y lo escribe en los appenders anidados. Si el buffer está
+ * lleno, los eventos INFO o menores se descartan en lugar de bloquear la solicitud y se cuentan en
+ * getDroppedCount(); los WARN y ERROR esperan hasta maxBlockTime a que haya lugar, como los eventos
+ * sobre el discardingThreshold de AsyncAppender.
+ * <p>
+ * A diferencia de AsyncAppender de Logback, el mensaje de los eventos INFO o menores se formatea en
+ * el hilo del appender, por lo que los argumentos de esos mensajes no deben modificarse después de
+ * registrarlos (IDs, textos y DTOs de solicitud).
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final int DRAIN_BATCH = 256;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private int capacity = DEFAULT_CAPACITY;
+    private int maxFlushTime = 1000;
+    private int maxBlockTime = 1000;
+    private BlockingQueue<ILoggingEvent> buffer;
+    private Thread worker;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+
+        if (capacity < 1) {
+            addError("Invalid capacity " + capacity);
+            return;
+        }
+
+        buffer = new ArrayBlockingQueue<>(capacity);
+        worker = new Thread(this::drain, "log-ring-buffer-" + getName());
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+
+        super.stop();
+        // El hilo vacía el buffer antes de terminar
+        worker.interrupt();
+
+        try {
+            worker.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (worker.isAlive()) {
+            addWarn("Max flush time exceeded. " + buffer.size() + " events discarded.");
+        }
+
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Datos que dependen del hilo que registra el evento
+        event.getThreadName();
+        event.getMDCPropertyMap();
+
+        if (!event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            if (!buffer.offer(event)) {
+                dropped.increment();
+            }
+
+            return;
+        }
+
+        event.prepareForDeferredProcessing();
+
+        try {
+            // Las advertencias y errores no se descartan por una ráfaga de eventos INFO
+            if (!buffer.offer(event, maxBlockTime, TimeUnit.MILLISECONDS)) {
+                dropped.increment();
+            }
+        } catch (InterruptedException e) {
+            dropped.increment();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        List<ILoggingEvent> batch = new ArrayList<>(DRAIN_BATCH);
+
+        while (isStarted()) {
+            try {
+                batch.add(buffer.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            buffer.drainTo(batch, DRAIN_BATCH - 1);
+            write(batch);
+        }
+
+        buffer.drainTo(batch);
+        write(batch);
+    }
+
+    private void write(List<ILoggingEvent> batch) {
+        for (ILoggingEvent event : batch) {
+            appenders.appendLoopOnAppenders(event);
+        }
+
+        batch.clear();
+    }
+
+    /**
+     * Método para obtener el número de eventos descartados por tener el buffer lleno
+     *
+     * @return Eventos descartados desde el inicio
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Método para obtener el número de eventos en espera de escribirse
+     *
+     * @return Eventos en el buffer
+     */
+    public int getQueueSize() {
+        return buffer != null ? buffer.size() : 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public int getMaxBlockTime() {
+        return maxBlockTime;
+    }
+
+    public void setMaxBlockTime(int maxBlockTime) {
+        this.maxBlockTime = maxBlockTime;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,68 @@
+package com.alivro.spring.crud.model.admin.response;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EndpointAllocationResponseDto {
+    // Método HTTP y patrón de la URL
+    private String endpoint;
+
+    // Límite superior del grupo de tamaño de página ("none" si el endpoint no es paginado)
+    private String pageSize;
+
+    // Número de solicitudes
+    private long requests;
+
+    // Promedio de bytes asignados por solicitud
+    private double meanBytes;
+
+    // Mediana de bytes asignados por solicitud
+    private double p50Bytes;
+
+    // Percentil 90 de bytes asignados por solicitud
+    private double p90Bytes;
+
+    // Percentil 99 de bytes asignados por solicitud
+    private double p99Bytes;
+
+    // Máximo de bytes asignados por solicitud (de los últimos minutos)
+    private double maxBytes;
+
+    /**
+     * Convierte la métrica de bytes asignados de un endpoint en un objeto ResponseDto
+     *
+     * @param summary Métrica app.request.allocated de un endpoint y tamaño de página
+     * @return Representación ResponseDto de la distribución
+     */
+    public static EndpointAllocationResponseDto mapSummaryToResponseDto(DistributionSummary summary) {
+        HistogramSnapshot snapshot = summary.takeSnapshot();
+        EndpointAllocationResponseDto dto = EndpointAllocationResponseDto.builder()
+                .endpoint(summary.getId().getTag("method") + " " + summary.getId().getTag("uri"))
+                .pageSize(summary.getId().getTag("size"))
+                .requests(snapshot.count())
+                .meanBytes(snapshot.mean())
+                .maxBytes(snapshot.max())
+                .build();
+
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            if (percentile.percentile() == 0.5) {
+                dto.setP50Bytes(percentile.value());
+            } else if (percentile.percentile() == 0.9) {
+                dto.setP90Bytes(percentile.value());
+            } else if (percentile.percentile() == 0.99) {
+                dto.setP99Bytes(percentile.value());
+            }
+        }
+
+        return dto;
+    }
+}
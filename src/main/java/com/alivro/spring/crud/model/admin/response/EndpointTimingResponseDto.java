@@ -0,0 +1,63 @@
+package com.alivro.spring.crud.model.admin.response;
+
+import com.alivro.spring.crud.statistics.ServerTimingStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EndpointTimingResponseDto {
+    // Método HTTP y patrón de la URL
+    private String endpoint;
+
+    // Número de solicitudes en la ventana
+    private long requests;
+
+    // Tiempo promedio de base de datos (ms)
+    private double dbMillis;
+
+    // Tiempo promedio de servicio y mapeo a DTOs, sin base de datos (ms)
+    private double mappingMillis;
+
+    // Tiempo promedio de construcción de la respuesta (ms)
+    private double responseMillis;
+
+    // Tiempo promedio de serialización a JSON (ms)
+    private double serializationMillis;
+
+    // Tiempo promedio fuera de las fases anteriores: filtros, controlador, Spring MVC (ms)
+    private double otherMillis;
+
+    // Tiempo promedio total (ms)
+    private double totalMillis;
+
+    /**
+     * Convierte los tiempos acumulados de un endpoint en un objeto ResponseDto con promedios
+     *
+     * @param timings Tiempos acumulados del endpoint
+     * @return Representación ResponseDto de los tiempos
+     */
+    public static EndpointTimingResponseDto mapTimingsToResponseDto(ServerTimingStats.EndpointTimings timings) {
+        long other = timings.totalNanos() - timings.dbNanos() - timings.mappingNanos()
+                - timings.responseNanos() - timings.serializationNanos();
+
+        return EndpointTimingResponseDto.builder()
+                .endpoint(timings.endpoint())
+                .requests(timings.requests())
+                .dbMillis(average(timings.dbNanos(), timings.requests()))
+                .mappingMillis(average(timings.mappingNanos(), timings.requests()))
+                .responseMillis(average(timings.responseNanos(), timings.requests()))
+                .serializationMillis(average(timings.serializationNanos(), timings.requests()))
+                .otherMillis(average(Math.max(0, other), timings.requests()))
+                .totalMillis(average(timings.totalNanos(), timings.requests()))
+                .build();
+    }
+
+    private static double average(long nanos, long requests) {
+        return nanos / 1_000_000.0 / requests;
+    }
+}
@@ -0,0 +1,40 @@
+package com.alivro.spring.crud.model.admin.response;
+
+import com.alivro.spring.crud.statistics.HotKeyTracker;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotKeyResponseDto {
+    // Tipo de llave (BOOK, AUTHOR, BOOK_PAGE o AUTHOR_PAGE)
+    private String type;
+
+    // ID o parámetros de la página
+    private String key;
+
+    // Número estimado de solicitudes (cota superior)
+    private long requests;
+
+    // Porcentaje de las solicitudes de ese tipo en la ventana
+    private double share;
+
+    /**
+     * Convierte una llave solicitada en un objeto ResponseDto
+     *
+     * @param hotKey Llave solicitada en la ventana
+     * @return Representación ResponseDto de la llave
+     */
+    public static HotKeyResponseDto mapHotKeyToResponseDto(HotKeyTracker.HotKey hotKey) {
+        return HotKeyResponseDto.builder()
+                .type(hotKey.type().name())
+                .key(hotKey.key())
+                .requests(hotKey.requests())
+                .share(hotKey.totalRequests() > 0 ? 100.0 * hotKey.requests() / hotKey.totalRequests() : 0)
+                .build();
+    }
+}
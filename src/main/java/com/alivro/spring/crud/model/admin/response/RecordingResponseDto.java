@@ -0,0 +1,40 @@
+package com.alivro.spring.crud.model.admin.response;
+
+import com.alivro.spring.crud.profiling.FlightRecorderSession;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecordingResponseDto {
+    // ID de la grabación de JFR
+    private long id;
+
+    // Nombre de la grabación
+    private String name;
+
+    // Estado de la grabación (RUNNING, STOPPED, CLOSED)
+    private String state;
+
+    // Tamaño del archivo .jfr en bytes (0 mientras la grabación está en curso)
+    private long sizeBytes;
+
+    /**
+     * Convierte la información de una grabación de JFR en un objeto ResponseDto
+     *
+     * @param info Información de la grabación
+     * @return Representación ResponseDto de la grabación
+     */
+    public static RecordingResponseDto mapRecordingToResponseDto(FlightRecorderSession.RecordingInfo info) {
+        return RecordingResponseDto.builder()
+                .id(info.id())
+                .name(info.name())
+                .state(info.state())
+                .sizeBytes(info.size())
+                .build();
+    }
+}
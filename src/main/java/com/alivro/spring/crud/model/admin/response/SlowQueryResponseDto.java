@@ -0,0 +1,58 @@
+package com.alivro.spring.crud.model.admin.response;
+
+import com.alivro.spring.crud.statistics.SlowQueryLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlowQueryResponseDto {
+    // Sentencia SQL sin literales
+    private String shape;
+
+    // Número de ejecuciones lentas
+    private long occurrences;
+
+    // Tiempo acumulado de las ejecuciones lentas (ms)
+    private double totalMillis;
+
+    // Tiempo de la ejecución más lenta (ms)
+    private double maxMillis;
+
+    // Sentencia de la ejecución más lenta
+    private String sql;
+
+    // Parámetros de la ejecución más lenta
+    private List<String> parameters;
+
+    // Filas leídas o modificadas por la ejecución más lenta (-1 si se desconocen)
+    private long rows;
+
+    // Plan de EXPLAIN ANALYZE de la primera ejecución lenta
+    private String plan;
+
+    /**
+     * Convierte las sentencias lentas con la misma forma en un objeto ResponseDto
+     *
+     * @param slowQuery Sentencias lentas con la misma forma
+     * @return Representación ResponseDto de las sentencias lentas
+     */
+    public static SlowQueryResponseDto mapSlowQueryToResponseDto(SlowQueryLog.SlowQuery slowQuery) {
+        return SlowQueryResponseDto.builder()
+                .shape(slowQuery.shape())
+                .occurrences(slowQuery.occurrences())
+                .totalMillis(slowQuery.totalNanos() / 1_000_000.0)
+                .maxMillis(slowQuery.maxNanos() / 1_000_000.0)
+                .sql(slowQuery.sql())
+                .parameters(slowQuery.parameters())
+                .rows(slowQuery.rows())
+                .plan(slowQuery.plan())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.alivro.spring.crud.model.author.response;
+
+import com.alivro.spring.crud.index.BookAuthorGraph;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoauthorResponseDto {
+    // Identificador único del coautor
+    private long id;
+
+    // Número de libros en común
+    private int sharedBooks;
+
+    /**
+     * Convierte un vecino del grafo de libros y autores en un objeto ResponseDto
+     *
+     * @param neighbour Coautor y número de libros en común
+     * @return Representación ResponseDto del coautor
+     */
+    public static CoauthorResponseDto mapNeighbourToResponseDto(BookAuthorGraph.Neighbour neighbour) {
+        return CoauthorResponseDto.builder()
+                .id(neighbour.id())
+                .sharedBooks(neighbour.shared())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.alivro.spring.crud.model.book.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookFacetRequestDto {
+    // Editorial(es) a filtrar (se combinan con OR)
+    private List<String> publisher;
+
+    // Año(s) de publicación a filtrar (se combinan con OR)
+    private List<Integer> year;
+
+    // Rango(s) de número de páginas a filtrar, p. ej. "100-199" o "1000+" (se combinan con OR)
+    private List<String> pages;
+}
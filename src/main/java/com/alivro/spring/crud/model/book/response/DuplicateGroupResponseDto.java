@@ -0,0 +1,34 @@
+package com.alivro.spring.crud.model.book.response;
+
+import com.alivro.spring.crud.index.BookSimilarityIndex;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicateGroupResponseDto {
+    // Identificadores únicos de los libros casi duplicados, ordenados
+    private List<Long> bookIds;
+
+    // Indica que el grupo incluye libros agrupados sin verificar su similitud (cubeta demasiado grande)
+    private boolean truncated;
+
+    /**
+     * Convierte un grupo de libros casi duplicados del índice en un objeto ResponseDto
+     *
+     * @param group Grupo de libros casi duplicados
+     * @return Representación ResponseDto del grupo
+     */
+    public static DuplicateGroupResponseDto mapGroupToResponseDto(BookSimilarityIndex.Group group) {
+        return DuplicateGroupResponseDto.builder()
+                .bookIds(group.bookIds())
+                .truncated(group.truncated())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.alivro.spring.crud.model.book.response;
+
+import com.alivro.spring.crud.index.BookSimilarityIndex;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearDuplicateResponseDto {
+    // Identificador único del libro casi duplicado
+    private long id;
+
+    // Similitud estimada de título, subtítulo y autores (entre 0 y 1)
+    private double similarity;
+
+    /**
+     * Convierte un libro casi duplicado del índice en un objeto ResponseDto
+     *
+     * @param similar Libro casi duplicado y su similitud estimada
+     * @return Representación ResponseDto del libro casi duplicado
+     */
+    public static NearDuplicateResponseDto mapSimilarToResponseDto(BookSimilarityIndex.Similar similar) {
+        return NearDuplicateResponseDto.builder()
+                .id(similar.id())
+                .similarity(similar.similarity())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.alivro.spring.crud.model.book.response;
+
+import com.alivro.spring.crud.index.BookAuthorGraph;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatedBookResponseDto {
+    // Identificador único del libro relacionado
+    private long id;
+
+    // Número de autores en común
+    private int sharedAuthors;
+
+    /**
+     * Convierte un vecino del grafo de libros y autores en un objeto ResponseDto
+     *
+     * @param neighbour Libro relacionado y número de autores en común
+     * @return Representación ResponseDto del libro relacionado
+     */
+    public static RelatedBookResponseDto mapNeighbourToResponseDto(BookAuthorGraph.Neighbour neighbour) {
+        return RelatedBookResponseDto.builder()
+                .id(neighbour.id())
+                .sharedAuthors(neighbour.shared())
+                .build();
+    }
+}
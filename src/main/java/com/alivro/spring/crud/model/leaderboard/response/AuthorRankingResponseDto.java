@@ -0,0 +1,41 @@
+package com.alivro.spring.crud.model.leaderboard.response;
+
+import com.alivro.spring.crud.index.Leaderboards;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorRankingResponseDto {
+    // Posición en el ranking (1 es la primera)
+    private int rank;
+
+    // ID del autor
+    private long id;
+
+    // Pseudónimo del autor
+    private String pseudonym;
+
+    // Número de libros del autor
+    private int books;
+
+    /**
+     * Convierte un autor del ranking en un objeto ResponseDto
+     *
+     * @param rank   Posición en el ranking
+     * @param author Autor del ranking
+     * @return Representación ResponseDto del autor
+     */
+    public static AuthorRankingResponseDto mapRankedAuthorToResponseDto(int rank, Leaderboards.RankedAuthor author) {
+        return AuthorRankingResponseDto.builder()
+                .rank(rank)
+                .id(author.id())
+                .pseudonym(author.pseudonym())
+                .books(author.books())
+                .build();
+    }
+}
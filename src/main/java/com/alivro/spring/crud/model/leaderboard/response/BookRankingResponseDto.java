@@ -0,0 +1,47 @@
+package com.alivro.spring.crud.model.leaderboard.response;
+
+import com.alivro.spring.crud.index.Leaderboards;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookRankingResponseDto {
+    // Posición en el ranking (1 es la primera)
+    private int rank;
+
+    // ID del libro
+    private long id;
+
+    // Título del libro
+    private String title;
+
+    // Número de páginas
+    private int totalPages;
+
+    // Fecha de publicación
+    private LocalDate publishedDate;
+
+    /**
+     * Convierte un libro del ranking en un objeto ResponseDto
+     *
+     * @param rank Posición en el ranking
+     * @param book Libro del ranking
+     * @return Representación ResponseDto del libro
+     */
+    public static BookRankingResponseDto mapRankedBookToResponseDto(int rank, Leaderboards.RankedBook book) {
+        return BookRankingResponseDto.builder()
+                .rank(rank)
+                .id(book.id())
+                .title(book.title())
+                .totalPages(book.totalPages())
+                .publishedDate(book.publishedDate())
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.alivro.spring.crud.model.stats.response;
+
+import com.alivro.spring.crud.index.BookColumnStore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageStatsResponseDto {
+    // Editorial del grupo (si se agrupa por editorial)
+    private String publisher;
+
+    // Década de publicación del grupo (si se agrupa por década)
+    private Integer decade;
+
+    // Año de publicación del grupo (si se agrupa por año)
+    private Integer year;
+
+    // Número de libros del grupo
+    private long books;
+
+    // Suma del número de páginas
+    private long totalPages;
+
+    // Promedio del número de páginas
+    private double averagePages;
+
+    // Mínimo número de páginas
+    private int minPages;
+
+    // Máximo número de páginas
+    private int maxPages;
+
+    /**
+     * Convierte las estadísticas de un grupo en un objeto ResponseDto
+     *
+     * @param stats Estadísticas del grupo
+     * @return Representación ResponseDto de las estadísticas
+     */
+    public static PageStatsResponseDto mapStatsToResponseDto(BookColumnStore.GroupStats stats) {
+        return PageStatsResponseDto.builder()
+                .publisher(stats.key().publisher())
+                .decade(stats.key().decade())
+                .year(stats.key().year())
+                .books(stats.books())
+                .totalPages(stats.totalPages())
+                .averagePages((double) stats.totalPages() / stats.books())
+                .minPages(stats.minPages())
+                .maxPages(stats.maxPages())
+                .build();
+    }
+}
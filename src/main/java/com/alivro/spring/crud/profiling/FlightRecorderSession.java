@@ -0,0 +1,165 @@
+package com.alivro.spring.crud.profiling;
+
+import com.alivro.spring.crud.exception.DataAlreadyExistsException;
+import com.alivro.spring.crud.exception.DataNotFoundException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Sesión de Java Flight Recorder bajo demanda. Sólo puede haber una grabación a la vez;
+ * al detenerla se vuelca a un archivo temporal que se conserva hasta la siguiente grabación.
+ * La grabación se detiene sola al cumplir su duración máxima para no olvidarla encendida.
+ */
+@Component
+public class FlightRecorderSession {
+    public static final Duration MIN_DURATION = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_DURATION = Duration.ofMinutes(1);
+    public static final Duration MAX_DURATION = Duration.ofMinutes(10);
+    private static final long MAX_SIZE_BYTES = 100L * 1024 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(FlightRecorderSession.class);
+
+    private Recording recording;
+    private Path dump;
+
+    /**
+     * Método para iniciar una grabación con el perfil "profile" de JFR ajustado para
+     * encontrar métodos calientes, contención de locks y sitios de asignación
+     *
+     * @param duration Duración máxima de la grabación (se limita a entre 1 segundo y MAX_DURATION)
+     * @return Información de la grabación
+     */
+    public synchronized RecordingInfo start(Duration duration) {
+        duration = duration.compareTo(MIN_DURATION) < 0 ? MIN_DURATION
+                : duration.compareTo(MAX_DURATION) > 0 ? MAX_DURATION : duration;
+
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new DataAlreadyExistsException("Recording already running!");
+        }
+
+        close();
+
+        try {
+            recording = new Recording(Configuration.getConfiguration("profile"));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR profile configuration not available!", e);
+        }
+
+        recording.setName("crud-" + System.currentTimeMillis());
+        recording.setDuration(duration);
+        recording.setMaxSize(MAX_SIZE_BYTES);
+        recording.setToDisk(true);
+        // Muestreo de CPU cada 10 ms y contención a partir de 1 ms, con pila para atribuirla
+        recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10));
+        recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(1)).withStackTrace();
+        recording.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(1)).withStackTrace();
+        recording.enable("jdk.ObjectAllocationSample").with("throttle", "300/s").withStackTrace();
+        recording.start();
+
+        logger.info("Grabación de JFR iniciada. ID: {}, Duración máxima: {}", recording.getId(), duration);
+
+        return RecordingInfo.of(recording, null);
+    }
+
+    /**
+     * Método para detener la grabación en curso (o la que terminó por duración) y volcarla a disco
+     *
+     * @return Información de la grabación
+     */
+    public synchronized RecordingInfo stop() {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            throw new DataNotFoundException("Recording not found!");
+        }
+
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+
+        try {
+            deleteDump();
+            dump = Files.createTempFile(recording.getName() + "-", ".jfr");
+            recording.dump(dump);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        RecordingInfo info = RecordingInfo.of(recording, dump);
+        recording.close();
+
+        logger.info("Grabación de JFR detenida. ID: {}, Bytes: {}", info.id(), info.size());
+
+        return info;
+    }
+
+    /**
+     * Método para obtener el archivo de la última grabación detenida
+     *
+     * @return Ruta del archivo .jfr
+     */
+    public synchronized Path dump() {
+        if (dump == null || !Files.exists(dump)) {
+            throw new DataNotFoundException("Recording not found!");
+        }
+
+        return dump;
+    }
+
+    /**
+     * Método para cerrar la grabación y borrar su archivo al detener la aplicación
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+
+        deleteDump();
+    }
+
+    private void deleteDump() {
+        if (dump != null) {
+            try {
+                Files.deleteIfExists(dump);
+            } catch (IOException e) {
+                logger.warn("No se pudo borrar la grabación de JFR {}", dump, e);
+            }
+
+            dump = null;
+        }
+    }
+
+    /**
+     * Información de una grabación
+     *
+     * @param id    ID de la grabación
+     * @param name  Nombre de la grabación
+     * @param state Estado de la grabación
+     * @param size  Tamaño del archivo en bytes (0 si no se ha volcado)
+     */
+    public record RecordingInfo(long id, String name, String state, long size) {
+        static RecordingInfo of(Recording recording, Path dump) {
+            long size = 0;
+
+            try {
+                size = dump != null ? Files.size(dump) : 0;
+            } catch (IOException e) {
+                // El tamaño es informativo
+            }
+
+            return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(), size);
+        }
+    }
+}
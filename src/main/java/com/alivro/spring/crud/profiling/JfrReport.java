@@ -0,0 +1,160 @@
+package com.alivro.spring.crud.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resumen en texto de una grabación de JFR restringido al código de la aplicación: cada muestra
+ * de CPU, espera por lock o asignación se atribuye al primer marco de la pila que pertenece al
+ * paquete APPLICATION_PACKAGE. Las muestras sin marcos de la aplicación se descartan.
+ */
+public final class JfrReport {
+    public static final String APPLICATION_PACKAGE = "com.alivro.spring.crud.";
+    public static final int TOP = 20;
+
+    private final Map<String, Entry> hotMethods = new HashMap<>();
+    private final Map<String, Entry> contention = new HashMap<>();
+    private final Map<String, Entry> allocations = new HashMap<>();
+    private long executionSamples;
+
+    private JfrReport() {
+    }
+
+    /**
+     * Método para construir el resumen de un archivo .jfr
+     *
+     * @param file Archivo de la grabación
+     * @return Resumen de la grabación
+     */
+    public static JfrReport of(Path file) throws IOException {
+        JfrReport report = new JfrReport();
+
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                report.add(recordingFile.readEvent());
+            }
+        }
+
+        return report;
+    }
+
+    private void add(RecordedEvent event) {
+        String type = event.getEventType().getName();
+
+        switch (type) {
+            case "jdk.ExecutionSample" -> {
+                executionSamples++;
+                count(hotMethods, applicationFrame(event.getStackTrace()), 1);
+            }
+            case "jdk.JavaMonitorEnter", "jdk.ThreadPark" -> {
+                String frame = applicationFrame(event.getStackTrace());
+                String monitor = monitorName(event, type);
+
+                count(contention, frame != null ? monitor + " @ " + frame : null, event.getDuration().toNanos());
+            }
+            case "jdk.ObjectAllocationSample" -> {
+                String frame = applicationFrame(event.getStackTrace());
+                RecordedClass objectClass = event.getClass("objectClass");
+
+                count(allocations, frame != null ? objectClass.getName() + " @ " + frame : null,
+                        event.getLong("weight"));
+            }
+            default -> {
+                // Los demás eventos del perfil no forman parte del resumen
+            }
+        }
+    }
+
+    private static String monitorName(RecordedEvent event, String type) {
+        RecordedClass monitorClass = type.equals("jdk.JavaMonitorEnter")
+                ? event.getClass("monitorClass")
+                : event.getClass("parkedClass");
+
+        return monitorClass != null ? monitorClass.getName() : "unknown";
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod() != null) {
+                String className = frame.getMethod().getType().getName();
+
+                // Se omiten los proxies generados por CGLIB para llegar al método real
+                if (className.startsWith(APPLICATION_PACKAGE) && !className.contains("$$")) {
+                    return className + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static void count(Map<String, Entry> entries, String key, long value) {
+        if (key != null) {
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+            entry.events++;
+            entry.total += value;
+        }
+    }
+
+    /**
+     * Método para obtener el resumen en texto: los TOP métodos más muestreados, los locks con
+     * mayor tiempo de espera y los sitios que más bytes asignan
+     *
+     * @return Resumen de la grabación
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        long attributed = hotMethods.values().stream().mapToLong(entry -> entry.events).sum();
+
+        text.append(String.format(Locale.ROOT, "Hot methods (%d of %d CPU samples in %s)%n",
+                attributed, executionSamples, APPLICATION_PACKAGE.substring(0, APPLICATION_PACKAGE.length() - 1)));
+        top(hotMethods).forEach(entry -> text.append(String.format(Locale.ROOT, "%8d %6.2f%%  %s%n",
+                entry.getValue().events,
+                executionSamples > 0 ? 100.0 * entry.getValue().events / executionSamples : 0,
+                entry.getKey())));
+
+        text.append(String.format(Locale.ROOT, "%nLock contention (total wait, events)%n"));
+        top(contention).forEach(entry -> text.append(String.format(Locale.ROOT, "%10.3f ms %6d  %s%n",
+                entry.getValue().total / 1_000_000.0,
+                entry.getValue().events,
+                entry.getKey())));
+
+        text.append(String.format(Locale.ROOT, "%nAllocation sites (estimated bytes, samples)%n"));
+        top(allocations).forEach(entry -> text.append(String.format(Locale.ROOT, "%14d %6d  %s%n",
+                entry.getValue().total,
+                entry.getValue().events,
+                entry.getKey())));
+
+        return text.toString();
+    }
+
+    private static List<Map.Entry<String, Entry>> top(Map<String, Entry> entries) {
+        return entries.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Entry> entry) -> entry.getValue().total)
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(TOP)
+                .toList();
+    }
+
+    private static class Entry {
+        private long events;
+        private long total;
+    }
+}
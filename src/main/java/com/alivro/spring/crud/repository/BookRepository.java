@@ -1,7 +1,11 @@
 package com.alivro.spring.crud.repository;
 
 import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.projection.BookAuthorLink;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,4 +17,13 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @return true si existe, en caso contrario, false
      */
     boolean existsByIsbn13(String isbn13);
+
+    /**
+     * Método para buscar las relaciones libro-autor sin cargar las entidades
+     *
+     * @param pageable Página solicitada
+     * @return Pares (ID del libro, ID del autor), ordenados por libro y autor
+     */
+    @Query("SELECT b.id AS bookId, a.id AS authorId FROM Book b JOIN b.authors a ORDER BY b.id, a.id")
+    Slice<BookAuthorLink> findAllBookAuthorLinks(Pageable pageable);
 }
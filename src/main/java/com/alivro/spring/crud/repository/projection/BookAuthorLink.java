@@ -0,0 +1,12 @@
+package com.alivro.spring.crud.repository.projection;
+
+/**
+ * Proyección de una fila de la tabla book_author
+ */
+public interface BookAuthorLink {
+    // Identificador único del libro
+    Long getBookId();
+
+    // Identificador único del autor
+    Long getAuthorId();
+}
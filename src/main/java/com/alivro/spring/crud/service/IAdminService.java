@@ -0,0 +1,74 @@
+package com.alivro.spring.crud.service;
+
+import com.alivro.spring.crud.model.admin.response.EndpointAllocationResponseDto;
+import com.alivro.spring.crud.model.admin.response.EndpointTimingResponseDto;
+import com.alivro.spring.crud.model.admin.response.HotKeyResponseDto;
+import com.alivro.spring.crud.model.admin.response.RecordingResponseDto;
+import com.alivro.spring.crud.model.admin.response.SlowQueryResponseDto;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface IAdminService {
+    /**
+     * Método para obtener el desglose de tiempos por endpoint del último minuto
+     *
+     * @return Tiempos promedio por fase de cada endpoint
+     */
+    List<EndpointTimingResponseDto> findTimings();
+
+    /**
+     * Método para obtener la distribución de bytes asignados por solicitud de cada endpoint
+     * y tamaño de página
+     *
+     * @return Distribución de bytes asignados, de mayor a menor promedio
+     */
+    List<EndpointAllocationResponseDto> findAllocations();
+
+    /**
+     * Método para iniciar una grabación de Java Flight Recorder
+     *
+     * @param durationSeconds Duración máxima de la grabación en segundos
+     * @return Información de la grabación iniciada
+     */
+    RecordingResponseDto startRecording(long durationSeconds);
+
+    /**
+     * Método para detener la grabación de Java Flight Recorder en curso
+     *
+     * @return Información de la grabación detenida
+     */
+    RecordingResponseDto stopRecording();
+
+    /**
+     * Método para obtener el archivo .jfr de la última grabación detenida
+     *
+     * @return Ruta del archivo
+     */
+    Path findRecording();
+
+    /**
+     * Método para obtener el resumen en texto de la última grabación detenida: métodos
+     * calientes, contención de locks y sitios de asignación del código de la aplicación
+     *
+     * @return Resumen de la grabación
+     */
+    String findRecordingReport();
+
+    /**
+     * Método para obtener las sentencias SQL lentas con mayor tiempo acumulado
+     *
+     * @param limit Número máximo de sentencias
+     * @return Sentencias lentas agrupadas por forma, con su plan de ejecución
+     */
+    List<SlowQueryResponseDto> findSlowQueries(int limit);
+
+    /**
+     * Método para obtener los IDs de libros y autores y las páginas más solicitados
+     *
+     * @param minutes Minutos a considerar
+     * @param limit   Número máximo de llaves por tipo
+     * @return Llaves más solicitadas de cada tipo, de mayor a menor número de solicitudes
+     */
+    List<HotKeyResponseDto> findHotKeys(int minutes, int limit);
+}
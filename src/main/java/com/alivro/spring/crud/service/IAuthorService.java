@@ -2,11 +2,14 @@ package com.alivro.spring.crud.service;
 
 import com.alivro.spring.crud.model.author.request.AuthorSaveRequestDto;
 import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
+import com.alivro.spring.crud.model.author.response.CoauthorResponseDto;
 import com.alivro.spring.crud.model.author.response.AuthorSaveResponseDto;
 import com.alivro.spring.crud.util.CustomData;
 import com.alivro.spring.crud.util.CustomPageMetadata;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface IAuthorService {
     /**
      * Método para buscar todos los autores
@@ -23,6 +26,22 @@ public interface IAuthorService {
      */
     AuthorFindResponseDto findById(Long id);
 
+    /**
+     * Método para buscar autores por nombre, segundo nombre, apellido o pseudónimo
+     *
+     * @param name Nombre a buscar (sin distinguir acentos, puntuación ni variantes fonéticas)
+     * @return Información de los autores encontrados
+     */
+    List<AuthorFindResponseDto> findByName(String name);
+
+    /**
+     * Método para buscar los coautores de un autor
+     *
+     * @param id Identificador único del autor
+     * @return Coautores, primero los que comparten más libros
+     */
+    List<CoauthorResponseDto> findCoauthors(Long id);
+
     /**
      * Método para guardar un nuevo autor
      *
@@ -1,11 +1,18 @@
 package com.alivro.spring.crud.service;
 
+import com.alivro.spring.crud.model.book.request.BookFacetRequestDto;
 import com.alivro.spring.crud.model.book.request.BookSaveRequestDto;
 import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.model.book.response.DuplicateGroupResponseDto;
+import com.alivro.spring.crud.model.book.response.NearDuplicateResponseDto;
+import com.alivro.spring.crud.model.book.response.RelatedBookResponseDto;
 import com.alivro.spring.crud.util.CustomData;
+import com.alivro.spring.crud.util.CustomFacetPageMetadata;
 import com.alivro.spring.crud.util.CustomPageMetadata;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface IBookService {
     /**
      * Método para buscar todos los libros
@@ -14,6 +21,16 @@ public interface IBookService {
      */
     CustomData<BookResponseDto, CustomPageMetadata> findAll(Pageable pageable);
 
+    /**
+     * Método para buscar los libros que cumplen los filtros por faceta
+     *
+     * @param filter   Filtros por editorial, año de publicación y rango de páginas
+     * @param pageable Página solicitada (los libros se ordenan por ID)
+     * @return Información de los libros y conteos por faceta
+     */
+    CustomData<BookResponseDto, CustomFacetPageMetadata> findAllByFacets(
+            BookFacetRequestDto filter, Pageable pageable);
+
     /**
      * Método para buscar un libro por su ID
      *
@@ -22,6 +39,29 @@ public interface IBookService {
      */
     BookResponseDto findById(Long id);
 
+    /**
+     * Método para buscar los otros libros de los autores de un libro
+     *
+     * @param id Identificador único del libro
+     * @return Libros relacionados, primero los que comparten más autores
+     */
+    List<RelatedBookResponseDto> findRelated(Long id);
+
+    /**
+     * Método para buscar los libros casi duplicados de un libro
+     *
+     * @param id Identificador único del libro
+     * @return Libros casi duplicados, el más parecido primero
+     */
+    List<NearDuplicateResponseDto> findNearDuplicates(Long id);
+
+    /**
+     * Método para agrupar todos los libros casi duplicados
+     *
+     * @return Grupos de libros casi duplicados
+     */
+    List<DuplicateGroupResponseDto> findDuplicates();
+
     /**
      * Método para guardar un nuevo libro
      *
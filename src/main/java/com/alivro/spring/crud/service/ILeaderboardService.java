@@ -0,0 +1,29 @@
+package com.alivro.spring.crud.service;
+
+import com.alivro.spring.crud.model.leaderboard.response.AuthorRankingResponseDto;
+import com.alivro.spring.crud.model.leaderboard.response.BookRankingResponseDto;
+
+import java.util.List;
+
+public interface ILeaderboardService {
+    /**
+     * Método para obtener el ranking de los libros con más páginas
+     *
+     * @return Libros con más páginas
+     */
+    List<BookRankingResponseDto> findLongestBooks();
+
+    /**
+     * Método para obtener el ranking de los libros publicados más recientemente
+     *
+     * @return Libros publicados más recientemente
+     */
+    List<BookRankingResponseDto> findNewestBooks();
+
+    /**
+     * Método para obtener el ranking de los autores con más libros
+     *
+     * @return Autores con más libros
+     */
+    List<AuthorRankingResponseDto> findProlificAuthors();
+}
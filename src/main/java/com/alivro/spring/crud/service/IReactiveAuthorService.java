@@ -0,0 +1,34 @@
+package com.alivro.spring.crud.service;
+
+import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
+import com.alivro.spring.crud.util.CustomData;
+import com.alivro.spring.crud.util.CustomPageMetadata;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveAuthorService {
+    /**
+     * Método para buscar una página de autores
+     *
+     * @param pageable Página solicitada
+     * @return Información de los autores de la página
+     */
+    Mono<CustomData<AuthorFindResponseDto, CustomPageMetadata>> findAll(Pageable pageable);
+
+    /**
+     * Método para obtener todos los autores ordenados por ID, leyendo de la base de datos
+     * sólo a medida que el consumidor los solicita
+     *
+     * @return Información de todos los autores
+     */
+    Flux<AuthorFindResponseDto> streamAll();
+
+    /**
+     * Método para buscar un autor por su ID
+     *
+     * @param id Identificador único del autor
+     * @return Información del autor buscado
+     */
+    Mono<AuthorFindResponseDto> findById(Long id);
+}
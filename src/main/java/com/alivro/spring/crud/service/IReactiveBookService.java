@@ -0,0 +1,34 @@
+package com.alivro.spring.crud.service;
+
+import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.util.CustomData;
+import com.alivro.spring.crud.util.CustomPageMetadata;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveBookService {
+    /**
+     * Método para buscar una página de libros
+     *
+     * @param pageable Página solicitada
+     * @return Información de los libros de la página
+     */
+    Mono<CustomData<BookResponseDto, CustomPageMetadata>> findAll(Pageable pageable);
+
+    /**
+     * Método para obtener todos los libros ordenados por ID, leyendo de la base de datos
+     * sólo a medida que el consumidor los solicita
+     *
+     * @return Información de todos los libros
+     */
+    Flux<BookResponseDto> streamAll();
+
+    /**
+     * Método para buscar un libro por su ID
+     *
+     * @param id Identificador único del libro
+     * @return Información del libro buscado
+     */
+    Mono<BookResponseDto> findById(Long id);
+}
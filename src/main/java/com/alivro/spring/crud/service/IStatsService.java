@@ -0,0 +1,28 @@
+package com.alivro.spring.crud.service;
+
+import com.alivro.spring.crud.model.stats.response.PageStatsResponseDto;
+
+import java.util.List;
+
+public interface IStatsService {
+    /**
+     * Método para obtener las estadísticas del número de páginas por editorial
+     *
+     * @return Estadísticas por editorial
+     */
+    List<PageStatsResponseDto> findPagesByPublisher();
+
+    /**
+     * Método para obtener las estadísticas del número de páginas por editorial y década
+     *
+     * @return Estadísticas por editorial y década de publicación
+     */
+    List<PageStatsResponseDto> findPagesByPublisherAndDecade();
+
+    /**
+     * Método para obtener las estadísticas del número de páginas por año de publicación
+     *
+     * @return Estadísticas por año de publicación
+     */
+    List<PageStatsResponseDto> findPagesByYear();
+}
@@ -0,0 +1,176 @@
+package com.alivro.spring.crud.service.impl;
+
+import com.alivro.spring.crud.model.admin.response.EndpointAllocationResponseDto;
+import com.alivro.spring.crud.model.admin.response.EndpointTimingResponseDto;
+import com.alivro.spring.crud.model.admin.response.HotKeyResponseDto;
+import com.alivro.spring.crud.model.admin.response.RecordingResponseDto;
+import com.alivro.spring.crud.model.admin.response.SlowQueryResponseDto;
+import com.alivro.spring.crud.profiling.FlightRecorderSession;
+import com.alivro.spring.crud.profiling.JfrReport;
+import com.alivro.spring.crud.service.IAdminService;
+import com.alivro.spring.crud.statistics.AllocationInterceptor;
+import com.alivro.spring.crud.statistics.HotKeyTracker;
+import com.alivro.spring.crud.statistics.ServerTimingStats;
+import com.alivro.spring.crud.statistics.SlowQueryLog;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@Timed(value = "app.service", histogram = true)
+public class IAdminServiceImpl implements IAdminService {
+    private final ServerTimingStats serverTimingStats;
+    private final MeterRegistry meterRegistry;
+    private final FlightRecorderSession flightRecorderSession;
+    private final SlowQueryLog slowQueryLog;
+    private final HotKeyTracker hotKeyTracker;
+    private final Logger logger = LoggerFactory.getLogger(IAdminServiceImpl.class);
+
+    /**
+     * Constructor
+     *
+     * @param serverTimingStats     Desglose de tiempos por endpoint
+     * @param meterRegistry         Registro de métricas
+     * @param flightRecorderSession Sesión de Java Flight Recorder
+     * @param slowQueryLog          Registro de consultas lentas
+     * @param hotKeyTracker         Llaves más solicitadas
+     */
+    @Autowired
+    public IAdminServiceImpl(ServerTimingStats serverTimingStats, MeterRegistry meterRegistry,
+                             FlightRecorderSession flightRecorderSession, SlowQueryLog slowQueryLog,
+                             HotKeyTracker hotKeyTracker) {
+        this.serverTimingStats = serverTimingStats;
+        this.meterRegistry = meterRegistry;
+        this.flightRecorderSession = flightRecorderSession;
+        this.slowQueryLog = slowQueryLog;
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    /**
+     * Método para obtener el desglose de tiempos por endpoint del último minuto
+     *
+     * @return Tiempos promedio por fase de cada endpoint
+     */
+    @Override
+    public List<EndpointTimingResponseDto> findTimings() {
+        logger.info("Calcula desglose de tiempos por endpoint.");
+
+        return serverTimingStats.snapshot().stream()
+                .map(EndpointTimingResponseDto::mapTimingsToResponseDto)
+                .toList();
+    }
+
+    /**
+     * Método para obtener la distribución de bytes asignados por solicitud de cada endpoint
+     * y tamaño de página
+     *
+     * @return Distribución de bytes asignados, de mayor a menor promedio
+     */
+    @Override
+    public List<EndpointAllocationResponseDto> findAllocations() {
+        logger.info("Calcula bytes asignados por endpoint.");
+
+        return meterRegistry.find(AllocationInterceptor.METRIC).summaries().stream()
+                .map(EndpointAllocationResponseDto::mapSummaryToResponseDto)
+                .sorted(Comparator.comparingDouble(EndpointAllocationResponseDto::getMeanBytes).reversed())
+                .toList();
+    }
+
+    /**
+     * Método para iniciar una grabación de Java Flight Recorder
+     *
+     * @param durationSeconds Duración máxima de la grabación en segundos
+     * @return Información de la grabación iniciada
+     */
+    @Override
+    public RecordingResponseDto startRecording(long durationSeconds) {
+        logger.info("Inicia grabación de JFR. Duración: {} s", durationSeconds);
+
+        return RecordingResponseDto.mapRecordingToResponseDto(
+                flightRecorderSession.start(Duration.ofSeconds(durationSeconds)));
+    }
+
+    /**
+     * Método para detener la grabación de Java Flight Recorder en curso
+     *
+     * @return Información de la grabación detenida
+     */
+    @Override
+    public RecordingResponseDto stopRecording() {
+        logger.info("Detiene grabación de JFR.");
+
+        return RecordingResponseDto.mapRecordingToResponseDto(flightRecorderSession.stop());
+    }
+
+    /**
+     * Método para obtener el archivo .jfr de la última grabación detenida
+     *
+     * @return Ruta del archivo
+     */
+    @Override
+    public Path findRecording() {
+        logger.info("Busca archivo de la grabación de JFR.");
+
+        return flightRecorderSession.dump();
+    }
+
+    /**
+     * Método para obtener el resumen en texto de la última grabación detenida: métodos
+     * calientes, contención de locks y sitios de asignación del código de la aplicación
+     *
+     * @return Resumen de la grabación
+     */
+    @Override
+    public String findRecordingReport() {
+        logger.info("Genera resumen de la grabación de JFR.");
+
+        try {
+            return JfrReport.of(flightRecorderSession.dump()).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Método para obtener las sentencias SQL lentas con mayor tiempo acumulado
+     *
+     * @param limit Número máximo de sentencias
+     * @return Sentencias lentas agrupadas por forma, con su plan de ejecución
+     */
+    @Override
+    public List<SlowQueryResponseDto> findSlowQueries(int limit) {
+        logger.info("Busca consultas lentas. Límite: {}", limit);
+
+        return slowQueryLog.top(limit).stream()
+                .map(SlowQueryResponseDto::mapSlowQueryToResponseDto)
+                .toList();
+    }
+
+    /**
+     * Método para obtener los IDs de libros y autores y las páginas más solicitados
+     *
+     * @param minutes Minutos a considerar
+     * @param limit   Número máximo de llaves por tipo
+     * @return Llaves más solicitadas de cada tipo, de mayor a menor número de solicitudes
+     */
+    @Override
+    public List<HotKeyResponseDto> findHotKeys(int minutes, int limit) {
+        logger.info("Busca llaves más solicitadas. Minutos: {}, Límite: {}", minutes, limit);
+
+        return Arrays.stream(HotKeyTracker.KeyType.values())
+                .flatMap(type -> hotKeyTracker.top(type, minutes, limit).stream())
+                .map(HotKeyResponseDto::mapHotKeyToResponseDto)
+                .toList();
+    }
+}
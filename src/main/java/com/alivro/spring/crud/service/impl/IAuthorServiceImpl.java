@@ -1,38 +1,64 @@
 package com.alivro.spring.crud.service.impl;
 
+import com.alivro.spring.crud.event.AuthorDeletedEvent;
+import com.alivro.spring.crud.event.AuthorSavedEvent;
 import com.alivro.spring.crud.exception.DataAlreadyExistsException;
 import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.index.AuthorNameIndex;
+import com.alivro.spring.crud.index.BookAuthorGraph;
 import com.alivro.spring.crud.model.Author;
 import com.alivro.spring.crud.model.author.request.AuthorSaveRequestDto;
 import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
 import com.alivro.spring.crud.model.author.response.AuthorSaveResponseDto;
+import com.alivro.spring.crud.model.author.response.CoauthorResponseDto;
 import com.alivro.spring.crud.repository.AuthorRepository;
 import com.alivro.spring.crud.service.IAuthorService;
+import com.alivro.spring.crud.statistics.HotKeyTracker;
 import com.alivro.spring.crud.util.CustomData;
 import com.alivro.spring.crud.util.CustomPageMetadata;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class IAuthorServiceImpl implements IAuthorService {
     private final AuthorRepository authorRepository;
+    private final AuthorNameIndex authorNameIndex;
+    private final BookAuthorGraph bookAuthorGraph;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotKeyTracker hotKeyTracker;
     private final Logger logger = LoggerFactory.getLogger(IAuthorServiceImpl.class);
 
     /**
      * Constructor
      *
      * @param authorRepository Author repository
+     * @param authorNameIndex  Índice de nombres de autores
+     * @param bookAuthorGraph  Grafo de libros y autores
+     * @param eventPublisher   Publicador de eventos de escritura
+     * @param hotKeyTracker    Llaves más solicitadas
      */
     @Autowired
-    public IAuthorServiceImpl(AuthorRepository authorRepository) {
+    public IAuthorServiceImpl(AuthorRepository authorRepository, AuthorNameIndex authorNameIndex,
+                              BookAuthorGraph bookAuthorGraph, ApplicationEventPublisher eventPublisher,
+                              HotKeyTracker hotKeyTracker) {
         this.authorRepository = authorRepository;
+        this.authorNameIndex = authorNameIndex;
+        this.bookAuthorGraph = bookAuthorGraph;
+        this.eventPublisher = eventPublisher;
+        this.hotKeyTracker = hotKeyTracker;
     }
 
     /**
@@ -44,6 +70,8 @@ public class IAuthorServiceImpl implements IAuthorService {
     public CustomData<AuthorFindResponseDto, CustomPageMetadata> findAll(Pageable pageable) {
         logger.info("Busca todos los autores.");
 
+        hotKeyTracker.record(HotKeyTracker.KeyType.AUTHOR_PAGE, pageable);
+
         Page<Author> authorsPage = authorRepository.findAll(pageable);
 
         // Información de los autores
@@ -74,12 +102,14 @@ public class IAuthorServiceImpl implements IAuthorService {
      */
     @Override
     public AuthorFindResponseDto findById(Long id) {
-        logger.info("Busca autor. ID: {}", id);
+        logger.atInfo().addKeyValue("id", id).log("Busca autor.");
+
+        hotKeyTracker.record(HotKeyTracker.KeyType.AUTHOR, id);
 
         Optional<Author> foundAuthor = authorRepository.findById(id);
 
         if (foundAuthor.isEmpty()) {
-            logger.info("Autor no encontrado. ID: {}", id);
+            logger.atInfo().addKeyValue("id", id).log("Autor no encontrado.");
 
             throw new DataNotFoundException("Author not found!");
         }
@@ -87,6 +117,51 @@ public class IAuthorServiceImpl implements IAuthorService {
         return AuthorFindResponseDto.mapEntityToResponseDto(foundAuthor.get());
     }
 
+    /**
+     * Método para buscar autores por nombre, segundo nombre, apellido o pseudónimo
+     *
+     * @param name Nombre a buscar (sin distinguir acentos, puntuación ni variantes fonéticas)
+     * @return Información de los autores encontrados
+     */
+    @Override
+    public List<AuthorFindResponseDto> findByName(String name) {
+        logger.atInfo().addKeyValue("name", name).log("Busca autores.");
+
+        // IDs de los autores, en orden de relevancia
+        List<Long> ids = authorNameIndex.search(name);
+
+        Map<Long, Author> foundAuthors = authorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+
+        return ids.stream()
+                .filter(foundAuthors::containsKey)
+                .map(foundAuthors::get)
+                .map(AuthorFindResponseDto::mapEntityToResponseDto)
+                .toList();
+    }
+
+    /**
+     * Método para buscar los coautores de un autor
+     *
+     * @param id Identificador único del autor
+     * @return Coautores, primero los que comparten más libros
+     */
+    @Override
+    public List<CoauthorResponseDto> findCoauthors(Long id) {
+        logger.atInfo().addKeyValue("id", id).log("Busca coautores.");
+
+        // Un autor sin libros no aparece en el grafo: solo entonces se consulta la base de datos
+        if (bookAuthorGraph.booksOfAuthor(id).length == 0 && !authorRepository.existsById(id)) {
+            logger.atInfo().addKeyValue("id", id).log("Autor no encontrado.");
+
+            throw new DataNotFoundException("Author not found!");
+        }
+
+        return bookAuthorGraph.coauthors(id).stream()
+                .map(CoauthorResponseDto::mapNeighbourToResponseDto)
+                .toList();
+    }
+
     /**
      * Método para guardar un nuevo autor
      *
@@ -97,24 +172,26 @@ public class IAuthorServiceImpl implements IAuthorService {
     public AuthorSaveResponseDto save(AuthorSaveRequestDto author) {
         String pseudonym = author.getPseudonym();
 
-        logger.info("Busca autor. Pseudónimo: {}", pseudonym);
+        logger.atInfo().addKeyValue("pseudonym", pseudonym).log("Busca autor.");
 
         // Verifica si ya existe un autor con el mismo pseudónimo
         if (authorRepository.existsByPseudonym(pseudonym)) {
-            logger.info("Autor existente. Pseudónimo: {}", pseudonym);
-            logger.info("Autor no guardado. Pseudónimo: {}", pseudonym);
+            logger.atInfo().addKeyValue("pseudonym", pseudonym).log("Autor existente.");
+            logger.atInfo().addKeyValue("pseudonym", pseudonym).log("Autor no guardado.");
 
             throw new DataAlreadyExistsException("Author already exists!");
         }
 
-        logger.info("Autor no existente. Pseudónimo: {}", pseudonym);
-        logger.info("Guarda autor. Pseudónimo: {}", pseudonym);
+        logger.atInfo().addKeyValue("pseudonym", pseudonym).log("Autor no existente.");
+        logger.atInfo().addKeyValue("pseudonym", pseudonym).log("Guarda autor.");
 
         // Guarda la información del nuevo autor
         Author savedAuthor = authorRepository.save(
                 AuthorSaveRequestDto.mapRequestDtoToEntity(author)
         );
 
+        eventPublisher.publishEvent(new AuthorSavedEvent(savedAuthor));
+
         return AuthorSaveResponseDto.mapEntityToResponseDto(savedAuthor);
     }
 
@@ -127,14 +204,14 @@ public class IAuthorServiceImpl implements IAuthorService {
      */
     @Override
     public AuthorSaveResponseDto update(Long id, AuthorSaveRequestDto author) {
-        logger.info("Busca autor. ID: {}", id);
+        logger.atInfo().addKeyValue("id", id).log("Busca autor.");
 
         Optional<Author> foundAuthor = authorRepository.findById(id);
 
         // Verifica si existe un autor con ese id
         if (foundAuthor.isEmpty()) {
-            logger.info("Autor no existente. ID: {}", id);
-            logger.info("Autor no actualizado. ID: {}", id);
+            logger.atInfo().addKeyValue("id", id).log("Autor no existente.");
+            logger.atInfo().addKeyValue("id", id).log("Autor no actualizado.");
 
             throw new DataNotFoundException("Author does not exist!");
         }
@@ -146,11 +223,13 @@ public class IAuthorServiceImpl implements IAuthorService {
         authorToUpdate.setLastName(author.getLastName());
         authorToUpdate.setPseudonym(author.getPseudonym());
 
-        logger.info("Actualiza autor. ID: {}", id);
+        logger.atInfo().addKeyValue("id", id).log("Actualiza autor.");
 
         // Actualiza la información del autor
         Author updatedAuthor = authorRepository.save(authorToUpdate);
 
+        eventPublisher.publishEvent(new AuthorSavedEvent(updatedAuthor));
+
         return AuthorSaveResponseDto.mapEntityToResponseDto(updatedAuthor);
     }
 
@@ -161,8 +240,10 @@ public class IAuthorServiceImpl implements IAuthorService {
      */
     @Override
     public void deleteById(Long id) {
-        logger.info("Elimina autor. ID: {}", id);
+        logger.atInfo().addKeyValue("id", id).log("Elimina autor.");
 
         authorRepository.deleteById(id);
+
+        eventPublisher.publishEvent(new AuthorDeletedEvent(id));
     }
 }
@@ -1,37 +1,72 @@
 package com.alivro.spring.crud.service.impl;
 
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
 import com.alivro.spring.crud.exception.DataAlreadyExistsException;
 import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.index.BookAuthorGraph;
+import com.alivro.spring.crud.index.BookFacetIndex;
+import com.alivro.spring.crud.index.BookSimilarityIndex;
+import com.alivro.spring.crud.index.FacetQueryResult;
 import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.model.book.request.BookFacetRequestDto;
 import com.alivro.spring.crud.model.book.request.BookSaveRequestDto;
 import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.model.book.response.DuplicateGroupResponseDto;
+import com.alivro.spring.crud.model.book.response.NearDuplicateResponseDto;
+import com.alivro.spring.crud.model.book.response.RelatedBookResponseDto;
 import com.alivro.spring.crud.repository.BookRepository;
 import com.alivro.spring.crud.service.IBookService;
+import com.alivro.spring.crud.statistics.HotKeyTracker;
 import com.alivro.spring.crud.util.CustomData;
+import com.alivro.spring.crud.util.CustomFacetPageMetadata;
 import com.alivro.spring.crud.util.CustomPageMetadata;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class IBookServiceImpl implements IBookService {
     private final BookRepository bookRepository;
+    private final BookFacetIndex bookFacetIndex;
+    private final BookAuthorGraph bookAuthorGraph;
+    private final BookSimilarityIndex bookSimilarityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotKeyTracker hotKeyTracker;
     private final Logger logger = LoggerFactory.getLogger(IBookServiceImpl.class);
 
     /**
      * Constructor
      *
      * @param bookRepository Book repository
+     * @param bookFacetIndex      Índice de facetas de libros
+     * @param bookAuthorGraph     Grafo de libros y autores
+     * @param bookSimilarityIndex Índice de libros casi duplicados
+     * @param eventPublisher      Publicador de eventos de escritura
+     * @param hotKeyTracker       Llaves más solicitadas
      */
     @Autowired
-    public IBookServiceImpl(BookRepository bookRepository) {
+    public IBookServiceImpl(BookRepository bookRepository, BookFacetIndex bookFacetIndex,
+                            BookAuthorGraph bookAuthorGraph, BookSimilarityIndex bookSimilarityIndex,
+                            ApplicationEventPublisher eventPublisher, HotKeyTracker hotKeyTracker) {
         this.bookRepository = bookRepository;
+        this.bookFacetIndex = bookFacetIndex;
+        this.bookAuthorGraph = bookAuthorGraph;
+        this.bookSimilarityIndex = bookSimilarityIndex;
+        this.eventPublisher = eventPublisher;
+        this.hotKeyTracker = hotKeyTracker;
     }
 
     /**
@@ -43,6 +78,8 @@ public class IBookServiceImpl implements IBookService {
     public CustomData<BookResponseDto, CustomPageMetadata> findAll(Pageable pageable) {
         logger.info("Busca todos los libros.");
 
+        hotKeyTracker.record(HotKeyTracker.KeyType.BOOK_PAGE, pageable);
+
         Page<Book> booksPage = bookRepository.findAll(pageable);
 
         // Información de los libros
@@ -65,6 +102,46 @@ public class IBookServiceImpl implements IBookService {
                 .build();
     }
 
+    /**
+     * Método para buscar los libros que cumplen los filtros por faceta
+     *
+     * @param filter   Filtros por editorial, año de publicación y rango de páginas
+     * @param pageable Página solicitada (los libros se ordenan por ID)
+     * @return Información de los libros y conteos por faceta
+     */
+    @Override
+    public CustomData<BookResponseDto, CustomFacetPageMetadata> findAllByFacets(
+            BookFacetRequestDto filter, Pageable pageable) {
+        logger.atInfo().addKeyValue("filter", filter).log("Busca libros por facetas.");
+
+        FacetQueryResult result = bookFacetIndex.query(filter, pageable.getOffset(), pageable.getPageSize());
+
+        Map<Long, Book> booksById = bookRepository.findAllById(result.getPageIds()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        // Información de los libros, en el orden del índice
+        List<BookResponseDto> foundBooks = result.getPageIds().stream()
+                .filter(booksById::containsKey)
+                .map(booksById::get)
+                .map(BookResponseDto::mapEntityToResponseDto)
+                .toList();
+
+        // Metadatos
+        CustomFacetPageMetadata metadata = CustomFacetPageMetadata.builder()
+                .pageNumber(pageable.getPageNumber())
+                .pageSize(pageable.getPageSize())
+                .numberOfElements(foundBooks.size())
+                .totalPages((int) Math.ceil((double) result.getTotalElements() / pageable.getPageSize()))
+                .totalElements(result.getTotalElements())
+                .facets(result.getFacets())
+                .build();
+
+        return CustomData.<BookResponseDto, CustomFacetPageMetadata>builder()
+                .data(foundBooks)
+                .metadata(metadata)
+                .build();
+    }
+
     /**
      * Método para buscar un libro por su ID
      *
@@ -73,12 +150,14 @@ public class IBookServiceImpl implements IBookService {
      */
     @Override
     public BookResponseDto findById(Long id) {
-        logger.info("Busca libro. ID: {}", id);
+        logger.atInfo().addKeyValue("id", id).log("Busca libro.");
+
+        hotKeyTracker.record(HotKeyTracker.KeyType.BOOK, id);
 
         Optional<Book> foundBook = bookRepository.findById(id);
 
         if (foundBook.isEmpty()) {
-            logger.info("Libro no encontrado. ID: {}", id);
+            logger.atInfo().addKeyValue("id", id).log("Libro no encontrado.");
 
             throw new DataNotFoundException("Book not found!");
         }
@@ -86,6 +165,64 @@ public class IBookServiceImpl implements IBookService {
         return BookResponseDto.mapEntityToResponseDto(foundBook.get());
     }
 
+    /**
+     * Método para buscar los otros libros de los autores de un libro
+     *
+     * @param id Identificador único del libro
+     * @return Libros relacionados, primero los que comparten más autores
+     */
+    @Override
+    public List<RelatedBookResponseDto> findRelated(Long id) {
+        logger.atInfo().addKeyValue("id", id).log("Busca libros relacionados.");
+
+        // Un libro sin autores no aparece en el grafo: solo entonces se consulta la base de datos
+        if (bookAuthorGraph.authorsOfBook(id).length == 0 && !bookRepository.existsById(id)) {
+            logger.atInfo().addKeyValue("id", id).log("Libro no encontrado.");
+
+            throw new DataNotFoundException("Book not found!");
+        }
+
+        return bookAuthorGraph.relatedBooks(id).stream()
+                .map(RelatedBookResponseDto::mapNeighbourToResponseDto)
+                .toList();
+    }
+
+    /**
+     * Método para buscar los libros casi duplicados de un libro
+     *
+     * @param id Identificador único del libro
+     * @return Libros casi duplicados, el más parecido primero
+     */
+    @Override
+    public List<NearDuplicateResponseDto> findNearDuplicates(Long id) {
+        logger.atInfo().addKeyValue("id", id).log("Busca libros casi duplicados.");
+
+        // Un libro recién guardado puede no tener firma todavía
+        if (!bookSimilarityIndex.contains(id) && !bookRepository.existsById(id)) {
+            logger.atInfo().addKeyValue("id", id).log("Libro no encontrado.");
+
+            throw new DataNotFoundException("Book not found!");
+        }
+
+        return bookSimilarityIndex.nearDuplicates(id).stream()
+                .map(NearDuplicateResponseDto::mapSimilarToResponseDto)
+                .toList();
+    }
+
+    /**
+     * Método para agrupar todos los libros casi duplicados
+     *
+     * @return Grupos de libros casi duplicados
+     */
+    @Override
+    public List<DuplicateGroupResponseDto> findDuplicates() {
+        logger.info("Busca grupos de libros casi duplicados.");
+
+        return bookSimilarityIndex.duplicateGroups().stream()
+                .map(DuplicateGroupResponseDto::mapGroupToResponseDto)
+                .toList();
+    }
+
     /**
      * Método para guardar un nuevo libro
      *
@@ -96,24 +233,26 @@ public class IBookServiceImpl implements IBookService {
     public BookResponseDto save(BookSaveRequestDto book) {
         String isbn13 = book.getIsbn13();
 
-        logger.info("Busca libro. ISBN-13: {}", isbn13);
+        logger.atInfo().addKeyValue("isbn13", isbn13).log("Busca libro.");
 
         // Verifica si ya existe un libro con el mismo ISBN-13
         if (bookRepository.existsByIsbn13(isbn13)) {
-            logger.info("Libro existente. ISBN-13: {}", isbn13);
-            logger.info("Libro no guardado. ISBN-13: {}", isbn13);
+            logger.atInfo().addKeyValue("isbn13", isbn13).log("Libro existente.");
+            logger.atInfo().addKeyValue("isbn13", isbn13).log("Libro no guardado.");
 
             throw new DataAlreadyExistsException("Book already exists!");
         }
 
-        logger.info("Libro no existente. ISBN-13: {}", isbn13);
-        logger.info("Guarda libro. ISBN-13: {}", isbn13);
+        logger.atInfo().addKeyValue("isbn13", isbn13).log("Libro no existente.");
+        logger.atInfo().addKeyValue("isbn13", isbn13).log("Guarda libro.");
 
         // Guarda la información del nuevo libro
         Book savedBook = bookRepository.save(
                 BookSaveRequestDto.mapRequestDtoToEntity(book)
         );
 
+        eventPublisher.publishEvent(new BookSavedEvent(savedBook));
+
         return BookResponseDto.mapEntityToResponseDto(savedBook);
     }
 
@@ -126,14 +265,14 @@ public class IBookServiceImpl implements IBookService {
      */
     @Override
     public BookResponseDto update(Long id, BookSaveRequestDto book) {
-        logger.info("Busca libro. ID: {}", id);
+        logger.atInfo().addKeyValue("id", id).log("Busca libro.");
 
         Optional<Book> foundBook = bookRepository.findById(id);
 
         // Verifica si existe un libro con ese id
         if (foundBook.isEmpty()) {
-            logger.info("Libro no existente. ID: {}", id);
-            logger.info("Libro no actualizado. ID: {}", id);
+            logger.atInfo().addKeyValue("id", id).log("Libro no existente.");
+            logger.atInfo().addKeyValue("id", id).log("Libro no actualizado.");
 
             throw new DataNotFoundException("Book does not exist!");
         }
@@ -148,13 +287,15 @@ public class IBookServiceImpl implements IBookService {
         bookToUpdate.setIsbn13(book.getIsbn13());
         bookToUpdate.setIsbn10(book.getIsbn10());
 
-        logger.info("Actualiza libro. ID: {}", id);
+        logger.atInfo().addKeyValue("id", id).log("Actualiza libro.");
 
         // Actualiza la información del libro
         Book updatedBook = bookRepository.save(
                 BookSaveRequestDto.mapRequestDtoToEntity(id, book)
         );
 
+        eventPublisher.publishEvent(new BookSavedEvent(updatedBook));
+
         return BookResponseDto.mapEntityToResponseDto(updatedBook);
     }
 
@@ -165,8 +306,10 @@ public class IBookServiceImpl implements IBookService {
      */
     @Override
     public void deleteById(Long id) {
-        logger.info("Elimina libro. ID: {}", id);
+        logger.atInfo().addKeyValue("id", id).log("Elimina libro.");
 
         bookRepository.deleteById(id);
+
+        eventPublisher.publishEvent(new BookDeletedEvent(id));
     }
 }
@@ -0,0 +1,77 @@
+package com.alivro.spring.crud.service.impl;
+
+import com.alivro.spring.crud.index.Leaderboards;
+import com.alivro.spring.crud.model.leaderboard.response.AuthorRankingResponseDto;
+import com.alivro.spring.crud.model.leaderboard.response.BookRankingResponseDto;
+import com.alivro.spring.crud.service.ILeaderboardService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+@Service
+@Timed(value = "app.service", histogram = true)
+public class ILeaderboardServiceImpl implements ILeaderboardService {
+    private final Leaderboards leaderboards;
+    private final Logger logger = LoggerFactory.getLogger(ILeaderboardServiceImpl.class);
+
+    /**
+     * Constructor
+     *
+     * @param leaderboards Rankings de libros y autores
+     */
+    @Autowired
+    public ILeaderboardServiceImpl(Leaderboards leaderboards) {
+        this.leaderboards = leaderboards;
+    }
+
+    /**
+     * Método para obtener el ranking de los libros con más páginas
+     *
+     * @return Libros con más páginas
+     */
+    @Override
+    public List<BookRankingResponseDto> findLongestBooks() {
+        logger.info("Busca ranking de libros con más páginas.");
+
+        return mapBooks(leaderboards.longestBooks());
+    }
+
+    /**
+     * Método para obtener el ranking de los libros publicados más recientemente
+     *
+     * @return Libros publicados más recientemente
+     */
+    @Override
+    public List<BookRankingResponseDto> findNewestBooks() {
+        logger.info("Busca ranking de libros más recientes.");
+
+        return mapBooks(leaderboards.newestBooks());
+    }
+
+    /**
+     * Método para obtener el ranking de los autores con más libros
+     *
+     * @return Autores con más libros
+     */
+    @Override
+    public List<AuthorRankingResponseDto> findProlificAuthors() {
+        logger.info("Busca ranking de autores con más libros.");
+
+        List<Leaderboards.RankedAuthor> authors = leaderboards.prolificAuthors();
+
+        return IntStream.range(0, authors.size())
+                .mapToObj(i -> AuthorRankingResponseDto.mapRankedAuthorToResponseDto(i + 1, authors.get(i)))
+                .toList();
+    }
+
+    private static List<BookRankingResponseDto> mapBooks(List<Leaderboards.RankedBook> books) {
+        return IntStream.range(0, books.size())
+                .mapToObj(i -> BookRankingResponseDto.mapRankedBookToResponseDto(i + 1, books.get(i)))
+                .toList();
+    }
+}
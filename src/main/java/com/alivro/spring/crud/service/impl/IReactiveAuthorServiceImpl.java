@@ -0,0 +1,195 @@
+package com.alivro.spring.crud.service.impl;
+
+import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
+import com.alivro.spring.crud.model.author.response.BookOfAuthorResponseDto;
+import com.alivro.spring.crud.service.IReactiveAuthorService;
+import com.alivro.spring.crud.statistics.HotKeyTracker;
+import com.alivro.spring.crud.util.CustomData;
+import com.alivro.spring.crud.util.CustomPageMetadata;
+import io.r2dbc.spi.Readable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Service
+public class IReactiveAuthorServiceImpl implements IReactiveAuthorService {
+    // Autores que se leen por consulta al transmitir todo el catálogo
+    public static final int STREAM_BATCH_SIZE = 100;
+
+    private static final String AUTHOR_COLUMNS = "author_id, first_name, middle_name, last_name, pseudonym";
+    private static final String BOOKS_OF_AUTHORS = "SELECT ba.author_id, b.book_id, b.title, b.subtitle, "
+            + "b.publisher, b.isbn_13 FROM book_author ba JOIN book b ON b.book_id = ba.book_id "
+            + "WHERE ba.author_id IN (:ids) ORDER BY ba.author_id, b.book_id";
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "author_id",
+            "firstName", "first_name",
+            "middleName", "middle_name",
+            "lastName", "last_name",
+            "pseudonym", "pseudonym"
+    );
+
+    private final DatabaseClient databaseClient;
+    private final HotKeyTracker hotKeyTracker;
+    private final Logger logger = LoggerFactory.getLogger(IReactiveAuthorServiceImpl.class);
+
+    /**
+     * Constructor
+     *
+     * @param databaseClient Cliente de base de datos reactivo
+     * @param hotKeyTracker  Llaves más solicitadas
+     */
+    @Autowired
+    public IReactiveAuthorServiceImpl(DatabaseClient databaseClient, HotKeyTracker hotKeyTracker) {
+        this.databaseClient = databaseClient;
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    /**
+     * Método para buscar una página de autores
+     *
+     * @param pageable Página solicitada
+     * @return Información de los autores de la página
+     */
+    @Override
+    public Mono<CustomData<AuthorFindResponseDto, CustomPageMetadata>> findAll(Pageable pageable) {
+        logger.info("Busca todos los autores.");
+
+        hotKeyTracker.record(HotKeyTracker.KeyType.AUTHOR_PAGE, pageable);
+
+        Mono<List<AuthorFindResponseDto>> foundAuthors = findAuthors(databaseClient
+                .sql("SELECT " + AUTHOR_COLUMNS + " FROM author ORDER BY "
+                        + SqlOrder.of(pageable.getSort(), SORT_COLUMNS, "author_id")
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset()));
+        Mono<Long> totalElements = databaseClient.sql("SELECT COUNT(*) FROM author")
+                .map(row -> row.get(0, Long.class))
+                .one();
+
+        return Mono.zip(foundAuthors, totalElements)
+                .map(result -> {
+                    List<AuthorFindResponseDto> authors = result.getT1();
+                    long total = result.getT2();
+
+                    // Metadatos
+                    CustomPageMetadata metadata = CustomPageMetadata.builder()
+                            .pageNumber(pageable.getPageNumber())
+                            .pageSize(pageable.getPageSize())
+                            .numberOfElements(authors.size())
+                            .totalPages((int) Math.ceil((double) total / pageable.getPageSize()))
+                            .totalElements(total)
+                            .build();
+
+                    return CustomData.<AuthorFindResponseDto, CustomPageMetadata>builder()
+                            .data(authors)
+                            .metadata(metadata)
+                            .build();
+                });
+    }
+
+    /**
+     * Método para obtener todos los autores ordenados por ID, leyendo de la base de datos
+     * sólo a medida que el consumidor los solicita
+     *
+     * @return Información de todos los autores
+     */
+    @Override
+    public Flux<AuthorFindResponseDto> streamAll() {
+        logger.info("Transmite todos los autores.");
+
+        // Cada lote empieza después del último ID del anterior y sólo se consulta cuando el
+        // consumidor terminó el lote previo, por lo que en memoria hay a lo más un lote
+        return findBatchAfter(Long.MIN_VALUE)
+                .expand(batch -> batch.size() < STREAM_BATCH_SIZE
+                        ? Mono.empty()
+                        : findBatchAfter(batch.get(batch.size() - 1).getId()))
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    /**
+     * Método para buscar un autor por su ID
+     *
+     * @param id Identificador único del autor
+     * @return Información del autor buscado
+     */
+    @Override
+    public Mono<AuthorFindResponseDto> findById(Long id) {
+        logger.atInfo().addKeyValue("id", id).log("Busca autor.");
+
+        hotKeyTracker.record(HotKeyTracker.KeyType.AUTHOR, id);
+
+        return findAuthors(databaseClient
+                .sql("SELECT " + AUTHOR_COLUMNS + " FROM author WHERE author_id = :id")
+                .bind("id", id))
+                .flatMap(authors -> {
+                    if (authors.isEmpty()) {
+                        logger.atInfo().addKeyValue("id", id).log("Autor no encontrado.");
+
+                        return Mono.error(new DataNotFoundException("Author not found!"));
+                    }
+
+                    return Mono.just(authors.get(0));
+                });
+    }
+
+    private Mono<List<AuthorFindResponseDto>> findBatchAfter(long id) {
+        return findAuthors(databaseClient
+                .sql("SELECT " + AUTHOR_COLUMNS + " FROM author WHERE author_id > :id ORDER BY author_id LIMIT :limit")
+                .bind("id", id)
+                .bind("limit", STREAM_BATCH_SIZE));
+    }
+
+    /**
+     * Método para ejecutar una consulta de autores y completar sus libros con una sola consulta
+     * adicional (IN), en lugar de una por autor
+     */
+    private Mono<List<AuthorFindResponseDto>> findAuthors(DatabaseClient.GenericExecuteSpec query) {
+        return query.map(IReactiveAuthorServiceImpl::mapRowToResponseDto)
+                .all()
+                .collectList()
+                .flatMap(authors -> {
+                    if (authors.isEmpty()) {
+                        return Mono.just(authors);
+                    }
+
+                    Map<Long, AuthorFindResponseDto> authorsById = new LinkedHashMap<>();
+                    authors.forEach(author -> authorsById.put(author.getId(), author));
+
+                    return databaseClient.sql(BOOKS_OF_AUTHORS)
+                            .bind("ids", authorsById.keySet())
+                            .map(row -> Map.entry(row.get("author_id", Long.class), BookOfAuthorResponseDto.builder()
+                                    .id(row.get("book_id", Long.class))
+                                    .title(row.get("title", String.class))
+                                    .subtitle(row.get("subtitle", String.class))
+                                    .publisher(row.get("publisher", String.class))
+                                    .isbn13(row.get("isbn_13", String.class))
+                                    .build()))
+                            .all()
+                            .doOnNext(book -> authorsById.get(book.getKey()).getBooks().add(book.getValue()))
+                            .then(Mono.just(authors));
+                });
+    }
+
+    private static AuthorFindResponseDto mapRowToResponseDto(Readable row) {
+        return AuthorFindResponseDto.builder()
+                .id(row.get("author_id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .middleName(row.get("middle_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .pseudonym(row.get("pseudonym", String.class))
+                .books(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.alivro.spring.crud.service.impl;
+
+import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.model.book.response.AuthorOfBookResponseDto;
+import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.service.IReactiveBookService;
+import com.alivro.spring.crud.statistics.HotKeyTracker;
+import com.alivro.spring.crud.util.CustomData;
+import com.alivro.spring.crud.util.CustomPageMetadata;
+import io.r2dbc.spi.Readable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Service
+public class IReactiveBookServiceImpl implements IReactiveBookService {
+    // Libros que se leen por consulta al transmitir todo el catálogo
+    public static final int STREAM_BATCH_SIZE = 100;
+
+    private static final String BOOK_COLUMNS =
+            "book_id, title, subtitle, total_pages, publisher, published_date, isbn_13, isbn_10";
+    private static final String AUTHORS_OF_BOOKS = "SELECT ba.book_id, a.author_id, a.pseudonym "
+            + "FROM book_author ba JOIN author a ON a.author_id = ba.author_id "
+            + "WHERE ba.book_id IN (:ids) ORDER BY ba.book_id, a.author_id";
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "book_id",
+            "title", "title",
+            "subtitle", "subtitle",
+            "totalPages", "total_pages",
+            "publisher", "publisher",
+            "publishedDate", "published_date",
+            "isbn13", "isbn_13",
+            "isbn10", "isbn_10"
+    );
+
+    private final DatabaseClient databaseClient;
+    private final HotKeyTracker hotKeyTracker;
+    private final Logger logger = LoggerFactory.getLogger(IReactiveBookServiceImpl.class);
+
+    /**
+     * Constructor
+     *
+     * @param databaseClient Cliente de base de datos reactivo
+     * @param hotKeyTracker  Llaves más solicitadas
+     */
+    @Autowired
+    public IReactiveBookServiceImpl(DatabaseClient databaseClient, HotKeyTracker hotKeyTracker) {
+        this.databaseClient = databaseClient;
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    /**
+     * Método para buscar una página de libros
+     *
+     * @param pageable Página solicitada
+     * @return Información de los libros de la página
+     */
+    @Override
+    public Mono<CustomData<BookResponseDto, CustomPageMetadata>> findAll(Pageable pageable) {
+        logger.info("Busca todos los libros.");
+
+        hotKeyTracker.record(HotKeyTracker.KeyType.BOOK_PAGE, pageable);
+
+        Mono<List<BookResponseDto>> foundBooks = findBooks(databaseClient
+                .sql("SELECT " + BOOK_COLUMNS + " FROM book ORDER BY "
+                        + SqlOrder.of(pageable.getSort(), SORT_COLUMNS, "book_id")
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset()));
+        Mono<Long> totalElements = databaseClient.sql("SELECT COUNT(*) FROM book")
+                .map(row -> row.get(0, Long.class))
+                .one();
+
+        return Mono.zip(foundBooks, totalElements)
+                .map(result -> {
+                    List<BookResponseDto> books = result.getT1();
+                    long total = result.getT2();
+
+                    // Metadatos
+                    CustomPageMetadata metadata = CustomPageMetadata.builder()
+                            .pageNumber(pageable.getPageNumber())
+                            .pageSize(pageable.getPageSize())
+                            .numberOfElements(books.size())
+                            .totalPages((int) Math.ceil((double) total / pageable.getPageSize()))
+                            .totalElements(total)
+                            .build();
+
+                    return CustomData.<BookResponseDto, CustomPageMetadata>builder()
+                            .data(books)
+                            .metadata(metadata)
+                            .build();
+                });
+    }
+
+    /**
+     * Método para obtener todos los libros ordenados por ID, leyendo de la base de datos
+     * sólo a medida que el consumidor los solicita
+     *
+     * @return Información de todos los libros
+     */
+    @Override
+    public Flux<BookResponseDto> streamAll() {
+        logger.info("Transmite todos los libros.");
+
+        // Cada lote empieza después del último ID del anterior y sólo se consulta cuando el
+        // consumidor terminó el lote previo, por lo que en memoria hay a lo más un lote
+        return findBatchAfter(Long.MIN_VALUE)
+                .expand(batch -> batch.size() < STREAM_BATCH_SIZE
+                        ? Mono.empty()
+                        : findBatchAfter(batch.get(batch.size() - 1).getId()))
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    /**
+     * Método para buscar un libro por su ID
+     *
+     * @param id Identificador único del libro
+     * @return Información del libro buscado
+     */
+    @Override
+    public Mono<BookResponseDto> findById(Long id) {
+        logger.atInfo().addKeyValue("id", id).log("Busca libro.");
+
+        hotKeyTracker.record(HotKeyTracker.KeyType.BOOK, id);
+
+        return findBooks(databaseClient
+                .sql("SELECT " + BOOK_COLUMNS + " FROM book WHERE book_id = :id")
+                .bind("id", id))
+                .flatMap(books -> {
+                    if (books.isEmpty()) {
+                        logger.atInfo().addKeyValue("id", id).log("Libro no encontrado.");
+
+                        return Mono.error(new DataNotFoundException("Book not found!"));
+                    }
+
+                    return Mono.just(books.get(0));
+                });
+    }
+
+    private Mono<List<BookResponseDto>> findBatchAfter(long id) {
+        return findBooks(databaseClient
+                .sql("SELECT " + BOOK_COLUMNS + " FROM book WHERE book_id > :id ORDER BY book_id LIMIT :limit")
+                .bind("id", id)
+                .bind("limit", STREAM_BATCH_SIZE));
+    }
+
+    /**
+     * Método para ejecutar una consulta de libros y completar sus autores con una sola consulta
+     * adicional (IN), en lugar de una por libro
+     */
+    private Mono<List<BookResponseDto>> findBooks(DatabaseClient.GenericExecuteSpec query) {
+        return query.map(IReactiveBookServiceImpl::mapRowToResponseDto)
+                .all()
+                .collectList()
+                .flatMap(books -> {
+                    if (books.isEmpty()) {
+                        return Mono.just(books);
+                    }
+
+                    Map<Long, BookResponseDto> booksById = new LinkedHashMap<>();
+                    books.forEach(book -> booksById.put(book.getId(), book));
+
+                    return databaseClient.sql(AUTHORS_OF_BOOKS)
+                            .bind("ids", booksById.keySet())
+                            .map(row -> Map.entry(row.get("book_id", Long.class), AuthorOfBookResponseDto.builder()
+                                    .id(row.get("author_id", Long.class))
+                                    .pseudonym(row.get("pseudonym", String.class))
+                                    .build()))
+                            .all()
+                            .doOnNext(author -> booksById.get(author.getKey()).getAuthors().add(author.getValue()))
+                            .then(Mono.just(books));
+                });
+    }
+
+    private static BookResponseDto mapRowToResponseDto(Readable row) {
+        return BookResponseDto.builder()
+                .id(row.get("book_id", Long.class))
+                .title(row.get("title", String.class))
+                .subtitle(row.get("subtitle", String.class))
+                .authors(new ArrayList<>())
+                .totalPages(row.get("total_pages", Integer.class))
+                .publisher(row.get("publisher", String.class))
+                .publishedDate(row.get("published_date", LocalDate.class))
+                .isbn13(row.get("isbn_13", String.class))
+                .isbn10(row.get("isbn_10", String.class))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.alivro.spring.crud.service.impl;
+
+import com.alivro.spring.crud.index.BookColumnStore;
+import com.alivro.spring.crud.model.stats.response.PageStatsResponseDto;
+import com.alivro.spring.crud.service.IStatsService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@Timed(value = "app.service", histogram = true)
+public class IStatsServiceImpl implements IStatsService {
+    private final BookColumnStore bookColumnStore;
+    private final Logger logger = LoggerFactory.getLogger(IStatsServiceImpl.class);
+
+    /**
+     * Constructor
+     *
+     * @param bookColumnStore Copia columnar de libros
+     */
+    @Autowired
+    public IStatsServiceImpl(BookColumnStore bookColumnStore) {
+        this.bookColumnStore = bookColumnStore;
+    }
+
+    /**
+     * Método para obtener las estadísticas del número de páginas por editorial
+     *
+     * @return Estadísticas por editorial
+     */
+    @Override
+    public List<PageStatsResponseDto> findPagesByPublisher() {
+        logger.info("Calcula estadísticas de páginas por editorial.");
+
+        return bookColumnStore.pagesByPublisher().stream()
+                .map(PageStatsResponseDto::mapStatsToResponseDto)
+                .sorted(Comparator.comparing(PageStatsResponseDto::getPublisher))
+                .toList();
+    }
+
+    /**
+     * Método para obtener las estadísticas del número de páginas por editorial y década
+     *
+     * @return Estadísticas por editorial y década de publicación
+     */
+    @Override
+    public List<PageStatsResponseDto> findPagesByPublisherAndDecade() {
+        logger.info("Calcula estadísticas de páginas por editorial y década.");
+
+        return bookColumnStore.pagesByPublisherAndDecade().stream()
+                .map(PageStatsResponseDto::mapStatsToResponseDto)
+                .sorted(Comparator.comparing(PageStatsResponseDto::getPublisher)
+                        .thenComparing(PageStatsResponseDto::getDecade))
+                .toList();
+    }
+
+    /**
+     * Método para obtener las estadísticas del número de páginas por año de publicación
+     *
+     * @return Estadísticas por año de publicación
+     */
+    @Override
+    public List<PageStatsResponseDto> findPagesByYear() {
+        logger.info("Calcula estadísticas de páginas por año.");
+
+        return bookColumnStore.pagesByYear().stream()
+                .map(PageStatsResponseDto::mapStatsToResponseDto)
+                .toList();
+    }
+}
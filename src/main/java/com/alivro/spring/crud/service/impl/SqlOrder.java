@@ -0,0 +1,46 @@
+package com.alivro.spring.crud.service.impl;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Traduce el orden de una página (Pageable) a una cláusula ORDER BY para las consultas SQL
+ * de los servicios reactivos. Sólo acepta las propiedades de la lista de columnas, por lo que
+ * el texto de la solicitud nunca llega a la sentencia.
+ */
+final class SqlOrder {
+    private SqlOrder() {
+    }
+
+    /**
+     * Método para construir la cláusula ORDER BY
+     *
+     * @param sort     Orden solicitado
+     * @param columns  Columna de cada propiedad que se puede ordenar
+     * @param idColumn Columna del ID, que desempata para que las páginas no se traslapen
+     * @return Columnas y direcciones, sin la palabra ORDER BY
+     */
+    static String of(Sort sort, Map<String, String> columns, String idColumn) {
+        StringJoiner orderBy = new StringJoiner(", ");
+        boolean hasId = false;
+
+        for (Sort.Order order : sort) {
+            String column = columns.get(order.getProperty());
+
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown sort property: " + order.getProperty());
+            }
+
+            orderBy.add(column + (order.isAscending() ? " ASC" : " DESC"));
+            hasId |= column.equals(idColumn);
+        }
+
+        if (!hasId) {
+            orderBy.add(idColumn + " ASC");
+        }
+
+        return orderBy.toString();
+    }
+}
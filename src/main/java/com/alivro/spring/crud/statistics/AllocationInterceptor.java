@@ -0,0 +1,191 @@
+package com.alivro.spring.crud.statistics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interceptor que mide los bytes asignados en el heap por el hilo que atiende cada solicitud,
+ * desde que llega al controlador hasta que se escribe la respuesta, y los registra por endpoint
+ * y tamaño de página en la métrica app.request.allocated. En los endpoints asíncronos se suman
+ * los bytes de los dos despachos en hilos del contenedor y los del hilo del ejecutor que ejecuta
+ * el servicio. Con hilos virtuales la métrica no se registra, porque el JDK no mide las
+ * asignaciones de esos hilos.
+ */
+@Component
+public class AllocationInterceptor implements AsyncHandlerInterceptor {
+    public static final String METRIC = "app.request.allocated";
+    public static final String NO_PAGE_SIZE = "none";
+
+    private static final String START_ATTRIBUTE = AllocationInterceptor.class.getName() + ".START";
+    private static final String ALLOCATED_ATTRIBUTE = AllocationInterceptor.class.getName() + ".ALLOCATED";
+    private static final String EXECUTOR_ALLOCATED_ATTRIBUTE =
+            AllocationInterceptor.class.getName() + ".EXECUTOR_ALLOCATED";
+    // Límites superiores de los grupos de tamaño de página; acotan el número de series de la métrica
+    private static final int[] PAGE_SIZE_BUCKETS = {5, 10, 20, 50, 100, 200, 500, 1000, 2000};
+    private static final int SPRING_DEFAULT_PAGE_SIZE = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    /**
+     * Constructor
+     *
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public AllocationInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.threadMXBean = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()
+                ? bean
+                : null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // En los hilos virtuales el JDK no mide las asignaciones y devuelve -1
+        long start = currentThreadAllocatedBytes();
+
+        if (start >= 0) {
+            request.setAttribute(START_ATTRIBUTE, start);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // El despacho inicial de un endpoint asíncrono termina aquí; su parte se suma al final
+        long allocated = allocatedSinceStart(request);
+
+        request.removeAttribute(START_ATTRIBUTE);
+
+        if (allocated >= 0) {
+            request.setAttribute(ALLOCATED_ATTRIBUTE, allocated);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        long allocated = allocatedSinceStart(request);
+
+        if (allocated < 0) {
+            return;
+        }
+
+        if (request.getAttribute(ALLOCATED_ATTRIBUTE) instanceof Long initialDispatch) {
+            allocated += initialDispatch;
+        }
+
+        if (request.getAttribute(EXECUTOR_ALLOCATED_ATTRIBUTE) instanceof AtomicLong executor) {
+            allocated += executor.get();
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        DistributionSummary.builder(METRIC)
+                .description("Heap bytes allocated by the request thread")
+                .baseUnit("bytes")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .tag("size", pageSize(request, handler))
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(allocated);
+    }
+
+    /**
+     * Método para obtener los bytes asignados hasta ahora por el hilo actual
+     *
+     * @return Bytes asignados, o -1 si el JDK no los mide (p. ej. en un hilo virtual)
+     */
+    public long currentThreadAllocatedBytes() {
+        return threadMXBean != null ? threadMXBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Método para obtener el acumulador de los bytes que asigna el ejecutor de un endpoint
+     * asíncrono; debe llamarse en el hilo que atiende la solicitud, antes de enviar la tarea. El
+     * ejecutor sólo escribe en el acumulador, por lo que no toca la solicitud aunque ésta termine
+     * antes que la tarea (p. ej. por tiempo de espera agotado).
+     *
+     * @param request Solicitud en curso
+     * @return Acumulador de bytes asignados por el ejecutor
+     */
+    public AtomicLong executorAllocation(HttpServletRequest request) {
+        if (request.getAttribute(EXECUTOR_ALLOCATED_ATTRIBUTE) instanceof AtomicLong allocated) {
+            return allocated;
+        }
+
+        AtomicLong allocated = new AtomicLong();
+        request.setAttribute(EXECUTOR_ALLOCATED_ATTRIBUTE, allocated);
+
+        return allocated;
+    }
+
+    private long allocatedSinceStart(HttpServletRequest request) {
+        if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return -1;
+        }
+
+        long end = currentThreadAllocatedBytes();
+
+        return end < 0 ? -1 : end - start;
+    }
+
+    /**
+     * Método para obtener el grupo de tamaño de página de la solicitud: el parámetro size o,
+     * si no se envía, el tamaño por defecto del parámetro Pageable del controlador
+     *
+     * @return Límite superior del grupo, o NO_PAGE_SIZE si el endpoint no es paginado
+     */
+    static String pageSize(HttpServletRequest request, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return NO_PAGE_SIZE;
+        }
+
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            if (Pageable.class.isAssignableFrom(parameter.getParameterType())) {
+                PageableDefault pageableDefault = parameter.getParameterAnnotation(PageableDefault.class);
+                int size = pageableDefault != null ? pageableDefault.size() : SPRING_DEFAULT_PAGE_SIZE;
+
+                try {
+                    String sizeParameter = request.getParameter("size");
+                    size = sizeParameter != null ? Integer.parseInt(sizeParameter) : size;
+                } catch (NumberFormatException e) {
+                    // Spring usa el tamaño por defecto si el parámetro no es un número
+                }
+
+                return bucket(size);
+            }
+        }
+
+        return NO_PAGE_SIZE;
+    }
+
+    private static String bucket(int size) {
+        for (int bucket : PAGE_SIZE_BUCKETS) {
+            if (size <= bucket) {
+                return String.valueOf(bucket);
+            }
+        }
+
+        return String.valueOf(PAGE_SIZE_BUCKETS[PAGE_SIZE_BUCKETS.length - 1]);
+    }
+}
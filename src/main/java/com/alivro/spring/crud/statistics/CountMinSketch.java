@@ -0,0 +1,82 @@
+package com.alivro.spring.crud.statistics;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch: estima la frecuencia de cada llave con memoria fija (depth x width contadores).
+ * La estimación nunca es menor que la frecuencia real y la excede en a lo sumo e/width veces el
+ * total de eventos, con probabilidad 1 - e^-depth.
+ */
+final class CountMinSketch {
+    private final int width;
+    private final int[][] counters;
+
+    /**
+     * Constructor
+     *
+     * @param depth Número de funciones hash (filas)
+     * @param width Contadores por fila
+     */
+    CountMinSketch(int depth, int width) {
+        this.width = width;
+        this.counters = new int[depth][width];
+    }
+
+    /**
+     * Método para contar un evento de una llave
+     *
+     * @param hash Hash de 64 bits de la llave
+     */
+    void add(long hash) {
+        for (int row = 0; row < counters.length; row++) {
+            counters[row][index(hash, row)]++;
+        }
+    }
+
+    /**
+     * Método para estimar la frecuencia de una llave
+     *
+     * @param hash Hash de 64 bits de la llave
+     * @return Cota superior de la frecuencia
+     */
+    int estimate(long hash) {
+        int estimate = Integer.MAX_VALUE;
+
+        for (int row = 0; row < counters.length; row++) {
+            estimate = Math.min(estimate, counters[row][index(hash, row)]);
+        }
+
+        return estimate;
+    }
+
+    void clear() {
+        for (int[] row : counters) {
+            Arrays.fill(row, 0);
+        }
+    }
+
+    // Doble hash (Kirsch-Mitzenmacher): h1 + row * h2 equivale a depth funciones independientes
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    /**
+     * Método para calcular el hash FNV-1a de 64 bits de una llave
+     *
+     * @param key Llave
+     * @return Hash de 64 bits
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+}
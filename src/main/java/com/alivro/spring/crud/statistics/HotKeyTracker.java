@@ -0,0 +1,192 @@
+package com.alivro.spring.crud.statistics;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Llaves más solicitadas (IDs de libros y autores y páginas de findAll) de los últimos
+ * WINDOW_MINUTES minutos, con memoria constante sin importar el número de llaves distintas.
+ * Cada minuto tiene un count-min sketch, que estima la frecuencia de cualquier llave, y un
+ * resumen Space-Saving, que conserva las llaves candidatas; al consultar varios minutos se
+ * suman las estimaciones de las candidatas de todos ellos. Como ServerTimingStats, el minuto
+ * más antiguo se reutiliza al avanzar el tiempo.
+ */
+@Component
+public class HotKeyTracker {
+    public static final int WINDOW_MINUTES = 10;
+    private static final long SLOT_NANOS = 60_000_000_000L;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+    private static final int CANDIDATES = 64;
+
+    /**
+     * Tipo de llave
+     */
+    public enum KeyType {
+        BOOK, AUTHOR, BOOK_PAGE, AUTHOR_PAGE
+    }
+
+    private final Map<KeyType, Window> windows = new EnumMap<>(KeyType.class);
+    private final LongSupplier clock;
+
+    /**
+     * Constructor
+     */
+    public HotKeyTracker() {
+        this(System::nanoTime);
+    }
+
+    HotKeyTracker(LongSupplier clock) {
+        this.clock = clock;
+
+        for (KeyType type : KeyType.values()) {
+            windows.put(type, new Window());
+        }
+    }
+
+    /**
+     * Método para registrar la solicitud de un ID
+     *
+     * @param type Tipo de llave
+     * @param id   ID solicitado
+     */
+    public void record(KeyType type, long id) {
+        record(type, Long.toString(id));
+    }
+
+    /**
+     * Método para registrar la solicitud de una página
+     *
+     * @param type     Tipo de llave
+     * @param pageable Página solicitada
+     */
+    public void record(KeyType type, Pageable pageable) {
+        record(type, pageKey(pageable));
+    }
+
+    private void record(KeyType type, String key) {
+        windows.get(type).add(Math.floorDiv(clock.getAsLong(), SLOT_NANOS), key, CountMinSketch.hash(key));
+    }
+
+    /**
+     * Método para obtener las llaves más solicitadas de los últimos minutos
+     *
+     * @param type    Tipo de llave
+     * @param minutes Minutos a considerar (entre 1 y WINDOW_MINUTES)
+     * @param limit   Número máximo de llaves
+     * @return Llaves de mayor a menor número estimado de solicitudes
+     */
+    public List<HotKey> top(KeyType type, int minutes, int limit) {
+        int slots = Math.max(1, Math.min(minutes, WINDOW_MINUTES));
+
+        return windows.get(type).top(type, Math.floorDiv(clock.getAsLong(), SLOT_NANOS), slots, limit);
+    }
+
+    /**
+     * Método para construir la llave de una página con los mismos parámetros de la URL
+     *
+     * @param pageable Página solicitada
+     * @return Llave de la página, p. ej. page=0&size=20&sort=title,asc
+     */
+    static String pageKey(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return "unpaged";
+        }
+
+        String key = "page=" + pageable.getPageNumber() + "&size=" + pageable.getPageSize();
+
+        if (pageable.getSort().isSorted()) {
+            key += pageable.getSort().stream()
+                    .map(order -> "&sort=" + order.getProperty() + ","
+                            + order.getDirection().name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining());
+        }
+
+        return key;
+    }
+
+    private static class Window {
+        private final long[] slotIds = new long[WINDOW_MINUTES];
+        private final long[] totals = new long[WINDOW_MINUTES];
+        private final CountMinSketch[] sketches = new CountMinSketch[WINDOW_MINUTES];
+        private final SpaceSaving[] candidates = new SpaceSaving[WINDOW_MINUTES];
+
+        Window() {
+            Arrays.fill(slotIds, Long.MIN_VALUE);
+
+            for (int i = 0; i < WINDOW_MINUTES; i++) {
+                sketches[i] = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+                candidates[i] = new SpaceSaving(CANDIDATES);
+            }
+        }
+
+        synchronized void add(long slotId, String key, long hash) {
+            int index = Math.floorMod(slotId, WINDOW_MINUTES);
+
+            if (slotIds[index] != slotId) {
+                slotIds[index] = slotId;
+                totals[index] = 0;
+                sketches[index].clear();
+                candidates[index].clear();
+            }
+
+            totals[index]++;
+            sketches[index].add(hash);
+            candidates[index].add(key);
+        }
+
+        synchronized List<HotKey> top(KeyType type, long currentSlotId, int slots, int limit) {
+            Set<String> keys = new HashSet<>();
+            List<Integer> indexes = new ArrayList<>();
+            long total = 0;
+
+            for (int i = 0; i < WINDOW_MINUTES; i++) {
+                if (slotIds[i] > currentSlotId - slots && slotIds[i] <= currentSlotId) {
+                    indexes.add(i);
+                    keys.addAll(candidates[i].keys());
+                    total += totals[i];
+                }
+            }
+
+            List<HotKey> hotKeys = new ArrayList<>(keys.size());
+
+            for (String key : keys) {
+                long hash = CountMinSketch.hash(key);
+                long requests = 0;
+
+                for (int index : indexes) {
+                    requests += sketches[index].estimate(hash);
+                }
+
+                hotKeys.add(new HotKey(type, key, requests, total));
+            }
+
+            hotKeys.sort(Comparator.comparingLong(HotKey::requests).reversed().thenComparing(HotKey::key));
+
+            return hotKeys.subList(0, Math.min(Math.max(limit, 0), hotKeys.size()));
+        }
+    }
+
+    /**
+     * Llave solicitada en la ventana
+     *
+     * @param type          Tipo de llave
+     * @param key           ID o parámetros de la página
+     * @param requests      Número estimado de solicitudes (cota superior)
+     * @param totalRequests Número de solicitudes de ese tipo en la ventana
+     */
+    public record HotKey(KeyType type, String key, long requests, long totalRequests) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.alivro.spring.crud.statistics;
+
+/**
+ * Contadores de Hibernate de la solicitud en curso: sentencias SQL, entidades cargadas
+ * y colecciones perezosas inicializadas. Los contadores se asocian al hilo que atiende
+ * la solicitud; fuera de una solicitud (tareas en segundo plano, arranque) no se cuenta nada.
+ * Los endpoints asíncronos los continúan en el hilo del ejecutor con resume().
+ */
+public class QueryStats {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+    private int collectionInitializations;
+
+    /**
+     * Método para empezar a contar en el hilo actual
+     *
+     * @return Contadores de la solicitud
+     */
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+
+        return stats;
+    }
+
+    /**
+     * Método para dejar de contar en el hilo actual
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Método para obtener los contadores del hilo actual
+     *
+     * @return Contadores de la solicitud, o null fuera de una solicitud
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Método para seguir contando en otro hilo la misma solicitud, p. ej. en el hilo del ejecutor
+     * que atiende un endpoint asíncrono; se termina con end()
+     *
+     * @param stats Contadores obtenidos con current(), o null para no contar
+     */
+    public static void resume(QueryStats stats) {
+        if (stats != null) {
+            CURRENT.set(stats);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static void statementExecuted() {
+        QueryStats stats = CURRENT.get();
+
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        QueryStats stats = CURRENT.get();
+
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    static void collectionInitialized() {
+        QueryStats stats = CURRENT.get();
+
+        if (stats != null) {
+            stats.collectionInitializations++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionInitializations() {
+        return collectionInitializations;
+    }
+}
@@ -0,0 +1,127 @@
+package com.alivro.spring.crud.statistics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Filtro que cuenta las sentencias SQL, entidades cargadas y colecciones perezosas
+ * inicializadas por solicitud. Los conteos se registran como métricas por endpoint y,
+ * si query-stats.header.enabled=true (desarrollo y pruebas), se envían en encabezados
+ * de la respuesta.
+ */
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Query-Statements";
+    public static final String ENTITY_LOADS_HEADER = "X-Query-Entity-Loads";
+    public static final String COLLECTION_INITIALIZATIONS_HEADER = "X-Query-Collection-Initializations";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private static final String REACTIVE_PATH = "/api/v2/";
+    private static final String MEASUREMENT_ATTRIBUTE = QueryStatsFilter.class.getName() + ".MEASUREMENT";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headerEnabled;
+
+    /**
+     * Constructor
+     *
+     * @param meterRegistry Registro de métricas (el registro global si no hay uno en el contexto)
+     * @param headerEnabled true para enviar los conteos en encabezados de la respuesta
+     */
+    @Autowired
+    public QueryStatsFilter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${query-stats.header.enabled:false}") boolean headerEnabled) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // La API reactiva no usa Hibernate y transmite su respuesta, que no debe retenerse
+        return request.getRequestURI().startsWith(request.getContextPath() + REACTIVE_PATH);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Los endpoints asíncronos terminan en un segundo despacho
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Los encabezados deben escribirse antes que el cuerpo, por lo que éste se retiene. Si la
+        // solicitud es asíncrona, el despacho inicial guarda su estado y el segundo lo retoma
+        Measurement measurement;
+
+        if (isAsyncDispatch(request)) {
+            measurement = (Measurement) request.getAttribute(MEASUREMENT_ATTRIBUTE);
+            QueryStats.resume(measurement.stats());
+        } else {
+            measurement = new Measurement(
+                    headerEnabled ? new ContentCachingResponseWrapper(response) : null, QueryStats.begin());
+        }
+
+        ContentCachingResponseWrapper wrapper = measurement.wrapper();
+        QueryStats stats = measurement.stats();
+
+        try {
+            filterChain.doFilter(request, wrapper != null && !isAsyncDispatch(request) ? wrapper : response);
+        } finally {
+            QueryStats.end();
+
+            if (isAsyncStarted(request)) {
+                request.setAttribute(MEASUREMENT_ATTRIBUTE, measurement);
+            } else {
+                record(request, stats);
+
+                if (wrapper != null) {
+                    wrapper.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                    wrapper.setHeader(ENTITY_LOADS_HEADER, String.valueOf(stats.getEntityLoads()));
+                    wrapper.setHeader(COLLECTION_INITIALIZATIONS_HEADER,
+                            String.valueOf(stats.getCollectionInitializations()));
+                    wrapper.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+
+        summary("hibernate.request.statements", "SQL statements per request", request, uri)
+                .record(stats.getStatements());
+        summary("hibernate.request.entity.loads", "Entities loaded per request", request, uri)
+                .record(stats.getEntityLoads());
+        summary("hibernate.request.collection.initializations", "Lazy collections initialized per request",
+                request, uri)
+                .record(stats.getCollectionInitializations());
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+
+    private record Measurement(ContentCachingResponseWrapper wrapper, QueryStats stats) {
+    }
+}
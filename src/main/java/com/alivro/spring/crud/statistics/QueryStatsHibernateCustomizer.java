@@ -0,0 +1,63 @@
+package com.alivro.spring.crud.statistics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conecta Hibernate con los contadores de QueryStats: un StatementInspector cuenta cada
+ * sentencia SQL preparada y dos listeners cuentan las entidades cargadas y las colecciones
+ * perezosas inicializadas (y, para ServerTimings, la duración de esas inicializaciones).
+ * Las estadísticas globales de Hibernate (Statistics) no sirven para esto porque acumulan
+ * las solicitudes concurrentes de toda la SessionFactory.
+ */
+@Component
+public class QueryStatsHibernateCustomizer implements HibernatePropertiesCustomizer {
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+            QueryStats.statementExecuted();
+
+            return sql;
+        });
+        hibernateProperties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(new QueryStatsIntegrator()));
+    }
+
+    private static class QueryStatsIntegrator implements Integrator {
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+                    .getService(EventListenerRegistry.class);
+
+            registry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> QueryStats.entityLoaded());
+            registry.appendListeners(EventType.INIT_COLLECTION,
+                    (InitializeCollectionEventListener) event -> QueryStats.collectionInitialized());
+            // La carga perezosa de colecciones ocurre fuera de los repositorios; los listeners
+            // antes y después del de Hibernate miden su duración como tiempo de base de datos
+            registry.prependListeners(EventType.INIT_COLLECTION,
+                    (InitializeCollectionEventListener) event -> ServerTimings.collectionInitializationStarted());
+            registry.appendListeners(EventType.INIT_COLLECTION,
+                    (InitializeCollectionEventListener) event -> ServerTimings.collectionInitializationFinished());
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.alivro.spring.crud.statistics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorador de tareas que lleva al hilo de un ejecutor las mediciones de la solicitud que envía
+ * la tarea: los contadores de QueryStats, los tiempos de ServerTimings y los bytes asignados de
+ * AllocationInterceptor. Se llama en el hilo de la solicitud; la tarea decorada sigue midiendo
+ * en el hilo del ejecutor.
+ */
+@Component
+public class RequestStatsTaskDecorator implements TaskDecorator {
+    private final AllocationInterceptor allocationInterceptor;
+
+    /**
+     * Constructor
+     *
+     * @param allocationInterceptor Interceptor de bytes asignados por solicitud
+     */
+    @Autowired
+    public RequestStatsTaskDecorator(AllocationInterceptor allocationInterceptor) {
+        this.allocationInterceptor = allocationInterceptor;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        QueryStats stats = QueryStats.current();
+        ServerTimings timings = ServerTimings.current();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getRequest()
+                : null;
+        AtomicLong allocated = request != null ? allocationInterceptor.executorAllocation(request) : null;
+
+        return () -> {
+            QueryStats.resume(stats);
+            ServerTimings.resume(timings);
+
+            long start = allocationInterceptor.currentThreadAllocatedBytes();
+
+            try {
+                runnable.run();
+            } finally {
+                long end = allocationInterceptor.currentThreadAllocatedBytes();
+
+                if (allocated != null && start >= 0 && end >= 0) {
+                    allocated.addAndGet(end - start);
+                }
+
+                ServerTimings.end();
+                QueryStats.end();
+            }
+        };
+    }
+}
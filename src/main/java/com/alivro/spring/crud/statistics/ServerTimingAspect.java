@@ -0,0 +1,29 @@
+package com.alivro.spring.crud.statistics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspecto que mide el tiempo de los métodos de los servicios de la solicitud en curso
+ */
+@Aspect
+@Component
+public class ServerTimingAspect {
+    @Around("within(com.alivro.spring.crud.service.impl..*) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = ServerTimings.start();
+
+        if (start == 0) {
+            return joinPoint.proceed();
+        }
+
+        ServerTimings.serviceEntered();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ServerTimings.serviceExited(start);
+        }
+    }
+}
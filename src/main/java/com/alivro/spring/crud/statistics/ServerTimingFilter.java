@@ -0,0 +1,95 @@
+package com.alivro.spring.crud.statistics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Filtro que mide por solicitud el tiempo de base de datos, de servicio y mapeo, de construcción
+ * de la respuesta y de serialización. Los tiempos se envían en el encabezado Server-Timing y se
+ * acumulan por endpoint en ServerTimingStats. Se desactiva con server-timing.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private static final String JFR_PATH = "/api/v1/admin/jfr/";
+    private static final String REACTIVE_PATH = "/api/v2/";
+    private static final String MEASUREMENT_ATTRIBUTE = ServerTimingFilter.class.getName() + ".MEASUREMENT";
+
+    private final ServerTimingStats serverTimingStats;
+
+    /**
+     * Constructor
+     *
+     * @param serverTimingStats Desglose de tiempos por endpoint
+     */
+    @Autowired
+    public ServerTimingFilter(ServerTimingStats serverTimingStats) {
+        this.serverTimingStats = serverTimingStats;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Las grabaciones de JFR pueden pesar decenas de MB y no deben retenerse en memoria; la API
+        // reactiva transmite su respuesta y no se ejecuta en un solo hilo, por lo que no se mide
+        String uri = request.getRequestURI();
+
+        return uri.startsWith(request.getContextPath() + JFR_PATH)
+                || uri.startsWith(request.getContextPath() + REACTIVE_PATH);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Los endpoints asíncronos serializan su respuesta en un segundo despacho
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // El encabezado se conoce hasta terminar la serialización, por lo que el cuerpo se retiene.
+        // Si la solicitud es asíncrona, el despacho inicial guarda su estado y el segundo lo retoma
+        Measurement measurement;
+
+        if (isAsyncDispatch(request)) {
+            measurement = (Measurement) request.getAttribute(MEASUREMENT_ATTRIBUTE);
+            ServerTimings.resume(measurement.timings());
+        } else {
+            measurement = new Measurement(
+                    new ContentCachingResponseWrapper(response), System.nanoTime(), ServerTimings.begin());
+        }
+
+        try {
+            filterChain.doFilter(request, isAsyncDispatch(request) ? response : measurement.wrapper());
+        } finally {
+            ServerTimings.end();
+
+            if (isAsyncStarted(request)) {
+                request.setAttribute(MEASUREMENT_ATTRIBUTE, measurement);
+            } else {
+                long totalNanos = System.nanoTime() - measurement.start();
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+                serverTimingStats.record(request.getMethod() + " " + (pattern != null ? pattern : UNKNOWN_URI),
+                        measurement.timings(), totalNanos);
+                measurement.wrapper().setHeader(SERVER_TIMING_HEADER, measurement.timings().toHeader(totalNanos));
+                measurement.wrapper().copyBodyToResponse();
+            }
+        }
+    }
+
+    private record Measurement(ContentCachingResponseWrapper wrapper, long start, ServerTimings timings) {
+    }
+}
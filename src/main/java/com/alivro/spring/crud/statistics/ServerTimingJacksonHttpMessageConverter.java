@@ -0,0 +1,35 @@
+package com.alivro.spring.crud.statistics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Convertidor JSON que mide el tiempo de serialización del cuerpo de la respuesta
+ */
+public class ServerTimingJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    /**
+     * Constructor
+     *
+     * @param objectMapper Object mapper configurado por Spring Boot
+     */
+    public ServerTimingJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = ServerTimings.start();
+
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            ServerTimings.addSerialization(start);
+        }
+    }
+}
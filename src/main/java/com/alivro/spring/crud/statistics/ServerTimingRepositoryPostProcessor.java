@@ -0,0 +1,25 @@
+package com.alivro.spring.crud.statistics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra en cada repositorio de Spring Data un listener que suma la duración de sus
+ * métodos al tiempo de base de datos de la solicitud en curso
+ */
+@Component
+public class ServerTimingRepositoryPostProcessor implements BeanPostProcessor {
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                    repositoryFactory.addInvocationListener(invocation ->
+                            ServerTimings.addDb(invocation.getDuration(TimeUnit.NANOSECONDS))));
+        }
+
+        return bean;
+    }
+}
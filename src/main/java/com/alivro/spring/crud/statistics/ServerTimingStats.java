@@ -0,0 +1,137 @@
+package com.alivro.spring.crud.statistics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Desglose acumulado por endpoint de los tiempos de las solicitudes de la última ventana
+ * de WINDOW_SECONDS segundos. La ventana se divide en SLOTS intervalos; al avanzar el tiempo
+ * se reutiliza el intervalo más antiguo, por lo que la memoria es constante por endpoint.
+ */
+@Component
+public class ServerTimingStats {
+    public static final int WINDOW_SECONDS = 60;
+    private static final int SLOTS = 6;
+    private static final long SLOT_NANOS = WINDOW_SECONDS * 1_000_000_000L / SLOTS;
+
+    // Posiciones de los acumuladores de cada intervalo
+    private static final int REQUESTS = 0;
+    private static final int DB = 1;
+    private static final int MAPPING = 2;
+    private static final int RESPONSE = 3;
+    private static final int SERIALIZATION = 4;
+    private static final int TOTAL = 5;
+    private static final int COUNTERS = 6;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    /**
+     * Constructor
+     */
+    public ServerTimingStats() {
+        this(System::nanoTime);
+    }
+
+    ServerTimingStats(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Método para registrar los tiempos de una solicitud
+     *
+     * @param endpoint   Método HTTP y patrón de la URL
+     * @param timings    Tiempos por fase
+     * @param totalNanos Duración total en nanosegundos
+     */
+    public void record(String endpoint, ServerTimings timings, long totalNanos) {
+        windows.computeIfAbsent(endpoint, key -> new Window()).add(Math.floorDiv(clock.getAsLong(), SLOT_NANOS),
+                timings.getDbNanos(), timings.getMappingNanos(), timings.getResponseNanos(),
+                timings.getSerializationNanos(), totalNanos);
+    }
+
+    /**
+     * Método para obtener el desglose de la última ventana, ordenado por tiempo total acumulado
+     *
+     * @return Tiempos promedio por endpoint
+     */
+    public List<EndpointTimings> snapshot() {
+        long currentSlot = Math.floorDiv(clock.getAsLong(), SLOT_NANOS);
+        List<EndpointTimings> result = new ArrayList<>();
+
+        windows.forEach((endpoint, window) -> {
+            long[] sums = window.sum(currentSlot);
+
+            if (sums[REQUESTS] > 0) {
+                result.add(new EndpointTimings(endpoint, sums[REQUESTS],
+                        sums[DB], sums[MAPPING], sums[RESPONSE], sums[SERIALIZATION], sums[TOTAL]));
+            }
+        });
+
+        result.sort(Comparator.comparingLong(EndpointTimings::totalNanos).reversed());
+
+        return result;
+    }
+
+    private static class Window {
+        private final long[] slotIds = new long[SLOTS];
+        private final long[][] counters = new long[SLOTS][COUNTERS];
+
+        Window() {
+            Arrays.fill(slotIds, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long slotId, long db, long mapping, long response, long serialization, long total) {
+            int index = Math.floorMod(slotId, SLOTS);
+
+            if (slotIds[index] != slotId) {
+                slotIds[index] = slotId;
+                Arrays.fill(counters[index], 0);
+            }
+
+            long[] slot = counters[index];
+            slot[REQUESTS]++;
+            slot[DB] += db;
+            slot[MAPPING] += mapping;
+            slot[RESPONSE] += response;
+            slot[SERIALIZATION] += serialization;
+            slot[TOTAL] += total;
+        }
+
+        synchronized long[] sum(long currentSlotId) {
+            long[] sums = new long[COUNTERS];
+
+            for (int i = 0; i < SLOTS; i++) {
+                if (slotIds[i] > currentSlotId - SLOTS) {
+                    for (int c = 0; c < COUNTERS; c++) {
+                        sums[c] += counters[i][c];
+                    }
+                }
+            }
+
+            return sums;
+        }
+    }
+
+    /**
+     * Tiempos acumulados de un endpoint en la ventana
+     *
+     * @param endpoint           Método HTTP y patrón de la URL
+     * @param requests           Número de solicitudes
+     * @param dbNanos            Tiempo de base de datos
+     * @param mappingNanos       Tiempo de servicio y mapeo a DTOs
+     * @param responseNanos      Tiempo de construcción de la respuesta
+     * @param serializationNanos Tiempo de serialización a JSON
+     * @param totalNanos         Tiempo total
+     */
+    public record EndpointTimings(String endpoint, long requests, long dbNanos, long mappingNanos,
+                                  long responseNanos, long serializationNanos, long totalNanos) {
+    }
+}
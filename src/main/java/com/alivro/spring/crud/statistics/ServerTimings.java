@@ -0,0 +1,187 @@
+package com.alivro.spring.crud.statistics;
+
+import java.util.Locale;
+
+/**
+ * Tiempos por fase de la solicitud en curso: base de datos, servicio, construcción de la
+ * respuesta (ResponseHandler) y serialización a JSON. Como QueryStats, los tiempos se asocian
+ * al hilo que atiende la solicitud y se ignoran fuera de ella. El tiempo de mapeo es el tiempo
+ * de los servicios sin contar el de la base de datos.
+ */
+public class ServerTimings {
+    private static final ThreadLocal<ServerTimings> CURRENT = new ThreadLocal<>();
+
+    private long dbNanos;
+    private long dbInServiceNanos;
+    private long serviceNanos;
+    private long responseNanos;
+    private long serializationNanos;
+    private int serviceDepth;
+    private long collectionInitializationStart;
+
+    /**
+     * Método para empezar a medir en el hilo actual
+     *
+     * @return Tiempos de la solicitud
+     */
+    public static ServerTimings begin() {
+        ServerTimings timings = new ServerTimings();
+        CURRENT.set(timings);
+
+        return timings;
+    }
+
+    /**
+     * Método para dejar de medir en el hilo actual
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Método para obtener los tiempos del hilo actual
+     *
+     * @return Tiempos de la solicitud, o null fuera de una solicitud
+     */
+    public static ServerTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Método para seguir midiendo en otro hilo la misma solicitud, p. ej. en el hilo del ejecutor
+     * que atiende un endpoint asíncrono; se termina con end()
+     *
+     * @param timings Tiempos obtenidos con current(), o null para no medir
+     */
+    public static void resume(ServerTimings timings) {
+        if (timings != null) {
+            CURRENT.set(timings);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Método para obtener el instante de inicio de una fase
+     *
+     * @return Instante en nanosegundos, o 0 si no hay una solicitud en curso
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Método para registrar una llamada a la base de datos
+     *
+     * @param nanos Duración en nanosegundos
+     */
+    public static void addDb(long nanos) {
+        ServerTimings timings = CURRENT.get();
+
+        if (timings != null) {
+            timings.dbNanos += nanos;
+
+            if (timings.serviceDepth > 0) {
+                timings.dbInServiceNanos += nanos;
+            }
+        }
+    }
+
+    static void collectionInitializationStarted() {
+        ServerTimings timings = CURRENT.get();
+
+        if (timings != null) {
+            timings.collectionInitializationStart = System.nanoTime();
+        }
+    }
+
+    static void collectionInitializationFinished() {
+        ServerTimings timings = CURRENT.get();
+
+        if (timings != null && timings.collectionInitializationStart != 0) {
+            addDb(System.nanoTime() - timings.collectionInitializationStart);
+            timings.collectionInitializationStart = 0;
+        }
+    }
+
+    static void serviceEntered() {
+        ServerTimings timings = CURRENT.get();
+
+        if (timings != null) {
+            timings.serviceDepth++;
+        }
+    }
+
+    /**
+     * Método para registrar el fin de un método de servicio; sólo cuenta el método más externo
+     *
+     * @param start Instante de inicio devuelto por start()
+     */
+    static void serviceExited(long start) {
+        ServerTimings timings = CURRENT.get();
+
+        if (timings != null && --timings.serviceDepth == 0) {
+            timings.serviceNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Método para registrar la construcción de una respuesta
+     *
+     * @param start Instante de inicio devuelto por start()
+     */
+    public static void addResponse(long start) {
+        ServerTimings timings = CURRENT.get();
+
+        if (timings != null && start != 0) {
+            timings.responseNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Método para registrar la serialización del cuerpo de la respuesta
+     *
+     * @param start Instante de inicio devuelto por start()
+     */
+    public static void addSerialization(long start) {
+        ServerTimings timings = CURRENT.get();
+
+        if (timings != null && start != 0) {
+            timings.serializationNanos += System.nanoTime() - start;
+        }
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public long getMappingNanos() {
+        return Math.max(0, serviceNanos - dbInServiceNanos);
+    }
+
+    public long getResponseNanos() {
+        return responseNanos;
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+
+    /**
+     * Método para construir el encabezado Server-Timing
+     *
+     * @param totalNanos Duración total de la solicitud en nanosegundos
+     * @return Valor del encabezado
+     */
+    public String toHeader(long totalNanos) {
+        return metric("db", "Database", dbNanos) + ", " +
+                metric("mapping", "Service and DTO mapping", getMappingNanos()) + ", " +
+                metric("response", "ResponseHandler", responseNanos) + ", " +
+                metric("serialization", "JSON serialization", serializationNanos) + ", " +
+                metric("total", "Total", totalNanos);
+    }
+
+    private static String metric(String name, String description, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.3f;desc=\"%s\"", name, nanos / 1_000_000.0, description);
+    }
+}
@@ -0,0 +1,234 @@
+package com.alivro.spring.crud.statistics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Origen de datos que mide cada sentencia SQL a nivel JDBC, desde su ejecución hasta que se
+ * cierra su ResultSet, y envía a SlowQueryLog las que superan el umbral junto con sus parámetros
+ * y el número de filas. Las conexiones, sentencias y resultados se envuelven con proxies dinámicos.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource implements Closeable {
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * Constructor
+     *
+     * @param targetDataSource Origen de datos instrumentado
+     * @param slowQueryLog     Registro de consultas lentas
+     */
+    public SlowQueryDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    /**
+     * Método para cerrar el origen de datos envuelto (p. ej. sus pools) al detener la aplicación
+     */
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable target) {
+            target.close();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private void record(String sql, Map<Integer, Object> parameters, long nanos, long rows) {
+        if (slowQueryLog.isSlow(nanos)) {
+            slowQueryLog.record(obtainTargetDataSource(), sql, parameters, nanos, rows);
+        }
+    }
+
+    /**
+     * Delegado base: invoca el objeto JDBC real y compara los proxies por identidad
+     */
+    private abstract static class DelegatingHandler implements InvocationHandler {
+        final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(method, args);
+            };
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private class ConnectionHandler extends DelegatingHandler {
+        ConnectionHandler(Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+
+            return switch (method.getName()) {
+                case "prepareStatement", "prepareCall" ->
+                        proxy(method.getReturnType(), new StatementHandler(result, (String) args[0]));
+                case "createStatement" -> proxy(method.getReturnType(), new StatementHandler(result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private class StatementHandler extends DelegatingHandler {
+        private final String sql;
+        private Map<Integer, Object> parameters;
+
+        StatementHandler(Object statement, String sql) {
+            super(statement);
+            this.sql = sql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            // setXxx(índice, valor, ...) de PreparedStatement; setNull(índice, tipo) registra null
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index
+                    && target instanceof PreparedStatement) {
+                if (parameters == null) {
+                    parameters = new TreeMap<>();
+                }
+
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+
+                return delegate(method, args);
+            }
+
+            if (name.equals("clearParameters") && parameters != null) {
+                parameters.clear();
+            }
+
+            if (!name.startsWith("execute")) {
+                return delegate(method, args);
+            }
+
+            String statementSql = sql != null ? sql : args != null && args.length > 0 ? (String) args[0] : "<batch>";
+            long start = System.nanoTime();
+            Object result = delegate(method, args);
+            long nanos = System.nanoTime() - start;
+
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, statementSql, parameters, nanos));
+            }
+
+            record(statementSql, parameters, nanos, rows(result));
+
+            return result;
+        }
+
+        private static long rows(Object result) {
+            if (result instanceof Integer count) {
+                return count;
+            } else if (result instanceof Long count) {
+                return count;
+            } else if (result instanceof int[] counts) {
+                long rows = 0;
+
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+
+                return rows;
+            } else if (result instanceof long[] counts) {
+                long rows = 0;
+
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+
+                return rows;
+            }
+
+            // execute() sólo indica si hay un ResultSet
+            return -1;
+        }
+    }
+
+    private class ResultSetHandler extends DelegatingHandler {
+        private final String sql;
+        private final Map<Integer, Object> parameters;
+        private long nanos;
+        private long rows;
+        private boolean recorded;
+
+        ResultSetHandler(ResultSet resultSet, String sql, Map<Integer, Object> parameters, long executeNanos) {
+            super(resultSet);
+            this.sql = sql;
+            this.parameters = parameters;
+            this.nanos = executeNanos;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next" -> {
+                    long start = System.nanoTime();
+                    Object result = delegate(method, args);
+                    nanos += System.nanoTime() - start;
+
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+
+                    return result;
+                }
+                case "close" -> {
+                    if (!recorded) {
+                        recorded = true;
+                        record(sql, parameters, nanos, rows);
+                    }
+
+                    return delegate(method, args);
+                }
+                default -> {
+                    return delegate(method, args);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.alivro.spring.crud.statistics;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Registro de las sentencias SQL que superan slow-query.threshold, agrupadas por forma (la
+ * sentencia sin literales). De cada forma se conserva la ejecución más lenta con sus parámetros
+ * y, para las consultas SELECT sobre H2, el plan de EXPLAIN ANALYZE de su primera aparición.
+ * El plan se obtiene en un hilo aparte con otra conexión para no retrasar la solicitud.
+ */
+@Component
+public class SlowQueryLog {
+    public static final int MAX_SHAPES = 500;
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final int EXPLAIN_QUEUE_SIZE = 16;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final long thresholdNanos;
+    private final boolean explainEnabled;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    /**
+     * Constructor
+     *
+     * @param threshold      Duración a partir de la cual una sentencia se considera lenta
+     * @param explainEnabled Indica si se obtiene el plan de ejecución de las consultas lentas
+     */
+    public SlowQueryLog(@Value("${slow-query.threshold:100ms}") Duration threshold,
+                        @Value("${slow-query.explain.enabled:true}") boolean explainEnabled) {
+        this.thresholdNanos = threshold.toNanos();
+        this.explainEnabled = explainEnabled;
+        // Un solo hilo y una cola acotada: si se llena, los planes se descartan
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPLAIN_QUEUE_SIZE), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Método para saber si una duración supera el umbral de sentencia lenta
+     *
+     * @param nanos Duración en nanosegundos
+     * @return true si la sentencia es lenta
+     */
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    /**
+     * Método para registrar una sentencia lenta
+     *
+     * @param dataSource Origen de datos sin instrumentar, para obtener el plan de ejecución
+     * @param sql        Sentencia SQL
+     * @param parameters Parámetros por posición (puede ser null)
+     * @param nanos      Duración en nanosegundos, incluida la lectura de los resultados
+     * @param rows       Filas leídas o modificadas (-1 si se desconocen)
+     */
+    void record(DataSource dataSource, String sql, Map<Integer, Object> parameters, long nanos, long rows) {
+        String shape = shape(sql);
+        Entry entry = entries.get(shape);
+
+        if (entry == null) {
+            if (entries.size() >= MAX_SHAPES) {
+                logger.debug("Registro de consultas lentas lleno. Se ignora: {}", shape);
+                return;
+            }
+
+            Entry created = new Entry();
+            entry = entries.putIfAbsent(shape, created);
+
+            if (entry == null) {
+                entry = created;
+                Map<Integer, Object> explainParameters = parameters != null ? new TreeMap<>(parameters) : Map.of();
+
+                logger.warn("Consulta lenta ({} ms, {} filas): {}", nanos / 1_000_000, rows, sql);
+
+                if (explainEnabled && isSelect(sql)) {
+                    explainExecutor.execute(() -> created.plan = explain(dataSource, sql, explainParameters));
+                }
+            }
+        }
+
+        entry.add(sql, render(parameters), nanos, rows);
+    }
+
+    /**
+     * Método para obtener las formas de sentencia con mayor tiempo acumulado
+     *
+     * @param limit Número máximo de formas
+     * @return Sentencias lentas, de mayor a menor tiempo acumulado
+     */
+    public List<SlowQuery> top(int limit) {
+        List<SlowQuery> result = new ArrayList<>();
+
+        entries.forEach((shape, entry) -> result.add(entry.snapshot(shape)));
+        result.sort(Comparator.comparingLong(SlowQuery::totalNanos).reversed());
+
+        return result.subList(0, Math.min(Math.max(limit, 0), result.size()));
+    }
+
+    /**
+     * Método para obtener la forma de una sentencia: sin literales, con las listas IN reducidas
+     * a un solo parámetro y los espacios normalizados
+     *
+     * @param sql Sentencia SQL
+     * @return Forma de la sentencia
+     */
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+
+        return WHITESPACE.matcher(shape).replaceAll(" ").strip();
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading();
+
+        return statement.regionMatches(true, 0, "select", 0, 6)
+                || statement.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    private String explain(DataSource dataSource, String sql, Map<Integer, Object> parameters) {
+        try (Connection connection = dataSource.getConnection()) {
+            String database = connection.getMetaData().getDatabaseProductName();
+
+            if (!"H2".equals(database)) {
+                return "EXPLAIN ANALYZE not supported by " + database;
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN ANALYZE " + sql)) {
+                for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                    statement.setObject(parameter.getKey(), parameter.getValue());
+                }
+
+                StringBuilder plan = new StringBuilder();
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1));
+                    }
+                }
+
+                return plan.toString();
+            }
+        } catch (SQLException e) {
+            logger.warn("No se pudo obtener el plan de la consulta lenta: {}", sql, e);
+
+            return "EXPLAIN ANALYZE failed: " + e.getMessage();
+        }
+    }
+
+    private static List<String> render(Map<Integer, Object> parameters) {
+        if (parameters == null) {
+            return List.of();
+        }
+
+        List<String> rendered = new ArrayList<>(parameters.size());
+
+        for (Object value : parameters.values()) {
+            String text = value instanceof byte[] bytes ? "<" + bytes.length + " bytes>" : String.valueOf(value);
+            rendered.add(text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text);
+        }
+
+        return rendered;
+    }
+
+    /**
+     * Método para detener el hilo de planes de ejecución al detener la aplicación
+     */
+    @PreDestroy
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    private static class Entry {
+        private long occurrences;
+        private long totalNanos;
+        private long maxNanos;
+        private String slowestSql;
+        private List<String> slowestParameters;
+        private long slowestRows;
+        private volatile String plan;
+
+        synchronized void add(String sql, List<String> parameters, long nanos, long rows) {
+            occurrences++;
+            totalNanos += nanos;
+
+            if (nanos >= maxNanos) {
+                maxNanos = nanos;
+                slowestSql = sql;
+                slowestParameters = parameters;
+                slowestRows = rows;
+            }
+        }
+
+        synchronized SlowQuery snapshot(String shape) {
+            return new SlowQuery(shape, occurrences, totalNanos, maxNanos,
+                    slowestSql, slowestParameters, slowestRows, plan);
+        }
+    }
+
+    /**
+     * Sentencias lentas con la misma forma
+     *
+     * @param shape       Sentencia sin literales
+     * @param occurrences Número de ejecuciones lentas
+     * @param totalNanos  Tiempo acumulado de las ejecuciones lentas
+     * @param maxNanos    Tiempo de la ejecución más lenta
+     * @param sql         Sentencia de la ejecución más lenta
+     * @param parameters  Parámetros de la ejecución más lenta
+     * @param rows        Filas de la ejecución más lenta (-1 si se desconocen)
+     * @param plan        Plan de EXPLAIN ANALYZE de la primera ejecución lenta (null si no se tiene)
+     */
+    public record SlowQuery(String shape, long occurrences, long totalNanos, long maxNanos,
+                            String sql, List<String> parameters, long rows, String plan) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.alivro.spring.crud.statistics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Algoritmo Space-Saving: conserva a lo sumo capacity llaves candidatas a ser las más frecuentes.
+ * Cuando llega una llave nueva con el resumen lleno, reemplaza a la de menor conteo; toda llave con
+ * frecuencia mayor que total/capacity permanece en el resumen.
+ */
+final class SpaceSaving {
+    private final int capacity;
+    private final Map<String, long[]> counters;
+
+    /**
+     * Constructor
+     *
+     * @param capacity Número máximo de llaves candidatas
+     */
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Método para contar un evento de una llave
+     *
+     * @param key Llave
+     */
+    void add(String key) {
+        long[] counter = counters.get(key);
+
+        if (counter != null) {
+            counter[0]++;
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{1});
+            return;
+        }
+
+        // La llave nueva hereda el conteo de la reemplazada (su error máximo)
+        Map.Entry<String, long[]> min = null;
+
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (min == null || entry.getValue()[0] < min.getValue()[0]) {
+                min = entry;
+            }
+        }
+
+        long[] reused = counters.remove(min.getKey());
+        reused[0]++;
+        counters.put(key, reused);
+    }
+
+    Set<String> keys() {
+        return counters.keySet();
+    }
+
+    void clear() {
+        counters.clear();
+    }
+}
@@ -0,0 +1,27 @@
+package com.alivro.spring.crud.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CustomFacetPageMetadata {
+    // Número de página
+    private int pageNumber;
+    // Tamaño de la página
+    private int pageSize;
+    // Número de elementos en la página
+    private int numberOfElements;
+    // Número total de páginas
+    private int totalPages;
+    // Número total de elementos
+    private long totalElements;
+    // Conteos por faceta (faceta -> valor -> número de elementos)
+    private Map<String, Map<String, Integer>> facets;
+}
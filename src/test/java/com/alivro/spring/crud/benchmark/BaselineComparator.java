@@ -0,0 +1,168 @@
+package com.alivro.spring.crud.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Compara los resultados de JMH (formato JSON) con el archivo de línea base.
+ * La línea base guarda, por benchmark y parámetros, el rendimiento (ops/s) y los bytes
+ * asignados por operación (gc.alloc.rate.norm); la asignación es casi determinista y es el
+ * criterio principal, el rendimiento depende de la máquina y tiene una tolerancia mayor. Un
+ * benchmark sin línea base cuenta como regresión, para que ninguno pase sin comparar.
+ */
+public class BaselineComparator {
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final double scoreTolerance;
+    private final double allocTolerance;
+
+    /**
+     * Constructor
+     *
+     * @param scoreTolerance Caída de rendimiento permitida (0.25 = 25 %)
+     * @param allocTolerance Aumento de bytes asignados por operación permitido (0.10 = 10 %)
+     */
+    public BaselineComparator(double scoreTolerance, double allocTolerance) {
+        this.scoreTolerance = scoreTolerance;
+        this.allocTolerance = allocTolerance;
+    }
+
+    /**
+     * Método para leer un resultado de JMH y reducirlo al formato de la línea base
+     *
+     * @param jmhResult Archivo JSON generado por JMH
+     * @return Mediciones por benchmark y parámetros
+     */
+    public Map<String, Measurement> readJmhResult(Path jmhResult) throws IOException {
+        Map<String, Measurement> measurements = new TreeMap<>();
+
+        for (JsonNode run : objectMapper.readTree(jmhResult.toFile())) {
+            JsonNode alloc = run.path("secondaryMetrics").path(ALLOC_METRIC).path("score");
+
+            measurements.put(keyOf(run), new Measurement(
+                    run.path("primaryMetric").path("score").asDouble(),
+                    alloc.isMissingNode() ? -1 : alloc.asDouble()
+            ));
+        }
+
+        return measurements;
+    }
+
+    /**
+     * Método para leer el archivo de línea base
+     *
+     * @param baseline Archivo de línea base
+     * @return Mediciones por benchmark y parámetros
+     */
+    public Map<String, Measurement> readBaseline(Path baseline) throws IOException {
+        Map<String, Measurement> measurements = new TreeMap<>();
+
+        objectMapper.readTree(baseline.toFile()).fields().forEachRemaining(entry -> measurements.put(
+                entry.getKey(),
+                new Measurement(entry.getValue().path("opsPerSecond").asDouble(),
+                        entry.getValue().path("bytesPerOp").asDouble())
+        ));
+
+        return measurements;
+    }
+
+    /**
+     * Método para escribir el archivo de línea base
+     *
+     * @param baseline     Archivo de línea base
+     * @param measurements Mediciones por benchmark y parámetros
+     */
+    public void writeBaseline(Path baseline, Map<String, Measurement> measurements) throws IOException {
+        Map<String, Map<String, Long>> content = new TreeMap<>();
+
+        measurements.forEach((key, measurement) -> {
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("opsPerSecond", Math.round(measurement.opsPerSecond()));
+            values.put("bytesPerOp", Math.round(measurement.bytesPerOp()));
+            content.put(key, values);
+        });
+
+        Files.createDirectories(baseline.getParent());
+        objectMapper.writeValue(baseline.toFile(), content);
+    }
+
+    /**
+     * Método para actualizar la línea base con las mediciones actuales, conservando las de los
+     * benchmarks que no se ejecutaron (p. ej. con -Dbenchmark.include)
+     *
+     * @param baseline Mediciones de la línea base
+     * @param current  Mediciones actuales
+     * @return Línea base actualizada
+     */
+    public Map<String, Measurement> merge(Map<String, Measurement> baseline, Map<String, Measurement> current) {
+        Map<String, Measurement> merged = new TreeMap<>(baseline);
+        merged.putAll(current);
+
+        return merged;
+    }
+
+    /**
+     * Método para comparar los resultados actuales con la línea base
+     *
+     * @param baseline Mediciones de la línea base
+     * @param current  Mediciones actuales
+     * @return Descripción de las regresiones y de los benchmarks sin línea base (vacía si no hay)
+     */
+    public List<String> compare(Map<String, Measurement> baseline, Map<String, Measurement> current) {
+        List<String> regressions = new ArrayList<>();
+
+        current.forEach((key, measurement) -> {
+            Measurement expected = baseline.get(key);
+
+            if (expected == null) {
+                regressions.add(String.format("%s: sin línea base (agrégala con -Dbenchmark.updateBaseline=true)", key));
+                return;
+            }
+
+            if (measurement.opsPerSecond() < expected.opsPerSecond() * (1 - scoreTolerance)) {
+                regressions.add(String.format("%s: %.0f ops/s (línea base %.0f ops/s)",
+                        key, measurement.opsPerSecond(), expected.opsPerSecond()));
+            }
+
+            if (measurement.bytesPerOp() >= 0 && expected.bytesPerOp() >= 0
+                    && measurement.bytesPerOp() > expected.bytesPerOp() * (1 + allocTolerance)) {
+                regressions.add(String.format("%s: %.0f B/op (línea base %.0f B/op)",
+                        key, measurement.bytesPerOp(), expected.bytesPerOp()));
+            }
+        });
+
+        return regressions;
+    }
+
+    private static String keyOf(JsonNode run) {
+        String benchmark = run.path("benchmark").asText();
+        // Clase y método, sin el paquete
+        int classStart = benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1;
+        StringBuilder key = new StringBuilder(benchmark.substring(classStart));
+
+        new TreeMap<>(toMap(run.path("params"))).forEach((name, value) ->
+                key.append(':').append(name).append('=').append(value));
+
+        return key.toString();
+    }
+
+    private static Map<String, String> toMap(JsonNode params) {
+        Map<String, String> map = new HashMap<>();
+        params.fields().forEachRemaining(entry -> map.put(entry.getKey(), entry.getValue().asText()));
+
+        return map;
+    }
+
+    /**
+     * Rendimiento y bytes asignados por operación (-1 si no se midió) de un benchmark
+     */
+    public record Measurement(double opsPerSecond, double bytesPerOp) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.alivro.spring.crud.benchmark;
+
+import com.alivro.spring.crud.benchmark.BaselineComparator.Measurement;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BaselineComparatorTest {
+    private final BaselineComparator comparator = new BaselineComparator(0.25, 0.10);
+
+    @Test
+    public void compare_WithinTolerance_Return_NoRegressions() {
+        // Given
+        Map<String, Measurement> baseline = Map.of("ResponseBenchmark.sendResponse:pageSize=5", new Measurement(1000, 248));
+        Map<String, Measurement> current = Map.of("ResponseBenchmark.sendResponse:pageSize=5", new Measurement(900, 256));
+
+        // When
+        List<String> regressions = comparator.compare(baseline, current);
+
+        // Then
+        assertThat(regressions).isEmpty();
+    }
+
+    @Test
+    public void compare_MoreBytesPerOp_Return_Regression() {
+        // Given
+        Map<String, Measurement> baseline = Map.of("ResponseBenchmark.sendResponse:pageSize=5", new Measurement(1000, 248));
+        Map<String, Measurement> current = Map.of("ResponseBenchmark.sendResponse:pageSize=5", new Measurement(1000, 400));
+
+        // When
+        List<String> regressions = comparator.compare(baseline, current);
+
+        // Then
+        assertThat(regressions).containsExactly("ResponseBenchmark.sendResponse:pageSize=5: 400 B/op (línea base 248 B/op)");
+    }
+
+    @Test
+    public void compare_BenchmarkMissingFromBaseline_Return_Regression() {
+        // Given
+        Map<String, Measurement> baseline = Map.of("ResponseBenchmark.sendResponse:pageSize=5", new Measurement(1000, 248));
+        Map<String, Measurement> current = Map.of(
+                "ResponseBenchmark.sendResponse:pageSize=5", new Measurement(1000, 248),
+                "LoggingBenchmark.logInfo", new Measurement(1000, 0));
+
+        // When
+        List<String> regressions = comparator.compare(baseline, current);
+
+        // Then
+        assertThat(regressions).singleElement().asString()
+                .startsWith("LoggingBenchmark.logInfo: sin línea base");
+    }
+
+    @Test
+    public void merge_PartialRun_Return_BaselineWithOtherBenchmarksKept() {
+        // Given
+        Map<String, Measurement> baseline = Map.of(
+                "MappingBenchmark.mapBooksToResponseDto:pageSize=5", new Measurement(1000, 2464),
+                "ResponseBenchmark.sendResponse:pageSize=5", new Measurement(1000, 248));
+        Map<String, Measurement> current = Map.of("ResponseBenchmark.sendResponse:pageSize=5", new Measurement(2000, 200));
+
+        // When
+        Map<String, Measurement> merged = comparator.merge(baseline, current);
+
+        // Then
+        assertThat(merged).containsOnlyKeys(
+                "MappingBenchmark.mapBooksToResponseDto:pageSize=5", "ResponseBenchmark.sendResponse:pageSize=5");
+        assertThat(merged.get("ResponseBenchmark.sendResponse:pageSize=5")).isEqualTo(new Measurement(2000, 200));
+    }
+}
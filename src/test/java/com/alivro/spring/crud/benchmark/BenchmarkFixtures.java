@@ -0,0 +1,112 @@
+package com.alivro.spring.crud.benchmark;
+
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.model.book.request.AuthorOfBookRequestDto;
+import com.alivro.spring.crud.model.book.request.BookSaveRequestDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos de prueba de los benchmarks: libros con dos autores y autores con cuatro libros,
+ * con valores de longitud similar a los del catálogo real
+ */
+public class BenchmarkFixtures {
+    private static final String[] PUBLISHERS = {"Berkley", "HarperCollins", "Penguin Books", "Signet", "Scribner"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Método para crear una página de libros
+     *
+     * @param size Número de libros
+     * @return Libros con sus autores
+     */
+    public static List<Book> books(int size) {
+        List<Book> books = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Book book = book(i);
+            book.setAuthors(List.of(author(2L * i), author(2L * i + 1)));
+            books.add(book);
+        }
+
+        return books;
+    }
+
+    /**
+     * Método para crear una página de autores
+     *
+     * @param size Número de autores
+     * @return Autores con sus libros
+     */
+    public static List<Author> authors(int size) {
+        List<Author> authors = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Author author = author(i);
+            author.setBooks(List.of(book(4L * i), book(4L * i + 1), book(4L * i + 2), book(4L * i + 3)));
+            authors.add(author);
+        }
+
+        return authors;
+    }
+
+    /**
+     * Método para crear solicitudes de guardado de libros
+     *
+     * @param size Número de solicitudes
+     * @return Solicitudes con dos autores cada una
+     */
+    public static List<BookSaveRequestDto> saveRequests(int size) {
+        List<BookSaveRequestDto> requests = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Book book = book(i);
+
+            requests.add(BookSaveRequestDto.builder()
+                    .title(book.getTitle())
+                    .subtitle(book.getSubtitle())
+                    .authors(List.of(
+                            AuthorOfBookRequestDto.builder().id(2L * i).build(),
+                            AuthorOfBookRequestDto.builder().id(2L * i + 1).build()
+                    ))
+                    .totalPages(book.getTotalPages())
+                    .publisher(book.getPublisher())
+                    .publishedDate(book.getPublishedDate())
+                    .isbn13(book.getIsbn13())
+                    .isbn10(book.getIsbn10())
+                    .build());
+        }
+
+        return requests;
+    }
+
+    private static Book book(long id) {
+        return Book.builder()
+                .id(id)
+                .title("The Austere Academy " + id)
+                .subtitle("A Series of Unfortunate Events, Book the Fifth")
+                .totalPages(100 + (int) (id % 900))
+                .publisher(PUBLISHERS[(int) (id % PUBLISHERS.length)])
+                .publishedDate(LocalDate.of(1950, 1, 1).plusDays(id * 37 % 27000))
+                .isbn13(String.format("978%010d", id))
+                .isbn10(String.format("%010d", id))
+                .authors(new ArrayList<>())
+                .build();
+    }
+
+    private static Author author(long id) {
+        return Author.builder()
+                .id(id)
+                .firstName("Daniel")
+                .middleName("Handler")
+                .lastName("Snicket " + id)
+                .pseudonym("Lemony Snicket " + id)
+                .books(new ArrayList<>())
+                .build();
+    }
+}
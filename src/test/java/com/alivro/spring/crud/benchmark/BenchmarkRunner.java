@@ -0,0 +1,80 @@
+package com.alivro.spring.crud.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ejecuta los benchmarks con el perfilador de GC y compara el resultado con la línea base.
+ * Se ejecuta con el perfil "benchmark" de Maven:
+ * <pre>
+ * mvn -Pbenchmark -DskipTests verify
+ * mvn -Pbenchmark -DskipTests verify -Dbenchmark.updateBaseline=true
+ * mvn -Pbenchmark -DskipTests verify -Dbenchmark.updateBaseline=true -Dbenchmark.include=LoggingBenchmark
+ * </pre>
+ * Termina con código 1 si algún benchmark empeora más allá de la tolerancia o no tiene línea base.
+ * Al actualizar la línea base sólo se reemplazan los benchmarks ejecutados.
+ */
+public class BenchmarkRunner {
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = System.getProperty("benchmark.include", BenchmarkRunner.class.getPackageName() + ".*Benchmark");
+        Path result = Path.of(System.getProperty("benchmark.result", "target/jmh-result.json"));
+        Path baseline = Path.of(System.getProperty("benchmark.baseline", "src/test/resources/benchmark/baseline.json"));
+        boolean updateBaseline = Boolean.getBoolean("benchmark.updateBaseline");
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+
+        new Runner(options).run();
+
+        BaselineComparator comparator = new BaselineComparator(
+                Double.parseDouble(System.getProperty("benchmark.scoreTolerance", "0.25")),
+                Double.parseDouble(System.getProperty("benchmark.allocTolerance", "0.10"))
+        );
+        Map<String, BaselineComparator.Measurement> current = comparator.readJmhResult(result);
+
+        if (updateBaseline || Files.notExists(baseline)) {
+            comparator.writeBaseline(baseline, Files.exists(baseline)
+                    ? comparator.merge(comparator.readBaseline(baseline), current)
+                    : current);
+            System.out.println("Línea base actualizada: " + baseline);
+            return;
+        }
+
+        List<String> regressions = comparator.compare(comparator.readBaseline(baseline), current);
+
+        if (regressions.isEmpty()) {
+            System.out.println("Sin regresiones respecto a la línea base.");
+            return;
+        }
+
+        System.out.println("Regresiones respecto a la línea base:");
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        System.exit(1);
+    }
+}
@@ -0,0 +1,159 @@
+package com.alivro.spring.crud.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.alivro.spring.crud.handler.ResponseHandler;
+import com.alivro.spring.crud.logging.LogSamplingFilter;
+import com.alivro.spring.crud.logging.RingBufferAppender;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de /api/v1/book/find/{id} sin la base de datos: el evento del servicio, la conversión
+ * del libro a DTO, el evento del controlador, la respuesta y su serialización a JSON, con el
+ * appender síncrono de consola, con RingBufferAppender y con RingBufferAppender más muestreo al
+ * 10 %. La salida se descarta para medir el formato y no la terminal. Al final de cada iteración
+ * se espera a que el buffer se vacíe; los eventos descartados se reportan como la métrica dropped
+ * y, como un resultado con eventos descartados no es comparable con el modo síncrono, hacen fallar
+ * el benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoggingBenchmark {
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%replace( %kvp){'^ $', ''}%n";
+    // Mayor que logging.ring-buffer.capacity: con una sola CPU el hilo del appender sólo escribe
+    // cuando el sistema le cede la CPU, y con el buffer de producción se descartarían eventos
+    private static final int RING_BUFFER_CAPACITY = 65536;
+    private static final long DRAIN_TIMEOUT_MILLIS = 10000;
+
+    @Param({"sync", "async", "sampled"})
+    public String mode;
+
+    private LoggerContext context;
+    private RingBufferAppender ringBuffer;
+    private Logger serviceLogger;
+    private Logger controllerLogger;
+    // Configurado como el ObjectMapper de Spring Boot (fechas como texto ISO)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Book> books;
+    private int id;
+
+    /**
+     * Eventos descartados durante cada iteración
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Drops {
+        public long dropped;
+        private long droppedBefore;
+
+        @Setup(Level.Iteration)
+        public void start(LoggingBenchmark benchmark) {
+            dropped = 0;
+            droppedBefore = benchmark.droppedCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop(LoggingBenchmark benchmark) throws InterruptedException {
+            benchmark.awaitWritten();
+            dropped = benchmark.droppedCount() - droppedBefore;
+
+            if (dropped > 0) {
+                throw new IllegalStateException(dropped + " events dropped, increase RING_BUFFER_CAPACITY");
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        books = BenchmarkFixtures.books(1000);
+
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.start();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> appender = console;
+
+        if (!mode.equals("sync")) {
+            ringBuffer = new RingBufferAppender();
+            ringBuffer.setContext(context);
+            ringBuffer.setName("ASYNC_CONSOLE");
+            ringBuffer.setCapacity(RING_BUFFER_CAPACITY);
+            ringBuffer.addAppender(console);
+            ringBuffer.start();
+            appender = ringBuffer;
+        }
+
+        if (mode.equals("sampled")) {
+            LogSamplingFilter filter = new LogSamplingFilter();
+            filter.setContext(context);
+            filter.addRate("com.alivro.spring.crud=0.1");
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+
+        serviceLogger = context.getLogger("com.alivro.spring.crud.service.impl.IBookServiceImpl");
+        controllerLogger = context.getLogger("com.alivro.spring.crud.controller.BookController");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public byte[] findById(Drops drops) throws JsonProcessingException {
+        Book book = books.get(id++ % books.size());
+
+        serviceLogger.atInfo().addKeyValue("id", book.getId()).log("Busca libro.");
+        BookResponseDto foundBook = BookResponseDto.mapEntityToResponseDto(book);
+        controllerLogger.atInfo().addKeyValue("id", book.getId()).log("Libro encontrado.");
+
+        return objectMapper.writeValueAsBytes(
+                ResponseHandler.sendResponse(HttpStatus.OK, "Found book!", foundBook).getBody());
+    }
+
+    private void awaitWritten() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+
+        while (ringBuffer != null && ringBuffer.getQueueSize() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private long droppedCount() {
+        return ringBuffer != null ? ringBuffer.getDroppedCount() : 0;
+    }
+}
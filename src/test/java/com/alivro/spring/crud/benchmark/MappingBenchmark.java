@@ -0,0 +1,55 @@
+package com.alivro.spring.crud.benchmark;
+
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
+import com.alivro.spring.crud.model.book.request.BookSaveRequestDto;
+import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la conversión entre entidades y DTOs para una página de resultados
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MappingBenchmark {
+    // Tamaño de página: el predeterminado del API, uno típico y el máximo práctico
+    @Param({"5", "20", "100"})
+    public int pageSize;
+
+    private List<Book> books;
+    private List<Author> authors;
+    private List<BookSaveRequestDto> saveRequests;
+
+    @Setup
+    public void setUp() {
+        books = BenchmarkFixtures.books(pageSize);
+        authors = BenchmarkFixtures.authors(pageSize);
+        saveRequests = BenchmarkFixtures.saveRequests(pageSize);
+    }
+
+    @Benchmark
+    public List<BookResponseDto> mapBooksToResponseDto() {
+        return books.stream()
+                .map(BookResponseDto::mapEntityToResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<AuthorFindResponseDto> mapAuthorsToResponseDto() {
+        return authors.stream()
+                .map(AuthorFindResponseDto::mapEntityToResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Book> mapSaveRequestsToEntity() {
+        return saveRequests.stream()
+                .map(BookSaveRequestDto::mapRequestDtoToEntity)
+                .toList();
+    }
+}
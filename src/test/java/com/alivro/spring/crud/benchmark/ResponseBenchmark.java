@@ -0,0 +1,60 @@
+package com.alivro.spring.crud.benchmark;
+
+import com.alivro.spring.crud.handler.ResponseHandler;
+import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.util.CustomPageMetadata;
+import com.alivro.spring.crud.util.CustomResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la construcción de la respuesta y su serialización a JSON
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResponseBenchmark {
+    @Param({"5", "20", "100"})
+    public int pageSize;
+
+    // Configurado como el ObjectMapper de Spring Boot (fechas como texto ISO)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<BookResponseDto> books;
+    private CustomPageMetadata metadata;
+    private CustomResponse<BookResponseDto, CustomPageMetadata> response;
+
+    @Setup
+    public void setUp() {
+        books = BenchmarkFixtures.books(pageSize).stream()
+                .map(BookResponseDto::mapEntityToResponseDto)
+                .toList();
+
+        metadata = CustomPageMetadata.builder()
+                .pageNumber(0)
+                .pageSize(pageSize)
+                .numberOfElements(pageSize)
+                .totalPages(50)
+                .totalElements(50L * pageSize)
+                .build();
+
+        response = sendResponse().getBody();
+    }
+
+    @Benchmark
+    public ResponseEntity<CustomResponse<BookResponseDto, CustomPageMetadata>> sendResponse() {
+        return ResponseHandler.sendResponse(HttpStatus.OK, "Found books!", books, metadata);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,96 @@
+package com.alivro.spring.crud.config;
+
+import com.alivro.spring.crud.SpringBootCrudApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+        classes = SpringBootCrudApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@AutoConfigureObservability
+@DirtiesContext
+public class MetricsConfigIT {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String metrics;
+
+    @BeforeEach
+    public void setup() {
+        restTemplate.getForEntity(createURLWithPort("/api/v1/book/findAll"), String.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                createURLWithPort("/actuator/prometheus"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        metrics = response.getBody();
+    }
+
+    @Test
+    public void prometheus_ControllerTimer_Return_Histogram() {
+        // Then
+        assertThat(metrics).containsPattern(
+                "http_server_requests_seconds_bucket\\{.*uri=\"/api/v1/book/findAll\".*le=\"[^\"]+\"");
+    }
+
+    @Test
+    public void prometheus_ServiceTimer_Return_Histogram() {
+        // Then
+        assertThat(metrics).containsPattern(
+                "app_service_seconds_bucket\\{.*class=\"com.alivro.spring.crud.service.impl.IBookServiceImpl\"" +
+                        ".*method=\"findAll\"");
+    }
+
+    @Test
+    public void prometheus_RepositoryTimer_Return_Histogram() {
+        // Then
+        assertThat(metrics).containsPattern(
+                "spring_data_repository_invocations_seconds_bucket\\{.*method=\"findAll\".*repository=\"BookRepository\"");
+    }
+
+    @Test
+    public void prometheus_AllocatedBytes_Return_HistogramByPageSize() {
+        // Then
+        assertThat(metrics).containsPattern(
+                "app_request_allocated_bytes_bucket\\{.*method=\"GET\".*size=\"5\".*uri=\"/api/v1/book/findAll\"");
+    }
+
+    @Test
+    public void prometheus_PoolAndJvmGauges_Return_Ok() {
+        // Then
+        assertThat(metrics)
+                .contains("hikaricp_connections_active")
+                .contains("jvm_memory_used_bytes")
+                .contains("jvm_gc_");
+    }
+
+    @Test
+    public void prometheus_ConcurrencyLimit_Return_Gauges() {
+        // Then
+        assertThat(metrics)
+                .contains("app_concurrency_limit")
+                .contains("app_concurrency_inflight")
+                .contains("app_concurrency_rejected_total{application=\"SpringBootCrud\",priority=\"sheddable\"}");
+    }
+
+    private String createURLWithPort(String uri) {
+        return "http://localhost:" + port + uri;
+    }
+}
@@ -0,0 +1,285 @@
+package com.alivro.spring.crud.controller;
+
+import com.alivro.spring.crud.exception.DataAlreadyExistsException;
+import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.model.admin.response.EndpointAllocationResponseDto;
+import com.alivro.spring.crud.model.admin.response.EndpointTimingResponseDto;
+import com.alivro.spring.crud.model.admin.response.HotKeyResponseDto;
+import com.alivro.spring.crud.model.admin.response.RecordingResponseDto;
+import com.alivro.spring.crud.model.admin.response.SlowQueryResponseDto;
+import com.alivro.spring.crud.service.IAdminService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class AdminControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    private IAdminService adminService;
+
+    @Test
+    public void findTimings_Timings_Return_Ok() throws Exception {
+        // Given
+        EndpointTimingResponseDto findAll = EndpointTimingResponseDto.builder()
+                .endpoint("GET /api/v1/book/findAll")
+                .requests(10)
+                .dbMillis(1.5)
+                .mappingMillis(0.5)
+                .responseMillis(0.01)
+                .serializationMillis(0.2)
+                .otherMillis(0.29)
+                .totalMillis(2.5)
+                .build();
+
+        given(adminService.findTimings()).willReturn(List.of(findAll));
+
+        // When
+        ResultActions response = mockMvc.perform(get("/api/v1/admin/timings"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists("Server-Timing"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found timings!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].endpoint",
+                        CoreMatchers.is("GET /api/v1/book/findAll")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].requests",
+                        CoreMatchers.is(10)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].dbMillis",
+                        CoreMatchers.is(1.5)));
+    }
+
+    @Test
+    public void findAllocations_Allocations_Return_Ok() throws Exception {
+        // Given
+        EndpointAllocationResponseDto findAll = EndpointAllocationResponseDto.builder()
+                .endpoint("GET /api/v1/book/findAll")
+                .pageSize("5")
+                .requests(3)
+                .meanBytes(65536)
+                .p50Bytes(61440)
+                .p90Bytes(73728)
+                .p99Bytes(73728)
+                .maxBytes(80000)
+                .build();
+
+        given(adminService.findAllocations()).willReturn(List.of(findAll));
+
+        // When
+        ResultActions response = mockMvc.perform(get("/api/v1/admin/allocations"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found allocations!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].pageSize",
+                        CoreMatchers.is("5")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].meanBytes",
+                        CoreMatchers.is(65536.0)));
+    }
+
+    @Test
+    public void findSlowQueries_SlowQueries_Return_Ok() throws Exception {
+        // Given
+        SlowQueryResponseDto findAll = SlowQueryResponseDto.builder()
+                .shape("select b1_0.id from book b1_0 order by b1_0.title offset ? rows fetch first ? rows only")
+                .occurrences(4)
+                .totalMillis(620.5)
+                .maxMillis(210.0)
+                .sql("select b1_0.id from book b1_0 order by b1_0.title offset ? rows fetch first ? rows only")
+                .parameters(List.of("0", "20"))
+                .rows(20)
+                .plan("SELECT ... /* scanCount: 1000001 */")
+                .build();
+
+        given(adminService.findSlowQueries(5)).willReturn(List.of(findAll));
+
+        // When
+        ResultActions response = mockMvc.perform(get("/api/v1/admin/slowQueries")
+                .param("limit", "5"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found slow queries!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].occurrences",
+                        CoreMatchers.is(4)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].parameters", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].plan",
+                        CoreMatchers.containsString("scanCount")));
+    }
+
+    @Test
+    public void findHotKeys_HotKeys_Return_Ok() throws Exception {
+        // Given
+        HotKeyResponseDto book = HotKeyResponseDto.builder()
+                .type("BOOK")
+                .key("7")
+                .requests(150)
+                .share(30.0)
+                .build();
+        HotKeyResponseDto page = HotKeyResponseDto.builder()
+                .type("BOOK_PAGE")
+                .key("page=0&size=20")
+                .requests(90)
+                .share(75.0)
+                .build();
+
+        given(adminService.findHotKeys(5, 10)).willReturn(List.of(book, page));
+
+        // When
+        ResultActions response = mockMvc.perform(get("/api/v1/admin/hotKeys"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found hot keys!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].key",
+                        CoreMatchers.is("7")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[1].type",
+                        CoreMatchers.is("BOOK_PAGE")));
+    }
+
+    @Test
+    public void startRecording_NoRecording_Return_Created() throws Exception {
+        // Given
+        RecordingResponseDto recording = RecordingResponseDto.builder()
+                .id(1)
+                .name("crud-1")
+                .state("RUNNING")
+                .build();
+
+        given(adminService.startRecording(30)).willReturn(recording);
+
+        // When
+        ResultActions response = mockMvc.perform(post("/api/v1/admin/jfr/start")
+                .param("duration", "30"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Recording started!")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].state",
+                        CoreMatchers.is("RUNNING")));
+    }
+
+    @Test
+    public void startRecording_RecordingRunning_Return_Conflict() throws Exception {
+        // Given
+        given(adminService.startRecording(60))
+                .willThrow(new DataAlreadyExistsException("Recording already running!"));
+
+        // When
+        ResultActions response = mockMvc.perform(post("/api/v1/admin/jfr/start"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error",
+                        CoreMatchers.is("Recording already running!")));
+    }
+
+    @Test
+    public void stopRecording_RecordingRunning_Return_Ok() throws Exception {
+        // Given
+        RecordingResponseDto recording = RecordingResponseDto.builder()
+                .id(1)
+                .name("crud-1")
+                .state("STOPPED")
+                .sizeBytes(2048)
+                .build();
+
+        given(adminService.stopRecording()).willReturn(recording);
+
+        // When
+        ResultActions response = mockMvc.perform(post("/api/v1/admin/jfr/stop"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Recording stopped!")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].sizeBytes",
+                        CoreMatchers.is(2048)));
+    }
+
+    @Test
+    public void findRecording_StoppedRecording_Return_File() throws Exception {
+        // Given
+        Path recording = Files.createTempFile("crud-1-", ".jfr");
+        Files.write(recording, new byte[]{1, 2, 3});
+
+        given(adminService.findRecording()).willReturn(recording);
+
+        try {
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/admin/jfr/recording"));
+
+            // Then
+            response.andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.header().doesNotExist("Server-Timing"))
+                    .andExpect(MockMvcResultMatchers.header().string("Content-Disposition",
+                            CoreMatchers.containsString(recording.getFileName().toString())))
+                    .andExpect(MockMvcResultMatchers.content().bytes(new byte[]{1, 2, 3}));
+        } finally {
+            Files.deleteIfExists(recording);
+        }
+    }
+
+    @Test
+    public void findRecordingReport_NoRecording_Return_NotFound() throws Exception {
+        // Given
+        given(adminService.findRecordingReport())
+                .willThrow(new DataNotFoundException("Recording not found!"));
+
+        // When
+        ResultActions response = mockMvc.perform(get("/api/v1/admin/jfr/report"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error",
+                        CoreMatchers.is("Recording not found!")));
+    }
+
+    @Test
+    public void findRecordingReport_StoppedRecording_Return_Text() throws Exception {
+        // Given
+        given(adminService.findRecordingReport()).willReturn("Hot methods (0 of 0 CPU samples)\n");
+
+        // When
+        ResultActions response = mockMvc.perform(get("/api/v1/admin/jfr/report"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        CoreMatchers.startsWith("Hot methods")));
+    }
+}
@@ -7,6 +7,8 @@ import com.alivro.spring.crud.model.author.request.AuthorSaveRequestDto;
 import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
 import com.alivro.spring.crud.model.author.response.AuthorSaveResponseDto;
 import com.alivro.spring.crud.model.author.response.BookOfAuthorResponseDto;
+import com.alivro.spring.crud.statistics.QueryBudget;
+import com.alivro.spring.crud.statistics.QueryBudgetExtension;
 import com.alivro.spring.crud.util.CustomErrorResponse;
 import com.alivro.spring.crud.util.CustomPageMetadata;
 import com.alivro.spring.crud.util.CustomResponse;
@@ -30,7 +32,7 @@ import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@ExtendWith(SpringExtension.class)
+@ExtendWith({SpringExtension.class, QueryBudgetExtension.class})
 @SpringBootTest(
         classes = SpringBootCrudApplication.class,
         webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
@@ -122,6 +124,7 @@ public class AuthorControllerIT {
 
     @Test
     @Order(1)
+    @QueryBudget(statements = 7, collectionInitializations = 5)
     public void findAll_Authors_ExistingAuthors_Return_Ok() {
         // When
         String url = "/findAll";
@@ -150,6 +153,7 @@ public class AuthorControllerIT {
 
     @Test
     @Order(2)
+    @QueryBudget(statements = 2, collectionInitializations = 1)
     public void findById_Author_ExistingAuthor_Return_Ok() {
         // When
         String url = "/find/1";
@@ -182,6 +186,7 @@ public class AuthorControllerIT {
 
     @Test
     @Order(3)
+    @QueryBudget(statements = 1)
     public void findById_Author_NonExistingAuthor_Return_NotFound() {
         // When
         String url = "/find/100";
@@ -202,6 +207,7 @@ public class AuthorControllerIT {
 
     @Test
     @Order(4)
+    @QueryBudget(statements = 0)
     public void findById_Author_StringId_Return_InternalServerError() {
         // When
         String url = "/find/one";
@@ -220,6 +226,7 @@ public class AuthorControllerIT {
 
     @Test
     @Order(5)
+    @QueryBudget(statements = 3)
     public void save_Author_NonExistingAuthor_Return_Created() throws JsonProcessingException {
         // When
         String url = "/save";
@@ -248,6 +255,7 @@ public class AuthorControllerIT {
 
     @Test
     @Order(6)
+    @QueryBudget(statements = 1)
     public void save_Author_ExistingAuthor_Return_Conflict() throws JsonProcessingException {
         // When
         String url = "/save";
@@ -269,6 +277,7 @@ public class AuthorControllerIT {
 
     @Test
     @Order(7)
+    @QueryBudget(statements = 2)
     public void update_Author_ExistingAuthor_Return_Ok() throws JsonProcessingException {
         // When
         String url = "/update/1";
@@ -300,6 +309,7 @@ public class AuthorControllerIT {
 
     @Test
     @Order(8)
+    @QueryBudget(statements = 1)
     public void update_Author_NonExistingAuthor_Return_NotFound() throws JsonProcessingException {
         // When
         String url = "/update/1001";
@@ -321,6 +331,7 @@ public class AuthorControllerIT {
 
     @Test
     @Order(9)
+    @QueryBudget(statements = 3)
     public void deleteById_Author_Return_Ok() {
         // When
         String url = "/delete/1";
@@ -6,6 +6,7 @@ import com.alivro.spring.crud.model.author.request.AuthorSaveRequestDto;
 import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
 import com.alivro.spring.crud.model.author.response.AuthorSaveResponseDto;
 import com.alivro.spring.crud.model.author.response.BookOfAuthorResponseDto;
+import com.alivro.spring.crud.model.author.response.CoauthorResponseDto;
 import com.alivro.spring.crud.service.IAuthorService;
 import com.alivro.spring.crud.util.CustomData;
 import com.alivro.spring.crud.util.CustomPageMetadata;
@@ -23,7 +24,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.util.ArrayList;
@@ -184,7 +187,7 @@ public class AuthorControllerTest {
         );
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/author/findAll")
+        ResultActions response = performAsync(get("/api/v1/author/findAll")
                 .param("page", "0")
                 .param("size", "5")
                 .param("sort", "pseudonym,asc")
@@ -249,7 +252,7 @@ public class AuthorControllerTest {
         );
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/author/findAll")
+        ResultActions response = performAsync(get("/api/v1/author/findAll")
                 .param("page", "0")
                 .param("size", "5")
                 .param("sort", "pseudonym,desc")
@@ -310,7 +313,7 @@ public class AuthorControllerTest {
         );
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/author/findAll"));
+        ResultActions response = performAsync(get("/api/v1/author/findAll"));
 
         // Then
         response.andExpect(MockMvcResultMatchers.status().isOk())
@@ -339,7 +342,7 @@ public class AuthorControllerTest {
         given(authorService.findById(authorId)).willReturn(authorResponseGeorgeOrwell);
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/author/find/{id}", authorId));
+        ResultActions response = performAsync(get("/api/v1/author/find/{id}", authorId));
 
         // Then
         response.andExpect(MockMvcResultMatchers.status().isOk())
@@ -369,7 +372,7 @@ public class AuthorControllerTest {
                 .willThrow(new DataNotFoundException("Author not found!"));
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/author/find/{id}", authorId));
+        ResultActions response = performAsync(get("/api/v1/author/find/{id}", authorId));
 
         // Then
         response.andExpect(MockMvcResultMatchers.status().isNotFound())
@@ -389,6 +392,52 @@ public class AuthorControllerTest {
         response.andExpect(MockMvcResultMatchers.status().isInternalServerError());
     }
 
+    @Test
+    public void findByName_Authors_ExistingAuthors_Return_Ok() throws Exception {
+        //Given
+        String name = "H.G. Wells";
+
+        given(authorService.findByName(name)).willReturn(Collections.singletonList(authorResponseHGWells));
+
+        // When
+        ResultActions response = performAsync(get("/api/v1/author/findByName")
+                .param("name", name)
+        );
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found authors!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].id")
+                        .value(authorResponseHGWells.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].pseudonym",
+                        CoreMatchers.is(authorResponseHGWells.getPseudonym())));
+    }
+
+    @Test
+    public void findCoauthors_Authors_ExistingAuthor_Return_Ok() throws Exception {
+        //Given
+        long authorId = 1L;
+
+        given(authorService.findCoauthors(authorId)).willReturn(List.of(
+                CoauthorResponseDto.builder().id(3L).sharedBooks(2).build()
+        ));
+
+        // When
+        ResultActions response = performAsync(get("/api/v1/author/{id}/coauthors", authorId));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found coauthors!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].id").value(3L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].sharedBooks").value(2));
+    }
+
     @Test
     public void save_Author_NonExistingAuthor_Return_Created() throws Exception {
         // Given
@@ -396,7 +445,7 @@ public class AuthorControllerTest {
                 .willReturn(authorSavedResponseVerne);
 
         // When
-        ResultActions response = mockMvc.perform(post("/api/v1/author/save")
+        ResultActions response = performAsync(post("/api/v1/author/save")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(authorSaveRequestVerne)));
 
@@ -422,7 +471,7 @@ public class AuthorControllerTest {
                 .willThrow(new DataAlreadyExistsException("Author already exists!"));
 
         // When
-        ResultActions response = mockMvc.perform(post("/api/v1/author/save")
+        ResultActions response = performAsync(post("/api/v1/author/save")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(authorSaveRequestVerne)));
 
@@ -441,7 +490,7 @@ public class AuthorControllerTest {
                 .willReturn(authorUpdatedResponseVerne);
 
         // When
-        ResultActions response = mockMvc.perform(put("/api/v1/author/update/{id}", authorId)
+        ResultActions response = performAsync(put("/api/v1/author/update/{id}", authorId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(authorUpdateRequestVerne)));
 
@@ -469,7 +518,7 @@ public class AuthorControllerTest {
                 .willThrow(new DataNotFoundException("Author does not exist!"));
 
         // When
-        ResultActions response = mockMvc.perform(put("/api/v1/author/update/{id}", authorId)
+        ResultActions response = performAsync(put("/api/v1/author/update/{id}", authorId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(authorUpdateRequestVerne)));
 
@@ -487,7 +536,7 @@ public class AuthorControllerTest {
         willDoNothing().given(authorService).deleteById(anyLong());
 
         // When
-        ResultActions response = mockMvc.perform(delete("/api/v1/author/delete/{id}", authorId));
+        ResultActions response = performAsync(delete("/api/v1/author/delete/{id}", authorId));
 
         // Then
         response.andExpect(MockMvcResultMatchers.status().isOk())
@@ -495,6 +544,17 @@ public class AuthorControllerTest {
                         CoreMatchers.is("Deleted author!")));
     }
 
+    /**
+     * Método para ejecutar una solicitud a un endpoint asíncrono y esperar su respuesta
+     */
+    private ResultActions performAsync(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     private static AuthorSaveResponseDto mapRequestDtoToResponseDto(long id, AuthorSaveRequestDto request) {
         return AuthorSaveResponseDto.builder()
                 .id(id)
@@ -1,12 +1,15 @@
 package com.alivro.spring.crud.controller;
 
 import com.alivro.spring.crud.SpringBootCrudApplication;
+import com.alivro.spring.crud.deadline.RequestDeadlineFilter;
 import com.alivro.spring.crud.model.Author;
 import com.alivro.spring.crud.model.Book;
 import com.alivro.spring.crud.model.book.request.AuthorOfBookRequestDto;
 import com.alivro.spring.crud.model.book.request.BookSaveRequestDto;
 import com.alivro.spring.crud.model.book.response.AuthorOfBookResponseDto;
 import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.statistics.QueryBudget;
+import com.alivro.spring.crud.statistics.QueryBudgetExtension;
 import com.alivro.spring.crud.util.CustomErrorResponse;
 import com.alivro.spring.crud.util.CustomPageMetadata;
 import com.alivro.spring.crud.util.CustomResponse;
@@ -30,7 +33,7 @@ import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@ExtendWith(SpringExtension.class)
+@ExtendWith({SpringExtension.class, QueryBudgetExtension.class})
 @SpringBootTest(
         classes = SpringBootCrudApplication.class,
         webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
@@ -134,6 +137,7 @@ public class BookControllerIT {
 
     @Test
     @Order(1)
+    @QueryBudget(statements = 7, collectionInitializations = 5)
     public void findAll_Books_ExistingBooks_Return_Ok() {
         // When
         String url = "/findAll";
@@ -162,6 +166,7 @@ public class BookControllerIT {
 
     @Test
     @Order(2)
+    @QueryBudget(statements = 2, collectionInitializations = 1)
     public void findById_Book_ExistingBook_Return_Ok() {
         // When
         String url = "/find/1";
@@ -193,6 +198,7 @@ public class BookControllerIT {
 
     @Test
     @Order(3)
+    @QueryBudget(statements = 1)
     public void findById_Book_NonExistingBook_Return_NotFound() {
         // When
         String url = "/find/1000";
@@ -213,6 +219,7 @@ public class BookControllerIT {
 
     @Test
     @Order(4)
+    @QueryBudget(statements = 0)
     public void findById_Book_StringId_Return_InternalServerError() {
         // When
         String url = "/find/one";
@@ -229,8 +236,35 @@ public class BookControllerIT {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @Test
+    @Order(4)
+    @QueryBudget(statements = 0)
+    public void findById_Book_ExpiredDeadline_Return_GatewayTimeout() {
+        // Given
+        HttpHeaders deadlineHeaders = new HttpHeaders();
+        deadlineHeaders.setContentType(MediaType.APPLICATION_JSON);
+        deadlineHeaders.set(RequestDeadlineFilter.TIMEOUT_HEADER, "0");
+
+        // When
+        String url = "/find/1";
+
+        ResponseEntity<CustomErrorResponse<Void>> response = restTemplate.exchange(
+                createUrl(url),
+                HttpMethod.GET,
+                new HttpEntity<>(deadlineHeaders),
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(Objects.requireNonNull(response.getBody()).getError())
+                .isEqualTo("Request deadline exceeded!");
+    }
+
     @Test
     @Order(5)
+    @QueryBudget(statements = 4)
     public void save_Book_NonExistingBook_Return_Created() throws JsonProcessingException {
         // When
         String url = "/save";
@@ -259,6 +293,7 @@ public class BookControllerIT {
 
     @Test
     @Order(6)
+    @QueryBudget(statements = 1)
     public void save_Book_ExistingBook_Return_Conflict() throws JsonProcessingException {
         // When
         String url = "/save";
@@ -280,6 +315,7 @@ public class BookControllerIT {
 
     @Test
     @Order(7)
+    @QueryBudget(statements = 5, collectionInitializations = 1)
     public void update_Book_ExistingBook_Return_Ok() throws JsonProcessingException {
         // When
         String url = "/update/1";
@@ -310,6 +346,7 @@ public class BookControllerIT {
 
     @Test
     @Order(8)
+    @QueryBudget(statements = 1)
     public void update_Book_NonExistingBook_Return_NotFound() throws JsonProcessingException {
         // When
         String url = "/update/10001";
@@ -331,6 +368,7 @@ public class BookControllerIT {
 
     @Test
     @Order(9)
+    @QueryBudget(statements = 3)
     public void deleteById_Book_Return_Ok() {
         // When
         String url = "/delete/1";
@@ -3,11 +3,16 @@ package com.alivro.spring.crud.controller;
 import com.alivro.spring.crud.exception.DataAlreadyExistsException;
 import com.alivro.spring.crud.exception.DataNotFoundException;
 import com.alivro.spring.crud.model.book.request.AuthorOfBookRequestDto;
+import com.alivro.spring.crud.model.book.request.BookFacetRequestDto;
 import com.alivro.spring.crud.model.book.request.BookSaveRequestDto;
 import com.alivro.spring.crud.model.book.response.AuthorOfBookResponseDto;
 import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.model.book.response.DuplicateGroupResponseDto;
+import com.alivro.spring.crud.model.book.response.NearDuplicateResponseDto;
+import com.alivro.spring.crud.model.book.response.RelatedBookResponseDto;
 import com.alivro.spring.crud.service.IBookService;
 import com.alivro.spring.crud.util.CustomData;
+import com.alivro.spring.crud.util.CustomFacetPageMetadata;
 import com.alivro.spring.crud.util.CustomPageMetadata;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.CoreMatchers;
@@ -23,13 +28,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -37,6 +45,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 @SpringBootTest
@@ -174,7 +184,7 @@ public class BookControllerTest {
         );
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/book/findAll")
+        ResultActions response = performAsync(get("/api/v1/book/findAll")
                 .param("page", "0")
                 .param("size", "5")
                 .param("sort", "subtitle,asc")
@@ -239,7 +249,7 @@ public class BookControllerTest {
         );
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/book/findAll")
+        ResultActions response = performAsync(get("/api/v1/book/findAll")
                 .param("page", "0")
                 .param("size", "5")
                 .param("sort", "subtitle,desc")
@@ -300,7 +310,7 @@ public class BookControllerTest {
         );
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/book/findAll"));
+        ResultActions response = performAsync(get("/api/v1/book/findAll"));
 
         // Then
         response.andExpect(MockMvcResultMatchers.status().isOk())
@@ -321,6 +331,55 @@ public class BookControllerTest {
                         CoreMatchers.is(foundBooks.size())));
     }
 
+    @Test
+    public void findAllByFacets_Books_ExistingBooks_Return_Ok() throws Exception {
+        //Given
+        BookFacetRequestDto filter = BookFacetRequestDto.builder()
+                .publisher(List.of("HarperCollins"))
+                .year(List.of(2000))
+                .build();
+        Pageable pageable = PageRequest.of(0, 5);
+
+        List<BookResponseDto> foundBooks = new ArrayList<>();
+        foundBooks.add(bookResponseWideWindow);
+        foundBooks.add(bookResponseMiserableMill);
+
+        CustomFacetPageMetadata metadata = CustomFacetPageMetadata.builder()
+                .pageNumber(0)
+                .pageSize(5)
+                .numberOfElements(foundBooks.size())
+                .totalPages(1)
+                .totalElements(foundBooks.size())
+                .facets(Map.of("publisher", Map.of("HarperCollins", 2)))
+                .build();
+
+        given(bookService.findAllByFacets(filter, pageable)).willReturn(
+                CustomData.<BookResponseDto, CustomFacetPageMetadata>builder()
+                        .data(foundBooks)
+                        .metadata(metadata)
+                        .build()
+        );
+
+        // When
+        ResultActions response = performAsync(get("/api/v1/book/findAllByFacets")
+                .param("publisher", "HarperCollins")
+                .param("year", "2000")
+        );
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found books!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].subtitle",
+                        CoreMatchers.is(bookResponseWideWindow.getSubtitle())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.metadata.totalElements",
+                        CoreMatchers.is(foundBooks.size())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.metadata.facets.publisher.HarperCollins",
+                        CoreMatchers.is(2)));
+    }
+
     @Test
     public void findById_Book_ExistingBook_Return_Ok() throws Exception {
         //Given
@@ -329,7 +388,7 @@ public class BookControllerTest {
         given(bookService.findById(bookId)).willReturn(bookResponseBadBeginning);
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/book/find/{id}", bookId));
+        ResultActions response = performAsync(get("/api/v1/book/find/{id}", bookId));
 
         // Then
         response.andExpect(MockMvcResultMatchers.status().isOk())
@@ -354,7 +413,7 @@ public class BookControllerTest {
                 willThrow(new DataNotFoundException("Book not found!"));
 
         // When
-        ResultActions response = mockMvc.perform(get("/api/v1/book/find/{id}", bookId));
+        ResultActions response = performAsync(get("/api/v1/book/find/{id}", bookId));
 
         // Then
         response.andExpect(MockMvcResultMatchers.status().isNotFound())
@@ -374,6 +433,87 @@ public class BookControllerTest {
         response.andExpect(MockMvcResultMatchers.status().isInternalServerError());
     }
 
+    @Test
+    public void findRelated_Books_ExistingBook_Return_Ok() throws Exception {
+        //Given
+        long bookId = 1L;
+
+        given(bookService.findRelated(bookId)).willReturn(List.of(
+                RelatedBookResponseDto.builder().id(3L).sharedAuthors(2).build(),
+                RelatedBookResponseDto.builder().id(2L).sharedAuthors(1).build()
+        ));
+
+        // When
+        ResultActions response = performAsync(get("/api/v1/book/{id}/related", bookId));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found related books!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].id").value(3L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].sharedAuthors").value(2));
+    }
+
+    @Test
+    public void findRelated_Books_NonExistingBook_Return_NotFound() throws Exception {
+        //Given
+        long bookId = 10L;
+
+        given(bookService.findRelated(anyLong())).
+                willThrow(new DataNotFoundException("Book not found!"));
+
+        // When
+        ResultActions response = performAsync(get("/api/v1/book/{id}/related", bookId));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error",
+                        CoreMatchers.is("Book not found!")));
+    }
+
+    @Test
+    public void findNearDuplicates_Books_ExistingBook_Return_Ok() throws Exception {
+        //Given
+        long bookId = 1L;
+
+        given(bookService.findNearDuplicates(bookId)).willReturn(List.of(
+                NearDuplicateResponseDto.builder().id(2L).similarity(0.75).build()
+        ));
+
+        // When
+        ResultActions response = performAsync(get("/api/v1/book/{id}/near-duplicates", bookId));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found near-duplicate books!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].id").value(2L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].similarity").value(0.75));
+    }
+
+    @Test
+    public void findDuplicates_Books_Return_Ok() throws Exception {
+        //Given
+        given(bookService.findDuplicates()).willReturn(List.of(
+                DuplicateGroupResponseDto.builder().bookIds(List.of(1L, 2L)).build()
+        ));
+
+        // When
+        ResultActions response = performAsync(get("/api/v1/book/duplicates"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found duplicate books!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].bookIds", hasSize(2)));
+    }
+
     @Test
     public void save_Book_NonExistingBook_Return_Created() throws Exception {
         // Given
@@ -381,7 +521,7 @@ public class BookControllerTest {
                 .willReturn(bookSavedResponseAustereAcademy);
 
         // When
-        ResultActions response = mockMvc.perform(post("/api/v1/book/save")
+        ResultActions response = performAsync(post("/api/v1/book/save")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(bookSaveRequestAustereAcademy)));
 
@@ -406,7 +546,7 @@ public class BookControllerTest {
                 willThrow(new DataAlreadyExistsException("Book already exists!"));
 
         // When
-        ResultActions response = mockMvc.perform(post("/api/v1/book/save")
+        ResultActions response = performAsync(post("/api/v1/book/save")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(bookSaveRequestAustereAcademy)));
 
@@ -416,6 +556,80 @@ public class BookControllerTest {
                         CoreMatchers.is("Book already exists!")));
     }
 
+    @Test
+    public void save_Book_RetriedIdempotencyKey_Return_SavedResponseWithoutSavingAgain() throws Exception {
+        // Given
+        given(bookService.save(bookSaveRequestAustereAcademy))
+                .willReturn(bookSavedResponseAustereAcademy);
+        String body = objectMapper.writeValueAsString(bookSaveRequestAustereAcademy);
+
+        // When
+        performAsync(post("/api/v1/book/save")
+                .header("Idempotency-Key", "save-book-retry")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+        ResultActions response = performAsync(post("/api/v1/book/save")
+                .header("Idempotency-Key", "save-book-retry")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string("Idempotent-Replayed", "true"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Saved book!")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].isbn13",
+                        CoreMatchers.is(bookSavedResponseAustereAcademy.getIsbn13())));
+        verify(bookService, times(1)).save(bookSaveRequestAustereAcademy);
+    }
+
+    @Test
+    public void save_Book_SameIdempotencyKeyOtherClient_Return_SavedAgain() throws Exception {
+        // Given
+        given(bookService.save(bookSaveRequestAustereAcademy))
+                .willReturn(bookSavedResponseAustereAcademy);
+        String body = objectMapper.writeValueAsString(bookSaveRequestAustereAcademy);
+        performAsync(post("/api/v1/book/save")
+                .header("X-API-Key", "client-a")
+                .header("Idempotency-Key", "save-book-shared")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+
+        // When
+        ResultActions response = performAsync(post("/api/v1/book/save")
+                .header("X-API-Key", "client-b")
+                .header("Idempotency-Key", "save-book-shared")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist("Idempotent-Replayed"));
+        verify(bookService, times(2)).save(bookSaveRequestAustereAcademy);
+    }
+
+    @Test
+    public void save_Book_IdempotencyKeyWithDifferentBody_Return_UnprocessableEntity() throws Exception {
+        // Given
+        given(bookService.save(any(BookSaveRequestDto.class)))
+                .willReturn(bookSavedResponseAustereAcademy);
+        performAsync(post("/api/v1/book/save")
+                .header("Idempotency-Key", "save-book-reused")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookSaveRequestAustereAcademy)));
+
+        // When
+        ResultActions response = mockMvc.perform(post("/api/v1/book/save")
+                .header("Idempotency-Key", "save-book-reused")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookUpdateRequestAustereAcademy)));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isUnprocessableEntity())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error",
+                        CoreMatchers.is("Idempotency key was already used with a different request!")));
+    }
+
     @Test
     public void update_Book_ExistingBook_Return_Ok() throws Exception {
         // Given
@@ -425,7 +639,7 @@ public class BookControllerTest {
                 .willReturn(bookUpdatedResponseAustereAcademy);
 
         // When
-        ResultActions response = mockMvc.perform(put("/api/v1/book/update/{id}", bookId)
+        ResultActions response = performAsync(put("/api/v1/book/update/{id}", bookId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(bookUpdateRequestAustereAcademy)));
 
@@ -451,7 +665,7 @@ public class BookControllerTest {
         given(bookService.update(anyLong(), any(BookSaveRequestDto.class)))
                 .willThrow(new DataNotFoundException("Book does not exist!"));
         // When
-        ResultActions response = mockMvc.perform(put("/api/v1/book/update/{id}", bookId)
+        ResultActions response = performAsync(put("/api/v1/book/update/{id}", bookId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(bookUpdateRequestAustereAcademy)));
 
@@ -469,12 +683,23 @@ public class BookControllerTest {
         willDoNothing().given(bookService).deleteById(anyLong());
 
         // When
-        ResultActions response = mockMvc.perform(delete("/api/v1/book/delete/{id}", bookId));
+        ResultActions response = performAsync(delete("/api/v1/book/delete/{id}", bookId));
 
         // Then
         response.andExpect(MockMvcResultMatchers.status().isOk());
     }
 
+    /**
+     * Método para ejecutar una solicitud a un endpoint asíncrono y esperar su respuesta
+     */
+    private ResultActions performAsync(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     private static BookResponseDto mapRequestDtoToResponseDto(long id, BookSaveRequestDto request) {
         List<AuthorOfBookResponseDto> authorsOfBook = request.getAuthors().stream()
                 .map(a -> AuthorOfBookResponseDto.builder()
@@ -0,0 +1,169 @@
+package com.alivro.spring.crud.controller;
+
+import com.alivro.spring.crud.SpringBootCrudApplication;
+import com.alivro.spring.crud.model.author.response.BookOfAuthorResponseDto;
+import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
+import com.alivro.spring.crud.service.impl.IReactiveAuthorServiceImpl;
+import com.alivro.spring.crud.util.CustomErrorResponse;
+import com.alivro.spring.crud.util.CustomPageMetadata;
+import com.alivro.spring.crud.util.CustomResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+        classes = SpringBootCrudApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                // Más autores que un lote de la transmisión
+                "catalog.generator.enabled=true",
+                "catalog.generator.authors=150",
+                "catalog.generator.books=250"
+        }
+)
+@DirtiesContext
+public class ReactiveAuthorControllerIT {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void findAll_Authors_ExistingAuthors_Return_Ok() {
+        // When
+        String url = "/findAll?page=1&size=10&sort=pseudonym,desc";
+
+        ResponseEntity<CustomResponse<AuthorFindResponseDto, CustomPageMetadata>> response = restTemplate.exchange(
+                createUrl(url),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        // Then
+        List<AuthorFindResponseDto> authors = Objects.requireNonNull(response.getBody()).getData();
+        CustomPageMetadata metadata = response.getBody().getMetadata();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getMessage()).isEqualTo("Found authors!");
+
+        assertThat(authors).hasSize(10);
+        assertThat(authors).extracting(AuthorFindResponseDto::getPseudonym)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+
+        assertThat(metadata.getPageNumber()).isEqualTo(1);
+        assertThat(metadata.getPageSize()).isEqualTo(10);
+        assertThat(metadata.getNumberOfElements()).isEqualTo(10);
+        assertThat(metadata.getTotalElements()).isGreaterThan(IReactiveAuthorServiceImpl.STREAM_BATCH_SIZE);
+        assertThat(metadata.getTotalPages()).isEqualTo((int) Math.ceil(metadata.getTotalElements() / 10.0));
+    }
+
+    @Test
+    public void findById_Author_ExistingAuthor_Return_Ok() {
+        // When
+        String url = "/find/1";
+
+        ResponseEntity<CustomResponse<AuthorFindResponseDto, Void>> response = restTemplate.exchange(
+                createUrl(url),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        // Then
+        AuthorFindResponseDto author = Objects.requireNonNull(response.getBody()).getData().get(0);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getMessage()).isEqualTo("Found author!");
+
+        assertThat(author.getId()).isEqualTo(1L);
+        assertThat(author.getFirstName()).isEqualTo("Eric");
+        assertThat(author.getMiddleName()).isNull();
+        assertThat(author.getLastName()).isEqualTo("Blair");
+        assertThat(author.getPseudonym()).isEqualTo("George Orwell");
+        assertThat(author.getBooks()).extracting(BookOfAuthorResponseDto::getTitle)
+                .containsExactly("1984", "Animal Farm");
+    }
+
+    @Test
+    public void findById_Author_NonExistingAuthor_Return_NotFound() {
+        // When
+        String url = "/find/0";
+
+        ResponseEntity<CustomErrorResponse<Void>> response = restTemplate.exchange(
+                createUrl(url),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(Objects.requireNonNull(response.getBody()).getError()).isEqualTo("Author not found!");
+    }
+
+    @Test
+    public void stream_Authors_ExistingAuthors_Return_AllAuthorsInIdOrder() throws JsonProcessingException {
+        // Given
+        long totalElements = Objects.requireNonNull(restTemplate.exchange(
+                createUrl("/findAll"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<CustomResponse<AuthorFindResponseDto, CustomPageMetadata>>() {
+                }
+        ).getBody()).getMetadata().getTotalElements();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                createUrl("/stream"),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                String.class
+        );
+
+        // Then
+        List<AuthorFindResponseDto> authors = new ArrayList<>();
+
+        for (String line : Objects.requireNonNull(response.getBody()).split("\n")) {
+            authors.add(objectMapper.readValue(line, AuthorFindResponseDto.class));
+        }
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+
+        assertThat(authors).hasSize((int) totalElements);
+        assertThat(authors).extracting(AuthorFindResponseDto::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(authors.get(0).getBooks()).extracting(BookOfAuthorResponseDto::getTitle)
+                .containsExactly("1984", "Animal Farm");
+    }
+
+    private String createUrl(String uri) {
+        return "http://localhost:" + port + "/api/v2/author" + uri;
+    }
+}
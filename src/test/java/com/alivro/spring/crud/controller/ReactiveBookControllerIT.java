@@ -0,0 +1,170 @@
+package com.alivro.spring.crud.controller;
+
+import com.alivro.spring.crud.SpringBootCrudApplication;
+import com.alivro.spring.crud.model.book.response.AuthorOfBookResponseDto;
+import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.service.impl.IReactiveBookServiceImpl;
+import com.alivro.spring.crud.util.CustomErrorResponse;
+import com.alivro.spring.crud.util.CustomPageMetadata;
+import com.alivro.spring.crud.util.CustomResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+        classes = SpringBootCrudApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                // Más libros que un lote de la transmisión
+                "catalog.generator.enabled=true",
+                "catalog.generator.authors=50",
+                "catalog.generator.books=250"
+        }
+)
+@DirtiesContext
+public class ReactiveBookControllerIT {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void findAll_Books_ExistingBooks_Return_Ok() {
+        // When
+        String url = "/findAll?page=1&size=10&sort=title,desc";
+
+        ResponseEntity<CustomResponse<BookResponseDto, CustomPageMetadata>> response = restTemplate.exchange(
+                createUrl(url),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        // Then
+        List<BookResponseDto> books = Objects.requireNonNull(response.getBody()).getData();
+        CustomPageMetadata metadata = response.getBody().getMetadata();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getMessage()).isEqualTo("Found books!");
+
+        assertThat(books).hasSize(10);
+        assertThat(books).extracting(BookResponseDto::getTitle)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(books).allSatisfy(book -> assertThat(book.getAuthors()).isNotEmpty());
+
+        assertThat(metadata.getPageNumber()).isEqualTo(1);
+        assertThat(metadata.getPageSize()).isEqualTo(10);
+        assertThat(metadata.getNumberOfElements()).isEqualTo(10);
+        assertThat(metadata.getTotalElements()).isGreaterThan(IReactiveBookServiceImpl.STREAM_BATCH_SIZE);
+        assertThat(metadata.getTotalPages()).isEqualTo((int) Math.ceil(metadata.getTotalElements() / 10.0));
+    }
+
+    @Test
+    public void findById_Book_ExistingBook_Return_Ok() {
+        // When
+        String url = "/find/1";
+
+        ResponseEntity<CustomResponse<BookResponseDto, Void>> response = restTemplate.exchange(
+                createUrl(url),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        // Then
+        BookResponseDto book = Objects.requireNonNull(response.getBody()).getData().get(0);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getMessage()).isEqualTo("Found book!");
+
+        assertThat(book.getId()).isEqualTo(1L);
+        assertThat(book.getTitle()).isEqualTo("1984");
+        assertThat(book.getSubtitle()).isNull();
+        assertThat(book.getTotalPages()).isEqualTo(384);
+        assertThat(book.getIsbn13()).isEqualTo("9780452284234");
+        assertThat(book.getAuthors()).extracting(AuthorOfBookResponseDto::getPseudonym)
+                .containsExactly("George Orwell");
+    }
+
+    @Test
+    public void findById_Book_NonExistingBook_Return_NotFound() {
+        // When
+        String url = "/find/0";
+
+        ResponseEntity<CustomErrorResponse<Void>> response = restTemplate.exchange(
+                createUrl(url),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(Objects.requireNonNull(response.getBody()).getError()).isEqualTo("Book not found!");
+    }
+
+    @Test
+    public void stream_Books_ExistingBooks_Return_AllBooksInIdOrder() throws JsonProcessingException {
+        // Given
+        long totalElements = Objects.requireNonNull(restTemplate.exchange(
+                createUrl("/findAll"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<CustomResponse<BookResponseDto, CustomPageMetadata>>() {
+                }
+        ).getBody()).getMetadata().getTotalElements();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                createUrl("/stream"),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                String.class
+        );
+
+        // Then
+        List<BookResponseDto> books = new ArrayList<>();
+
+        for (String line : Objects.requireNonNull(response.getBody()).split("\n")) {
+            books.add(objectMapper.readValue(line, BookResponseDto.class));
+        }
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+
+        assertThat(books).hasSize((int) totalElements);
+        assertThat(books).extracting(BookResponseDto::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(books.get(0).getAuthors()).extracting(AuthorOfBookResponseDto::getPseudonym)
+                .containsExactly("George Orwell");
+    }
+
+    private String createUrl(String uri) {
+        return "http://localhost:" + port + "/api/v2/book" + uri;
+    }
+}
@@ -0,0 +1,64 @@
+package com.alivro.spring.crud.controller;
+
+import com.alivro.spring.crud.model.stats.response.PageStatsResponseDto;
+import com.alivro.spring.crud.service.IStatsService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class StatsControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    private IStatsService statsService;
+
+    @Test
+    public void findPagesByPublisherAndDecade_Stats_Return_Ok() throws Exception {
+        // Given
+        PageStatsResponseDto berkley = PageStatsResponseDto.builder()
+                .publisher("Berkley")
+                .decade(2000)
+                .books(2)
+                .totalPages(512)
+                .averagePages(256)
+                .minPages(128)
+                .maxPages(384)
+                .build();
+
+        given(statsService.findPagesByPublisherAndDecade()).willReturn(List.of(berkley));
+
+        // When
+        ResultActions response = mockMvc.perform(get("/api/v1/stats/pagesByPublisherAndDecade"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Found stats!")));
+
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.data", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].publisher",
+                        CoreMatchers.is("Berkley")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].decade",
+                        CoreMatchers.is(2000)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].averagePages",
+                        CoreMatchers.is(256.0)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].year").doesNotExist());
+    }
+}
@@ -0,0 +1,74 @@
+package com.alivro.spring.crud.deadline;
+
+import com.alivro.spring.crud.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class DeadlineDataSourceTest {
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private DeadlineDataSource dataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        given(target.getConnection()).willReturn(connection);
+        given(connection.prepareStatement(anyString())).willReturn(statement);
+
+        dataSource = new DeadlineDataSource(target);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestDeadline.end();
+    }
+
+    @Test
+    public void prepareStatement_WithDeadline_Return_RemainingSecondsAsQueryTimeout() throws SQLException {
+        // Given
+        RequestDeadline.begin(Duration.ofMillis(1500));
+
+        // When
+        dataSource.getConnection().prepareStatement("SELECT * FROM book");
+
+        // Then
+        verify(statement).setQueryTimeout(2);
+    }
+
+    @Test
+    public void prepareStatement_WithoutDeadline_Return_NoQueryTimeout() throws SQLException {
+        // When
+        dataSource.getConnection().prepareStatement("SELECT * FROM book");
+
+        // Then
+        verify(statement).setQueryTimeout(0);
+    }
+
+    @Test
+    public void prepareStatement_ExpiredDeadline_Throw_DeadlineExceededException() throws SQLException {
+        // Given
+        RequestDeadline.begin(Duration.ZERO);
+        Connection connection = dataSource.getConnection();
+
+        // When, Then
+        assertThatThrownBy(() -> connection.prepareStatement("SELECT * FROM book"))
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessage("Request deadline exceeded!");
+        verify(statement).close();
+        verify(statement, never()).executeQuery();
+    }
+}
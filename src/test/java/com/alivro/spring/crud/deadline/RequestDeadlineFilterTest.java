@@ -0,0 +1,64 @@
+package com.alivro.spring.crud.deadline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestDeadlineFilterTest {
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(Duration.ofSeconds(10));
+
+    @Test
+    public void doFilter_MillisecondsHeader_Return_DeadlineDuringRequest() throws Exception {
+        // When
+        RequestDeadline deadline = perform("2000");
+
+        // Then
+        assertThat(deadline).isNotNull();
+        assertThat(deadline.remainingNanos()).isBetween(TimeUnit.SECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(2));
+        assertThat(RequestDeadline.current()).isNull();
+    }
+
+    @Test
+    public void doFilter_DurationOverMax_Return_MaxDeadline() throws Exception {
+        // When
+        RequestDeadline deadline = perform("5m");
+
+        // Then
+        assertThat(deadline.remainingNanos()).isBetween(TimeUnit.SECONDS.toNanos(9), TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    public void doFilter_InvalidHeader_Return_NoDeadline() throws Exception {
+        // When
+        RequestDeadline deadline = perform("soon");
+
+        // Then
+        assertThat(deadline).isNull();
+    }
+
+    @Test
+    public void doFilter_ZeroHeader_Return_ExpiredDeadline() throws Exception {
+        // When
+        RequestDeadline deadline = perform("0");
+
+        // Then
+        assertThat(deadline.isExpired()).isTrue();
+    }
+
+    // Devuelve el plazo que ve el controlador
+    private RequestDeadline perform(String timeout) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/book/findAll");
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, timeout);
+        AtomicReference<RequestDeadline> deadline = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> deadline.set(RequestDeadline.current()));
+
+        return deadline.get();
+    }
+}
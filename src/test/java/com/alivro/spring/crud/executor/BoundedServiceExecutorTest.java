@@ -0,0 +1,267 @@
+package com.alivro.spring.crud.executor;
+
+import com.alivro.spring.crud.exception.ServiceUnavailableException;
+import com.alivro.spring.crud.exception.WriteTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedServiceExecutorTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedServiceExecutor executor;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void submit_Task_Return_ResultFromExecutorThread() throws Exception {
+        // Given
+        executor = executor(2, 10, Duration.ofSeconds(5));
+
+        // When
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(threadName).startsWith("test-");
+        assertThat(meterRegistry.get("executor.pool.core").tag("name", "test").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void submit_NoThreads_Return_ResultFromCallerThread() throws Exception {
+        // Given
+        executor = executor(0, 10, Duration.ofSeconds(5));
+
+        // When
+        CompletableFuture<String> result = executor.submit(() -> Thread.currentThread().getName());
+
+        // Then
+        assertThat(result).isCompleted();
+        assertThat(result.get()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void submit_FailingTask_Return_TaskException() {
+        // Given
+        executor = executor(1, 10, Duration.ofSeconds(5));
+
+        // When
+        CompletableFuture<Object> result = executor.submit(() -> {
+            throw new IllegalStateException("Book not found!");
+        });
+
+        // Then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void submit_FullQueue_Throw_ServiceUnavailableException() {
+        // Given
+        executor = executor(1, 1, Duration.ofSeconds(5));
+        executor.submit(this::awaitRelease);
+        executor.submit(this::awaitRelease);
+
+        // When, Then
+        assertThatThrownBy(() -> executor.submit(this::awaitRelease))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessage("Server is busy, try again later!");
+        assertThat(meterRegistry.get("app.executor.rejected").tag("name", "test").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void submit_TimeoutInQueue_Return_TimeoutException_And_TaskSkipped() throws Exception {
+        // Given
+        executor = executor(1, 10, Duration.ofMillis(100));
+        AtomicBoolean queuedTaskRan = new AtomicBoolean();
+        executor.submit(this::awaitRelease);
+
+        // When
+        CompletableFuture<Boolean> queued = executor.submit(() -> queuedTaskRan.getAndSet(true));
+
+        // Then
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        // Las tareas se ejecutan en orden: cuando termina la siguiente, la vencida ya se descartó
+        release.countDown();
+        executor.submit(() -> true).get(5, TimeUnit.SECONDS);
+
+        assertThat(queuedTaskRan).isFalse();
+        assertThat(meterRegistry.get("app.executor.timeouts").tag("name", "test").counter().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void submit_TimeoutWhileRunning_Return_TimeoutException() {
+        // Given
+        executor = executor(1, 10, Duration.ofMillis(100));
+
+        // When
+        CompletableFuture<Boolean> result = executor.submit(this::awaitRelease);
+
+        // Then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseExactlyInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void submit_WriteTimeoutWhileRunning_Return_WriteTimeoutException_And_TaskCompletion() throws Exception {
+        // Given
+        executor = executor(1, 10, Duration.ofMillis(100), false);
+
+        // When
+        CompletableFuture<Boolean> result = executor.submit(this::awaitRelease);
+
+        // Then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(WriteTimeoutException.class);
+
+        // La escritura sigue en curso; su resultado real llega al terminar
+        WriteTimeoutException timeout = (WriteTimeoutException) result.handle((value, error) -> error).get();
+        release.countDown();
+
+        assertThat(timeout.getTask().get(5, TimeUnit.SECONDS)).isEqualTo(true);
+    }
+
+    @Test
+    public void submit_WriteTimeoutInQueue_Return_TimeoutException() {
+        // Given
+        executor = executor(1, 10, Duration.ofMillis(100), false);
+        executor.submit(this::awaitRelease);
+
+        // When
+        CompletableFuture<Boolean> queued = executor.submit(() -> true);
+
+        // Then
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseExactlyInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void submit_Task_Return_DecoratedOnCallerThread() throws Exception {
+        // Given
+        String callerThread = Thread.currentThread().getName();
+        executor = new BoundedServiceExecutor("test", 1, 10, Duration.ofSeconds(5), true, runnable -> {
+            // El decorador se invoca en el hilo que envía la tarea
+            String decoratedOn = Thread.currentThread().getName();
+
+            return () -> {
+                assertThat(decoratedOn).isEqualTo(callerThread);
+                runnable.run();
+            };
+        }, meterRegistry);
+
+        // When
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(threadName).isNotEqualTo(callerThread);
+    }
+
+    @Test
+    public void submit_ThreadPerTask_Return_ResultFromNewThread() throws Exception {
+        // Given
+        executor = threadPerTaskExecutor(2, 10, Duration.ofSeconds(5));
+
+        // When
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(threadName).startsWith("task-");
+        assertThat(meterRegistry.find("executor.pool.core").gauge()).isNull();
+    }
+
+    @Test
+    public void submit_ThreadPerTaskAllPermitsTaken_Return_TaskWaits_And_FullQueueRejected() throws Exception {
+        // Given
+        executor = threadPerTaskExecutor(1, 1, Duration.ofSeconds(5));
+        AtomicBoolean waitingTaskRan = new AtomicBoolean();
+        CompletableFuture<Boolean> running = executor.submit(this::awaitRelease);
+
+        // When
+        CompletableFuture<Boolean> waiting = executor.submit(() -> waitingTaskRan.getAndSet(true));
+
+        // Then
+        assertThatThrownBy(() -> executor.submit(this::awaitRelease))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(waitingTaskRan).isFalse();
+        assertThat(meterRegistry.get("executor.active").tag("name", "test").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(waitingTaskRan).isTrue();
+    }
+
+    @Test
+    public void submit_ThreadPerTaskTimeoutWaitingForPermit_Return_TimeoutException_And_TaskSkipped() throws Exception {
+        // Given
+        executor = threadPerTaskExecutor(1, 10, Duration.ofMillis(100));
+        AtomicBoolean waitingTaskRan = new AtomicBoolean();
+        executor.submit(this::awaitRelease);
+
+        // When
+        CompletableFuture<Boolean> waiting = executor.submit(() -> waitingTaskRan.getAndSet(true));
+
+        // Then
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseExactlyInstanceOf(TimeoutException.class);
+
+        release.countDown();
+        executor.submit(() -> true).get(5, TimeUnit.SECONDS);
+
+        assertThat(waitingTaskRan).isFalse();
+    }
+
+    private BoundedServiceExecutor threadPerTaskExecutor(int threads, int queueCapacity, Duration timeout) {
+        // Con JDK 21 la aplicación usa hilos virtuales; aquí basta con un hilo de plataforma por tarea
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return new BoundedServiceExecutor("test", threads, queueCapacity, timeout, true, runnable -> runnable,
+                runnable -> new Thread(runnable, "task-" + threadNumber.incrementAndGet()).start(), meterRegistry);
+    }
+
+    private BoundedServiceExecutor executor(int threads, int queueCapacity, Duration timeout) {
+        return executor(threads, queueCapacity, timeout, true);
+    }
+
+    private BoundedServiceExecutor executor(int threads, int queueCapacity, Duration timeout, boolean retrySafe) {
+        return new BoundedServiceExecutor("test", threads, queueCapacity, timeout, retrySafe, runnable -> runnable,
+                meterRegistry);
+    }
+
+    private boolean awaitRelease() {
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.alivro.spring.crud.executor;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class BulkheadsTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<WorkloadClass, BoundedServiceExecutor> executors = new EnumMap<>(WorkloadClass.class);
+    private final Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+    private final Map<WorkloadClass, Connection> connections = new EnumMap<>(WorkloadClass.class);
+    private final Connection defaultConnection = mock(Connection.class);
+    private WorkloadRoutingDataSource dataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        HikariDataSource defaultPool = mock(HikariDataSource.class);
+        given(defaultPool.getConnection()).willReturn(defaultConnection);
+
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            HikariDataSource pool = mock(HikariDataSource.class);
+            Connection connection = mock(Connection.class);
+            given(pool.getConnection()).willReturn(connection);
+
+            pools.put(workload, pool);
+            connections.put(workload, connection);
+            executors.put(workload, new BoundedServiceExecutor(
+                    workload.getName(), 1, 10, Duration.ofSeconds(5), workload.isRetrySafe(), runnable -> runnable,
+                    meterRegistry));
+        }
+
+        dataSource = new WorkloadRoutingDataSource(defaultPool, pools);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executors.values().forEach(BoundedServiceExecutor::shutdown);
+    }
+
+    @Test
+    public void submit_Task_Return_ConnectionFromWorkloadPool() throws Exception {
+        // Given
+        Bulkheads bulkheads = new Bulkheads(executors);
+
+        // When
+        Connection connection = bulkheads.submit(WorkloadClass.LISTING, this::getConnection).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(connection).isSameAs(connections.get(WorkloadClass.LISTING));
+    }
+
+    @Test
+    public void submit_Task_Return_ResultFromWorkloadExecutor() throws Exception {
+        // Given
+        Bulkheads bulkheads = new Bulkheads(executors);
+
+        // When
+        String threadName = bulkheads.submit(WorkloadClass.WRITE, () -> Thread.currentThread().getName())
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(threadName).startsWith("write-");
+    }
+
+    @Test
+    public void getConnection_OutsideWorkload_Return_DefaultPoolConnection() throws SQLException {
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(defaultConnection);
+    }
+
+    @Test
+    public void callAs_NestedWorkload_Return_PreviousWorkloadAfterwards() {
+        // When
+        Connection connection = WorkloadRoutingDataSource.callAs(WorkloadClass.BULK, () -> {
+            WorkloadRoutingDataSource.callAs(WorkloadClass.POINT_READ, this::getConnection);
+            return getConnection();
+        });
+
+        // Then
+        assertThat(connection).isSameAs(connections.get(WorkloadClass.BULK));
+        assertThat(getConnection()).isSameAs(defaultConnection);
+    }
+
+    @Test
+    public void new_MissingExecutor_Throw_IllegalArgumentException() {
+        // Given
+        executors.remove(WorkloadClass.BULK).shutdown();
+
+        // When, Then
+        assertThatThrownBy(() -> new Bulkheads(executors))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing executor for workload class bulk");
+    }
+
+    private Connection getConnection() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.alivro.spring.crud.generator;
+
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "catalog.generator.enabled=true",
+        "catalog.generator.authors=500",
+        "catalog.generator.books=5000",
+        "catalog.generator.batch-size=256"
+})
+@DirtiesContext
+public class CatalogGeneratorTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    public void generate_InsertsCatalogAfterSeedData() {
+        // Then
+        assertThat(count("SELECT COUNT(*) FROM author")).isEqualTo(12 + 500);
+        assertThat(count("SELECT COUNT(*) FROM book")).isEqualTo(11 + 5000);
+        assertThat(count("SELECT MIN(author_id) FROM author WHERE author_id > 12")).isEqualTo(101);
+        assertThat(count("SELECT MIN(book_id) FROM book WHERE book_id > 11")).isEqualTo(1001);
+    }
+
+    @Test
+    public void generate_EveryBookHasBetweenOneAndSixAuthors() {
+        // Then
+        assertThat(count("SELECT COUNT(*) FROM book b WHERE NOT EXISTS " +
+                "(SELECT 1 FROM book_author ba WHERE ba.book_id = b.book_id)")).isZero();
+        assertThat(count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM book_author GROUP BY book_id)"))
+                .isLessThanOrEqualTo(6);
+        // La mayoría de los libros tiene un solo autor
+        assertThat(count("SELECT COUNT(*) FROM (SELECT book_id FROM book_author GROUP BY book_id " +
+                "HAVING COUNT(*) = 1)")).isGreaterThan(5000 / 2);
+    }
+
+    @Test
+    public void generate_PublishersAreSkewed() {
+        // Then
+        long top = count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM book GROUP BY publisher)");
+        long bottom = count("SELECT MIN(c) FROM (SELECT COUNT(*) c FROM book GROUP BY publisher)");
+
+        assertThat(top).isGreaterThan(5 * bottom);
+    }
+
+    @Test
+    public void generate_IsbnsAreUniqueAndValid() {
+        // Then
+        assertThat(count("SELECT COUNT(DISTINCT isbn_13) FROM book")).isEqualTo(11 + 5000);
+        assertThat(jdbcTemplate.queryForList("SELECT isbn_13 FROM book WHERE isbn_13 LIKE '979%'", String.class))
+                .hasSize(5000)
+                .allMatch(CatalogGeneratorTest::hasValidCheckDigit);
+    }
+
+    @Test
+    @Transactional
+    public void generate_RestartsSequences() {
+        // Given
+        Book book = Book.builder()
+                .title("Generated")
+                .totalPages(100)
+                .publisher("Penguin")
+                .publishedDate(LocalDate.of(2024, 1, 1))
+                .isbn13("9780000000002")
+                .authors(Collections.emptyList())
+                .build();
+
+        // When
+        Book saved = bookRepository.save(book);
+
+        // Then
+        assertThat(saved.getId()).isEqualTo(1001 + 5000);
+    }
+
+    @Test
+    public void isbn13_ComputesCheckDigit() {
+        // Then
+        assertThat(CatalogGenerator.isbn13(0)).isEqualTo("9790000000001");
+        assertThat(CatalogGenerator.isbn13(1001)).hasSize(13).startsWith("979000001001");
+    }
+
+    private long count(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+
+        return value == null ? 0 : value;
+    }
+
+    private static boolean hasValidCheckDigit(String isbn) {
+        int sum = 0;
+
+        for (int i = 0; i < 13; i++) {
+            sum += (isbn.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+
+        return sum % 10 == 0;
+    }
+}
@@ -0,0 +1,252 @@
+package com.alivro.spring.crud.idempotency;
+
+import com.alivro.spring.crud.exception.DataAlreadyExistsException;
+import com.alivro.spring.crud.exception.IdempotencyKeyReusedException;
+import com.alivro.spring.crud.exception.ServiceUnavailableException;
+import com.alivro.spring.crud.exception.WriteTimeoutException;
+import com.alivro.spring.crud.executor.BoundedServiceExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IdempotencyStoreTest {
+    private static final String CLIENT = "ip:127.0.0.1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyStore store = new IdempotencyStore(Duration.ofHours(1), 2, meterRegistry);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    public void execute_RetriedKey_Return_SavedResponse() throws Exception {
+        // Given
+        store.execute("book/save", CLIENT, "key-1", "book", () -> created("saved")).get();
+
+        // When
+        ResponseEntity<String> response = store.execute("book/save", CLIENT, "key-1", "book", () -> created("saved again")).get();
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody()).isEqualTo("saved");
+        assertThat(response.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(meterRegistry.get("app.idempotency.replays").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_KeyInFlight_Return_ResponseOfFirstRequest() throws Exception {
+        // Given
+        CompletableFuture<ResponseEntity<String>> first = new CompletableFuture<>();
+        store.execute("book/save", CLIENT, "key-1", "book", () -> first);
+
+        // When
+        CompletableFuture<ResponseEntity<String>> retry = store.execute("book/save", CLIENT, "key-1", "book", () -> created("saved again"));
+        boolean doneBeforeFirst = retry.isDone();
+        first.complete(ResponseEntity.status(HttpStatus.CREATED).body("saved"));
+
+        // Then
+        assertThat(doneBeforeFirst).isFalse();
+        assertThat(retry.get().getBody()).isEqualTo("saved");
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    public void execute_SameKeyDifferentRequest_Throw_IdempotencyKeyReusedException() throws Exception {
+        // Given
+        store.execute("book/save", CLIENT, "key-1", "book", () -> created("saved")).get();
+
+        // When, Then
+        assertThatThrownBy(() -> store.execute("book/save", CLIENT, "key-1", "another book", () -> created("saved")))
+                .isInstanceOf(IdempotencyKeyReusedException.class)
+                .hasMessage("Idempotency key was already used with a different request!");
+    }
+
+    @Test
+    public void execute_SameKeyOtherScope_Return_NewExecution() throws Exception {
+        // Given
+        store.execute("book/save", CLIENT, "key-1", "book", () -> created("book")).get();
+
+        // When
+        ResponseEntity<String> response = store.execute("author/save", CLIENT, "key-1", "author", () -> created("author")).get();
+
+        // Then
+        assertThat(executions).hasValue(2);
+        assertThat(response.getBody()).isEqualTo("author");
+    }
+
+    @Test
+    public void execute_SameKeyOtherClient_Return_NewExecution() throws Exception {
+        // Given
+        store.execute("book/save", "key:client-a", "key-1", "book", () -> created("client a")).get();
+
+        // When
+        ResponseEntity<String> response = store.execute("book/save", "key:client-b", "key-1", "book",
+                () -> created("client b")).get();
+
+        // Then
+        assertThat(executions).hasValue(2);
+        assertThat(response.getBody()).isEqualTo("client b");
+        assertThat(response.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    public void execute_ClientError_Return_SameErrorOnRetry() {
+        // Given
+        store.execute("book/save", CLIENT, "key-1", "book",
+                () -> CompletableFuture.<ResponseEntity<String>>failedFuture(new DataAlreadyExistsException("Book already exists!")));
+
+        // When
+        CompletableFuture<ResponseEntity<String>> retry = store.execute("book/save", CLIENT, "key-1", "book", () -> created("saved"));
+
+        // Then
+        assertThatThrownBy(retry::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DataAlreadyExistsException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    public void execute_ServerError_Return_NewExecutionOnRetry() throws Exception {
+        // Given
+        assertThatThrownBy(() -> store.execute("book/save", CLIENT, "key-1", "book", () -> {
+            throw new ServiceUnavailableException("Server is busy, try again later!");
+        })).isInstanceOf(ServiceUnavailableException.class);
+
+        // When
+        ResponseEntity<String> response = store.execute("book/save", CLIENT, "key-1", "book", () -> created("saved")).get();
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(response.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    public void execute_WriteTimedOutButStillRunning_Return_TaskResponseOnRetry() throws Exception {
+        // Given
+        CompletableFuture<ResponseEntity<String>> task = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<String>> first = store.execute("book/save", CLIENT, "key-1", "book",
+                () -> CompletableFuture.failedFuture(
+                        new WriteTimeoutException("Request timed out, the write may still be applied!", task)));
+
+        // When
+        CompletableFuture<ResponseEntity<String>> retry = store.execute("book/save", CLIENT, "key-1", "book", () -> created("saved again"));
+        boolean doneBeforeTask = retry.isDone();
+        task.complete(ResponseEntity.status(HttpStatus.CREATED).body("saved"));
+
+        // Then
+        assertThat(first).isCompletedExceptionally();
+        assertThat(doneBeforeTask).isFalse();
+        assertThat(retry.get().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.get().getBody()).isEqualTo("saved");
+        assertThat(retry.get().getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    public void execute_WriteExecutorTimeout_Return_CommittedResponseOnRetry() throws Exception {
+        // Given
+        BoundedServiceExecutor writes = new BoundedServiceExecutor("write", 1, 10, Duration.ofMillis(100), false,
+                runnable -> runnable, meterRegistry);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<ResponseEntity<String>> first = store.execute("book/save", CLIENT, "key-1", "book",
+                    () -> writes.submit(() -> {
+                        awaitQuietly(commit);
+
+                        return ResponseEntity.status(HttpStatus.CREATED).body("saved");
+                    }));
+
+            // When
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(WriteTimeoutException.class);
+            CompletableFuture<ResponseEntity<String>> retry = store.execute("book/save", CLIENT, "key-1", "book", () -> created("saved again"));
+            commit.countDown();
+
+            // Then
+            ResponseEntity<String> response = retry.get(5, TimeUnit.SECONDS);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(response.getBody()).isEqualTo("saved");
+            assertThat(executions).hasValue(0);
+        } finally {
+            commit.countDown();
+            writes.shutdown();
+        }
+    }
+
+    @Test
+    public void execute_WriteTimedOutAndThenFailed_Return_NewExecutionOnRetry() throws Exception {
+        // Given
+        CompletableFuture<ResponseEntity<String>> task = new CompletableFuture<>();
+        store.execute("book/save", CLIENT, "key-1", "book", () -> CompletableFuture.failedFuture(
+                new WriteTimeoutException("Request timed out, the write may still be applied!", task)));
+        task.completeExceptionally(new IllegalStateException("Connection lost!"));
+
+        // When
+        ResponseEntity<String> response = store.execute("book/save", CLIENT, "key-1", "book", () -> created("saved")).get();
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(response.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    public void execute_WithoutKey_Return_NewExecutionEachTime() throws Exception {
+        // When
+        store.execute("book/save", CLIENT, null, "book", () -> created("saved")).get();
+        store.execute("book/save", CLIENT, null, "book", () -> created("saved")).get();
+
+        // Then
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    public void execute_StoreFullOfPendingKeys_Throw_ServiceUnavailableException() {
+        // Given
+        store.execute("book/save", CLIENT, "key-1", "book", CompletableFuture::new);
+        store.execute("book/save", CLIENT, "key-2", "book", CompletableFuture::new);
+
+        // When, Then
+        assertThatThrownBy(() -> store.execute("book/save", CLIENT, "key-3", "book", () -> created("saved")))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    public void execute_ExpiredKey_Return_NewExecution() throws Exception {
+        // Given
+        IdempotencyStore expiring = new IdempotencyStore(Duration.ZERO, 2, new SimpleMeterRegistry());
+        expiring.execute("book/save", CLIENT, "key-1", "book", () -> created("saved")).get();
+        Thread.sleep(1);
+
+        // When
+        expiring.execute("book/save", CLIENT, "key-1", "book", () -> created("saved again")).get();
+
+        // Then
+        assertThat(executions).hasValue(2);
+    }
+
+    private CompletableFuture<ResponseEntity<String>> created(String body) {
+        executions.incrementAndGet();
+
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CREATED).body(body));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.AuthorDeletedEvent;
+import com.alivro.spring.crud.event.AuthorSavedEvent;
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.repository.AuthorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthorNameIndexTest {
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @InjectMocks
+    private AuthorNameIndex authorNameIndex;
+
+    @BeforeEach
+    public void setup() {
+        authorNameIndex.onAuthorSaved(new AuthorSavedEvent(Author.builder()
+                .id(2L)
+                .firstName("Herbert")
+                .middleName("George")
+                .lastName("Wells")
+                .pseudonym("H. G. Wells")
+                .build()));
+
+        authorNameIndex.onAuthorSaved(new AuthorSavedEvent(Author.builder()
+                .id(4L)
+                .firstName("Charles")
+                .middleName("Lutwidge")
+                .lastName("Dodgson")
+                .pseudonym("Lewis Carroll")
+                .build()));
+
+        authorNameIndex.onAuthorSaved(new AuthorSavedEvent(Author.builder()
+                .id(13L)
+                .firstName("Gabriel")
+                .middleName("José")
+                .lastName("García Márquez")
+                .pseudonym("Gabo")
+                .build()));
+    }
+
+    @Test
+    public void search_PunctuationVariant_Return_Author() {
+        assertThat(authorNameIndex.search("H.G. Wells")).containsExactly(2L);
+        assertThat(authorNameIndex.search("hg wells")).containsExactly(2L);
+        assertThat(authorNameIndex.search("Herbert Wells")).containsExactly(2L);
+    }
+
+    @Test
+    public void search_AccentVariant_Return_Author() {
+        assertThat(authorNameIndex.search("garcia marquez")).containsExactly(13L);
+        assertThat(authorNameIndex.search("JOSÉ")).containsExactly(13L);
+    }
+
+    @Test
+    public void search_PhoneticVariant_Return_Author() {
+        assertThat(authorNameIndex.search("Dodgeson")).containsExactly(4L);
+        assertThat(authorNameIndex.search("Lewis Caroll")).containsExactly(4L);
+    }
+
+    @Test
+    public void search_UnknownName_Return_EmptyList() {
+        assertThat(authorNameIndex.search("Verne")).isEmpty();
+    }
+
+    @Test
+    public void search_UpdatedAuthor_Return_NewNameOnly() {
+        // Given
+        authorNameIndex.onAuthorSaved(new AuthorSavedEvent(Author.builder()
+                .id(4L)
+                .firstName("Charles")
+                .lastName("Dodgson")
+                .pseudonym("C. L. Dodgson")
+                .build()));
+
+        // Then
+        assertThat(authorNameIndex.search("Lewis Carroll")).isEmpty();
+        assertThat(authorNameIndex.search("CL Dodgson")).containsExactly(4L);
+        assertThat(authorNameIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void search_DeletedAuthor_Return_EmptyList() {
+        // Given
+        authorNameIndex.onAuthorDeleted(new AuthorDeletedEvent(2L));
+
+        // Then
+        assertThat(authorNameIndex.search("H. G. Wells")).isEqualTo(List.of());
+        assertThat(authorNameIndex.size()).isEqualTo(2);
+    }
+}
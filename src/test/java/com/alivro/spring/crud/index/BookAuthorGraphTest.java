@@ -0,0 +1,171 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.AuthorDeletedEvent;
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.BookRepository;
+import com.alivro.spring.crud.repository.projection.BookAuthorLink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class BookAuthorGraphTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookAuthorGraph bookAuthorGraph;
+
+    @Test
+    public void relatedBooks_LoadedLinks_Return_BooksSharingMostAuthorsFirst() {
+        // Given
+        given(bookRepository.findAllBookAuthorLinks(any(Pageable.class))).willReturn(new SliceImpl<>(List.of(
+                link(1L, 1L), link(1L, 2L),
+                link(2L, 1L),
+                link(3L, 1L), link(3L, 2L),
+                link(4L, 3L)
+        )));
+        bookAuthorGraph.load();
+
+        // When
+        List<BookAuthorGraph.Neighbour> related = bookAuthorGraph.relatedBooks(1L);
+
+        // Then
+        assertThat(related).containsExactly(
+                new BookAuthorGraph.Neighbour(3L, 2),
+                new BookAuthorGraph.Neighbour(2L, 1)
+        );
+        assertThat(bookAuthorGraph.relatedBooks(4L)).isEmpty();
+    }
+
+    @Test
+    public void coauthors_SavedAndUpdatedBooks_Return_CurrentCoauthors() {
+        // Given
+        save(1L, 1L, 2L);
+        save(2L, 1L, 3L);
+        save(3L, 1L, 2L);
+        save(2L, 1L);
+
+        // When
+        List<BookAuthorGraph.Neighbour> coauthors = bookAuthorGraph.coauthors(1L);
+
+        // Then
+        assertThat(coauthors).containsExactly(new BookAuthorGraph.Neighbour(2L, 2));
+        assertThat(bookAuthorGraph.booksOfAuthor(3L)).isEmpty();
+        assertThat(bookAuthorGraph.booksOfAuthor(1L)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void coauthors_DeletedBookAndAuthor_Return_RemainingCoauthors() {
+        // Given
+        save(1L, 1L, 2L, 3L);
+        save(2L, 1L, 3L);
+        bookAuthorGraph.onBookDeleted(new BookDeletedEvent(2L));
+        bookAuthorGraph.onAuthorDeleted(new AuthorDeletedEvent(2L));
+
+        // When
+        List<BookAuthorGraph.Neighbour> coauthors = bookAuthorGraph.coauthors(1L);
+
+        // Then
+        assertThat(coauthors).containsExactly(new BookAuthorGraph.Neighbour(3L, 1));
+        assertThat(bookAuthorGraph.authorsOfBook(1L)).containsExactly(1L, 3L);
+        assertThat(bookAuthorGraph.authorsOfBook(2L)).isEmpty();
+    }
+
+    @Test
+    public void relatedBooks_ManyWrites_Return_SameAnswerAfterCompaction() {
+        // Given
+        for (long bookId = 1; bookId <= 1000; bookId++) {
+            save(bookId, bookId % 10, 100 + bookId % 7);
+        }
+
+        // When
+        List<BookAuthorGraph.Neighbour> related = bookAuthorGraph.relatedBooks(1L);
+
+        // Then
+        assertThat(related).hasSize(99 + 142 - 14);
+        assertThat(related.get(0).shared()).isEqualTo(2);
+        assertThat(bookAuthorGraph.booksOfAuthor(1L)).hasSize(100);
+    }
+
+    @Test
+    public void authorsOfBook_LoadedLinksThenWritesAndCompaction_Return_LatestAuthors() {
+        // Given
+        List<BookAuthorLink> links = new ArrayList<>();
+
+        for (long bookId = 2; bookId <= 2000; bookId += 2) {
+            links.add(link(bookId, bookId % 5));
+        }
+
+        given(bookRepository.findAllBookAuthorLinks(any(Pageable.class))).willReturn(new SliceImpl<>(links));
+        bookAuthorGraph.load();
+
+        // Libros nuevos entre los cargados y cambios de autor en cargados, más de los que caben sin compactar
+        for (long bookId = 1; bookId <= 600; bookId++) {
+            save(bookId, 10L + bookId % 3);
+        }
+
+        // When
+        long[] authorsOfNewBook = bookAuthorGraph.authorsOfBook(301L);
+        long[] authorsOfUpdatedBook = bookAuthorGraph.authorsOfBook(300L);
+        long[] authorsOfLoadedBook = bookAuthorGraph.authorsOfBook(1998L);
+
+        // Then
+        assertThat(authorsOfNewBook).containsExactly(11L);
+        assertThat(authorsOfUpdatedBook).containsExactly(10L);
+        assertThat(authorsOfLoadedBook).containsExactly(3L);
+        assertThat(bookAuthorGraph.booksOfAuthor(10L)).hasSize(200);
+        assertThat(bookAuthorGraph.booksOfAuthor(3L)).hasSize(140).doesNotContain(8L).contains(608L);
+    }
+
+    @Test
+    public void authorsOfBook_ModifiedResult_Return_GraphUnchanged() {
+        // Given
+        save(1L, 1L, 2L);
+        long[] authorIds = bookAuthorGraph.authorsOfBook(1L);
+
+        // When
+        authorIds[0] = 99L;
+
+        // Then
+        assertThat(bookAuthorGraph.authorsOfBook(1L)).containsExactly(1L, 2L);
+    }
+
+    private void save(long bookId, Long... authorIds) {
+        Book book = Book.builder()
+                .id(bookId)
+                .authors(Arrays.stream(authorIds).map(id -> Author.builder().id(id).build()).toList())
+                .build();
+
+        bookAuthorGraph.onBookSaved(new BookSavedEvent(book));
+    }
+
+    private static BookAuthorLink link(long bookId, long authorId) {
+        return new BookAuthorLink() {
+            @Override
+            public Long getBookId() {
+                return bookId;
+            }
+
+            @Override
+            public Long getAuthorId() {
+                return authorId;
+            }
+        };
+    }
+}
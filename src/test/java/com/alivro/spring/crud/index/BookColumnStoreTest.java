@@ -0,0 +1,119 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class BookColumnStoreTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookColumnStore bookColumnStore;
+
+    @Test
+    public void pagesByPublisher_Books_Return_StatsPerPublisher() {
+        // Given
+        save(1L, 384, "Berkley", "2003-05-06");
+        save(2L, 128, "Berkley", "2003-05-06");
+        save(7L, 64, "Penguin", "2023-02-02");
+
+        // When
+        List<BookColumnStore.GroupStats> stats = bookColumnStore.pagesByPublisher();
+
+        // Then
+        assertThat(stats).containsExactly(
+                new BookColumnStore.GroupStats(new BookColumnStore.GroupKey("Berkley", null, null), 2, 512, 128, 384),
+                new BookColumnStore.GroupStats(new BookColumnStore.GroupKey("Penguin", null, null), 1, 64, 64, 64)
+        );
+    }
+
+    @Test
+    public void pagesByPublisherAndDecade_Books_Return_StatsPerPublisherAndDecade() {
+        // Given
+        save(1L, 384, "Berkley", "2003-05-06");
+        save(2L, 128, "Berkley", "1999-05-06");
+        save(3L, 200, "Berkley", "1990-01-01");
+        save(7L, 64, "Penguin", "2023-02-02");
+
+        // When
+        List<BookColumnStore.GroupStats> stats = bookColumnStore.pagesByPublisherAndDecade();
+
+        // Then
+        assertThat(stats).extracting(BookColumnStore.GroupStats::key).containsExactly(
+                new BookColumnStore.GroupKey("Berkley", 1990, null),
+                new BookColumnStore.GroupKey("Berkley", 2000, null),
+                new BookColumnStore.GroupKey("Penguin", 2020, null)
+        );
+        assertThat(stats.get(0).books()).isEqualTo(2);
+        assertThat(stats.get(0).totalPages()).isEqualTo(328);
+    }
+
+    @Test
+    public void pagesByYear_UpdatedAndDeletedBooks_Return_CurrentStats() {
+        // Given
+        save(1L, 384, "Berkley", "2003-05-06");
+        save(2L, 128, "Berkley", "2003-05-06");
+        save(2L, 150, "Berkley", "2004-05-06");
+        save(3L, 200, "Signet", "2004-09-04");
+        bookColumnStore.onBookDeleted(new BookDeletedEvent(1L));
+
+        // When
+        List<BookColumnStore.GroupStats> stats = bookColumnStore.pagesByYear();
+
+        // Then
+        assertThat(stats).containsExactly(
+                new BookColumnStore.GroupStats(new BookColumnStore.GroupKey(null, null, 2004), 2, 350, 150, 200)
+        );
+        assertThat(bookColumnStore.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void pagesByPublisher_ManyBooks_Return_SameStatsAsSequentialSum() {
+        // Given
+        int books = 300_000;
+        long expectedPages = 0;
+
+        for (int i = 1; i <= books; i++) {
+            int pages = 50 + i % 1000;
+            expectedPages += pages;
+            save(i, pages, "Publisher " + (i % 3), "2000-01-01");
+        }
+
+        // When
+        List<BookColumnStore.GroupStats> stats = bookColumnStore.pagesByPublisher();
+
+        // Then
+        assertThat(stats).hasSize(3);
+        assertThat(stats.stream().mapToLong(BookColumnStore.GroupStats::books).sum()).isEqualTo(books);
+        assertThat(stats.stream().mapToLong(BookColumnStore.GroupStats::totalPages).sum()).isEqualTo(expectedPages);
+    }
+
+    @Test
+    public void yearOf_EpochDays_Return_SameYearAsLocalDate() {
+        for (int day = -800_000; day <= 800_000; day += 97) {
+            assertThat(BookColumnStore.yearOf(day)).isEqualTo(LocalDate.ofEpochDay(day).getYear());
+        }
+    }
+
+    private void save(long id, int totalPages, String publisher, String publishedDate) {
+        bookColumnStore.onBookSaved(new BookSavedEvent(Book.builder()
+                .id(id)
+                .totalPages(totalPages)
+                .publisher(publisher)
+                .publishedDate(LocalDate.parse(publishedDate))
+                .build()));
+    }
+}
@@ -0,0 +1,177 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.model.book.request.BookFacetRequestDto;
+import com.alivro.spring.crud.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@ExtendWith(MockitoExtension.class)
+public class BookFacetIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookFacetIndex bookFacetIndex;
+
+    @BeforeEach
+    public void setup() {
+        save(1L, 384, "Berkley", "2003-05-06");
+        save(2L, 128, "Berkley", "2003-05-06");
+        save(4L, 128, "Penguin Classics", "2005-05-31");
+        save(7L, 64, "Penguin", "2023-02-02");
+        save(8L, 80, "Penguin", "2024-02-08");
+        save(10L, 1596, "Prentice Hall", "2006-12-18");
+    }
+
+    @Test
+    public void query_NoFilters_Return_AllBooksAndFacets() {
+        // When
+        FacetQueryResult result = bookFacetIndex.query(new BookFacetRequestDto(), 0, 4);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(6);
+        assertThat(result.getPageIds()).containsExactly(1L, 2L, 4L, 7L);
+
+        Map<String, Integer> publishers = result.getFacets().get(BookFacetIndex.PUBLISHER_FACET);
+        assertThat(publishers).containsEntry("Berkley", 2).containsEntry("Penguin", 2);
+
+        Map<String, Integer> pages = result.getFacets().get(BookFacetIndex.PAGES_FACET);
+        assertThat(pages).containsEntry("1-99", 2)
+                .containsEntry("100-199", 2)
+                .containsEntry("300-499", 1)
+                .containsEntry("1000+", 1)
+                .containsEntry("500-999", 0);
+    }
+
+    @Test
+    public void query_OrWithinFacetAndAcrossFacets_Return_MatchingBooks() {
+        // Given
+        BookFacetRequestDto filter = BookFacetRequestDto.builder()
+                .publisher(List.of("Berkley", "Penguin Classics"))
+                .pages(List.of("100-199"))
+                .build();
+
+        // When
+        FacetQueryResult result = bookFacetIndex.query(filter, 0, 5);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getPageIds()).containsExactly(2L, 4L);
+        assertThat(result.getFacets().get(BookFacetIndex.YEAR_FACET))
+                .isEqualTo(Map.of("2003", 1, "2005", 1));
+    }
+
+    @Test
+    public void query_SecondPage_Return_RemainingBooks() {
+        // When
+        FacetQueryResult result = bookFacetIndex.query(new BookFacetRequestDto(), 4, 4);
+
+        // Then
+        assertThat(result.getPageIds()).containsExactly(8L, 10L);
+    }
+
+    @Test
+    public void query_UnknownValue_Return_EmptyResult() {
+        // Given
+        BookFacetRequestDto filter = BookFacetRequestDto.builder()
+                .publisher(List.of("Signet"))
+                .build();
+
+        // When
+        FacetQueryResult result = bookFacetIndex.query(filter, 0, 5);
+
+        // Then
+        assertThat(result.getTotalElements()).isZero();
+        assertThat(result.getPageIds()).isEmpty();
+        assertThat(result.getFacets().get(BookFacetIndex.PUBLISHER_FACET)).isEmpty();
+    }
+
+    @Test
+    public void query_UpdatedAndDeletedBooks_Return_CurrentFacets() {
+        // Given
+        save(2L, 128, "Signet", "2003-05-06");
+        bookFacetIndex.onBookDeleted(new BookDeletedEvent(1L));
+
+        // When
+        FacetQueryResult result = bookFacetIndex.query(new BookFacetRequestDto(), 0, 10);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getFacets().get(BookFacetIndex.PUBLISHER_FACET))
+                .doesNotContainKey("Berkley")
+                .containsEntry("Signet", 1);
+        assertThat(bookFacetIndex.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void query_OutOfOrderIds_Return_BooksOrderedById() {
+        // Given
+        save(3L, 208, "Melville House", "2014-07-29");
+
+        // When
+        FacetQueryResult result = bookFacetIndex.query(new BookFacetRequestDto(), 0, 4);
+
+        // Then
+        assertThat(result.getPageIds()).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    public void query_MostBooksDeleted_Return_CompactedIndexWithCurrentBooks() {
+        // Given
+        for (long id = 100; id < 3100; id++) {
+            save(id, 50 + (int) (id % 7) * 100, id % 2 == 0 ? "Ace" : "Tor", "2010-01-01");
+        }
+
+        for (long id = 100; id < 3100; id++) {
+            if (id % 4 != 0) {
+                bookFacetIndex.onBookDeleted(new BookDeletedEvent(id));
+            }
+        }
+
+        save(5000L, 250, "Tor", "2020-01-01");
+
+        // When
+        FacetQueryResult result = bookFacetIndex.query(BookFacetRequestDto.builder()
+                .publisher(List.of("Ace", "Tor"))
+                .build(), 0, 3);
+
+        // Then
+        // A lo más la mitad de los ordinales son de libros eliminados
+        assertThat(bookFacetIndex.ordinals()).isLessThanOrEqualTo(2 * bookFacetIndex.size());
+        assertThat(result.getTotalElements()).isEqualTo(751);
+        assertThat(result.getPageIds()).containsExactly(100L, 104L, 108L);
+        assertThat(result.getFacets().get(BookFacetIndex.PUBLISHER_FACET))
+                .containsOnly(entry("Ace", 750), entry("Tor", 1));
+        assertThat(result.getFacets().get(BookFacetIndex.YEAR_FACET))
+                .containsEntry("2010", 750)
+                .containsEntry("2020", 1);
+        // Los 6 libros iniciales van antes que los del ciclo
+        assertThat(bookFacetIndex.query(new BookFacetRequestDto(), 754, 10).getPageIds())
+                .containsExactly(3092L, 3096L, 5000L);
+    }
+
+    private void save(long id, int totalPages, String publisher, String publishedDate) {
+        bookFacetIndex.onBookSaved(new BookSavedEvent(Book.builder()
+                .id(id)
+                .title("Book " + id)
+                .totalPages(totalPages)
+                .publisher(publisher)
+                .publishedDate(LocalDate.parse(publishedDate))
+                .isbn13("978000000000" + id)
+                .build()));
+    }
+}
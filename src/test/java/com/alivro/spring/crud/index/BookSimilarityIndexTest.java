@@ -0,0 +1,160 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.AuthorSavedEvent;
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.AuthorRepository;
+import com.alivro.spring.crud.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSimilarityIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @InjectMocks
+    private BookSimilarityIndex bookSimilarityIndex;
+
+    private final Map<String, Long> authorIds = new HashMap<>();
+
+    @AfterEach
+    public void shutdown() {
+        bookSimilarityIndex.shutdown();
+    }
+
+    @Test
+    public void nearDuplicates_SimilarTitles_Return_Duplicates() throws Exception {
+        // Given
+        save(1L, "The Shining", null, "Stephen King");
+        save(2L, "The Shining:", "A Novel", "Stephen King");
+        save(3L, "Shining, The", null, "Stephen King");
+        save(4L, "The Austere Academy", "A Series of Unfortunate Events", "Lemony Snicket");
+        bookSimilarityIndex.awaitPending();
+
+        // When
+        List<BookSimilarityIndex.Similar> similar = bookSimilarityIndex.nearDuplicates(1L);
+
+        // Then
+        assertThat(similar).extracting(BookSimilarityIndex.Similar::id).contains(3L).doesNotContain(1L, 4L);
+        assertThat(similar).allMatch(book -> book.similarity() >= BookSimilarityIndex.THRESHOLD);
+        assertThat(bookSimilarityIndex.nearDuplicates(4L)).isEmpty();
+    }
+
+    @Test
+    public void duplicateGroups_SavedAndDeletedBooks_Return_CurrentGroups() throws Exception {
+        // Given
+        save(1L, "Animal Farm", null, "George Orwell");
+        save(2L, "Animal  Farm.", null, "George Orwell");
+        save(3L, "Brave New World", null, "Aldous Huxley");
+        save(4L, "Brave New World", null, "Aldous Huxley");
+        save(5L, "Alice's Adventures in Wonderland", null, "Lewis Carroll");
+        bookSimilarityIndex.onBookDeleted(new BookDeletedEvent(4L));
+        bookSimilarityIndex.awaitPending();
+
+        // When
+        List<BookSimilarityIndex.Group> groups = bookSimilarityIndex.duplicateGroups();
+
+        // Then
+        assertThat(groups).containsExactly(new BookSimilarityIndex.Group(List.of(1L, 2L), false));
+        assertThat(bookSimilarityIndex.contains(4L)).isFalse();
+    }
+
+    @Test
+    public void duplicateGroups_OversizedBucket_Return_TruncatedGroup() throws Exception {
+        // Given
+        save(1L, "Animal Farm", null, "George Orwell");
+        save(2L, "Animal  Farm.", null, "George Orwell");
+
+        // Más libros idénticos que MAX_BUCKET_SIZE: comparten todas sus cubetas
+        for (long id = 1000; id < 1101; id++) {
+            save(id, "Untitled", null, "Anonymous");
+        }
+
+        bookSimilarityIndex.awaitPending();
+
+        // When
+        List<BookSimilarityIndex.Group> groups = bookSimilarityIndex.duplicateGroups();
+
+        // Then
+        assertThat(groups).hasSize(2);
+        assertThat(groups.get(0)).isEqualTo(new BookSimilarityIndex.Group(List.of(1L, 2L), false));
+        assertThat(groups.get(1).bookIds()).hasSize(101).startsWith(1000L).endsWith(1100L);
+        assertThat(groups.get(1).truncated()).isTrue();
+    }
+
+    @Test
+    public void nearDuplicates_UpdatedPseudonym_Return_Recomputed() throws Exception {
+        // Given
+        save(1L, "Carrie", null, "Stephen King");
+        save(2L, "Carrie", null, "Richard Bachman");
+        bookSimilarityIndex.onAuthorSaved(new AuthorSavedEvent(
+                Author.builder().id(authorIds.get("Richard Bachman")).pseudonym("Stephen King").build()));
+        bookSimilarityIndex.awaitPending();
+
+        // When
+        List<BookSimilarityIndex.Similar> similar = bookSimilarityIndex.nearDuplicates(1L);
+
+        // Then
+        assertThat(similar).containsExactly(new BookSimilarityIndex.Similar(2L, 1.0));
+    }
+
+    @Test
+    public void nearDuplicates_PseudonymSentWithBook_Return_PseudonymOfAuthorEvent() throws Exception {
+        // Given
+        save(1L, "Misery", null, "Stephen King");
+        saveAuthor("Richard Bachman");
+        // El cliente envía otro pseudónimo junto al ID del autor; el índice no debe usarlo
+        bookSimilarityIndex.onBookSaved(new BookSavedEvent(Book.builder()
+                .id(2L)
+                .title("Misery")
+                .authors(List.of(Author.builder().id(authorIds.get("Richard Bachman")).pseudonym("Stephen King").build()))
+                .build()));
+        save(3L, "Misery", null, "Richard Bachman");
+        bookSimilarityIndex.awaitPending();
+
+        // When
+        List<BookSimilarityIndex.Similar> similar = bookSimilarityIndex.nearDuplicates(2L);
+
+        // Then
+        assertThat(similar).contains(new BookSimilarityIndex.Similar(3L, 1.0))
+                .doesNotContain(new BookSimilarityIndex.Similar(1L, 1.0));
+    }
+
+    private void save(long id, String title, String subtitle, String pseudonym) {
+        Book book = Book.builder()
+                .id(id)
+                .title(title)
+                .subtitle(subtitle)
+                .authors(List.of(Author.builder().id(saveAuthor(pseudonym)).pseudonym(pseudonym).build()))
+                .build();
+
+        bookSimilarityIndex.onBookSaved(new BookSavedEvent(book));
+    }
+
+    private long saveAuthor(String pseudonym) {
+        // Un autor por pseudónimo, guardado antes que sus libros como en la aplicación
+        return authorIds.computeIfAbsent(pseudonym, key -> {
+            long authorId = authorIds.size() + 1L;
+            bookSimilarityIndex.onAuthorSaved(new AuthorSavedEvent(
+                    Author.builder().id(authorId).pseudonym(pseudonym).build()));
+
+            return authorId;
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.alivro.spring.crud.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedRankingTest {
+    private final BoundedRanking<long[]> ranking = new BoundedRanking<>(2, 1,
+            Comparator.<long[]>comparingLong(entry -> entry[1]).reversed().thenComparingLong(entry -> entry[0]),
+            entry -> entry[0]);
+
+    @Test
+    public void offer_MoreEntriesThanSize_Return_BestEntries() {
+        // Given
+        ranking.offer(new long[]{1L, 100L});
+        ranking.offer(new long[]{2L, 300L});
+        ranking.offer(new long[]{3L, 200L});
+
+        // When
+        List<long[]> top = ranking.top();
+
+        // Then
+        assertThat(top).extracting(entry -> entry[0]).containsExactly(2L, 3L);
+        assertThat(ranking.needsRefill()).isFalse();
+    }
+
+    @Test
+    public void offer_UpdatedEntry_Return_NewPosition() {
+        // Given
+        ranking.offer(new long[]{1L, 100L});
+        ranking.offer(new long[]{2L, 300L});
+        ranking.offer(new long[]{1L, 400L});
+
+        // When
+        List<long[]> top = ranking.top();
+
+        // Then
+        assertThat(top).extracting(entry -> entry[0]).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void remove_TruncatedRanking_Return_NeedsRefill() {
+        // Given
+        ranking.offer(new long[]{1L, 100L});
+        ranking.offer(new long[]{2L, 300L});
+        ranking.offer(new long[]{3L, 200L});
+        ranking.offer(new long[]{4L, 400L});
+
+        // When
+        ranking.remove(4L);
+        boolean beforeSecondRemoval = ranking.needsRefill();
+        ranking.remove(2L);
+
+        // Then
+        assertThat(beforeSecondRemoval).isFalse();
+        assertThat(ranking.needsRefill()).isTrue();
+        assertThat(ranking.top()).extracting(entry -> entry[0]).containsExactly(3L);
+    }
+
+    @Test
+    public void offer_TruncatedRankingWorseEntry_Return_Discarded() {
+        // Given
+        ranking.reset(List.of(new long[]{2L, 300L}, new long[]{3L, 200L}, new long[]{1L, 150L}), true);
+
+        // When
+        ranking.offer(new long[]{5L, 50L});
+        ranking.remove(2L);
+        ranking.remove(3L);
+
+        // Then
+        assertThat(ranking.top()).extracting(entry -> entry[0]).containsExactly(1L);
+        assertThat(ranking.needsRefill()).isTrue();
+    }
+}
@@ -0,0 +1,94 @@
+package com.alivro.spring.crud.index;
+
+import com.alivro.spring.crud.event.AuthorSavedEvent;
+import com.alivro.spring.crud.event.BookDeletedEvent;
+import com.alivro.spring.crud.event.BookSavedEvent;
+import com.alivro.spring.crud.model.Author;
+import com.alivro.spring.crud.model.Book;
+import com.alivro.spring.crud.repository.AuthorRepository;
+import com.alivro.spring.crud.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardsTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @InjectMocks
+    private Leaderboards leaderboards;
+
+    @Test
+    public void longestBooks_SavedBooks_Return_MostPagesFirst() {
+        // Given
+        save(1L, 384, "2003-05-06");
+        save(2L, 128, "2023-02-02");
+        save(3L, 384, "1999-05-06");
+
+        // When
+        List<Leaderboards.RankedBook> books = leaderboards.longestBooks();
+
+        // Then
+        assertThat(books).extracting(Leaderboards.RankedBook::id).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    public void newestBooks_UpdatedAndDeletedBooks_Return_CurrentRanking() {
+        // Given
+        save(1L, 384, "2003-05-06");
+        save(2L, 128, "2023-02-02");
+        save(3L, 200, "1999-05-06");
+        save(3L, 200, "2024-01-01");
+        leaderboards.onBookDeleted(new BookDeletedEvent(2L));
+
+        // When
+        List<Leaderboards.RankedBook> books = leaderboards.newestBooks();
+
+        // Then
+        assertThat(books).extracting(Leaderboards.RankedBook::id).containsExactly(3L, 1L);
+    }
+
+    @Test
+    public void prolificAuthors_BooksWithAuthors_Return_MostBooksFirst() {
+        // Given
+        leaderboards.onAuthorSaved(new AuthorSavedEvent(Author.builder().id(1L).pseudonym("Stephen King").build()));
+        leaderboards.onAuthorSaved(new AuthorSavedEvent(Author.builder().id(2L).pseudonym("Peter Straub").build()));
+        save(1L, 384, "2003-05-06", 1L, 2L);
+        save(2L, 128, "2023-02-02", 1L);
+        save(3L, 200, "1999-05-06", 2L);
+        save(3L, 200, "1999-05-06", 1L);
+
+        // When
+        List<Leaderboards.RankedAuthor> authors = leaderboards.prolificAuthors();
+
+        // Then
+        assertThat(authors).containsExactly(
+                new Leaderboards.RankedAuthor(1L, "Stephen King", 3),
+                new Leaderboards.RankedAuthor(2L, "Peter Straub", 1)
+        );
+    }
+
+    private void save(long id, int totalPages, String publishedDate, Long... authorIds) {
+        Book book = Book.builder()
+                .id(id)
+                .title("Book " + id)
+                .totalPages(totalPages)
+                .publishedDate(LocalDate.parse(publishedDate))
+                .authors(Arrays.stream(authorIds).map(authorId -> Author.builder().id(authorId).build()).toList())
+                .build();
+
+        leaderboards.onBookSaved(new BookSavedEvent(book));
+    }
+}
@@ -0,0 +1,156 @@
+package com.alivro.spring.crud.limiter;
+
+import com.alivro.spring.crud.deadline.RequestDeadline;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimitFilterTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        // Límite fijo de 4: los listados ocupan hasta 2 lugares, las búsquedas por ID los 4
+        filter = new ConcurrencyLimitFilter(4, 4, 4, 0.2, 600, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    public void doFilter_ListingsOverShare_Return_ServiceUnavailable() throws Exception {
+        // Given
+        startAsync("/api/v1/book/findAll");
+        startAsync("/api/v1/author/findAll");
+
+        // When
+        MockHttpServletResponse response = perform("/api/v1/book/findAll");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("Server is overloaded, try again later!");
+        assertThat(meterRegistry.get("app.concurrency.rejected").tag("priority", "sheddable").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void doFilter_FindByIdWithListingsInFlight_Return_Ok() throws Exception {
+        // Given
+        startAsync("/api/v1/book/findAll");
+        startAsync("/api/v1/author/findAll");
+        startAsync("/api/v1/book/1/related");
+
+        // When
+        MockHttpServletResponse response = perform("/api/v1/book/find/1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("app.concurrency.inflight").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("app.concurrency.limit").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    public void doFilter_AsyncDispatch_Return_ReleasedPermit() throws Exception {
+        // Given
+        MockHttpServletRequest request = startAsync("/api/v1/book/findAll");
+
+        // When
+        request.setDispatcherType(DispatcherType.ASYNC);
+        request.setAsyncStarted(false);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        // Then
+        assertThat(meterRegistry.get("app.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    public void doFilter_AdminPath_Return_NotLimited() throws Exception {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            startAsync("/api/v1/book/find/" + i);
+        }
+
+        // When
+        MockHttpServletResponse response = perform("/api/v1/admin/timings");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void doFilter_ClientDeadlineExceededBurst_Return_LimitUnchanged() throws Exception {
+        // Given
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter adaptive = new ConcurrencyLimitFilter(20, 4, 200, 0.2, 600, new ObjectMapper(), registry);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            adaptive.doFilter(new MockHttpServletRequest("GET", "/api/v1/book/find/1"), new MockHttpServletResponse(),
+                    (req, res) -> {
+                        // GlobalExceptionHandler responde 504 a un plazo de X-Request-Timeout agotado
+                        req.setAttribute(RequestDeadline.EXCEEDED_ATTRIBUTE, Boolean.TRUE);
+                        ((HttpServletResponse) res).setStatus(504);
+                    });
+        }
+
+        // Then
+        assertThat(registry.get("app.concurrency.limit").gauge().value()).isEqualTo(20);
+        assertThat(registry.get("app.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    public void doFilter_ServerGatewayTimeout_Return_LowerLimit() throws Exception {
+        // Given
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter adaptive = new ConcurrencyLimitFilter(20, 4, 200, 0.2, 600, new ObjectMapper(), registry);
+
+        // When
+        adaptive.doFilter(new MockHttpServletRequest("GET", "/api/v1/book/save"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(504));
+
+        // Then
+        assertThat(registry.get("app.concurrency.limit").gauge().value()).isEqualTo(18);
+    }
+
+    private MockHttpServletResponse perform(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, (req, res) -> {
+        });
+
+        return response;
+    }
+
+    // Simula una solicitud asíncrona que sigue en curso tras el despacho inicial
+    private MockHttpServletRequest startAsync(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(req);
+            asyncManager.setAsyncWebRequest(
+                    new StandardServletAsyncWebRequest((HttpServletRequest) req, (HttpServletResponse) res));
+
+            try {
+                asyncManager.startDeferredResultProcessing(new DeferredResult<>());
+            } catch (Exception e) {
+                throw new ServletException(e);
+            }
+        });
+
+        return request;
+    }
+}
@@ -0,0 +1,108 @@
+package com.alivro.spring.crud.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GradientConcurrencyLimitTest {
+    private static final long RTT = 10_000_000;
+
+    @Test
+    public void release_StableLatencyAtLimit_Return_HigherLimit() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100, 0.2, 600);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            saturate(limit, RTT);
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isGreaterThan(10);
+        assertThat(limit.getInflight()).isZero();
+    }
+
+    @Test
+    public void release_RisingLatency_Return_LowerLimit() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 1, 100, 0.2, 600);
+
+        for (int i = 0; i < 5; i++) {
+            saturate(limit, RTT);
+        }
+
+        double before = limit.getLimit();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            saturate(limit, 10 * RTT);
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    public void release_FewRequestsInFlight_Return_SameLimit() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 1, 100, 0.2, 600);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(RTT, false);
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    public void release_Dropped_Return_LowerLimitNotBelowMin() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 8, 100, 0.2, 600);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(RTT, true);
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    public void tryAcquire_Share_Return_FalseAboveShareOfLimit() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(4, 1, 100, 0.2, 600);
+
+        // When
+        boolean first = limit.tryAcquire(0.5);
+        boolean second = limit.tryAcquire(0.5);
+        boolean third = limit.tryAcquire(0.5);
+        boolean critical = limit.tryAcquire(1.0);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(critical).isTrue();
+        assertThat(limit.getInflight()).isEqualTo(3);
+    }
+
+    // Ocupa todo el límite y libera una solicitud con la latencia indicada
+    private static void saturate(GradientConcurrencyLimit limit, long rttNanos) {
+        int acquired = 0;
+
+        while (limit.tryAcquire(1.0)) {
+            acquired++;
+        }
+
+        limit.release(rttNanos, false);
+
+        for (int i = 1; i < acquired; i++) {
+            limit.release(rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.alivro.spring.crud.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        // 20 fichas por cliente que se recuperan a 1 por segundo
+        filter = new RateLimitFilter(20, 1, 1024, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    public void doFilter_PointRead_Return_RateLimitHeaders() throws Exception {
+        // When
+        MockHttpServletResponse response = perform(new MockHttpServletRequest("GET", "/api/v1/book/find/1"));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("20");
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("19");
+        assertThat(response.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    public void doFilter_LargePagesOverBudget_Return_TooManyRequests() throws Exception {
+        // Given
+        perform(findAll(100));
+
+        // When
+        MockHttpServletResponse response = perform(findAll(100));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("9");
+        assertThat(response.getContentAsString()).contains("Too many requests, try again later!");
+        assertThat(meterRegistry.get("app.ratelimit.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void doFilter_OtherApiKey_Return_Ok() throws Exception {
+        // Given
+        MockHttpServletRequest first = findAll(100);
+        first.addHeader(RateLimitFilter.API_KEY_HEADER, "first");
+        perform(first);
+
+        MockHttpServletRequest second = findAll(100);
+        second.addHeader(RateLimitFilter.API_KEY_HEADER, "second");
+
+        // When
+        MockHttpServletResponse response = perform(second);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void cost_Endpoints_Return_CostByPageSizeAndMethod() {
+        // Then
+        assertThat(RateLimitFilter.cost(new MockHttpServletRequest("GET", "/api/v1/book/find/1"))).isEqualTo(1);
+        assertThat(RateLimitFilter.cost(findAll(100))).isEqualTo(11);
+        assertThat(RateLimitFilter.cost(new MockHttpServletRequest("GET", "/api/v1/author/findAll"))).isEqualTo(1);
+        assertThat(RateLimitFilter.cost(new MockHttpServletRequest("POST", "/api/v1/book/save"))).isEqualTo(2);
+        assertThat(RateLimitFilter.cost(new MockHttpServletRequest("GET", "/api/v1/book/duplicates"))).isEqualTo(20);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+        });
+
+        return response;
+    }
+
+    private static MockHttpServletRequest findAll(int size) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/book/findAll");
+        request.setParameter("size", String.valueOf(size));
+
+        return request;
+    }
+}
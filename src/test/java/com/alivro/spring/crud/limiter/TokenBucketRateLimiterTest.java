@@ -0,0 +1,90 @@
+package com.alivro.spring.crud.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketRateLimiterTest {
+    @Test
+    public void tryAcquire_WithinCapacity_Return_AllowedWithRemaining() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 16);
+
+        // When
+        TokenBucketRateLimiter.Decision decision = limiter.tryAcquire("ip:10.0.0.1", 3);
+
+        // Then
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).isEqualTo(7);
+        assertThat(decision.waitNanos()).isZero();
+    }
+
+    @Test
+    public void tryAcquire_OverCapacity_Return_RejectedWithWait() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 16);
+        limiter.tryAcquire("ip:10.0.0.1", 8);
+
+        // When
+        TokenBucketRateLimiter.Decision decision = limiter.tryAcquire("ip:10.0.0.1", 5);
+
+        // Then
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.remaining()).isLessThanOrEqualTo(2);
+        assertThat(decision.waitNanos()).isGreaterThan(TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void tryAcquire_OtherClient_Return_SeparateBucket() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 1024);
+        limiter.tryAcquire("key:first", 10);
+
+        // When
+        TokenBucketRateLimiter.Decision first = limiter.tryAcquire("key:first", 1);
+        TokenBucketRateLimiter.Decision second = limiter.tryAcquire("key:second", 1);
+
+        // Then
+        assertThat(first.allowed()).isFalse();
+        assertThat(second.allowed()).isTrue();
+    }
+
+    @Test
+    public void tryAcquire_ConcurrentClients_Return_NoMoreThanCapacity() throws Exception {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, 1, 16);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                for (int j = 0; j < 500; j++) {
+                    if (limiter.tryAcquire("ip:10.0.0.1", 1).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(allowed.get()).isBetween(1000, 1010);
+    }
+}
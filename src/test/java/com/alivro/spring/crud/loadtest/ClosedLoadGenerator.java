@@ -0,0 +1,144 @@
+package com.alivro.spring.crud.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generador de carga de modelo cerrado: un número fijo de clientes concurrentes, cada uno envía
+ * su siguiente solicitud en cuanto recibe la respuesta anterior. Sirve para comparar cuántos
+ * clientes simultáneos soporta la aplicación; la tasa resultante depende del servidor, por lo que
+ * el tiempo de respuesta y el de servicio coinciden. Los clientes no ocupan un hilo mientras
+ * esperan la respuesta, de modo que miles de ellos caben en un solo proceso. Se registran todas
+ * las solicitudes enviadas durante la medición, aunque terminen después: las que agotan el tiempo
+ * máximo o siguen sin respuesta al final cuentan como fallidas, con el tiempo máximo como latencia.
+ */
+public class ClosedLoadGenerator {
+    private final PostmanScenario scenario;
+    private final int clients;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    // Solicitudes medidas que aún no se registran
+    private final Set<Measured> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor
+     *
+     * @param scenario Escenario ponderado
+     * @param clients  Clientes concurrentes
+     * @param timeout  Tiempo máximo de espera de cada respuesta
+     */
+    public ClosedLoadGenerator(PostmanScenario scenario, int clients, Duration timeout) {
+        this.scenario = scenario;
+        this.clients = clients;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+    }
+
+    /**
+     * Método para generar carga
+     *
+     * @param warmup   Duración del calentamiento (las solicitudes se envían pero no se registran)
+     * @param duration Duración de la medición
+     * @param seed     Semilla para elegir las solicitudes
+     * @return Estadísticas por solicitud del escenario
+     */
+    public Map<String, EndpointStats> run(Duration warmup, Duration duration, long seed) throws InterruptedException {
+        Random random = new Random(seed);
+        CountDownLatch finished = new CountDownLatch(clients);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        // Los clientes se conectan a lo largo del primer segundo para no desbordar la cola de aceptación
+        long rampNanos = Math.min(TimeUnit.SECONDS.toNanos(1), warmup.toNanos());
+
+        for (int i = 0; i < clients; i++) {
+            long wait = start + rampNanos * i / clients - System.nanoTime();
+
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+
+            send(random, measureFrom, end, finished);
+        }
+
+        if (!finished.await(end - System.nanoTime() + timeout.toNanos() * 2, TimeUnit.NANOSECONDS)) {
+            System.out.println("Clientes sin terminar: " + finished.getCount());
+        }
+
+        // Las que siguen sin respuesta se registran como fallidas con el tiempo máximo
+        long timeoutMicros = timeout.toNanos() / 1000;
+
+        for (Measured measured : pending) {
+            record(measured, timeoutMicros, false);
+        }
+
+        return stats;
+    }
+
+    private void send(Random random, long measureFrom, long end, CountDownLatch finished) {
+        RequestTemplate template = scenario.next(random);
+        String body = scenario.bodyOf(template);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(template.url()))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .method(template.method(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long sentAt = System.nanoTime();
+        Measured measured = sentAt >= measureFrom && sentAt < end ? new Measured(template.endpoint()) : null;
+
+        if (measured != null) {
+            pending.add(measured);
+        }
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long finishedAt = System.nanoTime();
+
+                    if (measured != null) {
+                        record(measured, TimeUnit.NANOSECONDS.toMicros(finishedAt - sentAt),
+                                error == null && response.statusCode() / 100 == 2);
+                    }
+
+                    if (finishedAt < end) {
+                        send(random, measureFrom, end, finished);
+                    } else {
+                        finished.countDown();
+                    }
+                });
+    }
+
+    private void record(Measured measured, long micros, boolean success) {
+        // Cada solicitud se registra una sola vez: al terminar o, si no terminó, al final de la prueba
+        if (pending.remove(measured)) {
+            stats.computeIfAbsent(measured.endpoint, k -> new EndpointStats()).record(micros, micros, success);
+        }
+    }
+
+    /**
+     * Solicitud enviada durante la medición; se compara por identidad
+     */
+    private static final class Measured {
+        private final String endpoint;
+
+        Measured(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.alivro.spring.crud.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y conteos de una solicitud del escenario. Las latencias se registran en
+ * microsegundos: el tiempo de respuesta se mide desde el instante en que la solicitud
+ * debía enviarse (corrige la omisión coordinada) y el tiempo de servicio desde que se envió.
+ */
+public class EndpointStats {
+    // Latencia máxima registrable: 1 minuto
+    private static final long HIGHEST_TRACKABLE_MICROS = 60_000_000L;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Método para registrar una solicitud terminada
+     *
+     * @param responseMicros Tiempo desde el envío programado
+     * @param serviceMicros  Tiempo desde el envío real
+     * @param success        true si la respuesta fue 2xx
+     */
+    public void record(long responseMicros, long serviceMicros, boolean success) {
+        responseTime.recordValue(Math.min(responseMicros, HIGHEST_TRACKABLE_MICROS));
+        serviceTime.recordValue(Math.min(serviceMicros, HIGHEST_TRACKABLE_MICROS));
+
+        if (success) {
+            successes.increment();
+        } else {
+            failures.increment();
+        }
+    }
+
+    public Histogram responseTime() {
+        return responseTime;
+    }
+
+    public Histogram serviceTime() {
+        return serviceTime;
+    }
+
+    public long successes() {
+        return successes.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+}
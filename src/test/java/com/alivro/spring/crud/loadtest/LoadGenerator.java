@@ -0,0 +1,122 @@
+package com.alivro.spring.crud.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de modelo abierto: las solicitudes se programan a una tasa fija,
+ * independiente de cuánto tarde el servidor en responder. Si el generador se retrasa, la
+ * solicitud se envía en cuanto es posible y su latencia se sigue midiendo desde el instante
+ * programado, de modo que las esperas no desaparecen de los percentiles.
+ */
+public class LoadGenerator {
+    private final PostmanScenario scenario;
+    private final double requestsPerSecond;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param scenario          Escenario ponderado
+     * @param requestsPerSecond Tasa de llegada
+     * @param timeout           Tiempo máximo de espera de cada respuesta
+     */
+    public LoadGenerator(PostmanScenario scenario, double requestsPerSecond, Duration timeout) {
+        this.scenario = scenario;
+        this.requestsPerSecond = requestsPerSecond;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+    }
+
+    /**
+     * Método para generar carga
+     *
+     * @param warmup   Duración del calentamiento (las solicitudes se envían pero no se registran)
+     * @param duration Duración de la medición
+     * @param seed     Semilla para elegir las solicitudes (misma semilla, misma secuencia)
+     * @return Estadísticas por solicitud del escenario
+     */
+    public Map<String, EndpointStats> run(Duration warmup, Duration duration, long seed) throws InterruptedException {
+        Random random = new Random(seed);
+        AtomicLong inFlight = new AtomicLong();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * intervalNanos);
+
+            if (intendedStart >= end) {
+                break;
+            }
+
+            long wait = intendedStart - System.nanoTime();
+
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            RequestTemplate template = scenario.next(random);
+            boolean measured = intendedStart >= measureFrom;
+            inFlight.incrementAndGet();
+            send(template, intendedStart, measured, inFlight);
+        }
+
+        // Espera a que terminen las solicitudes pendientes
+        long deadline = System.nanoTime() + timeout.toNanos() * 2;
+
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        if (inFlight.get() > 0) {
+            System.out.println("Solicitudes sin terminar: " + inFlight.get());
+        }
+
+        return stats;
+    }
+
+    private void send(RequestTemplate template, long intendedStart, boolean measured, AtomicLong inFlight) {
+        String body = scenario.bodyOf(template);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(template.url()))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .method(template.method(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long sentAt = System.nanoTime();
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long finishedAt = System.nanoTime();
+
+                    if (measured) {
+                        stats.computeIfAbsent(template.endpoint(), k -> new EndpointStats()).record(
+                                TimeUnit.NANOSECONDS.toMicros(finishedAt - intendedStart),
+                                TimeUnit.NANOSECONDS.toMicros(finishedAt - sentAt),
+                                error == null && response.statusCode() / 100 == 2
+                        );
+                    }
+
+                    inFlight.decrementAndGet();
+                });
+    }
+}
@@ -0,0 +1,143 @@
+package com.alivro.spring.crud.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Ejecuta el escenario de las colecciones de Postman contra la aplicación en ejecución y
+ * escribe, por solicitud, los percentiles de latencia (HdrHistogram) y el rendimiento.
+ * Se ejecuta con el perfil "loadtest" de Maven:
+ * <pre>
+ * mvn -Ploadtest -DskipTests verify -Dloadtest.rate=200 -Dloadtest.duration=60
+ * </pre>
+ * Con loadtest.clients mayor que 0 la carga la generan ese número de clientes concurrentes
+ * (modelo cerrado) en lugar de una tasa fija:
+ * <pre>
+ * mvn -Ploadtest -DskipTests verify -Dloadtest.clients=1000 -Dloadtest.duration=60
+ * </pre>
+ * Los resultados se escriben en target/loadtest/&lt;fecha&gt;/: summary.csv para comparar
+ * construcciones y un archivo .hgrm por solicitud con la distribución completa.
+ */
+public class LoadTestRunner {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<Path> collections = Arrays.stream(System.getProperty("loadtest.collections",
+                        "pm/Book.postman_collection.json,pm/Author.postman_collection.json").split(","))
+                .map(String::trim)
+                .map(Path::of)
+                .toList();
+        Path environment = Path.of(System.getProperty("loadtest.environment", "pm/API-Dev.postman_environment.json"));
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "50"));
+        int clients = Integer.getInteger("loadtest.clients", 0);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60));
+        Duration timeout = Duration.ofSeconds(Long.getLong("loadtest.timeout", 30));
+        long seed = Long.getLong("loadtest.seed", 42);
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest"))
+                .resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+
+        Map<String, String> variables = new HashMap<>(PostmanScenario.readEnvironment(environment));
+
+        if (System.getProperty("loadtest.baseUrl") != null) {
+            variables.put("url-api", System.getProperty("loadtest.baseUrl"));
+        }
+
+        Map<String, Integer> weights;
+        String weightsFile = System.getProperty("loadtest.weights");
+
+        try (InputStream in = weightsFile == null || weightsFile.isBlank()
+                ? LoadTestRunner.class.getResourceAsStream("/loadtest/weights.properties")
+                : Files.newInputStream(Path.of(weightsFile))) {
+            weights = PostmanScenario.readWeights(in);
+        }
+
+        PostmanScenario scenario = PostmanScenario.of(collections, variables, weights);
+
+        Map<String, EndpointStats> stats;
+
+        if (clients > 0) {
+            System.out.printf("Escenario: %d solicitudes, %d clientes concurrentes, calentamiento %ds, medición %ds%n",
+                    scenario.requests().size(), clients, warmup.toSeconds(), duration.toSeconds());
+            stats = new ClosedLoadGenerator(scenario, clients, timeout).run(warmup, duration, seed);
+        } else {
+            System.out.printf("Escenario: %d solicitudes, %.1f solicitudes/s, calentamiento %ds, medición %ds%n",
+                    scenario.requests().size(), rate, warmup.toSeconds(), duration.toSeconds());
+            stats = new LoadGenerator(scenario, rate, timeout).run(warmup, duration, seed);
+        }
+
+        Files.createDirectories(output);
+        writeReport(new TreeMap<>(stats), duration, output);
+
+        System.out.println("Resultados: " + output);
+        System.exit(0);
+    }
+
+    private static void writeReport(Map<String, EndpointStats> stats, Duration duration, Path output) throws IOException {
+        Histogram total = new Histogram(3);
+        Histogram totalService = new Histogram(3);
+        long totalSuccesses = 0;
+        long totalFailures = 0;
+
+        try (PrintStream csv = new PrintStream(Files.newOutputStream(output.resolve("summary.csv")))) {
+            csv.println("endpoint,requests,failures,throughput_rps,p50_ms,p90_ms,p99_ms,p99.9_ms,max_ms,service_p99_ms");
+
+            for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+                EndpointStats endpoint = entry.getValue();
+                writeRow(csv, entry.getKey(), endpoint.responseTime(), endpoint.serviceTime(),
+                        endpoint.successes(), endpoint.failures(), duration);
+                writeDistribution(output.resolve(entry.getKey().replace('/', '-') + ".hgrm"), endpoint.responseTime());
+
+                total.add(endpoint.responseTime());
+                totalService.add(endpoint.serviceTime());
+                totalSuccesses += endpoint.successes();
+                totalFailures += endpoint.failures();
+            }
+
+            writeRow(csv, "TOTAL", total, totalService, totalSuccesses, totalFailures, duration);
+            writeDistribution(output.resolve("TOTAL.hgrm"), total);
+        }
+
+        Files.readAllLines(output.resolve("summary.csv")).forEach(System.out::println);
+    }
+
+    private static void writeRow(PrintStream csv, String endpoint, Histogram responseTime, Histogram serviceTime,
+                                 long successes, long failures, Duration duration) {
+        StringBuilder row = new StringBuilder(endpoint)
+                .append(',').append(successes + failures)
+                .append(',').append(failures)
+                .append(',').append(String.format(Locale.ROOT, "%.2f", (successes + failures) / (double) duration.toSeconds()));
+
+        for (double percentile : PERCENTILES) {
+            row.append(',').append(millis(responseTime.getValueAtPercentile(percentile)));
+        }
+
+        row.append(',').append(millis(responseTime.getMaxValue()))
+                .append(',').append(millis(serviceTime.getValueAtPercentile(99)));
+
+        csv.println(row);
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            // Microsegundos -> milisegundos
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+}
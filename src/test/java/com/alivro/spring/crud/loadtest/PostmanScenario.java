@@ -0,0 +1,210 @@
+package com.alivro.spring.crud.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Escenario de carga construido a partir de las colecciones de Postman del directorio pm/.
+ * Cada solicitud de las colecciones recibe un peso (archivo de pesos, "Colección/Solicitud=peso");
+ * las solicitudes sin peso o con peso 0 no forman parte del escenario.
+ * Los ISBN y el pseudónimo de los cuerpos de guardado se reemplazan por valores únicos en cada
+ * envío para que las solicitudes repetidas no terminen en conflicto.
+ */
+public class PostmanScenario {
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{([^}]+)}}");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<RequestTemplate> requests;
+    private final int[] cumulativeWeights;
+    private final AtomicLong sequence = new AtomicLong();
+    // Distingue los valores únicos de ejecuciones distintas contra la misma base de datos
+    private final long runId = System.currentTimeMillis() % 100_000;
+
+    private PostmanScenario(List<RequestTemplate> requests) {
+        this.requests = List.copyOf(requests);
+        this.cumulativeWeights = new int[requests.size()];
+
+        int total = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            total += requests.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Método para construir el escenario
+     *
+     * @param collections Colecciones de Postman (formato v2.1)
+     * @param variables   Variables de entorno, p. ej. url-api
+     * @param weights     Peso por solicitud ("Colección/Solicitud")
+     * @return Escenario con las solicitudes de peso positivo
+     */
+    public static PostmanScenario of(List<Path> collections, Map<String, String> variables,
+                                     Map<String, Integer> weights) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<RequestTemplate> requests = new ArrayList<>();
+
+        for (Path collection : collections) {
+            JsonNode root = objectMapper.readTree(collection.toFile());
+            collectRequests(root.path("info").path("name").asText(), root.path("item"), variables, weights, requests);
+        }
+
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("The scenario has no weighted requests!");
+        }
+
+        return new PostmanScenario(requests);
+    }
+
+    /**
+     * Método para leer un archivo de pesos con formato de properties
+     *
+     * @param weights Archivo de pesos
+     * @return Peso por solicitud
+     */
+    public static Map<String, Integer> readWeights(InputStream weights) throws IOException {
+        Properties properties = new Properties();
+        properties.load(weights);
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        properties.stringPropertyNames().forEach(name -> result.put(name, Integer.parseInt(properties.getProperty(name).trim())));
+
+        return result;
+    }
+
+    /**
+     * Método para leer las variables de un entorno de Postman
+     *
+     * @param environment Archivo de entorno de Postman
+     * @return Variables habilitadas del entorno
+     */
+    public static Map<String, String> readEnvironment(Path environment) throws IOException {
+        Map<String, String> variables = new HashMap<>();
+
+        for (JsonNode value : new ObjectMapper().readTree(Files.readAllBytes(environment)).path("values")) {
+            if (value.path("enabled").asBoolean(true)) {
+                variables.put(value.path("key").asText(), value.path("value").asText());
+            }
+        }
+
+        return variables;
+    }
+
+    /**
+     * Método para elegir la siguiente solicitud según los pesos
+     *
+     * @param random Generador de números aleatorios
+     * @return Solicitud elegida
+     */
+    public RequestTemplate next(Random random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, point + 1);
+
+        return requests.get(index >= 0 ? index : -index - 1);
+    }
+
+    /**
+     * Método para obtener el cuerpo a enviar, con ISBN y pseudónimo únicos
+     *
+     * @param request Solicitud
+     * @return Cuerpo JSON (null si la solicitud no tiene cuerpo)
+     */
+    public String bodyOf(RequestTemplate request) {
+        if (request.body() == null || !"POST".equals(request.method())) {
+            return request.body();
+        }
+
+        try {
+            JsonNode body = objectMapper.readTree(request.body());
+
+            if (!(body instanceof ObjectNode object)) {
+                return request.body();
+            }
+
+            long unique = runId * 100_000_000L + sequence.incrementAndGet();
+
+            if (object.has("isbn13")) {
+                object.put("isbn13", String.format("979%010d", unique % 10_000_000_000L));
+            }
+
+            if (object.has("isbn10")) {
+                object.put("isbn10", String.format("%010d", unique % 10_000_000_000L));
+            }
+
+            if (object.has("pseudonym")) {
+                object.put("pseudonym", object.path("pseudonym").asText() + " " + unique);
+            }
+
+            return objectMapper.writeValueAsString(object);
+        } catch (IOException ex) {
+            return request.body();
+        }
+    }
+
+    /**
+     * Método para obtener las solicitudes del escenario
+     *
+     * @return Solicitudes con peso positivo
+     */
+    public List<RequestTemplate> requests() {
+        return requests;
+    }
+
+    private static void collectRequests(String prefix, JsonNode items, Map<String, String> variables,
+                                        Map<String, Integer> weights, List<RequestTemplate> requests) {
+        for (JsonNode item : items) {
+            String name = prefix + "/" + item.path("name").asText();
+
+            // Carpeta
+            if (item.has("item")) {
+                collectRequests(name, item.path("item"), variables, weights, requests);
+                continue;
+            }
+
+            int weight = weights.getOrDefault(name, 0);
+
+            if (weight <= 0) {
+                continue;
+            }
+
+            JsonNode request = item.path("request");
+            JsonNode url = request.path("url");
+            String rawUrl = url.isTextual() ? url.asText() : url.path("raw").asText();
+            JsonNode body = request.path("body");
+            String rawBody = "raw".equals(body.path("mode").asText()) ? resolve(body.path("raw").asText(), variables) : null;
+
+            requests.add(new RequestTemplate(name, request.path("method").asText("GET"),
+                    resolve(rawUrl, variables), rawBody, weight));
+        }
+    }
+
+    private static String resolve(String text, Map<String, String> variables) {
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+
+        while (matcher.find()) {
+            String value = variables.get(matcher.group(1));
+
+            if (value == null) {
+                throw new IllegalArgumentException("Undefined variable: " + matcher.group(1));
+            }
+
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+
+        matcher.appendTail(resolved);
+
+        return resolved.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.alivro.spring.crud.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class PostmanScenarioTest {
+    private static final List<Path> COLLECTIONS = List.of(
+            Path.of("pm/Book.postman_collection.json"),
+            Path.of("pm/Author.postman_collection.json")
+    );
+
+    @Test
+    public void of_PostmanCollections_Return_WeightedRequests() throws Exception {
+        // Given
+        Map<String, String> variables = Map.of("url-api", "http://localhost:9090/api/v1");
+        Map<String, Integer> weights = Map.of("Book/FindById", 3, "Author/Save", 1, "Book/DeleteById", 0);
+
+        // When
+        PostmanScenario scenario = PostmanScenario.of(COLLECTIONS, variables, weights);
+
+        // Then
+        assertThat(scenario.requests()).extracting(RequestTemplate::endpoint)
+                .containsExactly("Book/FindById", "Author/Save");
+        assertThat(scenario.requests().get(0).method()).isEqualTo("GET");
+        assertThat(scenario.requests().get(0).url()).isEqualTo("http://localhost:9090/api/v1/book/find/1001");
+        assertThat(scenario.requests().get(1).body()).contains("Jostein");
+    }
+
+    @Test
+    public void next_WeightedRequests_Return_WeightedMix() throws Exception {
+        // Given
+        PostmanScenario scenario = PostmanScenario.of(COLLECTIONS, Map.of("url-api", "http://localhost"),
+                Map.of("Book/FindAll", 3, "Author/FindAll", 1));
+        Random random = new Random(42);
+
+        // When
+        Map<String, Long> counts = IntStream.range(0, 10_000)
+                .mapToObj(i -> scenario.next(random).endpoint())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        // Then
+        assertThat(counts.get("Book/FindAll") / 10_000.0).isCloseTo(0.75, within(0.02));
+        assertThat(counts.get("Author/FindAll") / 10_000.0).isCloseTo(0.25, within(0.02));
+    }
+
+    @Test
+    public void bodyOf_SaveRequest_Return_UniqueIsbns() throws Exception {
+        // Given
+        PostmanScenario scenario = PostmanScenario.of(COLLECTIONS, Map.of("url-api", "http://localhost"),
+                Map.of("Book/Save", 1));
+        RequestTemplate save = scenario.requests().get(0);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        // When
+        JsonNode first = objectMapper.readTree(scenario.bodyOf(save));
+        JsonNode second = objectMapper.readTree(scenario.bodyOf(save));
+
+        // Then
+        assertThat(first.path("isbn13").asText()).hasSize(13).isNotEqualTo(second.path("isbn13").asText());
+        assertThat(first.path("isbn10").asText()).hasSize(10);
+        assertThat(first.path("title").asText()).isEqualTo(second.path("title").asText());
+    }
+}
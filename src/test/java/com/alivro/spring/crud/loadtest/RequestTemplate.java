@@ -0,0 +1,13 @@
+package com.alivro.spring.crud.loadtest;
+
+/**
+ * Solicitud de una colección de Postman, con las variables de entorno ya sustituidas
+ *
+ * @param endpoint Nombre de la solicitud ("Colección/Solicitud")
+ * @param method   Método HTTP
+ * @param url      URL completa
+ * @param body     Cuerpo JSON (null si no tiene)
+ * @param weight   Peso relativo de la solicitud en el escenario
+ */
+public record RequestTemplate(String endpoint, String method, String url, String body, int weight) {
+}
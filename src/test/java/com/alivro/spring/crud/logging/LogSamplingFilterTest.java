@@ -0,0 +1,80 @@
+package com.alivro.spring.crud.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogSamplingFilterTest {
+    private final LoggerContext context = new LoggerContext();
+    private final LogSamplingFilter filter = new LogSamplingFilter();
+
+    @BeforeEach
+    public void setup() {
+        filter.setContext(context);
+        filter.addRate("com.alivro.spring.crud=0.5");
+        filter.addRate("com.alivro.spring.crud.controller=0");
+        filter.addRate("com.alivro.spring.crud.service.impl=1");
+        filter.start();
+    }
+
+    @Test
+    public void decide_LongestPrefix_Return_LoggerRate() {
+        // Given
+        Logger controller = context.getLogger("com.alivro.spring.crud.controller.BookController");
+        Logger service = context.getLogger("com.alivro.spring.crud.service.impl.IBookServiceImpl");
+        Logger index = context.getLogger("com.alivro.spring.crud.index.BookFacetIndex");
+        Logger other = context.getLogger("org.hibernate.SQL");
+        int indexLogged = 0;
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            assertThat(decide(controller, Level.INFO)).isEqualTo(FilterReply.DENY);
+            assertThat(decide(service, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(decide(other, Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+            indexLogged += decide(index, Level.INFO) == FilterReply.NEUTRAL ? 1 : 0;
+        }
+
+        // Then
+        assertThat(indexLogged).isBetween(400, 600);
+        assertThat(filter.getSampledOutCount()).isEqualTo(1000L + 1000 - indexLogged);
+    }
+
+    @Test
+    public void decide_Warnings_Return_AlwaysLogged() {
+        // Given
+        Logger controller = context.getLogger("com.alivro.spring.crud.controller.BookController");
+
+        // When
+        // Then
+        assertThat(decide(controller, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(controller, Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSampledOutCount()).isZero();
+    }
+
+    @Test
+    public void addRate_InvalidRate_Return_Ignored() {
+        // Given
+        LogSamplingFilter invalid = new LogSamplingFilter();
+        invalid.setContext(context);
+        invalid.addRate("com.alivro.spring.crud=2");
+        invalid.addRate("=0.5");
+        invalid.start();
+
+        // When
+        FilterReply reply = invalid.decide(null, context.getLogger("com.alivro.spring.crud.Any"), Level.INFO,
+                "Evento", null, null);
+
+        // Then
+        assertThat(reply).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(context.getStatusManager().getCopyOfStatusList()).hasSize(2);
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "Evento {}", new Object[]{1}, null);
+    }
+}
@@ -0,0 +1,143 @@
+package com.alivro.spring.crud.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RingBufferAppenderTest {
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("com.alivro.spring.crud.controller.BookController");
+    private final RecordingAppender recording = new RecordingAppender();
+    private final RingBufferAppender appender = new RingBufferAppender();
+
+    @AfterEach
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    public void append_Events_Return_WrittenOffRequestThread() {
+        // Given
+        start(16);
+
+        // When
+        logger.atInfo().addKeyValue("id", 1L).log("Libro encontrado.");
+        logger.info("Libros encontrados. Página: {}", 0);
+        appender.stop();
+
+        // Then
+        assertThat(recording.events).hasSize(2);
+        assertThat(recording.events.get(0).getFormattedMessage()).isEqualTo("Libro encontrado.");
+        assertThat(recording.events.get(0).getKeyValuePairs()).singleElement()
+                .satisfies(pair -> assertThat(pair.key).isEqualTo("id"));
+        assertThat(recording.events.get(1).getFormattedMessage()).isEqualTo("Libros encontrados. Página: 0");
+        // El nombre del hilo es el del que registró el evento, no el del appender
+        assertThat(recording.events).allSatisfy(event ->
+                assertThat(event.getThreadName()).isEqualTo(Thread.currentThread().getName()));
+        assertThat(recording.threadNames).allSatisfy(name -> assertThat(name).startsWith("log-ring-buffer-"));
+        assertThat(appender.getDroppedCount()).isZero();
+    }
+
+    @Test
+    public void append_FullBuffer_Return_DroppedCount() throws InterruptedException {
+        // Given
+        recording.blocked = new CountDownLatch(1);
+        start(4);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            logger.info("Evento {}", i);
+        }
+
+        long dropped = appender.getDroppedCount();
+        recording.blocked.countDown();
+        appender.stop();
+
+        // Then
+        // El hilo del appender toma un evento y se bloquea; caben 4 más en el buffer
+        assertThat(dropped).isBetween(15L, 16L);
+        assertThat(recording.events).hasSize((int) (20 - dropped));
+    }
+
+    @Test
+    public void append_FullBuffer_Return_ErrorStillWritten() throws InterruptedException {
+        // Given
+        recording.blocked = new CountDownLatch(1);
+        start(4);
+
+        for (int i = 0; i < 20; i++) {
+            logger.info("Evento {}", i);
+        }
+
+        long droppedInfo = appender.getDroppedCount();
+
+        // When
+        // El hilo del appender se libera mientras el error espera lugar en el buffer
+        Thread unblocker = new Thread(() -> {
+            sleepQuietly(200);
+            recording.blocked.countDown();
+        });
+        unblocker.start();
+        logger.error("No se pudo guardar el libro.");
+        unblocker.join();
+        appender.stop();
+
+        // Then
+        assertThat(appender.getDroppedCount()).isEqualTo(droppedInfo);
+        assertThat(recording.events).last()
+                .satisfies(event -> assertThat(event.getFormattedMessage()).isEqualTo("No se pudo guardar el libro."));
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void start(int capacity) {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.start();
+        recording.setContext(context);
+        recording.start();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.setCapacity(capacity);
+        appender.setMaxBlockTime(5000);
+        appender.addAppender(recording);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    private static class RecordingAppender extends AppenderBase<ILoggingEvent> {
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final List<String> threadNames = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch blocked;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            if (blocked != null) {
+                try {
+                    blocked.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            events.add(event);
+            threadNames.add(Thread.currentThread().getName());
+        }
+    }
+}
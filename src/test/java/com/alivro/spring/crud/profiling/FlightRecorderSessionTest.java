@@ -0,0 +1,82 @@
+package com.alivro.spring.crud.profiling;
+
+import com.alivro.spring.crud.exception.DataAlreadyExistsException;
+import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.index.MinHashSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FlightRecorderSessionTest {
+    private final FlightRecorderSession session = new FlightRecorderSession();
+
+    @AfterEach
+    public void tearDown() {
+        session.close();
+    }
+
+    @Test
+    public void stop_RecordedWork_Return_ReportWithApplicationFrames() throws Exception {
+        // Given
+        session.start(Duration.ofMinutes(1));
+        long deadline = System.nanoTime() + Duration.ofMillis(1500).toNanos();
+        long checksum = 0;
+
+        while (System.nanoTime() < deadline) {
+            checksum += MinHashSignature.of("The Lord of the Rings " + checksum)[0];
+        }
+
+        // When
+        FlightRecorderSession.RecordingInfo info = session.stop();
+        Path dump = session.dump();
+        String report = JfrReport.of(dump).toString();
+
+        // Then
+        assertThat(info.state()).isEqualTo("STOPPED");
+        assertThat(info.size()).isPositive();
+        assertThat(Files.size(dump)).isEqualTo(info.size());
+        assertThat(report).contains("Hot methods", "Lock contention", "Allocation sites")
+                .contains("com.alivro.spring.crud.index.MinHashSignature.of");
+    }
+
+    @Test
+    public void start_RecordingRunning_Throw_DataAlreadyExistsException() {
+        // Given
+        session.start(Duration.ofSeconds(30));
+
+        // When
+        // Then
+        assertThatThrownBy(() -> session.start(Duration.ofSeconds(30)))
+                .isInstanceOf(DataAlreadyExistsException.class)
+                .hasMessage("Recording already running!");
+    }
+
+    @Test
+    public void stop_NoRecording_Throw_DataNotFoundException() {
+        // Given
+        // When
+        // Then
+        assertThatThrownBy(session::stop)
+                .isInstanceOf(DataNotFoundException.class)
+                .hasMessage("Recording not found!");
+        assertThatThrownBy(session::dump)
+                .isInstanceOf(DataNotFoundException.class);
+    }
+
+    @Test
+    public void start_DurationOutOfRange_Return_RunningRecording() {
+        // Given
+        // When
+        FlightRecorderSession.RecordingInfo info = session.start(Duration.ofHours(1));
+
+        // Then
+        assertThat(info.state()).isEqualTo("RUNNING");
+        assertThat(info.size()).isZero();
+    }
+}
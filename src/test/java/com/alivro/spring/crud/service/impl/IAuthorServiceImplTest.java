@@ -2,12 +2,16 @@ package com.alivro.spring.crud.service.impl;
 
 import com.alivro.spring.crud.exception.DataAlreadyExistsException;
 import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.index.AuthorNameIndex;
+import com.alivro.spring.crud.index.BookAuthorGraph;
 import com.alivro.spring.crud.model.Author;
 import com.alivro.spring.crud.model.Book;
 import com.alivro.spring.crud.model.author.request.AuthorSaveRequestDto;
 import com.alivro.spring.crud.model.author.response.AuthorFindResponseDto;
 import com.alivro.spring.crud.model.author.response.AuthorSaveResponseDto;
+import com.alivro.spring.crud.model.author.response.CoauthorResponseDto;
 import com.alivro.spring.crud.repository.AuthorRepository;
+import com.alivro.spring.crud.statistics.HotKeyTracker;
 import com.alivro.spring.crud.util.CustomData;
 import com.alivro.spring.crud.util.CustomPageMetadata;
 import org.hamcrest.MatcherAssert;
@@ -17,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -43,6 +48,18 @@ public class IAuthorServiceImplTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private AuthorNameIndex authorNameIndex;
+
+    @Mock
+    private BookAuthorGraph bookAuthorGraph;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+
     @InjectMocks
     private IAuthorServiceImpl authorService;
 
@@ -294,6 +311,7 @@ public class IAuthorServiceImplTest {
         assertThat(foundAuthor.getPseudonym()).isEqualTo("George Orwell");
         assertThat(foundAuthor.getBooks().size()).isEqualTo(1);
         assertThat(foundAuthor.getBooks().get(0).getTitle()).isEqualTo("1984");
+        verify(hotKeyTracker, times(1)).record(HotKeyTracker.KeyType.AUTHOR, authorId);
     }
 
     @Test
@@ -311,6 +329,71 @@ public class IAuthorServiceImplTest {
         MatcherAssert.assertThat(thrown.getMessage(), is("Author not found!"));
     }
 
+    @Test
+    public void findByName_Authors_ExistingAuthors_Return_ListAuthorResponseDTO() {
+        // Given
+        String name = "Dodgeson";
+
+        given(authorNameIndex.search(name)).willReturn(List.of(4L, 2L));
+        given(authorRepository.findAllById(List.of(4L, 2L)))
+                .willReturn(List.of(authorHGWells, authorLewisCarroll));
+
+        // When
+        List<AuthorFindResponseDto> foundAuthors = authorService.findByName(name);
+
+        // Then
+        assertThat(foundAuthors.size()).isEqualTo(2);
+        assertThat(foundAuthors.get(0).getPseudonym()).isEqualTo("Lewis Carroll");
+        assertThat(foundAuthors.get(1).getPseudonym()).isEqualTo("H. G. Wells");
+    }
+
+    @Test
+    public void findByName_Authors_NonExistingAuthors_Return_EmptyList() {
+        // Given
+        String name = "Verne";
+
+        given(authorNameIndex.search(name)).willReturn(List.of());
+
+        // When
+        List<AuthorFindResponseDto> foundAuthors = authorService.findByName(name);
+
+        // Then
+        assertThat(foundAuthors).isEmpty();
+    }
+
+    @Test
+    public void findCoauthors_Authors_ExistingAuthor_Return_ListCoauthorResponseDTO() {
+        // Given
+        long authorId = 1L;
+
+        given(bookAuthorGraph.booksOfAuthor(authorId)).willReturn(new long[]{1L});
+        given(bookAuthorGraph.coauthors(authorId)).willReturn(List.of(new BookAuthorGraph.Neighbour(3L, 1)));
+
+        // When
+        List<CoauthorResponseDto> coauthors = authorService.findCoauthors(authorId);
+
+        // Then
+        assertThat(coauthors.size()).isEqualTo(1);
+        assertThat(coauthors.get(0).getId()).isEqualTo(3L);
+        assertThat(coauthors.get(0).getSharedBooks()).isEqualTo(1);
+    }
+
+    @Test
+    public void findCoauthors_Authors_NonExistingAuthor_Return_Null() {
+        // Given
+        long authorId = 10L;
+
+        given(bookAuthorGraph.booksOfAuthor(authorId)).willReturn(new long[0]);
+        given(authorRepository.existsById(authorId)).willReturn(false);
+
+        // When
+        Throwable thrown = assertThrows(DataNotFoundException.class,
+                () -> authorService.findCoauthors(authorId));
+
+        // Then
+        MatcherAssert.assertThat(thrown.getMessage(), is("Author not found!"));
+    }
+
     @Test
     public void save_Author_NonExistingAuthor_Return_AuthorResponseDTO() {
         // Given
@@ -2,13 +2,23 @@ package com.alivro.spring.crud.service.impl;
 
 import com.alivro.spring.crud.exception.DataAlreadyExistsException;
 import com.alivro.spring.crud.exception.DataNotFoundException;
+import com.alivro.spring.crud.index.BookAuthorGraph;
+import com.alivro.spring.crud.index.BookFacetIndex;
+import com.alivro.spring.crud.index.BookSimilarityIndex;
+import com.alivro.spring.crud.index.FacetQueryResult;
 import com.alivro.spring.crud.model.Author;
 import com.alivro.spring.crud.model.Book;
 import com.alivro.spring.crud.model.book.request.AuthorOfBookRequestDto;
+import com.alivro.spring.crud.model.book.request.BookFacetRequestDto;
 import com.alivro.spring.crud.model.book.request.BookSaveRequestDto;
 import com.alivro.spring.crud.model.book.response.BookResponseDto;
+import com.alivro.spring.crud.model.book.response.DuplicateGroupResponseDto;
+import com.alivro.spring.crud.model.book.response.NearDuplicateResponseDto;
+import com.alivro.spring.crud.model.book.response.RelatedBookResponseDto;
 import com.alivro.spring.crud.repository.BookRepository;
+import com.alivro.spring.crud.statistics.HotKeyTracker;
 import com.alivro.spring.crud.util.CustomData;
+import com.alivro.spring.crud.util.CustomFacetPageMetadata;
 import com.alivro.spring.crud.util.CustomPageMetadata;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -16,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,6 +36,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,6 +55,21 @@ public class IBookServiceImplTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    @Mock
+    private BookAuthorGraph bookAuthorGraph;
+
+    @Mock
+    private BookSimilarityIndex bookSimilarityIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+
     @InjectMocks
     private IBookServiceImpl bookService;
 
@@ -264,6 +291,45 @@ public class IBookServiceImplTest {
         assertThat(meta.getTotalPages()).isEqualTo(0);
     }
 
+    @Test
+    public void findAllByFacets_Books_ExistingBooks_Return_ListBookResponseDTO() {
+        // Given
+        BookFacetRequestDto filter = BookFacetRequestDto.builder()
+                .year(List.of(2000))
+                .build();
+        Pageable pageable = PageRequest.of(0, 5);
+
+        Map<String, Map<String, Integer>> facets = Map.of(
+                BookFacetIndex.PUBLISHER_FACET, Map.of("HarperCollins", 2),
+                BookFacetIndex.YEAR_FACET, Map.of("2000", 2)
+        );
+
+        given(bookFacetIndex.query(filter, 0, 5)).willReturn(
+                new FacetQueryResult(2, List.of(3L, 4L), facets)
+        );
+        given(bookRepository.findAllById(List.of(3L, 4L)))
+                .willReturn(List.of(bookMiserableMill, bookWideWindow));
+
+        // When
+        CustomData<BookResponseDto, CustomFacetPageMetadata> booksData =
+                bookService.findAllByFacets(filter, pageable);
+
+        // Then
+        List<BookResponseDto> data = booksData.getData();
+        CustomFacetPageMetadata meta = booksData.getMetadata();
+
+        assertThat(data.size()).isEqualTo(2);
+        assertThat(data.get(0).getSubtitle()).isEqualTo("The Wide Window");
+        assertThat(data.get(1).getSubtitle()).isEqualTo("The Miserable Mill");
+
+        assertThat(meta.getPageNumber()).isZero();
+        assertThat(meta.getPageSize()).isEqualTo(5);
+        assertThat(meta.getNumberOfElements()).isEqualTo(2);
+        assertThat(meta.getTotalElements()).isEqualTo(2);
+        assertThat(meta.getTotalPages()).isEqualTo(1);
+        assertThat(meta.getFacets()).isEqualTo(facets);
+    }
+
     @Test
     public void findById_Book_ExistingBook_Return_BookResponseDTO() {
         // Given
@@ -283,6 +349,7 @@ public class IBookServiceImplTest {
         assertThat(foundBook.getIsbn13()).isEqualTo("9780064407663");
         assertThat(foundBook.getAuthors().size()).isEqualTo(1);
         assertThat(foundBook.getAuthors().get(0).getPseudonym()).isEqualTo("Lemony Snicket");
+        verify(hotKeyTracker, times(1)).record(HotKeyTracker.KeyType.BOOK, bookId);
     }
 
     @Test
@@ -300,6 +367,93 @@ public class IBookServiceImplTest {
         assertThat(thrown.getMessage(), is("Book not found!"));
     }
 
+    @Test
+    public void findRelated_Books_ExistingBook_Return_ListRelatedBookResponseDTO() {
+        // Given
+        long bookId = 1L;
+
+        given(bookAuthorGraph.authorsOfBook(bookId)).willReturn(new long[]{1L, 2L});
+        given(bookAuthorGraph.relatedBooks(bookId)).willReturn(List.of(
+                new BookAuthorGraph.Neighbour(3L, 2),
+                new BookAuthorGraph.Neighbour(2L, 1)
+        ));
+
+        // When
+        List<RelatedBookResponseDto> relatedBooks = bookService.findRelated(bookId);
+
+        // Then
+        assertThat(relatedBooks.size()).isEqualTo(2);
+        assertThat(relatedBooks.get(0).getId()).isEqualTo(3L);
+        assertThat(relatedBooks.get(0).getSharedAuthors()).isEqualTo(2);
+        verify(bookRepository, times(0)).existsById(bookId);
+    }
+
+    @Test
+    public void findRelated_Books_NonExistingBook_Return_Null() {
+        // Given
+        long bookId = 10L;
+
+        given(bookAuthorGraph.authorsOfBook(bookId)).willReturn(new long[0]);
+        given(bookRepository.existsById(bookId)).willReturn(false);
+
+        // When
+        Throwable thrown = assertThrows(DataNotFoundException.class,
+                () -> bookService.findRelated(bookId));
+
+        // Then
+        assertThat(thrown.getMessage(), is("Book not found!"));
+    }
+
+    @Test
+    public void findNearDuplicates_Books_ExistingBook_Return_ListNearDuplicateResponseDTO() {
+        // Given
+        long bookId = 1L;
+
+        given(bookSimilarityIndex.contains(bookId)).willReturn(true);
+        given(bookSimilarityIndex.nearDuplicates(bookId))
+                .willReturn(List.of(new BookSimilarityIndex.Similar(2L, 0.75)));
+
+        // When
+        List<NearDuplicateResponseDto> nearDuplicates = bookService.findNearDuplicates(bookId);
+
+        // Then
+        assertThat(nearDuplicates.size()).isEqualTo(1);
+        assertThat(nearDuplicates.get(0).getId()).isEqualTo(2L);
+        assertThat(nearDuplicates.get(0).getSimilarity()).isEqualTo(0.75);
+    }
+
+    @Test
+    public void findNearDuplicates_Books_NonExistingBook_Return_Null() {
+        // Given
+        long bookId = 10L;
+
+        given(bookSimilarityIndex.contains(bookId)).willReturn(false);
+        given(bookRepository.existsById(bookId)).willReturn(false);
+
+        // When
+        Throwable thrown = assertThrows(DataNotFoundException.class,
+                () -> bookService.findNearDuplicates(bookId));
+
+        // Then
+        assertThat(thrown.getMessage(), is("Book not found!"));
+    }
+
+    @Test
+    public void findDuplicates_Books_Return_ListDuplicateGroupResponseDTO() {
+        // Given
+        given(bookSimilarityIndex.duplicateGroups()).willReturn(List.of(
+                new BookSimilarityIndex.Group(List.of(1L, 2L), false),
+                new BookSimilarityIndex.Group(List.of(5L, 9L, 12L), true)));
+
+        // When
+        List<DuplicateGroupResponseDto> duplicates = bookService.findDuplicates();
+
+        // Then
+        assertThat(duplicates.size()).isEqualTo(2);
+        assertThat(duplicates.get(1).getBookIds()).containsExactly(5L, 9L, 12L);
+        assertThat(duplicates.get(1).isTruncated()).isTrue();
+    }
+
     @Test
     public void save_Book_NonExistingBook_Return_BookResponseDTO() {
         // Given
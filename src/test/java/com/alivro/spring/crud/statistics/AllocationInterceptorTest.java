@@ -0,0 +1,113 @@
+package com.alivro.spring.crud.statistics;
+
+import com.alivro.spring.crud.controller.BookController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class AllocationInterceptorTest {
+    private MeterRegistry meterRegistry;
+    private AllocationInterceptor interceptor;
+    private HandlerMethod findAllBooks;
+    private HandlerMethod findBookById;
+
+    // Evita que el compilador elimine la asignación de prueba
+    private static byte[] sink;
+
+    @BeforeEach
+    public void setup() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new AllocationInterceptor(meterRegistry);
+
+        BookController controller = mock(BookController.class);
+        findAllBooks = new HandlerMethod(controller, BookController.class.getMethod("findAllBooks", Pageable.class));
+        findBookById = new HandlerMethod(controller, BookController.class.getMethod("findBook", long.class));
+    }
+
+    @Test
+    public void afterCompletion_RecordsAllocatedBytesByEndpointAndPageSize() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/book/findAll");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/book/findAll");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(request, response, findAllBooks);
+        sink = new byte[1 << 20];
+        interceptor.afterCompletion(request, response, findAllBooks, null);
+
+        // Then
+        DistributionSummary summary = meterRegistry.get(AllocationInterceptor.METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/book/findAll")
+                .tag("size", "5")
+                .summary();
+
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isGreaterThanOrEqualTo(sink.length);
+    }
+
+    @Test
+    public void afterCompletion_AsyncRequest_Return_BothDispatchesAndExecutorBytes() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/book/findAll");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/book/findAll");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(request, response, findAllBooks);
+        sink = new byte[1 << 20];
+        interceptor.afterConcurrentHandlingStarted(request, response, findAllBooks);
+        interceptor.executorAllocation(request).addAndGet(1 << 20);
+        interceptor.preHandle(request, response, findAllBooks);
+        sink = new byte[1 << 20];
+        interceptor.afterCompletion(request, response, findAllBooks, null);
+
+        // Then
+        DistributionSummary summary = meterRegistry.get(AllocationInterceptor.METRIC)
+                .tag("uri", "/api/v1/book/findAll")
+                .summary();
+
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isGreaterThanOrEqualTo(3 << 20);
+    }
+
+    @Test
+    public void pageSize_SizeParameter_Return_Bucket() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/book/findAll");
+        request.setParameter("size", "37");
+
+        // Then
+        assertThat(AllocationInterceptor.pageSize(request, findAllBooks)).isEqualTo("50");
+    }
+
+    @Test
+    public void pageSize_NoSizeParameter_Return_PageableDefault() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/book/findAll");
+        request.setParameter("size", "abc");
+
+        // Then
+        assertThat(AllocationInterceptor.pageSize(request, findAllBooks)).isEqualTo("5");
+    }
+
+    @Test
+    public void pageSize_NonPagedEndpoint_Return_None() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/book/find/1");
+
+        // Then
+        assertThat(AllocationInterceptor.pageSize(request, findBookById)).isEqualTo(AllocationInterceptor.NO_PAGE_SIZE);
+    }
+}
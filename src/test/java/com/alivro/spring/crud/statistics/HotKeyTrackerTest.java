@@ -0,0 +1,82 @@
+package com.alivro.spring.crud.statistics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotKeyTrackerTest {
+    private static final long MINUTE = 60_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(MINUTE * 1000);
+    private final HotKeyTracker tracker = new HotKeyTracker(clock::get);
+
+    @Test
+    public void top_SkewedTraffic_Return_HeaviestIds() {
+        // Given
+        Random random = new Random(42);
+
+        // 3 IDs reciben 30%, 20% y 10% del tráfico; el resto se reparte entre 100,000 IDs
+        for (int i = 0; i < 50_000; i++) {
+            double u = random.nextDouble();
+            long id = u < 0.3 ? 7 : u < 0.5 ? 13 : u < 0.6 ? 21 : 1_000 + random.nextInt(100_000);
+            tracker.record(HotKeyTracker.KeyType.BOOK, id);
+        }
+
+        // When
+        List<HotKeyTracker.HotKey> top = tracker.top(HotKeyTracker.KeyType.BOOK, 1, 3);
+
+        // Then
+        assertThat(top).extracting(HotKeyTracker.HotKey::key).containsExactly("7", "13", "21");
+        assertThat(top.get(0).totalRequests()).isEqualTo(50_000);
+        // Error del count-min sketch: a lo sumo e/1024 del total con alta probabilidad
+        assertThat(top.get(0).requests()).isBetween(14_500L, 15_500L + 133);
+        assertThat(top.get(2).requests()).isBetween(4_700L, 5_300L + 133);
+        assertThat(tracker.top(HotKeyTracker.KeyType.AUTHOR, 1, 3)).isEmpty();
+    }
+
+    @Test
+    public void top_OlderMinutes_Return_OnlyRequestedWindow() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            tracker.record(HotKeyTracker.KeyType.AUTHOR, 1L);
+        }
+
+        clock.addAndGet(MINUTE);
+        tracker.record(HotKeyTracker.KeyType.AUTHOR, 2L);
+        tracker.record(HotKeyTracker.KeyType.AUTHOR, 2L);
+
+        // When
+        List<HotKeyTracker.HotKey> lastMinute = tracker.top(HotKeyTracker.KeyType.AUTHOR, 1, 10);
+        List<HotKeyTracker.HotKey> lastTwoMinutes = tracker.top(HotKeyTracker.KeyType.AUTHOR, 2, 10);
+
+        clock.addAndGet(MINUTE * HotKeyTracker.WINDOW_MINUTES);
+        List<HotKeyTracker.HotKey> expired = tracker.top(HotKeyTracker.KeyType.AUTHOR, 10, 10);
+
+        // Then
+        assertThat(lastMinute).extracting(HotKeyTracker.HotKey::key).containsExactly("2");
+        assertThat(lastTwoMinutes).extracting(HotKeyTracker.HotKey::key).containsExactly("1", "2");
+        assertThat(lastTwoMinutes).extracting(HotKeyTracker.HotKey::requests).containsExactly(5L, 2L);
+        assertThat(expired).isEmpty();
+    }
+
+    @Test
+    public void record_Pages_Return_PageKeys() {
+        // Given
+        tracker.record(HotKeyTracker.KeyType.BOOK_PAGE, PageRequest.of(0, 20));
+        tracker.record(HotKeyTracker.KeyType.BOOK_PAGE, PageRequest.of(2, 5, Sort.by("title").descending()));
+        tracker.record(HotKeyTracker.KeyType.BOOK_PAGE, PageRequest.of(2, 5, Sort.by("title").descending()));
+
+        // When
+        List<HotKeyTracker.HotKey> top = tracker.top(HotKeyTracker.KeyType.BOOK_PAGE, 5, 10);
+
+        // Then
+        assertThat(top).extracting(HotKeyTracker.HotKey::key)
+                .containsExactly("page=2&size=5&sort=title,desc", "page=0&size=20");
+    }
+}
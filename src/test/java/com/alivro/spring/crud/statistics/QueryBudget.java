@@ -0,0 +1,29 @@
+package com.alivro.spring.crud.statistics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Presupuesto de consultas de cada solicitud HTTP realizada por una prueba.
+ * QueryBudgetExtension hace fallar la prueba si alguna solicitud lo excede.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    /**
+     * Número máximo de sentencias SQL por solicitud
+     */
+    int statements();
+
+    /**
+     * Número máximo de entidades cargadas por solicitud
+     */
+    int entityLoads() default Integer.MAX_VALUE;
+
+    /**
+     * Número máximo de colecciones perezosas inicializadas por solicitud
+     */
+    int collectionInitializations() default Integer.MAX_VALUE;
+}
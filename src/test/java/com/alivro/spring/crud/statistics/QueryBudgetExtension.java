@@ -0,0 +1,132 @@
+package com.alivro.spring.crud.statistics;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Extensión de JUnit que verifica el presupuesto de consultas (@QueryBudget) de cada
+ * solicitud realizada con el TestRestTemplate del contexto de Spring. Lee los encabezados
+ * X-Query-* que agrega QueryStatsFilter, por lo que requiere query-stats.header.enabled=true.
+ * Debe declararse después de SpringExtension.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        recorder(context).clear();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Optional<QueryBudget> budget = budget(context);
+
+        if (budget.isEmpty()) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+
+        for (RecordedRequest request : recorder(context).requests()) {
+            check(violations, request, "statements", request.statements(), budget.get().statements());
+            check(violations, request, "entity loads", request.entityLoads(), budget.get().entityLoads());
+            check(violations, request, "collection initializations",
+                    request.collectionInitializations(), budget.get().collectionInitializations());
+        }
+
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Query budget exceeded:\n" + String.join("\n", violations));
+        }
+    }
+
+    private static Optional<QueryBudget> budget(ExtensionContext context) {
+        QueryBudget methodBudget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+
+        if (methodBudget != null) {
+            return Optional.of(methodBudget);
+        }
+
+        return Optional.ofNullable(context.getRequiredTestClass().getAnnotation(QueryBudget.class));
+    }
+
+    private static void check(List<String> violations, RecordedRequest request, String counter, int value,
+                              int limit) {
+        if (value < 0) {
+            violations.add(request.description() + ": missing query statistics headers");
+        } else if (value > limit) {
+            violations.add(String.format("%s: %d %s (budget %d)", request.description(), value, counter, limit));
+        }
+    }
+
+    /**
+     * Método para obtener el interceptor de solicitudes del TestRestTemplate de la prueba,
+     * instalándolo la primera vez
+     */
+    private static Recorder recorder(ExtensionContext context) {
+        TestRestTemplate testRestTemplate = SpringExtension.getApplicationContext(context)
+                .getBean(TestRestTemplate.class);
+        RestTemplate restTemplate = testRestTemplate.getRestTemplate();
+
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(restTemplate, key -> {
+            Recorder recorder = new Recorder();
+            List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(restTemplate.getInterceptors());
+            interceptors.add(recorder);
+            restTemplate.setInterceptors(interceptors);
+
+            return recorder;
+        }, Recorder.class);
+    }
+
+    private static class Recorder implements ClientHttpRequestInterceptor {
+        private final List<RecordedRequest> requests = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+                throws IOException {
+            ClientHttpResponse response = execution.execute(request, body);
+
+            requests.add(new RecordedRequest(
+                    request.getMethod() + " " + request.getURI().getPath(),
+                    header(response, QueryStatsFilter.STATEMENTS_HEADER),
+                    header(response, QueryStatsFilter.ENTITY_LOADS_HEADER),
+                    header(response, QueryStatsFilter.COLLECTION_INITIALIZATIONS_HEADER)));
+
+            return response;
+        }
+
+        void clear() {
+            requests.clear();
+        }
+
+        List<RecordedRequest> requests() {
+            synchronized (requests) {
+                return new ArrayList<>(requests);
+            }
+        }
+
+        private static int header(ClientHttpResponse response, String name) {
+            String value = response.getHeaders().getFirst(name);
+
+            return value == null ? -1 : Integer.parseInt(value);
+        }
+    }
+
+    private record RecordedRequest(String description, int statements, int entityLoads,
+                                   int collectionInitializations) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.alivro.spring.crud.statistics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryStatsFilterTest {
+    private MeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    // Simula una solicitud que ejecuta 3 sentencias, carga 2 entidades e inicializa 1 colección
+    private final FilterChain chain = (req, res) -> {
+        QueryStats.statementExecuted();
+        QueryStats.statementExecuted();
+        QueryStats.statementExecuted();
+        QueryStats.entityLoaded();
+        QueryStats.entityLoaded();
+        QueryStats.collectionInitialized();
+        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/book/find/{id}");
+        res.getWriter().write("{}");
+    };
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/api/v1/book/find/1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void doFilter_HeaderEnabled_Return_CountHeaders() throws Exception {
+        // When
+        filter(true).doFilter(request, response, chain);
+
+        // Then
+        assertThat(response.getHeader(QueryStatsFilter.STATEMENTS_HEADER)).isEqualTo("3");
+        assertThat(response.getHeader(QueryStatsFilter.ENTITY_LOADS_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(QueryStatsFilter.COLLECTION_INITIALIZATIONS_HEADER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    public void doFilter_HeaderDisabled_Return_NoHeaders() throws Exception {
+        // When
+        filter(false).doFilter(request, response, chain);
+
+        // Then
+        assertThat(response.getHeader(QueryStatsFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    public void doFilter_RecordsMetricsByEndpoint() throws Exception {
+        // When
+        filter(false).doFilter(request, response, chain);
+
+        // Then
+        DistributionSummary statements = meterRegistry.get("hibernate.request.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/book/find/{id}")
+                .summary();
+
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("hibernate.request.collection.initializations").summary().totalAmount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void statementExecuted_OutsideRequest_IsIgnored() throws Exception {
+        // Given
+        QueryStats.statementExecuted();
+
+        // When
+        filter(true).doFilter(request, response, (req, res) -> {
+        });
+
+        // Then
+        assertThat(response.getHeader(QueryStatsFilter.STATEMENTS_HEADER)).isEqualTo("0");
+    }
+
+    private QueryStatsFilter filter(boolean headerEnabled) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+
+        return new QueryStatsFilter(beanFactory.getBeanProvider(MeterRegistry.class), headerEnabled);
+    }
+}
@@ -0,0 +1,72 @@
+package com.alivro.spring.crud.statistics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestStatsTaskDecoratorTest {
+    private final AllocationInterceptor allocationInterceptor = new AllocationInterceptor(new SimpleMeterRegistry());
+    private final RequestStatsTaskDecorator decorator = new RequestStatsTaskDecorator(allocationInterceptor);
+
+    // Evita que el compilador elimine la asignación de prueba
+    private static byte[] sink;
+
+    @AfterEach
+    public void tearDown() {
+        QueryStats.end();
+        ServerTimings.end();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void decorate_Task_Return_CountsInRequestStats() throws InterruptedException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/book/findAll");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        QueryStats stats = QueryStats.begin();
+        ServerTimings timings = ServerTimings.begin();
+        AtomicBoolean unboundAfterTask = new AtomicBoolean();
+
+        Runnable task = decorator.decorate(() -> {
+            QueryStats.statementExecuted();
+            ServerTimings.addDb(1_000_000);
+            sink = new byte[64 * 1024];
+        });
+
+        // When
+        Thread thread = new Thread(() -> {
+            task.run();
+            unboundAfterTask.set(QueryStats.current() == null && ServerTimings.current() == null);
+        });
+        thread.start();
+        thread.join();
+
+        // Then
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(timings.getDbNanos()).isEqualTo(1_000_000);
+        assertThat(allocationInterceptor.executorAllocation(request).get()).isGreaterThanOrEqualTo(64 * 1024);
+        assertThat(unboundAfterTask).isTrue();
+    }
+
+    @Test
+    public void decorate_OutsideRequest_Return_RunsWithoutStats() {
+        // Given
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // When
+        decorator.decorate(() -> {
+            QueryStats.statementExecuted();
+            ran.set(QueryStats.current() == null);
+        }).run();
+
+        // Then
+        assertThat(ran).isTrue();
+    }
+}
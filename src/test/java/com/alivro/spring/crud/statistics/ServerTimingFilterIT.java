@@ -0,0 +1,80 @@
+package com.alivro.spring.crud.statistics;
+
+import com.alivro.spring.crud.SpringBootCrudApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+        classes = SpringBootCrudApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@DirtiesContext
+public class ServerTimingFilterIT {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    public void findAll_Books_Return_ServerTimingHeader() {
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                createURLWithPort("/api/v1/book/findAll"), String.class);
+
+        // Then
+        String header = response.getHeaders().getFirst(ServerTimingFilter.SERVER_TIMING_HEADER);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(header).isNotNull();
+        assertThat(duration(header, "db")).isPositive();
+        assertThat(duration(header, "mapping")).isNotNegative();
+        assertThat(duration(header, "response")).isPositive();
+        assertThat(duration(header, "serialization")).isPositive();
+        assertThat(duration(header, "total"))
+                .isGreaterThanOrEqualTo(duration(header, "db") + duration(header, "serialization"));
+    }
+
+    @Test
+    public void findTimings_AfterRequest_Return_EndpointBreakdown() {
+        // Given
+        restTemplate.getForEntity(createURLWithPort("/api/v1/author/findAll"), String.class);
+
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                createURLWithPort("/api/v1/admin/timings"), String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("\"endpoint\":\"GET /api/v1/author/findAll\"")
+                .contains("\"dbMillis\"")
+                .contains("\"serializationMillis\"");
+    }
+
+    private static double duration(String header, String metric) {
+        Matcher matcher = Pattern.compile("(?:^|, )" + metric + ";dur=([0-9.]+)").matcher(header);
+
+        assertThat(matcher.find()).as("metric %s in %s", metric, header).isTrue();
+
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    private String createURLWithPort(String uri) {
+        return "http://localhost:" + port + uri;
+    }
+}
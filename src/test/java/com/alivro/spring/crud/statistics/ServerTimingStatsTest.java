@@ -0,0 +1,87 @@
+package com.alivro.spring.crud.statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerTimingStatsTest {
+    private long now;
+    private ServerTimingStats stats;
+
+    @BeforeEach
+    public void setup() {
+        now = TimeUnit.HOURS.toNanos(1);
+        stats = new ServerTimingStats(() -> now);
+    }
+
+    @Test
+    public void snapshot_AccumulatesByEndpoint() {
+        // Given
+        stats.record("GET /api/v1/book/findAll", timings(3_000_000, 1_000_000), 5_000_000);
+        stats.record("GET /api/v1/book/findAll", timings(1_000_000, 1_000_000), 3_000_000);
+        stats.record("GET /api/v1/author/findAll", timings(1_000_000, 0), 1_000_000);
+
+        // When
+        List<ServerTimingStats.EndpointTimings> snapshot = stats.snapshot();
+
+        // Then
+        assertThat(snapshot).hasSize(2);
+        assertThat(snapshot.get(0).endpoint()).isEqualTo("GET /api/v1/book/findAll");
+        assertThat(snapshot.get(0).requests()).isEqualTo(2);
+        assertThat(snapshot.get(0).dbNanos()).isEqualTo(4_000_000);
+        // La serialización se mide con el reloj real desde el inicio indicado
+        assertThat(snapshot.get(0).serializationNanos()).isBetween(2_000_000L, 2_000_000L + 50_000_000L);
+        assertThat(snapshot.get(0).totalNanos()).isEqualTo(8_000_000);
+    }
+
+    @Test
+    public void snapshot_DropsRequestsOlderThanWindow() {
+        // Given
+        stats.record("GET /api/v1/book/findAll", timings(1_000_000, 0), 1_000_000);
+        now += TimeUnit.SECONDS.toNanos(30);
+        stats.record("GET /api/v1/book/findAll", timings(2_000_000, 0), 2_000_000);
+
+        // When
+        now += TimeUnit.SECONDS.toNanos(ServerTimingStats.WINDOW_SECONDS - 15);
+        List<ServerTimingStats.EndpointTimings> recent = stats.snapshot();
+        now += TimeUnit.SECONDS.toNanos(ServerTimingStats.WINDOW_SECONDS);
+        List<ServerTimingStats.EndpointTimings> expired = stats.snapshot();
+
+        // Then
+        assertThat(recent).hasSize(1);
+        assertThat(recent.get(0).requests()).isEqualTo(1);
+        assertThat(recent.get(0).dbNanos()).isEqualTo(2_000_000);
+        assertThat(expired).isEmpty();
+    }
+
+    @Test
+    public void toHeader_Return_ServerTimingMetrics() {
+        // Given
+        ServerTimings timings = timings(1_500_000, 250_000);
+
+        // When
+        String header = timings.toHeader(2_000_000);
+
+        // Then
+        assertThat(header).startsWith("db;dur=1.500;desc=\"Database\", mapping;dur=0.000;")
+                .containsPattern("serialization;dur=0\\.2\\d\\d;")
+                .endsWith("total;dur=2.000;desc=\"Total\"");
+    }
+
+    private static ServerTimings timings(long dbNanos, long serializationNanos) {
+        ServerTimings timings = ServerTimings.begin();
+
+        try {
+            ServerTimings.addDb(dbNanos);
+            ServerTimings.addSerialization(System.nanoTime() - serializationNanos);
+        } finally {
+            ServerTimings.end();
+        }
+
+        return timings;
+    }
+}
@@ -0,0 +1,110 @@
+package com.alivro.spring.crud.statistics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowQueryLogTest {
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ZERO, true);
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new SlowQueryDataSource(target, slowQueryLog));
+
+        new JdbcTemplate(target).execute("CREATE TABLE book (id BIGINT PRIMARY KEY, title VARCHAR(100))");
+        new JdbcTemplate(target).update("INSERT INTO book VALUES (1, 'Dune'), (2, 'Emma'), (3, 'Ulysses')");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+        slowQueryLog.close();
+    }
+
+    @Test
+    public void shape_Literals_Return_Placeholders() {
+        // Given
+        String sql = "select * from book b1_0 where b1_0.title = 'O''Brien'  and b1_0.id in (?, ?,?) limit 10";
+
+        // When
+        String shape = SlowQueryLog.shape(sql);
+
+        // Then
+        assertThat(shape).isEqualTo("select * from book b1_0 where b1_0.title = ? and b1_0.id in (?) limit ?");
+    }
+
+    @Test
+    public void record_PreparedQuery_Return_ParametersRowsAndPlan() throws Exception {
+        // Given
+        jdbcTemplate.queryForList("SELECT title FROM book WHERE id > ? ORDER BY title", String.class, 1L);
+        jdbcTemplate.queryForList("SELECT title FROM book WHERE id > ? ORDER BY title", String.class, 0L);
+
+        // When
+        List<SlowQueryLog.SlowQuery> slowQueries = awaitPlan();
+
+        // Then
+        assertThat(slowQueries).hasSize(1);
+        SlowQueryLog.SlowQuery slowQuery = slowQueries.get(0);
+        assertThat(slowQuery.shape()).isEqualTo("SELECT title FROM book WHERE id > ? ORDER BY title");
+        assertThat(slowQuery.occurrences()).isEqualTo(2);
+        assertThat(slowQuery.totalNanos()).isGreaterThanOrEqualTo(slowQuery.maxNanos());
+        assertThat(slowQuery.parameters()).hasSize(1).containsAnyOf("0", "1");
+        assertThat(slowQuery.rows()).isEqualTo(slowQuery.parameters().get(0).equals("0") ? 3 : 2);
+        assertThat(slowQuery.plan()).containsIgnoringCase("scanCount").contains("ORDER BY");
+    }
+
+    @Test
+    public void record_Update_Return_RowsWithoutPlan() throws Exception {
+        // Given
+        jdbcTemplate.update("UPDATE book SET title = UPPER(title) WHERE id < ?", 3L);
+
+        // When
+        Thread.sleep(100);
+        List<SlowQueryLog.SlowQuery> slowQueries = slowQueryLog.top(10);
+
+        // Then
+        assertThat(slowQueries).hasSize(1);
+        assertThat(slowQueries.get(0).rows()).isEqualTo(2);
+        assertThat(slowQueries.get(0).parameters()).containsExactly("3");
+        assertThat(slowQueries.get(0).plan()).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM book WHERE id = 1", String.class))
+                .isEqualTo("DUNE");
+    }
+
+    @Test
+    public void isSlow_BelowThreshold_Return_False() {
+        // Given
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100), false);
+
+        // When
+        // Then
+        assertThat(log.isSlow(Duration.ofMillis(99).toNanos())).isFalse();
+        assertThat(log.isSlow(Duration.ofMillis(100).toNanos())).isTrue();
+        log.close();
+    }
+
+    private List<SlowQueryLog.SlowQuery> awaitPlan() throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            List<SlowQueryLog.SlowQuery> slowQueries = slowQueryLog.top(10);
+
+            if (!slowQueries.isEmpty() && slowQueries.get(0).plan() != null) {
+                return slowQueries;
+            }
+
+            Thread.sleep(100);
+        }
+
+        return slowQueryLog.top(10);
+    }
+}